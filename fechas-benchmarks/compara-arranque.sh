@@ -0,0 +1,26 @@
+#!/bin/sh
+# Compara el tiempo total y la memoria residente máxima de una misma
+# extracción de fechas con fechas-core solo y con la aplicación Spring Boot.
+#
+# Uso, desde la raíz y con los módulos empaquetados:
+#   ./mvnw -q -DskipTests package && fechas-benchmarks/compara-arranque.sh app.log [corridas]
+set -e
+cd "$(dirname "$0")/.."
+ENTRADA=${1:?uso: compara-arranque.sh archivo.log [corridas]}
+CORRIDAS=${2:-5}
+CORE=$(ls fechas-core/target/fechas-core-*.jar | grep -v -e sources -e javadoc | head -n 1)
+APLICACION=$(ls fechas-spring/target/fechas-spring-*-exec.jar | head -n 1)
+SALIDA=$(mktemp -d)
+
+i=0
+while [ "$i" -lt "$CORRIDAS" ]; do
+    /usr/bin/time -f "fechas-core    %e s  %M KB" \
+        java -cp "$CORE" cl.lherrera.rc.fechas.principal.ExtractorFechasArchivo "$ENTRADA" "$SALIDA/core.fechas" > /dev/null
+    /usr/bin/time -f "fechas-spring  %e s  %M KB" \
+        java -jar "$APLICACION" --extraer="$ENTRADA" --salida="$SALIDA/spring.fechas" > /dev/null
+    i=$((i + 1))
+done
+
+# ambos modos deben escribir exactamente lo mismo.
+cmp "$SALIDA/core.fechas" "$SALIDA/spring.fechas"
+rm -rf "$SALIDA"
@@ -0,0 +1,208 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.CalendarioCivil;
+import cl.lherrera.rc.fechas.principal.ParseadorFechas;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Conjuntos de datos de los benchmarks, generados con semilla fija para que
+ * todas las corridas midan lo mismo.
+ *
+ * Mezclas de literales:
+ * <ul>
+ *     <li>validas: fechas al azar entre 1990 y 2030.</li>
+ *     <li>mixtas: 80% válidas y 20% con algún error, como en un archivo
+ *     de carga real.</li>
+ *     <li>invalidas: todas con algún error.</li>
+ *     <li>bordeDst: horas alrededor de los cambios de horario de Santiago
+ *     entre 2015 y 2030, incluidas las que no existen y las repetidas.</li>
+ *     <li>log: fechas ordenadas, de cero a tres segundos una de otra, que
+ *     pasan una vez de un día al siguiente, como las líneas de un log.</li>
+ * </ul>
+ *
+ * Distribuciones de instantes:
+ * <ul>
+ *     <li>diasCalientes: todo dentro de 16 días, como un reporte diario.</li>
+ *     <li>dispersas: instantes al azar entre 1990 y 2030.</li>
+ *     <li>bordeDst: igual que en los literales.</li>
+ * </ul>
+ */
+final class DatosBenchmark {
+
+    /**
+     * Elementos por invocación en los benchmarks por lote.
+     */
+    static final int TAMANIO = 1024;
+
+    private static final long SEMILLA = 20211213L;
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * @return literales "dd-MM-yyyy HH:mm:ss" según la mezcla.
+     */
+    static String[] literalesEs(String mezcla) {
+        return literales(mezcla, true);
+    }
+
+    /**
+     * @return literales "yyyy-MM-dd HH:mm:ss" según la mezcla.
+     */
+    static String[] literalesEn(String mezcla) {
+        return literales(mezcla, false);
+    }
+
+    /**
+     * @return milisegundos desde la época según la distribución.
+     */
+    static long[] epocas(String distribucion) {
+        Random azar = new Random(SEMILLA);
+        long[] epocas = new long[TAMANIO];
+        switch (distribucion) {
+            case "diasCalientes":
+                long desde = ParseadorFechas.parseaEs("01-12-2021 00:00:00");
+                for (int i = 0; i < epocas.length; i++) {
+                    epocas[i] = desde + (long) (azar.nextDouble() * 16 * CalendarioCivil.MILIS_POR_DIA);
+                }
+                return epocas;
+            case "dispersas":
+                long inicio = ParseadorFechas.parseaEs("01-01-1990 00:00:00");
+                long rango = ParseadorFechas.parseaEs("01-01-2030 00:00:00") - inicio;
+                for (int i = 0; i < epocas.length; i++) {
+                    epocas[i] = inicio + (long) (azar.nextDouble() * rango);
+                }
+                return epocas;
+            case "bordeDst":
+                String[] literales = literalesEs("bordeDst");
+                for (int i = 0; i < epocas.length; i++) {
+                    epocas[i] = ParseadorFechas.parseaEs(literales[i]);
+                }
+                return epocas;
+            default:
+                throw new IllegalArgumentException("distribución desconocida: " + distribucion);
+        }
+    }
+
+    /**
+     * @return las mismas épocas como Date.
+     */
+    static Date[] fechas(long[] epocas) {
+        Date[] fechas = new Date[epocas.length];
+        for (int i = 0; i < epocas.length; i++) {
+            fechas[i] = new Date(epocas[i]);
+        }
+        return fechas;
+    }
+
+    private static String[] literales(String mezcla, boolean es) {
+        Random azar = new Random(SEMILLA);
+        String[] literales = new String[TAMANIO];
+        switch (mezcla) {
+            case "validas":
+                for (int i = 0; i < literales.length; i++) {
+                    literales[i] = valida(azar, es);
+                }
+                return literales;
+            case "mixtas":
+                for (int i = 0; i < literales.length; i++) {
+                    literales[i] = azar.nextInt(5) == 0 ? invalida(azar, es) : valida(azar, es);
+                }
+                return literales;
+            case "invalidas":
+                for (int i = 0; i < literales.length; i++) {
+                    literales[i] = invalida(azar, es);
+                }
+                return literales;
+            case "bordeDst":
+                List<LocalDateTime> cambios = cambiosDeHorario();
+                for (int i = 0; i < literales.length; i++) {
+                    LocalDateTime cambio = cambios.get(azar.nextInt(cambios.size()));
+                    LocalDateTime f = cambio.plusMinutes(azar.nextInt(181) - 90).plusSeconds(azar.nextInt(60));
+                    literales[i] = literal(es, f.getYear(), f.getMonthValue(), f.getDayOfMonth(),
+                            f.getHour(), f.getMinute(), f.getSecond());
+                }
+                return literales;
+            case "log":
+                LocalDateTime linea = LocalDateTime.of(2021, 12, 13, 23, 50);
+                for (int i = 0; i < literales.length; i++) {
+                    literales[i] = literal(es, linea.getYear(), linea.getMonthValue(), linea.getDayOfMonth(),
+                            linea.getHour(), linea.getMinute(), linea.getSecond());
+                    linea = linea.plusSeconds(azar.nextInt(4));
+                }
+                return literales;
+            default:
+                throw new IllegalArgumentException("mezcla desconocida: " + mezcla);
+        }
+    }
+
+    private static String valida(Random azar, boolean es) {
+        int anio = 1990 + azar.nextInt(41);
+        int mes = 1 + azar.nextInt(12);
+        int dia = 1 + azar.nextInt(CalendarioCivil.diasDelMes(anio, mes));
+        return literal(es, anio, mes, dia, azar.nextInt(24), azar.nextInt(60), azar.nextInt(60));
+    }
+
+    /**
+     * Fecha con uno de los errores típicos de una carga: día que no existe
+     * en el mes, mes o campo de hora fuera de rango, una letra, otro
+     * separador o un largo distinto.
+     */
+    private static String invalida(Random azar, boolean es) {
+        int anio = 1990 + azar.nextInt(41);
+        int mes = 1 + azar.nextInt(12);
+        int dia = 1 + azar.nextInt(28);
+        int hora = azar.nextInt(24);
+        int minuto = azar.nextInt(60);
+        int segundo = azar.nextInt(60);
+        switch (azar.nextInt(7)) {
+            case 0:
+                return literal(es, anio, 2, 30, hora, minuto, segundo);
+            case 1:
+                return literal(es, anio, 13, dia, hora, minuto, segundo);
+            case 2:
+                return literal(es, anio, mes, dia, 24, minuto, segundo);
+            case 3:
+                return literal(es, anio, mes, dia, hora, 60 + azar.nextInt(40), segundo);
+            case 4:
+                char[] conLetra = literal(es, anio, mes, dia, hora, minuto, segundo).toCharArray();
+                conLetra[azar.nextInt(conLetra.length)] = 'x';
+                return new String(conLetra);
+            case 5:
+                return literal(es, anio, mes, dia, hora, minuto, segundo).replace('-', '/');
+            default:
+                return literal(es, anio, mes, dia, hora, minuto, segundo).substring(0, 16);
+        }
+    }
+
+    private static String literal(boolean es, int anio, int mes, int dia, int hora, int minuto, int segundo) {
+        return es
+                ? String.format("%02d-%02d-%04d %02d:%02d:%02d", dia, mes, anio, hora, minuto, segundo)
+                : String.format("%04d-%02d-%02d %02d:%02d:%02d", anio, mes, dia, hora, minuto, segundo);
+    }
+
+    /**
+     * @return reloj de pared de Santiago justo antes de cada cambio de
+     * horario entre 2015 y 2030.
+     */
+    private static List<LocalDateTime> cambiosDeHorario() {
+        ZoneRules reglas = ZoneId.of("America/Santiago").getRules();
+        List<LocalDateTime> cambios = new ArrayList<>();
+        LocalDateTime hasta = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (ZoneOffsetTransition cambio = reglas.nextTransition(Instant.parse("2015-01-01T00:00:00Z"));
+             cambio != null && cambio.getDateTimeBefore().isBefore(hasta);
+             cambio = reglas.nextTransition(cambio.getInstant())) {
+            cambios.add(cambio.getDateTimeBefore());
+        }
+        return cambios;
+    }
+}
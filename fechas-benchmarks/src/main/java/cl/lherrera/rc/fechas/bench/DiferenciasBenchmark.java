@@ -0,0 +1,168 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.DiferenciasMasivas;
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.FechasUtilDos;
+import cl.lherrera.rc.fechas.principal.RenderizadorTiempoRelativo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diferencias entre pares de fechas y literales de tiempo transcurrido.
+ * Cada fecha se compara con la siguiente del conjunto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DiferenciasBenchmark {
+
+    @Param({"diasCalientes", "dispersas"})
+    public String distribucion;
+
+    private long[] epocas;
+    private Date[] fechas;
+    private Date[] otras;
+    private long[] otrasEpocas;
+    private RenderizadorTiempoRelativo renderizador;
+
+    /**
+     * Arreglos de salida de los métodos masivos, uno por hilo.
+     */
+    @State(Scope.Thread)
+    public static class Destino {
+        final String[] literales = new String[DatosBenchmark.TAMANIO];
+        final long[] diferencias = new long[DatosBenchmark.TAMANIO];
+    }
+
+    @Setup
+    public void prepara() {
+        epocas = DatosBenchmark.epocas(distribucion);
+        fechas = DatosBenchmark.fechas(epocas);
+        otras = new Date[fechas.length];
+        otrasEpocas = new long[epocas.length];
+        for (int i = 0; i < fechas.length; i++) {
+            otras[i] = fechas[(i + 1) % fechas.length];
+            otrasEpocas[i] = epocas[(i + 1) % epocas.length];
+        }
+        renderizador = new RenderizadorTiempoRelativo(Clock.systemUTC(),
+                RenderizadorTiempoRelativo.Granularidad.COMPLETA, false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaDiferenciaDias(Blackhole agujero) {
+        for (int i = 0; i < fechas.length; i++) {
+            agujero.consume(ReferenciaOriginal.diferenciaDias(fechas[i], otras[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDiferenciaDiasFechaLocal(Blackhole agujero) {
+        for (int i = 0; i < fechas.length; i++) {
+            agujero.consume(FechasUtil.diferenciaDiasFechaLocal(fechas[i], otras[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDosDiferenciaDiasFechaLocal(Blackhole agujero) {
+        for (int i = 0; i < fechas.length; i++) {
+            agujero.consume(FechasUtilDos.diferenciaDiasFechaLocal(fechas[i], otras[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long[] masivasEnDias(Destino destino) {
+        DiferenciasMasivas.enDias(epocas, otrasEpocas, destino.diferencias);
+        return destino.diferencias;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long[] masivasEnSegundos(Destino destino) {
+        DiferenciasMasivas.enSegundos(epocas, otrasEpocas, destino.diferencias);
+        return destino.diferencias;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long[] masivasEnMilisegundos(Destino destino) {
+        DiferenciasMasivas.enMilisegundos(epocas, otrasEpocas, destino.diferencias);
+        return destino.diferencias;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaDiferenciaSegundos(Blackhole agujero) {
+        for (int i = 0; i < fechas.length; i++) {
+            agujero.consume(ReferenciaOriginal.diferenciaSegundos(fechas[i], otras[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDiferenciaFechasEnSegundos(Blackhole agujero) {
+        for (int i = 0; i < fechas.length; i++) {
+            agujero.consume(FechasUtil.diferenciaFechasEnSegundos(fechas[i], otras[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDosDiferenciaFechasEnSegundos(Blackhole agujero) {
+        for (int i = 0; i < fechas.length; i++) {
+            agujero.consume(FechasUtilDos.diferenciaFechasEnSegundos(fechas[i], otras[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaDiferenciaLiteral(Blackhole agujero) {
+        Date ahora = new Date();
+        for (Date fecha : fechas) {
+            agujero.consume(ReferenciaOriginal.diferenciaLiteral(fecha, ahora));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilObtenerDiferenciaLiteralConFechaActual(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(FechasUtil.obtenerDiferenciaLiteralConFechaActual(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDosObtenerDiferenciaLiteralConFechaActual(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(FechasUtilDos.obtenerDiferenciaLiteralConFechaActual(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public String[] renderizadorPagina(Destino destino) {
+        return renderizador.renderiza(epocas, System.currentTimeMillis(), destino.literales);
+    }
+}
@@ -0,0 +1,124 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.CamposFecha;
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.FechasUtilDos;
+import cl.lherrera.rc.fechas.principal.FormateadorFechas;
+import cl.lherrera.rc.fechas.principal.RelojSantiago;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formateo de instantes a "dd-MM-yyyy HH:mm:ss", la fecha actual y la
+ * separación de una fecha en campos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FormateoBenchmark {
+
+    @Param({"diasCalientes", "dispersas", "bordeDst"})
+    public String distribucion;
+
+    private long[] epocas;
+    private Date[] fechas;
+
+    /**
+     * Arreglos de salida, uno por hilo.
+     */
+    @State(Scope.Thread)
+    public static class Destino {
+        final char[] caracteres = new char[FormateadorFechas.LARGO];
+        final CamposFecha.Columnas columnas = new CamposFecha.Columnas(DatosBenchmark.TAMANIO);
+    }
+
+    @Setup
+    public void prepara() {
+        epocas = DatosBenchmark.epocas(distribucion);
+        fechas = DatosBenchmark.fechas(epocas);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaSimpleDateFormat(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(ReferenciaOriginal.formateaEs(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void formateadorFormateaEs(Blackhole agujero) {
+        for (long epochMilis : epocas) {
+            agujero.consume(FormateadorFechas.formateaEs(epochMilis));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void formateadorEscribeEs(Destino destino, Blackhole agujero) {
+        for (long epochMilis : epocas) {
+            agujero.consume(FormateadorFechas.escribeEs(epochMilis, destino.caracteres, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilSeparaFechaEnArreglo(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(FechasUtil.separaFechaEnArreglo(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void camposFechaEmpaqueta(Blackhole agujero) {
+        for (long epochMilis : epocas) {
+            agujero.consume(CamposFecha.empaqueta(epochMilis));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public CamposFecha.Columnas camposFechaSepara(Destino destino) {
+        CamposFecha.separa(epocas, destino.columnas);
+        return destino.columnas;
+    }
+
+    @Benchmark
+    public String referenciaFechaLocalLiteral() {
+        return ReferenciaOriginal.fechaLocalLiteral();
+    }
+
+    @Benchmark
+    public String fechasUtilObtenerFechaLocalLiteral() {
+        return FechasUtil.obtenerFechaLocalLiteral();
+    }
+
+    @Benchmark
+    public String fechasUtilDosObtenerFechaLocalLiteral() {
+        return FechasUtilDos.obtenerFechaLocalLiteral();
+    }
+
+    @Benchmark
+    public String relojSantiagoLiteral() {
+        return RelojSantiago.SISTEMA.literal();
+    }
+}
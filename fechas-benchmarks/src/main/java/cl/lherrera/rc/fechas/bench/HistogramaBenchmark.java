@@ -0,0 +1,91 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.HistogramaTemporal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conteo de eventos por hora local, como en los tableros: separando cada
+ * fecha en un mapa y contando en un HashMap, o con HistogramaTemporal.
+ * Los histogramas se comparten entre invocaciones, como en un servicio
+ * que cuenta todo el día; con -t 4 cada hilo escribe en su parte.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HistogramaBenchmark {
+
+    @Param({"diasCalientes", "bordeDst"})
+    public String distribucion;
+
+    private long[] epocas;
+    private Date[] fechas;
+    private HistogramaTemporal porHora;
+    private HistogramaTemporal porDia;
+
+    @Setup
+    public void prepara() {
+        epocas = DatosBenchmark.epocas(distribucion);
+        fechas = DatosBenchmark.fechas(epocas);
+        porHora = new HistogramaTemporal(HistogramaTemporal.Resolucion.HORA);
+        porDia = new HistogramaTemporal(HistogramaTemporal.Resolucion.DIA);
+    }
+
+    /**
+     * Lo que se hace hoy: separar la fecha y usar año, día del año y hora
+     * como llave.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public Map<List<Integer>, Long> separaFechaEnHashMap() {
+        Map<List<Integer>, Long> porHora = new HashMap<>();
+        for (Date fecha : fechas) {
+            Map<String, Integer> campos = FechasUtil.separaFechaEnArreglo(fecha);
+            porHora.merge(List.of(campos.get("YEAR"), campos.get("DAY_OF_YEAR"), campos.get("HOUR_OF_DAY")),
+                    1L, Long::sum);
+        }
+        return porHora;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public HistogramaTemporal histogramaPorHora() {
+        porHora.registra(epocas, 0, epocas.length);
+        return porHora;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public HistogramaTemporal histogramaPorDia() {
+        porDia.registra(epocas, 0, epocas.length);
+        return porDia;
+    }
+
+    /**
+     * Leer una instantánea, lo que haría el tablero cada pocos segundos.
+     */
+    @Benchmark
+    public long instantaneaPorHora() {
+        return porHora.instantanea().getTotal();
+    }
+}
@@ -0,0 +1,85 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.IndiceFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorFechas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cuántos eventos caen en marzo de 2021, sobre eventos al azar de 2020 a
+ * 2022: recorriendo todos con diferenciaFechasEnSegundos, como hoy, o con
+ * IndiceFechas. Se mide una consulta completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IndiceBenchmark {
+
+    private static final String DESDE = "01-03-2021 00:00:00";
+    private static final String HASTA = "31-03-2021 23:59:59";
+
+    @Param({"10000", "1000000"})
+    public int eventos;
+
+    private Date[] fechas;
+    private IndiceFechas indice;
+
+    @Setup
+    public void prepara() {
+        Random azar = new Random(20211213L);
+        long desde = ParseadorFechas.parseaEs("01-01-2020 00:00:00");
+        long[] epocas = new long[eventos];
+        fechas = new Date[eventos];
+        for (int i = 0; i < eventos; i++) {
+            epocas[i] = desde + (long) (azar.nextDouble() * 3 * 365 * 86_400_000L);
+            fechas[i] = new Date(epocas[i]);
+        }
+        indice = IndiceFechas.de(epocas);
+    }
+
+    /**
+     * Un evento está en el rango si su distancia a ambos límites suma el
+     * ancho del rango.
+     */
+    @Benchmark
+    public int recorridoDiferenciaFechasEnSegundos() {
+        Date desde = FechasUtil.parseaStringAFecha(DESDE);
+        Date hasta = FechasUtil.parseaStringAFecha(HASTA);
+        int ancho = FechasUtil.diferenciaFechasEnSegundos(desde, hasta);
+        int cantidad = 0;
+        for (Date fecha : fechas) {
+            if (FechasUtil.diferenciaFechasEnSegundos(fecha, desde)
+                    + FechasUtil.diferenciaFechasEnSegundos(fecha, hasta) <= ancho) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    @Benchmark
+    public int indiceCantidadEntre() {
+        return indice.cantidadEntre(DESDE, HASTA);
+    }
+
+    @Benchmark
+    public long indiceEntreSuma() {
+        return indice.entre(DESDE, HASTA).sum();
+    }
+}
@@ -0,0 +1,79 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.FechasUtilDos;
+import cl.lherrera.rc.fechas.principal.PalabrasFecha;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fechas en palabras, como [sábado 17 de julio de 2021]. Con días calientes
+ * casi todo sale de la cache de PalabrasFecha; con fechas dispersas casi
+ * nada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PalabrasBenchmark {
+
+    @Param({"diasCalientes", "dispersas", "bordeDst"})
+    public String distribucion;
+
+    private long[] epocas;
+    private Date[] fechas;
+
+    @Setup
+    public void prepara() {
+        epocas = DatosBenchmark.epocas(distribucion);
+        fechas = DatosBenchmark.fechas(epocas);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaSimpleDateFormat(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(ReferenciaOriginal.enPalabras(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilParseaAFechaPalabras(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(FechasUtil.parseaAFechaPalabras(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDosParseaAFechaPalabras(Blackhole agujero) {
+        for (Date fecha : fechas) {
+            agujero.consume(FechasUtilDos.parseaAFechaPalabras(fecha));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void palabrasEnPalabras(Blackhole agujero) {
+        for (long epochMilis : epocas) {
+            agujero.consume(PalabrasFecha.enPalabras(epochMilis));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.FechasMasivas;
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.FlujoFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorIncremental;
+import cl.lherrera.rc.fechas.principal.ParseadorMultiformato;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parseo de literales "dd-MM-yyyy HH:mm:ss" a instantes de Santiago. Los
+ * benchmarks "mezclados" alternan ese formato con "yyyy-MM-dd HH:mm:ss".
+ * Los benchmarks "flujo" leen los mismos literales como un texto de una
+ * fecha por línea; conviene correrlos con -t 1 y con varios núcleos
+ * disponibles para ver cuánto escala .parallel(). Los "incremental" solo
+ * ganan con la mezcla log, donde las líneas seguidas comparten la fecha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParseoBenchmark {
+
+    @Param({"validas", "mixtas", "bordeDst", "log"})
+    public String mezcla;
+
+    private String[] literales;
+    private String[] mezclados;
+    private byte[] texto;
+
+    /**
+     * Los mismos literales como registros de 32 bytes, con la fecha en la
+     * posición 8 de cada uno, igual que dentro de un mensaje binario.
+     */
+    private byte[] registros;
+    private ByteBuffer registrosDirectos;
+
+    /**
+     * Destinos del parseo masivo, uno por hilo.
+     */
+    @State(Scope.Thread)
+    public static class Destino {
+        final long[] epocas = new long[DatosBenchmark.TAMANIO];
+        final BitSet validas = new BitSet(DatosBenchmark.TAMANIO);
+    }
+
+    @Setup
+    public void prepara() {
+        literales = DatosBenchmark.literalesEs(mezcla);
+        String[] en = DatosBenchmark.literalesEn(mezcla);
+        mezclados = new String[literales.length];
+        for (int i = 0; i < mezclados.length; i++) {
+            mezclados[i] = (i & 1) == 0 ? literales[i] : en[i];
+        }
+        texto = (String.join("\n", literales) + "\n").getBytes(StandardCharsets.US_ASCII);
+        registros = new byte[literales.length * 32];
+        for (int i = 0; i < literales.length; i++) {
+            byte[] literal = literales[i].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(literal, 0, registros, i * 32 + 8, Math.min(literal.length, 24));
+        }
+        registrosDirectos = ByteBuffer.allocateDirect(registros.length);
+        registrosDirectos.put(registros).flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaSimpleDateFormat(Blackhole agujero) {
+        for (String literal : literales) {
+            agujero.consume(ReferenciaOriginal.parseaEs(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilParseaStringAFecha(Blackhole agujero) {
+        for (String literal : literales) {
+            try {
+                agujero.consume(FechasUtil.parseaStringAFecha(literal));
+            } catch (RuntimeException e) {
+                agujero.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void parseadorParseaEs(Blackhole agujero) {
+        for (String literal : literales) {
+            agujero.consume(ParseadorFechas.parseaEs(literal));
+        }
+    }
+
+    /**
+     * Un parseador nuevo por invocación, como uno por archivo.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void incrementalParsea(Blackhole agujero) {
+        ParseadorIncremental parseador = ParseadorIncremental.es();
+        for (String literal : literales) {
+            agujero.consume(parseador.parsea(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long[] masivasParseaEs(Destino destino) {
+        FechasMasivas.parseaEs(literales, destino.epocas, destino.validas);
+        return destino.epocas;
+    }
+
+    /**
+     * Lo que se hace hoy con formatos mezclados: probar uno y, si falla, el
+     * otro.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void mezcladosEnsayoYError(Blackhole agujero) {
+        for (String literal : mezclados) {
+            long epochMilis = ParseadorFechas.parseaEn(literal);
+            agujero.consume(epochMilis != ParseadorFechas.FECHA_INVALIDA ? epochMilis : ParseadorFechas.parseaEs(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void mezcladosMultiformato(Blackhole agujero) {
+        for (String literal : mezclados) {
+            agujero.consume(ParseadorMultiformato.ESTANDAR.parsea(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long[] mezcladosMultiformatoMasivo(Destino destino) {
+        ParseadorMultiformato.ESTANDAR.parsea(mezclados, destino.epocas, destino.validas);
+        return destino.epocas;
+    }
+
+    /**
+     * Lo que se haría sin FlujoFechas: las líneas de un BufferedReader, que
+     * se dividen en lotes de 1024 más cada vez y se decodifican a String.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long flujoLineasJdkParalelo() {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(texto), StandardCharsets.US_ASCII));
+        return lector.lines().parallel()
+                .mapToLong(ParseadorFechas::parseaEs)
+                .filter(epochMilis -> epochMilis != ParseadorFechas.FECHA_INVALIDA)
+                .sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long flujoBytes() {
+        return FlujoFechas.parseaEs(new ByteArrayInputStream(texto), null).sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public long flujoBytesParalelo() {
+        return FlujoFechas.parseaEs(new ByteArrayInputStream(texto), null).parallel().sum();
+    }
+
+    /**
+     * Lo que se hace hoy con bytes: decodificar cada fecha a String.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void bytesDecodificando(Blackhole agujero) {
+        for (int p = 8; p < registros.length; p += 32) {
+            agujero.consume(ParseadorFechas.parseaEs(new String(registros, p, 19, StandardCharsets.US_ASCII)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void bytesEnSuLugar(Blackhole agujero) {
+        for (int p = 8; p < registros.length; p += 32) {
+            agujero.consume(ParseadorFechas.parseaEs(registros, p));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void bytesDirectosEnSuLugar(Blackhole agujero) {
+        for (int p = 8; p < registros.length; p += 32) {
+            agujero.consume(ParseadorFechas.parseaEs(registrosDirectos, p));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void bytesIncremental(Blackhole agujero) {
+        ParseadorIncremental parseador = ParseadorIncremental.es();
+        for (int p = 8; p < registros.length; p += 32) {
+            agujero.consume(parseador.parsea(registros, p));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package cl.lherrera.rc.fechas.bench;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Implementaciones originales de FechasUtil y FechasUtilDos, con expresiones
+ * regulares, SimpleDateFormat y GregorianCalendar, sin los logs. Sirven de
+ * línea base para comparar con los motores actuales.
+ */
+final class ReferenciaOriginal {
+
+    private static final Locale LOCALIDAD = new Locale("es", "CH");
+    private static final TimeZone ZONA_HORARIA = TimeZone.getTimeZone("America/Santiago");
+
+    private static final String YYYYMMDD_HH24MMSS_RGX = "^((19|2[0-9])[0-9]{2}-(0[1-9]|1[012])-(0[1-9]|[12][0-9]|3[01])(\\s)((([0-1])([0-9]))|(([2])([0-3]))):(([0-5])([0-9])):(([0-5])([0-9])))$";
+    private static final String DDMMYYYY_HH24MMSS_RGX = "^((0[1-9]|[12][0-9]|3[01])-(0[1-9]|1[012])-((19|2[0-9])[0-9]{2})(\\s)((([0-1])([0-9]))|(([2])([0-3]))):(([0-5])([0-9])):(([0-5])([0-9])))$";
+
+    private ReferenciaOriginal() {
+    }
+
+    /**
+     * Como validaEstructuraFechaEn, compilando el patrón en cada llamado.
+     */
+    static boolean validaEn(String fecha) {
+        return Pattern.compile(YYYYMMDD_HH24MMSS_RGX).matcher(fecha).matches();
+    }
+
+    /**
+     * Como validaEstructuraFechaEs, compilando el patrón en cada llamado.
+     */
+    static boolean validaEs(String fecha) {
+        return Pattern.compile(DDMMYYYY_HH24MMSS_RGX).matcher(fecha).matches();
+    }
+
+    /**
+     * Como parseaStringAFecha: valida con el patrón y parsea con un
+     * SimpleDateFormat nuevo.
+     *
+     * @return la fecha, o null si no es válida.
+     */
+    static Date parseaEs(String fechaLiteral) {
+        if (!validaEs(fechaLiteral)) {
+            return null;
+        }
+        Date fecha = new GregorianCalendar(ZONA_HORARIA, LOCALIDAD).getTime();
+        DateFormat formato = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss", LOCALIDAD);
+        formato.setTimeZone(ZONA_HORARIA);
+        try {
+            fecha.setTime(formato.parse(fechaLiteral).getTime());
+        } catch (ParseException e) {
+            return null;
+        }
+        return fecha;
+    }
+
+    /**
+     * Como obtenerFechaLocalLiteral, para un instante dado.
+     */
+    static String formateaEs(Date fecha) {
+        SimpleDateFormat formato = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+        formato.setTimeZone(ZONA_HORARIA);
+        return formato.format(fecha);
+    }
+
+    /**
+     * Como obtenerFechaLocalLiteral.
+     */
+    static String fechaLocalLiteral() {
+        return formateaEs(GregorianCalendar.getInstance(ZONA_HORARIA, LOCALIDAD).getTime());
+    }
+
+    /**
+     * Como parseaAFechaPalabras.
+     */
+    static String enPalabras(Date fecha) {
+        Calendar calendario = GregorianCalendar.getInstance(ZONA_HORARIA, LOCALIDAD);
+        calendario.setTime(fecha);
+        DateFormat formato = new SimpleDateFormat("EEEE d 'de' MMMM 'de' yyyy");
+        formato.setTimeZone(ZONA_HORARIA);
+        return formato.format(calendario.getTime());
+    }
+
+    /**
+     * Como diferenciaDiasFechaLocal.
+     */
+    static int diferenciaDias(Date fechaUno, Date fechaDos) {
+        long diferencia = Math.abs(fechaUno.getTime() - fechaDos.getTime());
+        return (int) TimeUnit.DAYS.convert(diferencia, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Como diferenciaFechasEnSegundos.
+     */
+    static int diferenciaSegundos(Date fechaUno, Date fechaDos) {
+        long diferencia = Math.abs(fechaUno.getTime() - fechaDos.getTime());
+        return (int) TimeUnit.SECONDS.convert(diferencia, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Como obtenerDiferenciaLiteralConFechaActual, contra un "ahora" dado.
+     */
+    static String diferenciaLiteral(Date fechaNoActual, Date ahora) {
+        Calendar actual = GregorianCalendar.getInstance(ZONA_HORARIA, LOCALIDAD);
+        actual.setTime(ahora);
+        Calendar noActual = GregorianCalendar.getInstance(ZONA_HORARIA, LOCALIDAD);
+        noActual.setTime(fechaNoActual);
+
+        Long diffMilisegundos = Math.abs(actual.getTime().getTime() - noActual.getTime().getTime());
+        long dias = diferenciaDias(actual.getTime(), noActual.getTime());
+        long remanenteDias = diffMilisegundos - TimeUnit.MILLISECONDS.convert(dias, TimeUnit.DAYS);
+        long horas = TimeUnit.HOURS.convert(remanenteDias, TimeUnit.MILLISECONDS);
+        long remanenteHoras = remanenteDias - TimeUnit.MILLISECONDS.convert(horas, TimeUnit.HOURS);
+        long minutos = TimeUnit.MINUTES.convert(remanenteHoras, TimeUnit.MILLISECONDS);
+        long remanenteMinutos = remanenteHoras - TimeUnit.MILLISECONDS.convert(minutos, TimeUnit.MINUTES);
+        long segundos = TimeUnit.SECONDS.convert(remanenteMinutos, TimeUnit.MILLISECONDS);
+        return String.format("%d días, %d horas, %d minutos y %d segundos", dias, horas, minutos, segundos);
+    }
+}
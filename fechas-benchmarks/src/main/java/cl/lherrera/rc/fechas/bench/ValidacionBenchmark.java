@@ -0,0 +1,130 @@
+package cl.lherrera.rc.fechas.bench;
+
+import cl.lherrera.rc.fechas.principal.FechasUtil;
+import cl.lherrera.rc.fechas.principal.FechasUtilDos;
+import cl.lherrera.rc.fechas.principal.ValidadorFechas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de literales en ambos formatos. Los métodos de FechasUtil y
+ * FechasUtilDos lanzan una excepción con las fechas inválidas, por lo que
+ * su costo se incluye en las mezclas con errores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidacionBenchmark {
+
+    @Param({"validas", "mixtas", "invalidas"})
+    public String mezcla;
+
+    private String[] literalesEs;
+    private String[] literalesEn;
+
+    @Setup
+    public void prepara() {
+        literalesEs = DatosBenchmark.literalesEs(mezcla);
+        literalesEn = DatosBenchmark.literalesEn(mezcla);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaRegexEs(Blackhole agujero) {
+        for (String literal : literalesEs) {
+            agujero.consume(ReferenciaOriginal.validaEs(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void referenciaRegexEn(Blackhole agujero) {
+        for (String literal : literalesEn) {
+            agujero.consume(ReferenciaOriginal.validaEn(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilValidaFechaGregorianaLocal(Blackhole agujero) {
+        for (String literal : literalesEs) {
+            try {
+                FechasUtil.validaFechaGregorianaLocal(literal);
+                agujero.consume(true);
+            } catch (RuntimeException e) {
+                agujero.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilValidaFechaGregoriana(Blackhole agujero) {
+        for (String literal : literalesEn) {
+            try {
+                FechasUtil.validaFechaGregoriana(literal);
+                agujero.consume(true);
+            } catch (RuntimeException e) {
+                agujero.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDosValidaEstructuraFechaEs(Blackhole agujero) {
+        for (String literal : literalesEs) {
+            try {
+                FechasUtilDos.validaEstructuraFechaEs(literal);
+                agujero.consume(true);
+            } catch (RuntimeException e) {
+                agujero.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void fechasUtilDosValidaEstructuraFechaEn(Blackhole agujero) {
+        for (String literal : literalesEn) {
+            try {
+                FechasUtilDos.validaEstructuraFechaEn(literal);
+                agujero.consume(true);
+            } catch (RuntimeException e) {
+                agujero.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void validadorFechaEs(Blackhole agujero) {
+        for (String literal : literalesEs) {
+            agujero.consume(ValidadorFechas.validaFechaEs(literal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DatosBenchmark.TAMANIO)
+    public void validadorFechaEn(Blackhole agujero) {
+        for (String literal : literalesEn) {
+            agujero.consume(ValidadorFechas.validaFechaEn(literal));
+        }
+    }
+}
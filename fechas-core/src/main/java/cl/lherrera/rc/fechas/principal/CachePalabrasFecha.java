@@ -0,0 +1,116 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Cache acotada y segura entre hilos de las fechas en palabras, con el día
+ * local (desde 1970-01-01) como llave.
+ *
+ * Es de mapeo directo: cada día tiene una sola casilla posible y un día
+ * nuevo reemplaza al anterior de esa casilla, por lo que el tamaño nunca
+ * supera la capacidad y no hay bloqueos. Las entradas son inmutables y se
+ * publican con AtomicReferenceArray, así un lector siempre ve una entrada
+ * completa. Si dos hilos calculan el mismo día a la vez, ambos obtienen el
+ * mismo texto y uno de los dos queda guardado.
+ *
+ * Pensada para reportes donde cientos de miles de filas caen en unos pocos
+ * cientos de días distintos.
+ */
+public final class CachePalabrasFecha {
+
+    /**
+     * Día y texto guardados en una casilla.
+     */
+    private static final class Entrada {
+        private final long diaEpoca;
+        private final String texto;
+
+        Entrada(long diaEpoca, String texto) {
+            this.diaEpoca = diaEpoca;
+            this.texto = texto;
+        }
+    }
+
+    private final AtomicReferenceArray<Entrada> casillas;
+    private final int mascara;
+    private final LongFunction<String> generador;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * @param capacidad cantidad máxima de días guardados, se redondea a la
+     *                  potencia de dos siguiente.
+     * @param generador calcula el texto de un día cuando no está en la cache.
+     */
+    public CachePalabrasFecha(int capacidad, LongFunction<String> generador) {
+        if (capacidad < 1 || capacidad > (1 << 24)) {
+            throw new IllegalArgumentException("capacidad fuera de rango [1-16777216]: " + capacidad);
+        }
+        int tamanio = capacidad == 1 ? 1 : Integer.highestOneBit(capacidad - 1) << 1;
+        this.casillas = new AtomicReferenceArray<>(tamanio);
+        this.mascara = tamanio - 1;
+        this.generador = generador;
+    }
+
+    /**
+     * @return texto del día, desde la cache o recién calculado.
+     */
+    public String obtiene(long diaEpoca) {
+        // días consecutivos quedan en casillas consecutivas, por lo que un
+        // rango continuo de días no choca mientras quepa en la capacidad.
+        int indice = (int) (diaEpoca ^ (diaEpoca >>> 32)) & mascara;
+        Entrada entrada = casillas.get(indice);
+        if (entrada != null && entrada.diaEpoca == diaEpoca) {
+            aciertos.increment();
+            return entrada.texto;
+        }
+        fallos.increment();
+        String texto = generador.apply(diaEpoca);
+        casillas.lazySet(indice, new Entrada(diaEpoca, texto));
+        return texto;
+    }
+
+    public int getCapacidad() {
+        return casillas.length();
+    }
+
+    /**
+     * @return cantidad de días guardados en este momento.
+     */
+    public int getTamanio() {
+        int tamanio = 0;
+        for (int i = 0; i < casillas.length(); i++) {
+            if (casillas.get(i) != null) {
+                tamanio++;
+            }
+        }
+        return tamanio;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Vacía la cache y reinicia los contadores.
+     */
+    public void limpia() {
+        for (int i = 0; i < casillas.length(); i++) {
+            casillas.set(i, null);
+        }
+        aciertos.reset();
+        fallos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CachePalabrasFecha[capacidad=" + getCapacidad() + ", aciertos=" + getAciertos()
+                + ", fallos=" + getFallos() + "]";
+    }
+}
@@ -0,0 +1,113 @@
+package cl.lherrera.rc.fechas.principal;
+
+/**
+ * Aritmética del calendario gregoriano proléptico sobre números de día
+ * desde la época (1970-01-01 es el día 0), sin Calendar ni objetos.
+ *
+ * Las fechas se devuelven empaquetadas en un int: el año en los bits
+ * altos, el mes en 4 bits y el día en 5 bits, para poder retornar los tres
+ * campos sin crear un objeto. Se leen con {@link #anio(int)},
+ * {@link #mes(int)} y {@link #dia(int)}.
+ *
+ * Nota: los algoritmos son los de Howard Hinnant, "chrono-Compatible
+ * Low-Level Date Algorithms", que trabajan con eras de 400 años.
+ */
+public final class CalendarioCivil {
+
+    public static final long MILIS_POR_SEGUNDO = 1000L;
+    public static final long MILIS_POR_MINUTO = 60_000L;
+    public static final long MILIS_POR_HORA = 3_600_000L;
+    public static final long MILIS_POR_DIA = 86_400_000L;
+
+    /**
+     * Días de un año no bisiesto antes del primer día de cada mes, con el
+     * mes de 1 a 12 como índice.
+     */
+    private static final int[] DIAS_ANTES_DEL_MES = {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private CalendarioCivil() {
+    }
+
+    /**
+     * @return true si el año es bisiesto.
+     */
+    public static boolean esBisiesto(int anio) {
+        return (anio & 3) == 0 && (anio % 100 != 0 || anio % 400 == 0);
+    }
+
+    /**
+     * @param mes de 1 a 12.
+     * @return cantidad de días del mes, considerando años bisiestos.
+     */
+    public static int diasDelMes(int anio, int mes) {
+        if (mes == 2) {
+            return esBisiesto(anio) ? 29 : 28;
+        }
+        // abril, junio, septiembre y noviembre tienen 30 días.
+        return 30 + ((mes + (mes >> 3)) & 1);
+    }
+
+    /**
+     * Número de día desde 1970-01-01 para una fecha civil.
+     *
+     * @param mes de 1 a 12.
+     */
+    public static long diaEpoca(int anio, int mes, int dia) {
+        long y = mes <= 2 ? anio - 1 : anio;
+        long era = Math.floorDiv(y, 400);
+        long anioDeEra = y - era * 400;
+        long diaDelAnio = (153 * (mes > 2 ? mes - 3 : mes + 9) + 2) / 5 + dia - 1;
+        long diaDeEra = anioDeEra * 365 + anioDeEra / 4 - anioDeEra / 100 + diaDelAnio;
+        return era * 146_097 + diaDeEra - 719_468;
+    }
+
+    /**
+     * Fecha civil empaquetada para un número de día desde 1970-01-01.
+     */
+    public static int fechaDeDiaEpoca(long diaEpoca) {
+        long z = diaEpoca + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long diaDeEra = z - era * 146_097;
+        long anioDeEra = (diaDeEra - diaDeEra / 1460 + diaDeEra / 36_524 - diaDeEra / 146_096) / 365;
+        long diaDelAnio = diaDeEra - (365 * anioDeEra + anioDeEra / 4 - anioDeEra / 100);
+        long mp = (5 * diaDelAnio + 2) / 153;
+        int dia = (int) (diaDelAnio - (153 * mp + 2) / 5 + 1);
+        int mes = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int anio = (int) (anioDeEra + era * 400 + (mes <= 2 ? 1 : 0));
+        return empaqueta(anio, mes, dia);
+    }
+
+    /**
+     * Día del año, de 1 a 366.
+     *
+     * @param mes de 1 a 12.
+     */
+    public static int diaDelAnio(int anio, int mes, int dia) {
+        int bisiesto = mes > 2 && esBisiesto(anio) ? 1 : 0;
+        return DIAS_ANTES_DEL_MES[mes] + dia + bisiesto;
+    }
+
+    /**
+     * Día de la semana ISO, 1 es lunes y 7 es domingo.
+     */
+    public static int diaDeLaSemana(long diaEpoca) {
+        // 1970-01-01 fue jueves.
+        return (int) Math.floorMod(diaEpoca + 3, 7L) + 1;
+    }
+
+    public static int empaqueta(int anio, int mes, int dia) {
+        return (anio << 9) | (mes << 5) | dia;
+    }
+
+    public static int anio(int fechaEmpaquetada) {
+        return fechaEmpaquetada >> 9;
+    }
+
+    public static int mes(int fechaEmpaquetada) {
+        return (fechaEmpaquetada >> 5) & 0xF;
+    }
+
+    public static int dia(int fechaEmpaquetada) {
+        return fechaEmpaquetada & 0x1F;
+    }
+}
@@ -0,0 +1,338 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Días de calendario y días hábiles entre dos instantes, en zona
+ * America/Santiago, contados con números de día desde la época y sin
+ * Calendar.
+ *
+ * A diferencia de FechasUtil.diferenciaDiasFechaLocal, que cuenta bloques
+ * de 24 horas, aquí se cuentan cambios de fecha en el reloj de pared: del
+ * sábado 23:59 al domingo 00:01 hay un día de calendario, y los días de 23
+ * o 25 horas por el cambio de horario cuentan como uno.
+ *
+ * Los días hábiles se guardan en un conjunto de bits, uno por día, donde
+ * los sábados, domingos y feriados quedan en 0. Junto al conjunto se guarda
+ * la cantidad acumulada de días hábiles al comienzo de cada palabra de 64
+ * bits, así una cuenta entre dos días es una resta de acumulados más el
+ * bitCount de las dos palabras de los extremos, sin recorrer los días.
+ *
+ * Los feriados se leen de un archivo de texto con una fecha "yyyy-MM-dd"
+ * por línea, seguida opcionalmente de una descripción, y comentarios con
+ * '#'. El calendario cubre desde el 1 de enero del primer año del archivo
+ * hasta el 31 de diciembre del último. El de Chile viene en el recurso
+ * {@link #RECURSO_CHILE} y cubre de 2021 a 2030: fuera de esos años las
+ * cuentas lanzan IllegalArgumentException, por lo que el archivo se debe
+ * extender antes de que termine el último año. Desde 2027 tiene solo los
+ * feriados que fija la ley; las elecciones se agregan cuando se publican.
+ *
+ * Nota: las cuentas cuentan el día de inicio y no el de término, igual que
+ *       una resta: de lunes a lunes hay 7 días de calendario y 5 hábiles.
+ *       Si el término es anterior al inicio, el resultado es negativo.
+ */
+public final class CalendarioHabil {
+
+    /**
+     * Recurso del classpath con los feriados de Chile.
+     */
+    public static final String RECURSO_CHILE = "/feriados-cl.txt";
+
+    private final TablaZonaHoraria zona;
+    private final long primerDia;
+    private final int cantidadDias;
+    private final int anioDesde;
+    private final int anioHasta;
+    private final int cantidadFeriados;
+
+    /**
+     * Bit i en 1 si el día primerDia + i es hábil.
+     */
+    private final long[] habiles;
+
+    /**
+     * Días hábiles antes de cada palabra de habiles, con una posición extra
+     * para el total.
+     */
+    private final int[] acumulados;
+
+    /**
+     * Se carga la primera vez que se pide el calendario de Chile.
+     */
+    private static final class Chile {
+        static final CalendarioHabil INSTANCIA = cargaRecurso();
+
+        private static CalendarioHabil cargaRecurso() {
+            InputStream entrada = CalendarioHabil.class.getResourceAsStream(RECURSO_CHILE);
+            if (entrada == null) {
+                throw new IllegalStateException("no se encontró el recurso " + RECURSO_CHILE);
+            }
+            try (Reader lector = new InputStreamReader(entrada, StandardCharsets.UTF_8)) {
+                return carga(lector, TablaZonaHoraria.SANTIAGO);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private CalendarioHabil(TablaZonaHoraria zona, int anioDesde, int anioHasta, long[] feriados, int cantidadFeriados) {
+        this.zona = zona;
+        this.anioDesde = anioDesde;
+        this.anioHasta = anioHasta;
+        this.primerDia = CalendarioCivil.diaEpoca(anioDesde, 1, 1);
+        this.cantidadDias = (int) (CalendarioCivil.diaEpoca(anioHasta + 1, 1, 1) - primerDia);
+        this.cantidadFeriados = cantidadFeriados;
+        this.habiles = new long[(cantidadDias + 63) >>> 6];
+        for (int i = 0; i < cantidadDias; i++) {
+            if (CalendarioCivil.diaDeLaSemana(primerDia + i) <= 5) {
+                habiles[i >>> 6] |= 1L << i;
+            }
+        }
+        for (int i = 0; i < cantidadFeriados; i++) {
+            int indice = (int) (feriados[i] - primerDia);
+            habiles[indice >>> 6] &= ~(1L << indice);
+        }
+        this.acumulados = new int[habiles.length + 1];
+        for (int i = 0; i < habiles.length; i++) {
+            acumulados[i + 1] = acumulados[i] + Long.bitCount(habiles[i]);
+        }
+    }
+
+    /**
+     * @return el calendario de Chile en zona America/Santiago, cargado desde
+     * {@link #RECURSO_CHILE}.
+     */
+    public static CalendarioHabil chile() {
+        return Chile.INSTANCIA;
+    }
+
+    /**
+     * Carga los feriados desde un archivo local, en UTF-8, para la zona
+     * America/Santiago.
+     *
+     * @throws IOException              si falla la lectura.
+     * @throws IllegalArgumentException si una línea no tiene una fecha
+     *                                  válida o el archivo no tiene fechas.
+     */
+    public static CalendarioHabil carga(Path archivo) throws IOException {
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return carga(lector, TablaZonaHoraria.SANTIAGO);
+        }
+    }
+
+    /**
+     * Carga los feriados desde un lector, para la zona indicada. No cierra
+     * el lector.
+     *
+     * @throws IOException              si falla la lectura.
+     * @throws IllegalArgumentException si una línea no tiene una fecha
+     *                                  válida o no hay fechas.
+     */
+    public static CalendarioHabil carga(Reader lector, TablaZonaHoraria zona) throws IOException {
+        BufferedReader lineas = lector instanceof BufferedReader ? (BufferedReader) lector : new BufferedReader(lector);
+        long[] feriados = new long[64];
+        int cantidad = 0;
+        int anioDesde = Integer.MAX_VALUE;
+        int anioHasta = Integer.MIN_VALUE;
+        int numero = 0;
+        for (String linea = lineas.readLine(); linea != null; linea = lineas.readLine()) {
+            numero++;
+            int comentario = linea.indexOf('#');
+            String contenido = (comentario < 0 ? linea : linea.substring(0, comentario)).trim();
+            if (contenido.isEmpty()) {
+                continue;
+            }
+            int fecha = interpretaFecha(contenido);
+            if (fecha < 0) {
+                throw new IllegalArgumentException("línea " + numero + ": se esperaba una fecha yyyy-MM-dd y llegó \""
+                        + contenido + "\"");
+            }
+            int anio = CalendarioCivil.anio(fecha);
+            anioDesde = Math.min(anioDesde, anio);
+            anioHasta = Math.max(anioHasta, anio);
+            if (cantidad == feriados.length) {
+                feriados = Arrays.copyOf(feriados, cantidad * 2);
+            }
+            feriados[cantidad++] = CalendarioCivil.diaEpoca(anio, CalendarioCivil.mes(fecha), CalendarioCivil.dia(fecha));
+        }
+        if (cantidad == 0) {
+            throw new IllegalArgumentException("el archivo de feriados no tiene fechas");
+        }
+        return new CalendarioHabil(zona, anioDesde, anioHasta, feriados, cantidad);
+    }
+
+    /**
+     * @return fecha empaquetada de "yyyy-MM-dd" al inicio del texto, o -1
+     * si no es una fecha válida.
+     */
+    private static int interpretaFecha(String contenido) {
+        if (contenido.length() < 10 || (contenido.length() > 10 && !Character.isWhitespace(contenido.charAt(10)))
+                || contenido.charAt(4) != '-' || contenido.charAt(7) != '-') {
+            return -1;
+        }
+        int anio = digitos(contenido, 0, 4);
+        int mes = digitos(contenido, 5, 7);
+        int dia = digitos(contenido, 8, 10);
+        if (anio < 0 || mes < 1 || mes > 12 || dia < 1 || dia > CalendarioCivil.diasDelMes(anio, mes)) {
+            return -1;
+        }
+        return CalendarioCivil.empaqueta(anio, mes, dia);
+    }
+
+    private static int digitos(String texto, int desde, int hasta) {
+        int valor = 0;
+        for (int i = desde; i < hasta; i++) {
+            int digito = texto.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Días de calendario en Santiago entre dos instantes: los cambios de
+     * fecha del reloj de pared, sin importar las horas.
+     */
+    public static long diasCalendario(long desdeMilis, long hastaMilis) {
+        return diasCalendario(desdeMilis, hastaMilis, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Días de calendario entre dos instantes en la zona indicada.
+     */
+    public static long diasCalendario(long desdeMilis, long hastaMilis, TablaZonaHoraria zona) {
+        return zona.diaEpocaLocal(hastaMilis) - zona.diaEpocaLocal(desdeMilis);
+    }
+
+    /**
+     * Días hábiles entre dos instantes: los días hábiles desde la fecha
+     * local de desde, incluida, hasta la de hasta, excluida.
+     *
+     * @throws IllegalArgumentException si alguna fecha queda fuera de los
+     *                                  años del calendario.
+     */
+    public long diasHabiles(long desdeMilis, long hastaMilis) {
+        return diasHabilesEntreDias(zona.diaEpocaLocal(desdeMilis), zona.diaEpocaLocal(hastaMilis));
+    }
+
+    /**
+     * Igual que {@link #diasHabiles(long, long)} con números de día desde
+     * 1970-01-01.
+     *
+     * @throws IllegalArgumentException si algún día queda fuera de los años
+     *                                  del calendario.
+     */
+    public long diasHabilesEntreDias(long diaDesde, long diaHasta) {
+        return habilesAntesDe(diaHasta) - habilesAntesDe(diaDesde);
+    }
+
+    /**
+     * Versión masiva de {@link #diasHabiles(long, long)}: escribe en destino
+     * los días hábiles entre cada par desde[i], hasta[i].
+     *
+     * @param destino al menos del largo de desde.
+     */
+    public void diasHabiles(long[] desde, long[] hasta, long[] destino) {
+        if (hasta.length != desde.length || destino.length < desde.length) {
+            throw new IllegalArgumentException("largos incompatibles: desde " + desde.length + ", hasta "
+                    + hasta.length + ", destino " + destino.length);
+        }
+        for (int i = 0; i < desde.length; i++) {
+            destino[i] = diasHabiles(desde[i], hasta[i]);
+        }
+    }
+
+    /**
+     * @return true si la fecha local del instante es un día hábil.
+     */
+    public boolean esHabil(long epochMilis) {
+        return esDiaHabil(zona.diaEpocaLocal(epochMilis));
+    }
+
+    /**
+     * @return true si el número de día desde 1970-01-01 es un día hábil.
+     */
+    public boolean esDiaHabil(long diaEpoca) {
+        int indice = indice(diaEpoca);
+        if (indice == cantidadDias) {
+            throw fueraDeRango(diaEpoca);
+        }
+        return (habiles[indice >>> 6] & (1L << indice)) != 0;
+    }
+
+    /**
+     * Días hábiles desde el primer día del calendario hasta el día
+     * indicado, excluido.
+     */
+    private long habilesAntesDe(long diaEpoca) {
+        int indice = indice(diaEpoca);
+        int palabra = indice >>> 6;
+        int bit = indice & 63;
+        if (bit == 0) {
+            return acumulados[palabra];
+        }
+        return acumulados[palabra] + Long.bitCount(habiles[palabra] & ((1L << bit) - 1));
+    }
+
+    /**
+     * @return posición del día en el conjunto, de 0 a cantidadDias incluido,
+     * que es el día siguiente al último del calendario.
+     */
+    private int indice(long diaEpoca) {
+        long indice = diaEpoca - primerDia;
+        if (indice < 0 || indice > cantidadDias) {
+            throw fueraDeRango(diaEpoca);
+        }
+        return (int) indice;
+    }
+
+    private IllegalArgumentException fueraDeRango(long diaEpoca) {
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(diaEpoca);
+        return new IllegalArgumentException(String.format("la fecha %04d-%02d-%02d está fuera del calendario (%d a %d)",
+                CalendarioCivil.anio(fecha), CalendarioCivil.mes(fecha), CalendarioCivil.dia(fecha),
+                anioDesde, anioHasta));
+    }
+
+    public TablaZonaHoraria getZona() {
+        return zona;
+    }
+
+    /**
+     * @return primer año cubierto por el calendario.
+     */
+    public int getAnioDesde() {
+        return anioDesde;
+    }
+
+    /**
+     * @return último año cubierto por el calendario, incluido.
+     */
+    public int getAnioHasta() {
+        return anioHasta;
+    }
+
+    /**
+     * @return cantidad de líneas con fecha leídas del archivo, incluidos
+     * los feriados que caen en fin de semana.
+     */
+    public int getCantidadFeriados() {
+        return cantidadFeriados;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarioHabil[" + zona.getZona() + ", " + anioDesde + " a " + anioHasta + ", "
+                + cantidadFeriados + " feriados, " + acumulados[habiles.length] + " días hábiles]";
+    }
+}
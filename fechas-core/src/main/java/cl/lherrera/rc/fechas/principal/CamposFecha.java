@@ -0,0 +1,333 @@
+package cl.lherrera.rc.fechas.principal;
+
+/**
+ * Campos de una fecha en una zona horaria: año, mes, día, día del año, día
+ * de la semana, hora, minuto y segundo, sin Calendar ni Map.
+ *
+ * Se puede usar de tres formas:
+ * <ul>
+ *     <li>como objeto inmutable con {@link #de(long)}: guarda solamente
+ *     los milisegundos y calcula los campos la primera vez que se piden.</li>
+ *     <li>empaquetados en un long con {@link #empaqueta(long)}, que se lee
+ *     con los métodos estáticos {@link #anio(long)}, {@link #mes(long)},
+ *     etc. Sirve para guardarlos en un long[] sin crear objetos.</li>
+ *     <li>por columnas con {@link #separa(long[], Columnas)}, que llena un
+ *     int[] por campo para millones de instantes a la vez.</li>
+ * </ul>
+ *
+ * Es el reemplazo de FechasUtil.separaFechaEnArreglo, que crea un
+ * GregorianCalendar y un HashMap con siete Integer por fecha. A diferencia
+ * de Calendar, el mes va de 1 a 12, el día de la semana es ISO (1 es lunes
+ * y 7 es domingo) y la zona horaria es America/Santiago salvo que se
+ * indique otra.
+ *
+ * Bits del long empaquetado, desde el menos significativo: segundo (6),
+ * minuto (6), hora (5), día de la semana (3), día del año (9), día (5),
+ * mes (4) y año con signo (26).
+ */
+public final class CamposFecha {
+
+    /**
+     * Cantidad de instantes desde la cual la versión por columnas reparte
+     * el trabajo entre los núcleos.
+     */
+    public static final int UMBRAL_PARALELO = 8192;
+
+    private static final int BITS_SEGUNDO = 0;
+    private static final int BITS_MINUTO = 6;
+    private static final int BITS_HORA = 12;
+    private static final int BITS_DIA_SEMANA = 17;
+    private static final int BITS_DIA_DEL_ANIO = 20;
+    private static final int BITS_DIA = 29;
+    private static final int BITS_MES = 34;
+    private static final int BITS_ANIO = 38;
+
+    /**
+     * Instantes que se pasan a milisegundos locales de una vez en la
+     * versión por columnas.
+     */
+    private static final int BLOQUE = 1024;
+
+    private final long epochMilis;
+    private final TablaZonaHoraria zona;
+
+    /**
+     * Campos empaquetados, 0 mientras no se calculen. Nunca es 0 una vez
+     * calculado, ya que el mes es al menos 1.
+     */
+    private volatile long campos;
+
+    private CamposFecha(long epochMilis, TablaZonaHoraria zona) {
+        this.epochMilis = epochMilis;
+        this.zona = zona;
+    }
+
+    /**
+     * @return los campos del instante en zona America/Santiago.
+     */
+    public static CamposFecha de(long epochMilis) {
+        return new CamposFecha(epochMilis, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * @return los campos del instante en la zona indicada.
+     */
+    public static CamposFecha de(long epochMilis, TablaZonaHoraria zona) {
+        return new CamposFecha(epochMilis, zona);
+    }
+
+    public long getEpochMilis() {
+        return epochMilis;
+    }
+
+    /**
+     * @return los campos empaquetados, calculándolos si hace falta.
+     */
+    public long getEmpaquetados() {
+        long valor = campos;
+        if (valor == 0) {
+            // si dos hilos lo calculan a la vez ambos obtienen lo mismo.
+            valor = empaqueta(epochMilis, zona);
+            campos = valor;
+        }
+        return valor;
+    }
+
+    public int getAnio() {
+        return anio(getEmpaquetados());
+    }
+
+    /**
+     * @return mes de 1 a 12.
+     */
+    public int getMes() {
+        return mes(getEmpaquetados());
+    }
+
+    public int getDia() {
+        return dia(getEmpaquetados());
+    }
+
+    /**
+     * @return día del año de 1 a 366.
+     */
+    public int getDiaDelAnio() {
+        return diaDelAnio(getEmpaquetados());
+    }
+
+    /**
+     * @return día de la semana ISO, 1 es lunes y 7 es domingo.
+     */
+    public int getDiaDeLaSemana() {
+        return diaDeLaSemana(getEmpaquetados());
+    }
+
+    /**
+     * @return hora de 0 a 23.
+     */
+    public int getHora() {
+        return hora(getEmpaquetados());
+    }
+
+    public int getMinuto() {
+        return minuto(getEmpaquetados());
+    }
+
+    public int getSegundo() {
+        return segundo(getEmpaquetados());
+    }
+
+    /**
+     * @return los campos del instante en zona America/Santiago, empaquetados.
+     */
+    public static long empaqueta(long epochMilis) {
+        return empaqueta(epochMilis, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * @return los campos del instante en la zona indicada, empaquetados.
+     */
+    public static long empaqueta(long epochMilis, TablaZonaHoraria zona) {
+        return empaquetaLocal(zona.aMilisLocales(epochMilis));
+    }
+
+    public static int anio(long campos) {
+        return (int) (campos >> BITS_ANIO);
+    }
+
+    public static int mes(long campos) {
+        return (int) (campos >>> BITS_MES) & 0xF;
+    }
+
+    public static int dia(long campos) {
+        return (int) (campos >>> BITS_DIA) & 0x1F;
+    }
+
+    public static int diaDelAnio(long campos) {
+        return (int) (campos >>> BITS_DIA_DEL_ANIO) & 0x1FF;
+    }
+
+    public static int diaDeLaSemana(long campos) {
+        return (int) (campos >>> BITS_DIA_SEMANA) & 0x7;
+    }
+
+    public static int hora(long campos) {
+        return (int) (campos >>> BITS_HORA) & 0x1F;
+    }
+
+    public static int minuto(long campos) {
+        return (int) (campos >>> BITS_MINUTO) & 0x3F;
+    }
+
+    public static int segundo(long campos) {
+        return (int) (campos >>> BITS_SEGUNDO) & 0x3F;
+    }
+
+    /**
+     * Columnas de campos, un int[] por campo, todas del mismo largo.
+     */
+    public static final class Columnas {
+        public final int[] anio;
+        public final int[] mes;
+        public final int[] dia;
+        public final int[] diaDelAnio;
+        public final int[] diaDeLaSemana;
+        public final int[] hora;
+        public final int[] minuto;
+        public final int[] segundo;
+
+        public Columnas(int largo) {
+            this.anio = new int[largo];
+            this.mes = new int[largo];
+            this.dia = new int[largo];
+            this.diaDelAnio = new int[largo];
+            this.diaDeLaSemana = new int[largo];
+            this.hora = new int[largo];
+            this.minuto = new int[largo];
+            this.segundo = new int[largo];
+        }
+
+        public int getLargo() {
+            return anio.length;
+        }
+    }
+
+    /**
+     * @return columnas nuevas con los campos de cada instante en zona
+     * America/Santiago.
+     */
+    public static Columnas separa(long[] epocas) {
+        Columnas columnas = new Columnas(epocas.length);
+        separa(epocas, columnas, TablaZonaHoraria.SANTIAGO);
+        return columnas;
+    }
+
+    /**
+     * Llena las columnas con los campos de cada instante en zona
+     * America/Santiago.
+     *
+     * @param destino al menos del largo de epocas.
+     */
+    public static void separa(long[] epocas, Columnas destino) {
+        separa(epocas, destino, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Llena las columnas con los campos de cada instante en la zona
+     * indicada. Los lotes de más de {@link #UMBRAL_PARALELO} instantes se
+     * reparten entre los núcleos con fork/join.
+     *
+     * @param destino al menos del largo de epocas.
+     */
+    public static void separa(long[] epocas, Columnas destino, TablaZonaHoraria zona) {
+        int largo = epocas.length;
+        if (destino.getLargo() < largo) {
+            throw new IllegalArgumentException("el destino tiene largo " + destino.getLargo()
+                    + " y se necesitan " + largo + " posiciones");
+        }
+        TareaRango.ejecuta(largo, UMBRAL_PARALELO, (desde, hasta) -> separaTramo(epocas, desde, hasta, destino, zona));
+    }
+
+    /**
+     * Los instantes se pasan a milisegundos locales por bloques, y los
+     * campos del día se reutilizan mientras el día no cambie, que es lo
+     * normal en datos ordenados o agrupados.
+     */
+    private static void separaTramo(long[] epocas, int desde, int hasta, Columnas destino, TablaZonaHoraria zona) {
+        long[] locales = new long[Math.min(BLOQUE, hasta - desde)];
+        long diaAnterior = Long.MIN_VALUE;
+        int anio = 0;
+        int mes = 0;
+        int dia = 0;
+        int diaDelAnio = 0;
+        int diaDeLaSemana = 0;
+        for (int bloque = desde; bloque < hasta; bloque += BLOQUE) {
+            int finBloque = Math.min(hasta, bloque + BLOQUE);
+            zona.aMilisLocales(epocas, bloque, finBloque, locales, 0);
+            for (int i = bloque; i < finBloque; i++) {
+                long milisLocales = locales[i - bloque];
+                long diaEpoca = Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA);
+                if (diaEpoca != diaAnterior) {
+                    int fecha = CalendarioCivil.fechaDeDiaEpoca(diaEpoca);
+                    anio = CalendarioCivil.anio(fecha);
+                    mes = CalendarioCivil.mes(fecha);
+                    dia = CalendarioCivil.dia(fecha);
+                    diaDelAnio = CalendarioCivil.diaDelAnio(anio, mes, dia);
+                    diaDeLaSemana = CalendarioCivil.diaDeLaSemana(diaEpoca);
+                    diaAnterior = diaEpoca;
+                }
+                int segundoDelDia = (int) ((milisLocales - diaEpoca * CalendarioCivil.MILIS_POR_DIA) / 1000);
+                destino.anio[i] = anio;
+                destino.mes[i] = mes;
+                destino.dia[i] = dia;
+                destino.diaDelAnio[i] = diaDelAnio;
+                destino.diaDeLaSemana[i] = diaDeLaSemana;
+                destino.hora[i] = segundoDelDia / 3600;
+                destino.minuto[i] = segundoDelDia / 60 % 60;
+                destino.segundo[i] = segundoDelDia % 60;
+            }
+        }
+    }
+
+    private static long empaquetaLocal(long milisLocales) {
+        long diaEpoca = Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(diaEpoca);
+        int anio = CalendarioCivil.anio(fecha);
+        int mes = CalendarioCivil.mes(fecha);
+        int dia = CalendarioCivil.dia(fecha);
+        int segundoDelDia = (int) ((milisLocales - diaEpoca * CalendarioCivil.MILIS_POR_DIA) / 1000);
+        return ((long) anio << BITS_ANIO)
+                | ((long) mes << BITS_MES)
+                | ((long) dia << BITS_DIA)
+                | ((long) CalendarioCivil.diaDelAnio(anio, mes, dia) << BITS_DIA_DEL_ANIO)
+                | ((long) CalendarioCivil.diaDeLaSemana(diaEpoca) << BITS_DIA_SEMANA)
+                | ((long) (segundoDelDia / 3600) << BITS_HORA)
+                | ((long) (segundoDelDia / 60 % 60) << BITS_MINUTO)
+                | (segundoDelDia % 60);
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof CamposFecha)) {
+            return false;
+        }
+        CamposFecha campos = (CamposFecha) otro;
+        return epochMilis == campos.epochMilis && zona == campos.zona;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(epochMilis) * 31 + System.identityHashCode(zona);
+    }
+
+    @Override
+    public String toString() {
+        long valor = getEmpaquetados();
+        return String.format("CamposFecha[%04d-%02d-%02d %02d:%02d:%02d, díaDelAño=%d, díaDeLaSemana=%d]",
+                anio(valor), mes(valor), dia(valor), hora(valor), minuto(valor), segundo(valor),
+                diaDelAnio(valor), diaDeLaSemana(valor));
+    }
+}
@@ -0,0 +1,273 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Zona horaria y localidad ya resueltas, para formatear, parsear y escribir
+ * fechas en palabras sin buscar la zona ni la localidad en cada llamada.
+ *
+ * Al crearse carga la {@link TablaZonaHoraria} de la zona, los nombres de
+ * días y meses de la localidad y una {@link CachePalabrasFecha} propia; de
+ * ahí en adelante es inmutable, por lo que una sola instancia se comparte
+ * entre hilos, se pasa a cada operación o se registra como bean.
+ *
+ * {@link #de(ZoneId, Locale)} guarda los contextos creados, así pedir dos
+ * veces la misma zona y localidad entrega la misma instancia y no vuelve a
+ * precalcular la tabla de la zona.
+ *
+ * En español las fechas en palabras salen de las tablas de
+ * {@link PalabrasFecha}, como [sábado 17 de julio de 2021]. En otra
+ * localidad se usa el formato largo de java.time, como
+ * [Saturday, July 17, 2021], que se calcula una vez por día gracias a la
+ * cache.
+ */
+public final class ContextoFecha {
+
+    /**
+     * Zona America/Santiago con localidad es-CL, lo mismo que usan los
+     * métodos estáticos de la librería.
+     */
+    public static final ContextoFecha SANTIAGO = new ContextoFecha(TablaZonaHoraria.SANTIAGO, new Locale("es", "CL"));
+
+    private static final ConcurrentMap<List<Object>, ContextoFecha> CONTEXTOS = new ConcurrentHashMap<>();
+
+    static {
+        CONTEXTOS.put(llave(SANTIAGO.getZonaId(), SANTIAGO.localidad), SANTIAGO);
+    }
+
+    private final TablaZonaHoraria zona;
+    private final Locale localidad;
+
+    /**
+     * Nombres de los días, indexados por día de la semana ISO (1 es lunes).
+     */
+    private final String[] dias = new String[8];
+
+    /**
+     * Nombres de los meses, indexados de 1 a 12.
+     */
+    private final String[] meses = new String[13];
+
+    /**
+     * Formato largo de la localidad, null en español.
+     */
+    private final DateTimeFormatter formatoPalabras;
+
+    private final CachePalabrasFecha palabras;
+
+    /**
+     * @param zona      tabla de la zona horaria, que se comparte tal cual.
+     * @param localidad idioma de los nombres de días y meses.
+     */
+    public ContextoFecha(TablaZonaHoraria zona, Locale localidad) {
+        this.zona = Objects.requireNonNull(zona, "zona");
+        this.localidad = Objects.requireNonNull(localidad, "localidad");
+        boolean espaniol = "es".equals(localidad.getLanguage());
+        for (int i = 1; i <= 7; i++) {
+            dias[i] = espaniol ? PalabrasFecha.nombreDia(i)
+                    : DayOfWeek.of(i).getDisplayName(TextStyle.FULL, localidad);
+        }
+        for (int i = 1; i <= 12; i++) {
+            meses[i] = espaniol ? PalabrasFecha.nombreMes(i)
+                    : Month.of(i).getDisplayName(TextStyle.FULL, localidad);
+        }
+        this.formatoPalabras = espaniol ? null
+                : DateTimeFormatter.ofLocalizedDate(FormatStyle.FULL).withLocale(localidad);
+        this.palabras = new CachePalabrasFecha(PalabrasFecha.CAPACIDAD_CACHE, this::generaDia);
+    }
+
+    /**
+     * Contexto de una zona y localidad, creado la primera vez y reutilizado
+     * después.
+     */
+    public static ContextoFecha de(ZoneId zona, Locale localidad) {
+        return CONTEXTOS.computeIfAbsent(llave(zona, localidad),
+                llave -> new ContextoFecha(new TablaZonaHoraria(zona), localidad));
+    }
+
+    /**
+     * Igual que {@link #de(ZoneId, Locale)}, desde textos como
+     * "America/Bogota" y "es-CO".
+     *
+     * @throws IllegalArgumentException si la zona no existe o la localidad
+     *                                  está vacía.
+     */
+    public static ContextoFecha de(String zona, String localidad) {
+        if (localidad == null || localidad.isBlank()) {
+            throw new IllegalArgumentException("localidad vacía");
+        }
+        ZoneId zonaId;
+        try {
+            zonaId = ZoneId.of(zona);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("zona horaria desconocida: " + zona, e);
+        }
+        return de(zonaId, Locale.forLanguageTag(localidad.trim()));
+    }
+
+    private static List<Object> llave(ZoneId zona, Locale localidad) {
+        return Arrays.asList(Objects.requireNonNull(zona, "zona"), Objects.requireNonNull(localidad, "localidad"));
+    }
+
+    /**
+     * Formato local [13-12-2020 00:00:31] en esta zona.
+     */
+    public String formateaEs(long epochMilis) {
+        char[] destino = new char[FormateadorFechas.LARGO];
+        escribeEs(epochMilis, destino, 0);
+        return new String(destino);
+    }
+
+    /**
+     * Formato [2020-12-13 00:00:31] en esta zona.
+     */
+    public String formateaEn(long epochMilis) {
+        char[] destino = new char[FormateadorFechas.LARGO];
+        escribeEn(epochMilis, destino, 0);
+        return new String(destino);
+    }
+
+    /**
+     * Escribe [13-12-2020 00:00:31] en destino a partir de la posición desde.
+     *
+     * @return posición siguiente al último carácter escrito.
+     */
+    public int escribeEs(long epochMilis, char[] destino, int desde) {
+        long campos = CamposFecha.empaqueta(epochMilis, zona);
+        return FormateadorFechas.escribeEs(CamposFecha.anio(campos), CamposFecha.mes(campos),
+                CamposFecha.dia(campos), CamposFecha.hora(campos), CamposFecha.minuto(campos),
+                CamposFecha.segundo(campos), destino, desde);
+    }
+
+    /**
+     * Escribe [2020-12-13 00:00:31] en destino a partir de la posición desde.
+     *
+     * @return posición siguiente al último carácter escrito.
+     */
+    public int escribeEn(long epochMilis, char[] destino, int desde) {
+        long campos = CamposFecha.empaqueta(epochMilis, zona);
+        return FormateadorFechas.escribeEn(CamposFecha.anio(campos), CamposFecha.mes(campos),
+                CamposFecha.dia(campos), CamposFecha.hora(campos), CamposFecha.minuto(campos),
+                CamposFecha.segundo(campos), destino, desde);
+    }
+
+    /**
+     * Parsea [13-12-2021 23:59:59] como reloj de pared de esta zona.
+     *
+     * @return milisegundos desde la época, o
+     *         {@link ParseadorFechas#FECHA_INVALIDA}.
+     */
+    public long parseaEs(CharSequence fechaLiteral) {
+        return ParseadorFechas.parseaEs(fechaLiteral, zona);
+    }
+
+    /**
+     * Parsea [2021-12-13 23:59:59] como reloj de pared de esta zona.
+     *
+     * @return milisegundos desde la época, o
+     *         {@link ParseadorFechas#FECHA_INVALIDA}.
+     */
+    public long parseaEn(CharSequence fechaLiteral) {
+        return ParseadorFechas.parseaEn(fechaLiteral, zona);
+    }
+
+    /**
+     * Parsea un literal con un formato compilado, en esta zona.
+     *
+     * @return milisegundos desde la época, o
+     *         {@link ParseadorFechas#FECHA_INVALIDA}.
+     */
+    public long parsea(FormatoFecha formato, CharSequence literal) {
+        return formato.parsea(literal, zona);
+    }
+
+    /**
+     * Fecha en palabras en esta zona y localidad, desde la cache por día.
+     */
+    public String enPalabras(long epochMilis) {
+        return palabras.obtiene(zona.diaEpocaLocal(epochMilis));
+    }
+
+    /**
+     * @return campos de la fecha en esta zona.
+     */
+    public CamposFecha campos(long epochMilis) {
+        return CamposFecha.de(epochMilis, zona);
+    }
+
+    /**
+     * @return día local desde 1970-01-01 en esta zona.
+     */
+    public long diaEpocaLocal(long epochMilis) {
+        return zona.diaEpocaLocal(epochMilis);
+    }
+
+    /**
+     * Días de calendario entre dos instantes, en esta zona. Ver
+     * {@link CalendarioHabil#diasCalendario(long, long, TablaZonaHoraria)}.
+     */
+    public long diasCalendario(long desdeMilis, long hastaMilis) {
+        return CalendarioHabil.diasCalendario(desdeMilis, hastaMilis, zona);
+    }
+
+    /**
+     * @return nombre del día de la semana ISO en esta localidad, 1 es lunes.
+     */
+    public String nombreDia(int diaDeLaSemana) {
+        return dias[diaDeLaSemana];
+    }
+
+    /**
+     * @return nombre del mes en esta localidad, de 1 a 12.
+     */
+    public String nombreMes(int mes) {
+        return meses[mes];
+    }
+
+    public TablaZonaHoraria getZona() {
+        return zona;
+    }
+
+    public ZoneId getZonaId() {
+        return zona.getZona();
+    }
+
+    public Locale getLocalidad() {
+        return localidad;
+    }
+
+    /**
+     * @return cache de las fechas en palabras de este contexto.
+     */
+    public CachePalabrasFecha getCache() {
+        return palabras;
+    }
+
+    private String generaDia(long diaEpoca) {
+        if (formatoPalabras != null) {
+            return formatoPalabras.format(LocalDate.ofEpochDay(diaEpoca));
+        }
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(diaEpoca);
+        return new StringBuilder(40).append(dias[CalendarioCivil.diaDeLaSemana(diaEpoca)])
+                .append(' ').append(CalendarioCivil.dia(fecha))
+                .append(" de ").append(meses[CalendarioCivil.mes(fecha)])
+                .append(" de ").append(CalendarioCivil.anio(fecha)).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ContextoFecha[" + zona.getZona() + ", " + localidad.toLanguageTag() + "]";
+    }
+}
@@ -0,0 +1,87 @@
+package cl.lherrera.rc.fechas.principal;
+
+/**
+ * Diferencias masivas entre dos columnas de instantes, en milisegundos,
+ * segundos o días, como las edades de SLA de millones de pares de tickets.
+ *
+ * Cada método recibe dos long[] de milisegundos desde la época, del mismo
+ * largo, y escribe en un long[] de quien llama el valor absoluto de la
+ * diferencia de cada par, truncado a la unidad igual que
+ * diferenciaFechasEnSegundos y diferenciaDiasFechaLocal, pero sin Date,
+ * sin logs y sin truncar a int.
+ *
+ * Los lotes de más de {@link #UMBRAL_PARALELO} pares se reparten entre los
+ * núcleos con fork/join. El ciclo interno no tiene ramas ni llamadas, por
+ * lo que la JIT lo puede vectorizar; la versión en milisegundos (resta y
+ * valor absoluto) es la que más gana, ya que la división de long por una
+ * constante la JIT la cambia por una multiplicación pero no la vectoriza.
+ *
+ * Nota: la diferencia en días es de 24 horas exactas, sin considerar los
+ * cambios de horario, igual que diferenciaDiasFechaLocal.
+ */
+public final class DiferenciasMasivas {
+
+    /**
+     * Cantidad de pares desde la cual conviene repartir el trabajo.
+     */
+    public static final int UMBRAL_PARALELO = 65_536;
+
+    private DiferenciasMasivas() {
+    }
+
+    /**
+     * |desde[i] - hasta[i]| en milisegundos.
+     *
+     * @param destino al menos del largo de desde, puede ser uno de los
+     *                arreglos de entrada.
+     */
+    public static void enMilisegundos(long[] desde, long[] hasta, long[] destino) {
+        valida(desde, hasta, destino);
+        TareaRango.ejecuta(desde.length, UMBRAL_PARALELO, (inicio, fin) -> {
+            for (int i = inicio; i < fin; i++) {
+                destino[i] = Math.abs(desde[i] - hasta[i]);
+            }
+        });
+    }
+
+    /**
+     * |desde[i] - hasta[i]| en segundos completos.
+     *
+     * @param destino al menos del largo de desde, puede ser uno de los
+     *                arreglos de entrada.
+     */
+    public static void enSegundos(long[] desde, long[] hasta, long[] destino) {
+        valida(desde, hasta, destino);
+        TareaRango.ejecuta(desde.length, UMBRAL_PARALELO, (inicio, fin) -> {
+            for (int i = inicio; i < fin; i++) {
+                destino[i] = Math.abs(desde[i] - hasta[i]) / CalendarioCivil.MILIS_POR_SEGUNDO;
+            }
+        });
+    }
+
+    /**
+     * |desde[i] - hasta[i]| en días completos de 24 horas.
+     *
+     * @param destino al menos del largo de desde, puede ser uno de los
+     *                arreglos de entrada.
+     */
+    public static void enDias(long[] desde, long[] hasta, long[] destino) {
+        valida(desde, hasta, destino);
+        TareaRango.ejecuta(desde.length, UMBRAL_PARALELO, (inicio, fin) -> {
+            for (int i = inicio; i < fin; i++) {
+                destino[i] = Math.abs(desde[i] - hasta[i]) / CalendarioCivil.MILIS_POR_DIA;
+            }
+        });
+    }
+
+    private static void valida(long[] desde, long[] hasta, long[] destino) {
+        if (desde.length != hasta.length) {
+            throw new IllegalArgumentException("las columnas tienen largos distintos: "
+                    + desde.length + " y " + hasta.length);
+        }
+        if (destino.length < desde.length) {
+            throw new IllegalArgumentException("el destino tiene largo " + destino.length
+                    + " y se necesitan " + desde.length + " posiciones");
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package cl.lherrera.rc.fechas.principal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingControl;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Eventos de JDK Flight Recorder de las operaciones de fechas, para
+ * cruzarlos con los eventos de GC y de bloqueos en una misma grabación.
+ *
+ * Los umbrales y el muestreo se configuran en el archivo "fechas.jfc" de
+ * los recursos. Sin una grabación activa, shouldCommit() es falso y la
+ * JIT elimina el evento, por lo que el costo es casi nulo y pueden quedar
+ * siempre compilados. Los campos solamente se llenan después de
+ * shouldCommit(), así no se arman textos que nadie va a leer.
+ *
+ * Uso de un evento con duración:
+ *
+ * <pre>
+ *     EventosFechas.Parseo evento = new EventosFechas.Parseo();
+ *     evento.begin();
+ *     ...
+ *     if (evento.shouldCommit()) {
+ *         evento.literal = ...;
+ *         evento.commit();
+ *     }
+ * </pre>
+ */
+public final class EventosFechas {
+
+    private EventosFechas() {
+    }
+
+    /**
+     * Fecha rechazada por la validación o el parseo.
+     */
+    @Name("cl.lherrera.rc.fechas.ValidacionFallida")
+    @Label("Validación de fecha fallida")
+    @Category({"Fechas"})
+    @StackTrace(false)
+    public static final class ValidacionFallida extends Event {
+        @Label("Formato")
+        String formato;
+
+        @Label("Fecha")
+        String fecha;
+
+        @Label("Error")
+        String error;
+
+        @Label("Posición")
+        @Description("Posición del primer carácter con error, o -1.")
+        int posicion;
+
+        @Label("Muestreo")
+        @SettingDefinition
+        protected boolean muestreo(ControlMuestreo control) {
+            return control.toca();
+        }
+    }
+
+    /**
+     * Parseo de un literal a una fecha que superó el umbral.
+     */
+    @Name("cl.lherrera.rc.fechas.Parseo")
+    @Label("Parseo de fecha")
+    @Category({"Fechas"})
+    @StackTrace(false)
+    public static final class Parseo extends Event {
+        @Label("Literal")
+        String literal;
+
+        @Label("Válida")
+        boolean valida;
+
+        @Label("Muestreo")
+        @SettingDefinition
+        protected boolean muestreo(ControlMuestreo control) {
+            return control.toca();
+        }
+    }
+
+    /**
+     * Formateo de una fecha a texto que superó el umbral.
+     */
+    @Name("cl.lherrera.rc.fechas.Formateo")
+    @Label("Formateo de fecha")
+    @Category({"Fechas"})
+    @StackTrace(false)
+    public static final class Formateo extends Event {
+        @Label("Operación")
+        String operacion;
+
+        @Label("Salida")
+        String salida;
+
+        @Label("Muestreo")
+        @SettingDefinition
+        protected boolean muestreo(ControlMuestreo control) {
+            return control.toca();
+        }
+    }
+
+    /**
+     * Creación de un Calendar, que es lo que más objetos crea en el manejo
+     * de fechas. Incluye la traza, para encontrar quién lo pide.
+     */
+    @Name("cl.lherrera.rc.fechas.CreacionCalendario")
+    @Label("Creación de calendario")
+    @Category({"Fechas"})
+    public static final class CreacionCalendario extends Event {
+        @Label("Origen")
+        String origen;
+    }
+
+    /**
+     * Registra un evento de validación fallida, si está habilitado.
+     *
+     * @param codigo código de {@link ValidadorFechas}.
+     */
+    static void validacionFallida(String formato, CharSequence fecha, int codigo) {
+        ValidacionFallida evento = new ValidacionFallida();
+        if (evento.shouldCommit()) {
+            evento.formato = formato;
+            evento.fecha = fecha == null ? null : fecha.toString();
+            evento.error = ValidadorFechas.describe(codigo);
+            evento.posicion = ValidadorFechas.esValida(codigo) ? -1 : ValidadorFechas.posicionError(codigo);
+            evento.commit();
+        }
+    }
+
+    /**
+     * Comienza un evento de formateo.
+     */
+    static Formateo inicioFormateo() {
+        Formateo evento = new Formateo();
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Termina un evento de formateo y lo registra si corresponde.
+     *
+     * @return la misma salida, para usarlo en el return.
+     */
+    static String finFormateo(Formateo evento, String operacion, String salida) {
+        if (evento.shouldCommit()) {
+            evento.operacion = operacion;
+            evento.salida = salida;
+            evento.commit();
+        }
+        return salida;
+    }
+
+    /**
+     * Registra la creación de un calendario, si está habilitado.
+     */
+    static void creacionCalendario(String origen) {
+        CreacionCalendario evento = new CreacionCalendario();
+        if (evento.shouldCommit()) {
+            evento.origen = origen;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Muestreo de eventos configurable en el archivo .jfc: el valor N deja
+     * pasar uno de cada N eventos, elegidos al azar. Con varias grabaciones
+     * activas se usa el muestreo más fino.
+     */
+    public static final class ControlMuestreo extends SettingControl {
+        private volatile int cadaN = 1;
+
+        @Override
+        public String combine(Set<String> valores) {
+            int menor = Integer.MAX_VALUE;
+            for (String valor : valores) {
+                menor = Math.min(menor, interpreta(valor));
+            }
+            return valores.isEmpty() ? "1" : String.valueOf(menor);
+        }
+
+        @Override
+        public void setValue(String valor) {
+            cadaN = interpreta(valor);
+        }
+
+        @Override
+        public String getValue() {
+            return String.valueOf(cadaN);
+        }
+
+        boolean toca() {
+            int n = cadaN;
+            return n <= 1 || ThreadLocalRandom.current().nextInt(n) == 0;
+        }
+
+        private static int interpreta(String valor) {
+            try {
+                return Math.max(1, Integer.parseInt(valor.trim()));
+            } catch (NumberFormatException e) {
+                return 1;
+            }
+        }
+    }
+}
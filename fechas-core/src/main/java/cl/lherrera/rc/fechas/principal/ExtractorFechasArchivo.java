@@ -0,0 +1,300 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Extrae las fechas "dd-MM-yyyy HH:mm:ss" y "yyyy-MM-dd HH:mm:ss" de archivos
+ * de log grandes, usando todos los núcleos.
+ *
+ * El archivo se mapea a memoria con FileChannel.map y se corta en tramos de
+ * {@link #TAMANIO_TRAMO} bytes. Cada tramo procesa las líneas que comienzan
+ * dentro de él, aunque terminen en el siguiente, por lo que los cortes
+ * siempre quedan en saltos de línea. Los bytes ASCII se parsean en su lugar,
+ * sin pasar por String.
+ *
+ * En cada línea se busca la primera fecha válida dentro de los primeros
+ * {@link #VENTANA_BUSQUEDA} bytes. Las líneas sin fecha se cuentan pero no se
+ * escriben.
+ *
+ * Formato de salida, big-endian:
+ * <ul>
+ *     <li>cabecera de 8 bytes ASCII: "FECHAS01".</li>
+ *     <li>un registro de 16 bytes por línea con fecha: long con el
+ *     desplazamiento en bytes del inicio de la línea y long con los
+ *     milisegundos desde la época en zona America/Santiago.</li>
+ * </ul>
+ * Los registros quedan en el mismo orden de las líneas del archivo.
+ */
+public final class ExtractorFechasArchivo {
+
+    /**
+     * Cabecera del archivo de salida.
+     */
+    public static final byte[] CABECERA = {'F', 'E', 'C', 'H', 'A', 'S', '0', '1'};
+
+    /**
+     * Bytes de archivo que procesa cada tarea.
+     */
+    public static final int TAMANIO_TRAMO = 64 * 1024 * 1024;
+
+    /**
+     * Bytes del inicio de cada línea en los que se busca una fecha.
+     */
+    public static final int VENTANA_BUSQUEDA = 256;
+
+    /**
+     * Bytes extra que se mapean después de cada tramo, para terminar de
+     * leer la última línea que comienza dentro de él.
+     */
+    private static final int MARGEN_LINEA = 1024 * 1024;
+
+    private ExtractorFechasArchivo() {
+    }
+
+    /**
+     * Totales de una extracción.
+     */
+    public static final class Resumen {
+        private final long bytes;
+        private final long lineas;
+        private final long fechas;
+        private final long milisegundos;
+
+        Resumen(long bytes, long lineas, long fechas, long milisegundos) {
+            this.bytes = bytes;
+            this.lineas = lineas;
+            this.fechas = fechas;
+            this.milisegundos = milisegundos;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getLineas() {
+            return lineas;
+        }
+
+        public long getFechas() {
+            return fechas;
+        }
+
+        public long getMilisegundos() {
+            return milisegundos;
+        }
+
+        /**
+         * @return megabytes por segundo leídos desde el archivo.
+         */
+        public double getMegabytesPorSegundo() {
+            return milisegundos == 0 ? 0 : bytes / 1048.576 / milisegundos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d bytes, %d líneas, %d fechas en %d ms (%.1f MB/s)",
+                    bytes, lineas, fechas, milisegundos, getMegabytesPorSegundo());
+        }
+    }
+
+    /**
+     * Extrae desde la línea de comandos, sin Spring ni más dependencias que
+     * fechas-core:
+     *
+     * <pre>
+     *     java -cp fechas-core.jar cl.lherrera.rc.fechas.principal.ExtractorFechasArchivo entrada.log [salida]
+     * </pre>
+     *
+     * Si no se indica la salida, se escribe junto a la entrada con extensión
+     * ".fechas", igual que la opción --extraer de la aplicación.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("uso: ExtractorFechasArchivo entrada [salida]");
+            System.exit(2);
+        }
+        Path entrada = Paths.get(args[0]);
+        Path salida = args.length > 1 ? Paths.get(args[1]) : Paths.get(args[0] + ".fechas");
+        System.out.println(extrae(entrada, salida));
+    }
+
+    /**
+     * Extrae las fechas de entrada y las escribe en salida.
+     *
+     * @throws IOException si falla la lectura o escritura.
+     */
+    public static Resumen extrae(Path entrada, Path salida) throws IOException {
+        return extrae(entrada, salida, TAMANIO_TRAMO);
+    }
+
+    /**
+     * Igual que {@link #extrae(Path, Path)}, con tramos del tamaño indicado.
+     */
+    static Resumen extrae(Path entrada, Path salida, int tamanioTramo) throws IOException {
+        long inicio = System.currentTimeMillis();
+        long lineas = 0;
+        long fechas = 0;
+        long tamanio;
+        try (FileChannel lector = FileChannel.open(entrada, StandardOpenOption.READ);
+             FileChannel escritor = FileChannel.open(salida, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            tamanio = lector.size();
+            escritor.write(ByteBuffer.wrap(CABECERA));
+
+            // se mantiene una ventana de tareas en vuelo y se escriben en orden,
+            // para no acumular en memoria los resultados de todo el archivo.
+            int enVuelo = 2 * ForkJoinPool.commonPool().getParallelism();
+            Deque<ForkJoinTask<Tramo>> pendientes = new ArrayDeque<>();
+            ByteBuffer registros = ByteBuffer.allocateDirect(64 * 1024);
+            for (long desde = 0; desde < tamanio || !pendientes.isEmpty(); ) {
+                while (desde < tamanio && pendientes.size() < enVuelo) {
+                    long hasta = Math.min(tamanio, desde + tamanioTramo);
+                    pendientes.add(ForkJoinPool.commonPool().submit(new TareaTramo(lector, tamanio, desde, hasta)));
+                    desde = hasta;
+                }
+                Tramo tramo = pendientes.removeFirst().join();
+                lineas += tramo.lineas;
+                fechas += tramo.cantidad;
+                escribe(tramo, registros, escritor);
+            }
+        }
+        return new Resumen(tamanio, lineas, fechas, System.currentTimeMillis() - inicio);
+    }
+
+    private static void escribe(Tramo tramo, ByteBuffer registros, FileChannel escritor) throws IOException {
+        for (int i = 0; i < tramo.cantidad; i++) {
+            if (registros.remaining() < 16) {
+                vacia(registros, escritor);
+            }
+            registros.putLong(tramo.desplazamientos[i]).putLong(tramo.epocas[i]);
+        }
+        vacia(registros, escritor);
+    }
+
+    private static void vacia(ByteBuffer registros, FileChannel escritor) throws IOException {
+        registros.flip();
+        while (registros.hasRemaining()) {
+            escritor.write(registros);
+        }
+        registros.clear();
+    }
+
+    /**
+     * Fechas encontradas en un tramo, en columnas que crecen al doble.
+     */
+    private static final class Tramo {
+        long[] desplazamientos = new long[1024];
+        long[] epocas = new long[1024];
+        int cantidad;
+        long lineas;
+
+        // las líneas del tramo van en orden, por lo que casi siempre
+        // comparten la fecha con la anterior.
+        final ParseadorIncremental es = ParseadorIncremental.es();
+        final ParseadorIncremental en = ParseadorIncremental.en();
+
+        void agrega(long desplazamiento, long epochMilis) {
+            if (cantidad == epocas.length) {
+                desplazamientos = Arrays.copyOf(desplazamientos, cantidad * 2);
+                epocas = Arrays.copyOf(epocas, cantidad * 2);
+            }
+            desplazamientos[cantidad] = desplazamiento;
+            epocas[cantidad++] = epochMilis;
+        }
+    }
+
+    /**
+     * Procesa las líneas que comienzan en [desde, hasta).
+     */
+    private static final class TareaTramo implements Callable<Tramo> {
+        private final FileChannel lector;
+        private final long tamanio;
+        private final long desde;
+        private final long hasta;
+
+        TareaTramo(FileChannel lector, long tamanio, long desde, long hasta) {
+            this.lector = lector;
+            this.tamanio = tamanio;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        public Tramo call() throws IOException {
+            // se mapea desde el byte anterior, para saber si el tramo
+            // comienza justo al inicio de una línea.
+            long base = Math.max(0, desde - 1);
+            long fin = Math.min(tamanio, hasta + MARGEN_LINEA);
+            MappedByteBuffer bytes = lector.map(FileChannel.MapMode.READ_ONLY, base, fin - base);
+            int limite = bytes.limit();
+            int finTramo = (int) (hasta - base);
+
+            int linea = 0;
+            if (desde > 0) {
+                linea = siguienteLinea(bytes, 0, limite);
+            }
+            Tramo tramo = new Tramo();
+            while (linea < finTramo && linea < limite) {
+                int finLinea = finDeLinea(bytes, linea, limite);
+                tramo.lineas++;
+                buscaFecha(bytes, linea, finLinea, base, tramo);
+                linea = finLinea + 1;
+            }
+            return tramo;
+        }
+    }
+
+    /**
+     * Busca la primera fecha de la línea [inicio, fin) dentro de la ventana
+     * de búsqueda, revisando primero los separadores que distinguen cada
+     * formato antes de intentar el parseo.
+     */
+    private static void buscaFecha(ByteBuffer bytes, int inicio, int fin, long base, Tramo tramo) {
+        int ultima = Math.min(fin, inicio + VENTANA_BUSQUEDA) - ValidadorFechas.LARGO_FECHA;
+        for (int p = inicio; p <= ultima; p++) {
+            byte c = bytes.get(p);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            long epochMilis = ParseadorFechas.FECHA_INVALIDA;
+            if (bytes.get(p + 2) == '-' && bytes.get(p + 5) == '-') {
+                epochMilis = tramo.es.parsea(bytes, p);
+            } else if (bytes.get(p + 4) == '-' && bytes.get(p + 7) == '-') {
+                epochMilis = tramo.en.parsea(bytes, p);
+            }
+            if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                tramo.agrega(base + inicio, epochMilis);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return posición siguiente al primer salto de línea desde p, o limite.
+     */
+    private static int siguienteLinea(ByteBuffer bytes, int p, int limite) {
+        return Math.min(limite, finDeLinea(bytes, p, limite) + 1);
+    }
+
+    /**
+     * @return posición del primer salto de línea desde p, o limite si no hay.
+     */
+    private static int finDeLinea(ByteBuffer bytes, int p, int limite) {
+        while (p < limite && bytes.get(p) != '\n') {
+            p++;
+        }
+        return p;
+    }
+}
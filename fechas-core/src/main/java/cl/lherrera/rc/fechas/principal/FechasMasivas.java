@@ -0,0 +1,108 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Parseo masivo de literales "dd-MM-yyyy HH:mm:ss", por columnas.
+ *
+ * Recibe un lote completo (una página de registros de base de datos, un
+ * poll de Kafka) y llena un long[] con los milisegundos desde la época en
+ * zona America/Santiago y un BitSet con las posiciones válidas, ambos
+ * entregados por quien llama. No se crea un Date ni un calendario por
+ * elemento.
+ *
+ * Los lotes de más de {@link #UMBRAL_PARALELO} elementos se reparten entre
+ * los núcleos con fork/join.
+ *
+ * En un solo núcleo no es más rápido que recorrer el lote con
+ * {@link ParseadorFechas#parseaEs(CharSequence)}, que usa el mismo parseo:
+ * lo que se gana es no crear objetos y, con varios núcleos, repartir los
+ * lotes grandes. Frente a un recorrido con FechasUtil.parseaStringAFecha sí
+ * gana cuando hay literales inválidos, porque no se lanza una excepción por
+ * cada uno.
+ */
+public final class FechasMasivas {
+
+    /**
+     * Cantidad de elementos desde la cual conviene repartir el trabajo. Bajo
+     * este valor el costo de coordinar los hilos supera al del parseo.
+     */
+    public static final int UMBRAL_PARALELO = 8192;
+
+    private FechasMasivas() {
+    }
+
+    /**
+     * Parsea todos los literales del arreglo.
+     *
+     * @param literales fechas con formato "dd-MM-yyyy HH:mm:ss", un String[] sirve.
+     * @param epocas    destino, al menos del largo de literales. Las
+     *                  posiciones inválidas quedan en {@link ParseadorFechas#FECHA_INVALIDA}.
+     * @param validas   destino, queda encendido el bit de cada posición válida
+     *                  y apagados los demás bits del rango.
+     * @return cantidad de fechas válidas.
+     */
+    public static int parseaEs(CharSequence[] literales, long[] epocas, BitSet validas) {
+        int largo = literales.length;
+        validaDestino(largo, epocas);
+        long[] palabras = new long[(largo + 63) >>> 6];
+        TareaRango.ejecuta(largo, UMBRAL_PARALELO, (desde, hasta) -> {
+            for (int i = desde; i < hasta; i++) {
+                long epochMilis = ParseadorFechas.parseaEs(literales[i]);
+                epocas[i] = epochMilis;
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    palabras[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return vuelca(palabras, largo, validas);
+    }
+
+    /**
+     * Parsea todos los literales de la lista. Las listas sin acceso aleatorio,
+     * como LinkedList, se copian primero a un arreglo.
+     *
+     * @see #parseaEs(CharSequence[], long[], BitSet)
+     */
+    public static int parseaEs(List<? extends CharSequence> literales, long[] epocas, BitSet validas) {
+        if (!(literales instanceof RandomAccess)) {
+            return parseaEs(literales.toArray(new CharSequence[0]), epocas, validas);
+        }
+        int largo = literales.size();
+        validaDestino(largo, epocas);
+        long[] palabras = new long[(largo + 63) >>> 6];
+        TareaRango.ejecuta(largo, UMBRAL_PARALELO, (desde, hasta) -> {
+            for (int i = desde; i < hasta; i++) {
+                long epochMilis = ParseadorFechas.parseaEs(literales.get(i));
+                epocas[i] = epochMilis;
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    palabras[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return vuelca(palabras, largo, validas);
+    }
+
+    private static void validaDestino(int largo, long[] epocas) {
+        if (epocas.length < largo) {
+            throw new IllegalArgumentException("el destino tiene largo " + epocas.length
+                    + " y se necesitan " + largo + " posiciones");
+        }
+    }
+
+    /**
+     * Copia el mapa de bits al BitSet de quien llama, en el hilo actual,
+     * ya que BitSet no admite escrituras concurrentes.
+     */
+    private static int vuelca(long[] palabras, int largo, BitSet validas) {
+        validas.clear(0, largo);
+        validas.or(BitSet.valueOf(palabras));
+        int cantidad = 0;
+        for (long palabra : palabras) {
+            cantidad += Long.bitCount(palabra);
+        }
+        return cantidad;
+    }
+}
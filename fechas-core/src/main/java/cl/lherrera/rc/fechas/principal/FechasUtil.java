@@ -0,0 +1,266 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+
+public class FechasUtil {
+
+    private static final Logger log = LoggerFactory.getLogger(FechasUtil.class);
+
+    private static final RenderizadorTiempoRelativo TIEMPO_TRANSCURRIDO = new RenderizadorTiempoRelativo(
+            Clock.systemUTC(), RenderizadorTiempoRelativo.Granularidad.COMPLETA, false);
+
+    /**
+     * Estructura gregoriana: WIKI
+     * El rango válido para el Calendario Gregoriano es de 4714 A.C. a 9999 D.C.
+     * Aunque esta función puede manejar fechas que se remontan hasta 4714 A.C.,
+     * tal uso puede no ser significativo. El calendario Gregoriano no fue
+     * establecido hasta el 15 de octubre de 1582
+     * (o 5 de octubre de 1582 el el calendario Juliano).
+     *
+     *
+     * Valida: AAAA-MM-DD HH:MM:SS
+     *
+     * valida estructura, valida estructura 2021-12-13 04:59:31, con límites por ejemplo 23 horas y no 24.
+     * La validación la resuelve ValidadorFechas recorriendo el literal carácter a carácter, el código
+     * de error indica qué campo falló y en qué posición.
+     */
+    public static void validaFechaGregoriana(String fechaGregoriana) {
+        log.info("Inicio - validaFechaGregoriana([{}])", fechaGregoriana);
+        int codigo = ValidadorFechas.validaEstructuraEn(fechaGregoriana);
+        boolean noEsPatronValido = !ValidadorFechas.esValida(codigo);
+        if(noEsPatronValido){
+            log.error("la fehcha [{}], es incompatible con el patron [yyyy-MM-dd HH:mm:ss]: {}",
+                    fechaGregoriana, ValidadorFechas.describe(codigo));
+            EventosFechas.validacionFallida("yyyy-MM-dd HH:mm:ss", fechaGregoriana, codigo);
+            throw new RuntimeException("formato de fecha incompatible");
+        }
+        log.info("Fin - validaFechaGregoriana([{}]), es válida", fechaGregoriana);
+    }
+
+
+    /**
+     * Valida: DD-MM-AAAA HH:MM:SS, el día está primero que el mes y que el año,
+     * que es el formato local.
+     */
+    public static void validaFechaGregorianaLocal(String fechaGregoriana) {
+        log.info("Inicio - validaFechaGregorianaLocal([{}])", fechaGregoriana);
+        int codigo = ValidadorFechas.validaEstructuraEs(fechaGregoriana);
+        boolean noEsPatronValido = !ValidadorFechas.esValida(codigo);
+        if(noEsPatronValido){
+            log.error("la fehcha [{}], es incompatible con el patron [dd-MM-yyyy HH:mm:ss]: {}",
+                    fechaGregoriana, ValidadorFechas.describe(codigo));
+            EventosFechas.validacionFallida("dd-MM-yyyy HH:mm:ss", fechaGregoriana, codigo);
+            throw new RuntimeException("formato de fecha incompatible");
+        }
+        log.info("Fin - validaFechaGregorianaLocal([{}]), es válida", fechaGregoriana);
+    }
+
+    /**
+     * Obtiene la fecha actual formateada a la forma en que se ve en Chile,
+     * adicionalmente se ajusta al horario de santiago en caso que
+     * el servidor esté en otro horario.
+     */
+    public static String obtenerFechaLocalLiteral(){
+        // "dd-MM-yyyy HH:mm:ss", HH es 24 horas, con minúsculas es de 0 a 12.
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        return EventosFechas.finFormateo(evento, "obtenerFechaLocalLiteral", RelojSantiago.SISTEMA.literal());
+    }
+
+    /**
+     * Igual que {@link #obtenerFechaLocalLiteral()}, en la zona del contexto.
+     */
+    public static String obtenerFechaLocalLiteral(ContextoFecha contexto) {
+        // RelojSantiago es solamente de Santiago, aquí se formatea en cada llamada.
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        return EventosFechas.finFormateo(evento, "obtenerFechaLocalLiteral",
+                contexto.formateaEs(System.currentTimeMillis()));
+    }
+
+    /**
+     * Transforma una fecha Date a un String con el nombre literal
+     * como: [sábado 17 de julio de 2021]
+     *
+     * Nota: Ojo con inicializar el SimpleDateFormat con el Locale.
+     *       si se hace eso, se queda en inglés. Debe ser en
+     *       GregorianCalendar.getInstance(localidad).getTime();
+     *       esto retornará un tipo Date.
+     *
+     * @param fecha Date.
+     * @return fecha en palabras.
+     */
+    public static String parseaAFechaPalabras(Date fecha) {
+        // los nombres salen de tablas en español, con el día en Santiago.
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        return EventosFechas.finFormateo(evento, "parseaAFechaPalabras", PalabrasFecha.enPalabras(fecha.getTime()));
+    }
+
+    /**
+     * Igual que {@link #parseaAFechaPalabras(Date)}, con la zona y la
+     * localidad del contexto.
+     */
+    public static String parseaAFechaPalabras(Date fecha, ContextoFecha contexto) {
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        return EventosFechas.finFormateo(evento, "parseaAFechaPalabras", contexto.enPalabras(fecha.getTime()));
+    }
+
+    /**
+     * Transforma un literal "dd-MM-yyyy HH:mm:ss" a una fecha, en zona horaria
+     * America/Santiago.
+     *
+     * Nota: el parseo lo hace ParseadorFechas en una sola pasada, validando
+     * además que el día exista en el mes, por lo que [31-02-2021 00:00:00]
+     * ya no se corre al 3 de marzo como lo hacía SimpleDateFormat.
+     *
+     * @param fechaLiteral transformada desde un string
+     * @return fecha en zona horaria de Santiago.
+     */
+    public static Date parseaStringAFecha(String fechaLiteral) {
+        EventosFechas.Parseo evento = new EventosFechas.Parseo();
+        evento.begin();
+        long epochMilis = ParseadorFechas.parseaEs(fechaLiteral);
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.literal = fechaLiteral;
+            evento.valida = epochMilis != ParseadorFechas.FECHA_INVALIDA;
+            evento.commit();
+        }
+        if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+            int codigo = ValidadorFechas.validaFechaEs(fechaLiteral);
+            log.error("la fecha [{}], es incompatible con el patron [dd-MM-yyyy HH:mm:ss]: {}",
+                    fechaLiteral, ValidadorFechas.describe(codigo));
+            EventosFechas.validacionFallida("dd-MM-yyyy HH:mm:ss", fechaLiteral, codigo);
+            throw new RuntimeException("formato de fecha incompatible");
+        }
+        return new Date(epochMilis);
+    }
+
+    /**
+     * Transforma los 19 bytes ASCII "dd-MM-yyyy HH:mm:ss" desde la posición
+     * desde a milisegundos desde la época, en zona America/Santiago.
+     *
+     * Nota: a diferencia de parseaStringAFecha no decodifica a String ni
+     * crea el Date, por lo que una fecha válida no crea objetos. Al fallar
+     * se decodifica el literal para el log y se lanza la misma excepción.
+     */
+    public static long parseaBytesAEpochMilis(byte[] fechaLiteral, int desde) {
+        long epochMilis = ParseadorFechas.parseaEs(fechaLiteral, desde);
+        if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+            rechaza(FechasUtilDos.literal(fechaLiteral, desde), ValidadorFechas.validaFechaEs(fechaLiteral, desde));
+        }
+        return epochMilis;
+    }
+
+    /**
+     * Igual que {@link #parseaBytesAEpochMilis(byte[], int)}, desde un
+     * ByteBuffer en heap o directo, en la posición absoluta indicada y sin
+     * mover la posición del buffer.
+     */
+    public static long parseaBytesAEpochMilis(ByteBuffer fechaLiteral, int posicion) {
+        long epochMilis = ParseadorFechas.parseaEs(fechaLiteral, posicion);
+        if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+            rechaza(FechasUtilDos.literal(fechaLiteral, posicion), ValidadorFechas.validaFechaEs(fechaLiteral, posicion));
+        }
+        return epochMilis;
+    }
+
+    private static void rechaza(String fechaLiteral, int codigo) {
+        log.error("la fecha [{}], es incompatible con el patron [dd-MM-yyyy HH:mm:ss]: {}",
+                fechaLiteral, ValidadorFechas.describe(codigo));
+        EventosFechas.validacionFallida("dd-MM-yyyy HH:mm:ss", fechaLiteral, codigo);
+        throw new RuntimeException("formato de fecha incompatible");
+    }
+
+    /**
+     * toma una fecha y retorna un objeto mapeado con atributos útiles para
+     * operar con esta información.
+     *
+     * Nota: crea un GregorianCalendar y siete Integer por fecha, en la zona
+     * horaria del servidor. Para muchas fechas conviene CamposFecha, que da
+     * los mismos campos en zona de Santiago sin objetos, o por columnas.
+     * @param fecha
+     * @return
+     */
+    public static Map<String, Integer> separaFechaEnArreglo(Date fecha){
+        Map retorno = new HashMap<String, Integer>();
+        Calendar calendario = new GregorianCalendar();
+        EventosFechas.creacionCalendario("FechasUtil.separaFechaEnArreglo");
+        calendario.setTime(fecha);
+
+        retorno.put("DAY_OF_YEAR", calendario.get(Calendar.DAY_OF_YEAR));
+        retorno.put("DAY_OF_MONTH", calendario.get(Calendar.DAY_OF_MONTH));
+        retorno.put("DAY_OF_WEEK", calendario.get(Calendar.DAY_OF_WEEK));
+        retorno.put("HOUR", calendario.get(Calendar.HOUR));
+        retorno.put("HOUR_OF_DAY", calendario.get(Calendar.HOUR_OF_DAY));
+        retorno.put("MONTH", calendario.get(Calendar.MONTH));
+        retorno.put("YEAR", calendario.get(Calendar.YEAR));
+
+
+
+        return retorno;
+    }
+
+    /**
+     * Retorna la diferencia en días entre dos fechas tipo Date.
+     *
+     * Transforma las fechas a milisegundos, y luego se operan en
+     * milisegundos, donde el resultado se transforma a días
+     * desde los milisegundos que resultaron de la resta.
+     *
+     * Nota: los milisegundos de una fecha, son medidos desde 1900.
+     * Es por este motivo que se puede transformar una fecha Date
+     * a milisegundos, desde ese momento.
+     *
+     * Nota 2: Hay que cuidar el resultado cuando se especifica la hora
+     * no contará otro día si no hay al menos 24 horas de diferencia
+     * aunque sean distintos días.
+     *
+     * Nota 3: Con el cambio de horario hay días de 23 y de 25 horas, por lo
+     * que los bloques de 24 horas no coinciden con los días de calendario.
+     * Para días de calendario o hábiles en Santiago ver
+     * {@link CalendarioHabil#diasCalendario(long, long)} y
+     * {@link CalendarioHabil#diasHabiles(long, long)}.
+     */
+    public static int diferenciaDiasFechaLocal(Date fechaUno, Date fechaDos) {
+        long primeraEnMilisegundos = fechaUno.getTime();
+        long segundaEnMilisegundos = fechaDos.getTime();
+        long diferenciaEnMilisegundos = primeraEnMilisegundos - segundaEnMilisegundos;
+        // para sacar los negativos
+        long diferenciaAbsoluta = Math.abs(diferenciaEnMilisegundos);
+        // convierte a días, esta diferencia en milisegundos, desde milisegundos a días.
+        long diasDeDiferencia = TimeUnit.DAYS.convert(diferenciaAbsoluta, TimeUnit.MILLISECONDS);
+        return (int) diasDeDiferencia;
+    }
+
+    /**
+     * Entrega la direfencia de cantidad enteras de segundos entre dos fechas.
+     */
+    public static int diferenciaFechasEnSegundos(Date primeraFecha, Date segundaFecha) {
+        long diferenciaEnMilisegundos = Math.abs(primeraFecha.getTime() - segundaFecha.getTime());
+        long diferenciaEnSegundos = TimeUnit.SECONDS.convert(diferenciaEnMilisegundos, TimeUnit.MILLISECONDS);
+        return (int) diferenciaEnSegundos;
+    }
+
+    /**
+     * Obtiene un literal con la difererencia desde una fecha a la actual,
+     * como las que se entrega en los post de redes sociales para indicar
+     * la antiguedad de una noticia. Una salida de ejemplo sería:
+     * "366 días, 0 horas, 1 minuto y 16 segundos".
+     *
+     * Nota: el literal lo arma RenderizadorTiempoRelativo, que también permite
+     * mostrar solamente la unidad mayor o anteponer "hace".
+     */
+    public static String obtenerDiferenciaLiteralConFechaActual(Date fechaNoActual) {
+        // un Date es un instante, la diferencia no depende de la zona ni la localidad.
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        return EventosFechas.finFormateo(evento, "obtenerDiferenciaLiteralConFechaActual",
+                TIEMPO_TRANSCURRIDO.renderiza(fechaNoActual.getTime()));
+    }
+
+}
@@ -0,0 +1,337 @@
+package cl.lherrera.rc.fechas.principal;
+
+import cl.lherrera.rc.fechas.principal.MetricasFechas.Operacion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clase utilitaria para el manejo de fechas. Contiene los siguientes servicios:
+ *
+ * <ul>
+ *     <li>void:validaEstructuraFechaEn(String fechaGregoriana), Valida estructura [2021-12-13 04:59:31]</li>
+ * </ul>
+ *
+ * Nota: cada servicio cuenta sus llamadas, errores y latencias en
+ *       MetricasFechas, visibles por JMX. Los logs de inicio y fin de cada
+ *       llamada quedan en DEBUG, apagados por defecto.
+ */
+public class FechasUtilDos {
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger log = LoggerFactory.getLogger(FechasUtilDos.class);
+
+    /**
+     * Renderizador de los literales de tiempo transcurrido, con el reloj del
+     * sistema y todas las unidades.
+     */
+    private static final RenderizadorTiempoRelativo TIEMPO_TRANSCURRIDO = new RenderizadorTiempoRelativo(
+            Clock.systemUTC(), RenderizadorTiempoRelativo.Granularidad.COMPLETA, false);
+
+    /**
+     * Valida estructura [2021-12-13 04:59:31]
+     *
+     * Nota: la validación la hace ValidadorFechas sin expresiones regulares,
+     * este método solamente traduce el código de error a una excepción.
+     *
+     * @param fechaAValidar Fecha a validar.
+     */
+    public static void validaEstructuraFechaEn(String fechaAValidar) {
+        long inicio = MetricasFechas.inicio(Operacion.VALIDA_ESTRUCTURA_EN);
+        log.debug("Inicio - validaEstructuraFechaEn([{}])", fechaAValidar);
+        int codigo = ValidadorFechas.validaEstructuraEn(fechaAValidar);
+
+        boolean noEsPatronValido = !ValidadorFechas.esValida(codigo);
+        if(noEsPatronValido){
+            MetricasFechas.error(Operacion.VALIDA_ESTRUCTURA_EN);
+            log.error("la fehcha [{}], es incompatible con el patron [yyyy-MM-dd HH:mm:ss]: {}",
+                    fechaAValidar, ValidadorFechas.describe(codigo));
+            EventosFechas.validacionFallida("yyyy-MM-dd HH:mm:ss", fechaAValidar, codigo);
+            throw new RuntimeException("formato de fecha incompatible");
+        }
+        MetricasFechas.fin(Operacion.VALIDA_ESTRUCTURA_EN, inicio);
+    }
+
+    /**
+     * Valida estructura [21-12-2020 15:59:31]
+     *
+     * @param fechaAValidar Fecha a validar.
+     */
+    public static void validaEstructuraFechaEs(String fechaAValidar) {
+        long inicio = MetricasFechas.inicio(Operacion.VALIDA_ESTRUCTURA_ES);
+        log.debug("Inicio - validaEstructuraFechaEs([{}])", fechaAValidar);
+        int codigo = ValidadorFechas.validaEstructuraEs(fechaAValidar);
+        boolean noEsPatronValido = !ValidadorFechas.esValida(codigo);
+        if(noEsPatronValido){
+            MetricasFechas.error(Operacion.VALIDA_ESTRUCTURA_ES);
+            log.error("la fecha [{}], es incompatible con el patron [dd-MM-yyyy HH:mm:ss]: {}",
+                    fechaAValidar, ValidadorFechas.describe(codigo));
+            EventosFechas.validacionFallida("dd-MM-yyyy HH:mm:ss", fechaAValidar, codigo);
+            throw new RuntimeException("formato de fecha incompatible");
+        }
+        log.debug("Fin - validaEstructuraFechaEs([{}]), es válida", fechaAValidar);
+        MetricasFechas.fin(Operacion.VALIDA_ESTRUCTURA_ES, inicio);
+    }
+
+    /**
+     * Valida estructura [2021-12-13 04:59:31] en los 19 bytes ASCII desde la
+     * posición desde, por ejemplo dentro del valor de un registro de Kafka.
+     *
+     * Nota: no decodifica los bytes ni escribe logs de inicio y fin, por lo
+     *       que una fecha válida no crea objetos. Solamente al fallar se
+     *       decodifica el literal, para el log y la excepción.
+     */
+    public static void validaEstructuraFechaEn(byte[] bytes, int desde) {
+        long inicio = MetricasFechas.inicio(Operacion.VALIDA_ESTRUCTURA_EN);
+        int codigo = ValidadorFechas.validaEstructuraEn(bytes, desde);
+        if (!ValidadorFechas.esValida(codigo)) {
+            rechaza(Operacion.VALIDA_ESTRUCTURA_EN, "yyyy-MM-dd HH:mm:ss", literal(bytes, desde), codigo);
+        }
+        MetricasFechas.fin(Operacion.VALIDA_ESTRUCTURA_EN, inicio);
+    }
+
+    /**
+     * Valida estructura [21-12-2020 15:59:31] en los 19 bytes ASCII desde la
+     * posición desde.
+     *
+     * @see #validaEstructuraFechaEn(byte[], int)
+     */
+    public static void validaEstructuraFechaEs(byte[] bytes, int desde) {
+        long inicio = MetricasFechas.inicio(Operacion.VALIDA_ESTRUCTURA_ES);
+        int codigo = ValidadorFechas.validaEstructuraEs(bytes, desde);
+        if (!ValidadorFechas.esValida(codigo)) {
+            rechaza(Operacion.VALIDA_ESTRUCTURA_ES, "dd-MM-yyyy HH:mm:ss", literal(bytes, desde), codigo);
+        }
+        MetricasFechas.fin(Operacion.VALIDA_ESTRUCTURA_ES, inicio);
+    }
+
+    /**
+     * Valida estructura [2021-12-13 04:59:31] en los bytes ASCII de un
+     * ByteBuffer en heap o directo, desde la posición absoluta indicada y sin
+     * mover la posición del buffer.
+     *
+     * @see #validaEstructuraFechaEn(byte[], int)
+     */
+    public static void validaEstructuraFechaEn(ByteBuffer bytes, int posicion) {
+        long inicio = MetricasFechas.inicio(Operacion.VALIDA_ESTRUCTURA_EN);
+        int codigo = ValidadorFechas.validaEstructuraEn(bytes, posicion);
+        if (!ValidadorFechas.esValida(codigo)) {
+            rechaza(Operacion.VALIDA_ESTRUCTURA_EN, "yyyy-MM-dd HH:mm:ss", literal(bytes, posicion), codigo);
+        }
+        MetricasFechas.fin(Operacion.VALIDA_ESTRUCTURA_EN, inicio);
+    }
+
+    /**
+     * Valida estructura [21-12-2020 15:59:31] en los bytes ASCII de un
+     * ByteBuffer, desde la posición absoluta indicada.
+     *
+     * @see #validaEstructuraFechaEn(byte[], int)
+     */
+    public static void validaEstructuraFechaEs(ByteBuffer bytes, int posicion) {
+        long inicio = MetricasFechas.inicio(Operacion.VALIDA_ESTRUCTURA_ES);
+        int codigo = ValidadorFechas.validaEstructuraEs(bytes, posicion);
+        if (!ValidadorFechas.esValida(codigo)) {
+            rechaza(Operacion.VALIDA_ESTRUCTURA_ES, "dd-MM-yyyy HH:mm:ss", literal(bytes, posicion), codigo);
+        }
+        MetricasFechas.fin(Operacion.VALIDA_ESTRUCTURA_ES, inicio);
+    }
+
+    /**
+     * Registra el error de una validación sobre bytes y lanza la excepción.
+     */
+    private static void rechaza(Operacion operacion, String patron, String literal, int codigo) {
+        MetricasFechas.error(operacion);
+        log.error("la fecha [{}], es incompatible con el patron [{}]: {}",
+                literal, patron, ValidadorFechas.describe(codigo));
+        EventosFechas.validacionFallida(patron, literal, codigo);
+        throw new RuntimeException("formato de fecha incompatible");
+    }
+
+    /**
+     * Hasta 19 bytes desde la posición, como texto ASCII, para los mensajes
+     * de error.
+     */
+    static String literal(byte[] bytes, int desde) {
+        if (bytes == null) {
+            return null;
+        }
+        int inicio = Math.max(0, Math.min(desde, bytes.length));
+        return new String(bytes, inicio, Math.min(ValidadorFechas.LARGO_FECHA, bytes.length - inicio),
+                StandardCharsets.US_ASCII);
+    }
+
+    static String literal(ByteBuffer bytes, int posicion) {
+        if (bytes == null) {
+            return null;
+        }
+        int inicio = Math.max(0, Math.min(posicion, bytes.limit()));
+        byte[] copia = new byte[Math.min(ValidadorFechas.LARGO_FECHA, bytes.limit() - inicio)];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = bytes.get(inicio + i);
+        }
+        return new String(copia, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * FECHA ACTUAL.
+     *
+     * Obtiene la fecha actual formateada a la forma en que se ve en Chile,
+     * adicionalmente se ajusta al horario de santiago en caso que
+     * el servidor esté en otro horario.
+     *
+     * Nota: el literal "dd-MM-yyyy HH:mm:ss" lo entrega RelojSantiago, que
+     *       lo formatea una sola vez por segundo y lo comparte entre hilos.
+     */
+    public static String obtenerFechaLocalLiteral(){
+        long inicio = MetricasFechas.inicio(Operacion.FECHA_LOCAL_LITERAL);
+        log.debug("[obtenerFechaLocalLiteral] - Inicio");
+        String retorno = "";
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        retorno = EventosFechas.finFormateo(evento, "obtenerFechaLocalLiteral", RelojSantiago.SISTEMA.literal());
+
+        log.debug("[obtenerFechaLocalLiteral]: [{}] - Fin", retorno);
+        MetricasFechas.fin(Operacion.FECHA_LOCAL_LITERAL, inicio);
+        return retorno;
+    }
+
+    /**
+     * Igual que {@link #obtenerFechaLocalLiteral()}, en la zona del contexto.
+     *
+     * Nota: no pasa por RelojSantiago, que es solamente de Santiago; el
+     *       literal se formatea en cada llamada con la tabla ya cargada del
+     *       contexto.
+     */
+    public static String obtenerFechaLocalLiteral(ContextoFecha contexto) {
+        long inicio = MetricasFechas.inicio(Operacion.FECHA_LOCAL_LITERAL);
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        String retorno = EventosFechas.finFormateo(evento, "obtenerFechaLocalLiteral",
+                contexto.formateaEs(System.currentTimeMillis()));
+        MetricasFechas.fin(Operacion.FECHA_LOCAL_LITERAL, inicio);
+        return retorno;
+    }
+
+    /**
+     * PARSEO DE FECHA A LITERALES EN ESPAÑOL.
+     *
+     * Transforma una fecha Date a un String con el nombre literal
+     * como: [sábado 17 de julio de 2021]
+     *
+     * Nota: los nombres salen de las tablas de PalabrasFecha y no de
+     *       SimpleDateFormat, por lo que el resultado queda en español
+     *       sin importar el Locale del servidor. Como el texto depende
+     *       solamente del día en Santiago, se guarda en una cache por día.
+     *
+     * @param fecha Date.
+     * @return fecha en palabras.
+     */
+    public static String parseaAFechaPalabras(Date fecha) {
+        long inicio = MetricasFechas.inicio(Operacion.FECHA_EN_PALABRAS);
+        log.debug("[parseaAFechaPalabras]: fecha [{}] - Inicio", fecha);
+        String retorno = null;
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        retorno = EventosFechas.finFormateo(evento, "parseaAFechaPalabras", PalabrasFecha.enPalabras(fecha.getTime()));
+        log.debug("[parseaAFechaPalabras]: [{}] - Fin", retorno);
+        MetricasFechas.fin(Operacion.FECHA_EN_PALABRAS, inicio);
+        return retorno;
+    }
+
+    /**
+     * Igual que {@link #parseaAFechaPalabras(Date)}, con la zona y la
+     * localidad del contexto.
+     */
+    public static String parseaAFechaPalabras(Date fecha, ContextoFecha contexto) {
+        long inicio = MetricasFechas.inicio(Operacion.FECHA_EN_PALABRAS);
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        String retorno = EventosFechas.finFormateo(evento, "parseaAFechaPalabras",
+                contexto.enPalabras(fecha.getTime()));
+        MetricasFechas.fin(Operacion.FECHA_EN_PALABRAS, inicio);
+        return retorno;
+    }
+
+    /**
+     * Retorna la diferencia en días entre dos fechas tipo Date.
+     *
+     * Transforma las fechas a milisegundos, y luego se operan en
+     * milisegundos, donde el resultado se transforma a días
+     * desde los milisegundos que resultaron de la resta.
+     *
+     * Nota: los milisegundos de una fecha, son medidos desde 1900.
+     * Es por este motivo que se puede transformar una fecha Date
+     * a milisegundos, desde ese momento.
+     *
+     * Nota 2: Hay que cuidar el resultado cuando se especifica la hora
+     * no contará otro día si no hay al menos 24 horas de diferencia
+     * aunque sean distintos días.
+     *
+     * Nota 3: Con el cambio de horario hay días de 23 y de 25 horas, por lo
+     * que los bloques de 24 horas no coinciden con los días de calendario.
+     * Para días de calendario o hábiles en Santiago ver
+     * {@link CalendarioHabil#diasCalendario(long, long)} y
+     * {@link CalendarioHabil#diasHabiles(long, long)}.
+     */
+    public static int diferenciaDiasFechaLocal(Date fechaUno, Date fechaDos) {
+        long inicio = MetricasFechas.inicio(Operacion.DIFERENCIA_DIAS);
+        int retorno = 0;
+        log.debug("[diferenciaDiasFechaLocal] - inicio: [fechaUno, fechaDos][{}, {}] - Fin", fechaUno, fechaDos);
+        long diferenciaEnMilisegundos = Math.abs(fechaUno.getTime() - fechaDos.getTime());
+        // convierte a días, esta diferencia en milisegundos, desde milisegundos a días.
+        long diasDeDiferencia = TimeUnit.DAYS.convert(diferenciaEnMilisegundos, TimeUnit.MILLISECONDS);
+        retorno = (int) diasDeDiferencia;
+        log.debug("[diferenciaDiasFechaLocal] - fin: [retorno][{}] - Fin", retorno);
+        MetricasFechas.fin(Operacion.DIFERENCIA_DIAS, inicio);
+        return retorno;
+    }
+
+    /**
+     * DIFERENCIA DE FECHAS NOTADAS EN SEGUNDOS
+     *
+     * Obtiene la direfencia esteraa de segundos, entre dos fechas.
+     */
+    public static int diferenciaFechasEnSegundos(Date primeraFecha, Date segundaFecha) {
+        long inicio = MetricasFechas.inicio(Operacion.DIFERENCIA_SEGUNDOS);
+        log.debug("[diferenciaFechasEnSegundos - inicio] - [primeraFecha, segundaFecha] [{}, {}]",
+                primeraFecha, segundaFecha);
+        int retorno = 0;
+
+        long diferenciaEnMilisegundos = Math.abs(primeraFecha.getTime() - segundaFecha.getTime());
+        long diferenciaEnSegundos = TimeUnit.SECONDS.convert(diferenciaEnMilisegundos, TimeUnit.MILLISECONDS);
+
+        retorno = (int) diferenciaEnSegundos;
+        log.debug("[diferenciaFechasEnSegundos - fin] [retorno] [{}]", retorno);
+        MetricasFechas.fin(Operacion.DIFERENCIA_SEGUNDOS, inicio);
+
+        return retorno;
+    }
+
+    /**
+     * PALABRAS CON EL TIEMPO TRASCURRIDO.
+     *
+     * Obtiene un literal con la difererencia desde una fecha a la actual,
+     * como las que se entrega en los post de redes sociales para indicar
+     * la antiguedad de una noticia. Una salida de ejemplo sería:
+     * "366 días, 0 horas, 1 minuto y 16 segundos".
+     *
+     * Nota: La forma en que se entrega el literal puede variar, por ejemplo
+     * mostrar solamente la unidad mayor o anteponer "hace". Para eso
+     * se puede crear un RenderizadorTiempoRelativo con otra granularidad,
+     * que además permite entregar el reloj o el "ahora" para una página
+     * completa de fechas.
+     *
+     * Nota 2: Un Date es un instante, por lo que la diferencia en milisegundos
+     * no depende de la zona horaria ni de la localidad.
+     */
+    public static String obtenerDiferenciaLiteralConFechaActual(Date fechaNoActual) {
+        long inicio = MetricasFechas.inicio(Operacion.TIEMPO_TRANSCURRIDO);
+        EventosFechas.Formateo evento = EventosFechas.inicioFormateo();
+        String retorno = EventosFechas.finFormateo(evento, "obtenerDiferenciaLiteralConFechaActual",
+                TIEMPO_TRANSCURRIDO.renderiza(fechaNoActual.getTime()));
+        MetricasFechas.fin(Operacion.TIEMPO_TRANSCURRIDO, inicio);
+        return retorno;
+    }
+}
@@ -0,0 +1,454 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parseo perezoso de líneas "dd-MM-yyyy HH:mm:ss" a un LongStream de
+ * milisegundos desde la época en zona America/Santiago, sin cargar la
+ * entrada completa en memoria.
+ *
+ * Cada línea se parsea con las mismas reglas de {@link ParseadorFechas} que
+ * usan FechasUtil y FechasUtilDos; solamente se tolera un '\r' final. Las
+ * líneas inválidas no llegan al flujo: se entregan al canal lateral
+ * "invalidas" junto con el código de {@link ValidadorFechas#validaFechaEs}.
+ * Con .parallel() el canal lateral se llama desde varios hilos, por lo que
+ * debe ser seguro entre hilos, y las líneas inválidas pueden llegar en
+ * cualquier orden.
+ *
+ * Para que .parallel() reparta de verdad, los Spliterator leen la entrada
+ * en lotes que crecen al doble en cada corte, desde {@link #LOTE_INICIAL}
+ * hasta {@link #LOTE_MAXIMO}, y cada lote se vuelve a dividir por la mitad
+ * entre los hilos del pool. Desde un InputStream los bytes ASCII se parsean
+ * en su lugar, sin crear un String por línea válida.
+ *
+ * Cerrar el flujo cierra la entrada, igual que Files.lines. Un error de
+ * lectura se lanza como UncheckedIOException.
+ *
+ * Los Collector de esta clase resumen un flujo de milisegundos, por ejemplo
+ * después de .boxed(); para no pasar por Long conviene
+ * {@link ResumenFechas#de(LongStream)}.
+ */
+public final class FlujoFechas {
+
+    /**
+     * Líneas o bytes del primer lote que se entrega al dividir.
+     */
+    public static final int LOTE_INICIAL = 1024;
+
+    /**
+     * Tope del tamaño de los lotes, en líneas o en bytes.
+     */
+    public static final int LOTE_MAXIMO = 1 << 24;
+
+    /**
+     * Bajo este largo un lote ya no se divide más.
+     */
+    private static final int LOTE_MINIMO = 256;
+
+    private static final ObjIntConsumer<String> SIN_CANAL = (linea, codigo) -> {
+    };
+
+    private FlujoFechas() {
+    }
+
+    /**
+     * Parsea cada elemento de un Stream de líneas, por ejemplo
+     * BufferedReader.lines() o una lista.
+     *
+     * @param invalidas recibe cada línea inválida y su código de error;
+     *                  null para descartarlas.
+     */
+    public static LongStream parseaEs(Stream<String> lineas, ObjIntConsumer<String> invalidas) {
+        Spliterator.OfLong fechas = new LineasTexto(lineas.spliterator(), canal(invalidas), LOTE_INICIAL);
+        return StreamSupport.longStream(fechas, lineas.isParallel()).onClose(lineas::close);
+    }
+
+    /**
+     * Parsea las líneas de un Reader.
+     *
+     * @see #parseaEs(Stream, ObjIntConsumer)
+     */
+    public static LongStream parseaEs(Reader entrada, ObjIntConsumer<String> invalidas) {
+        BufferedReader lector = entrada instanceof BufferedReader
+                ? (BufferedReader) entrada : new BufferedReader(entrada);
+        return parseaEs(lector.lines(), invalidas).onClose(() -> cierra(lector));
+    }
+
+    /**
+     * Parsea las líneas de bytes ASCII o UTF-8 de un InputStream. Solamente
+     * las líneas inválidas se decodifican a String, para el canal lateral.
+     *
+     * @see #parseaEs(Stream, ObjIntConsumer)
+     */
+    public static LongStream parseaEs(InputStream entrada, ObjIntConsumer<String> invalidas) {
+        return StreamSupport.longStream(new BloquesBytes(entrada, canal(invalidas)), false)
+                .onClose(() -> cierra(entrada));
+    }
+
+    /**
+     * Resumen completo: cantidad, mínimo, máximo y cantidad por día en
+     * Santiago.
+     */
+    public static Collector<Long, ?, ResumenFechas> resumen() {
+        return resumen(TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #resumen()}, con los días de otra zona.
+     */
+    public static Collector<Long, ?, ResumenFechas> resumen(TablaZonaHoraria zona) {
+        return Collector.of(() -> new ResumenFechas(zona), ResumenFechas::accept, ResumenFechas::combina,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * @return el menor instante, vacío si no hay fechas.
+     */
+    public static Collector<Long, ?, OptionalLong> minimo() {
+        return Collector.of(() -> new long[]{Long.MAX_VALUE, 0},
+                (extremo, epochMilis) -> {
+                    extremo[0] = Math.min(extremo[0], epochMilis);
+                    extremo[1]++;
+                },
+                (uno, otro) -> {
+                    uno[0] = Math.min(uno[0], otro[0]);
+                    uno[1] += otro[1];
+                    return uno;
+                },
+                extremo -> extremo[1] == 0 ? OptionalLong.empty() : OptionalLong.of(extremo[0]));
+    }
+
+    /**
+     * @return el mayor instante, vacío si no hay fechas.
+     */
+    public static Collector<Long, ?, OptionalLong> maximo() {
+        return Collector.of(() -> new long[]{Long.MIN_VALUE, 0},
+                (extremo, epochMilis) -> {
+                    extremo[0] = Math.max(extremo[0], epochMilis);
+                    extremo[1]++;
+                },
+                (uno, otro) -> {
+                    uno[0] = Math.max(uno[0], otro[0]);
+                    uno[1] += otro[1];
+                    return uno;
+                },
+                extremo -> extremo[1] == 0 ? OptionalLong.empty() : OptionalLong.of(extremo[0]));
+    }
+
+    /**
+     * @return cantidad de fechas por día en Santiago, ordenada por día.
+     */
+    public static Collector<Long, ?, SortedMap<LocalDate, Long>> porDia() {
+        return Collectors.collectingAndThen(resumen(), ResumenFechas::porDia);
+    }
+
+    private static ObjIntConsumer<String> canal(ObjIntConsumer<String> invalidas) {
+        return invalidas == null ? SIN_CANAL : invalidas;
+    }
+
+    private static void cierra(AutoCloseable entrada) {
+        try {
+            entrada.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Líneas de texto desde otro Spliterator. Si la fuente ya se divide por
+     * tamaño, como una lista, se delega el corte en ella; si no, como las
+     * líneas de un Reader, se separa un lote en un arreglo, que sí se divide
+     * por la mitad.
+     */
+    private static final class LineasTexto implements Spliterator.OfLong {
+        private final Spliterator<String> fuente;
+        private final ObjIntConsumer<String> invalidas;
+        private int lote;
+        private String linea;
+
+        LineasTexto(Spliterator<String> fuente, ObjIntConsumer<String> invalidas, int lote) {
+            this.fuente = fuente;
+            this.invalidas = invalidas;
+            this.lote = lote;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer accion) {
+            while (fuente.tryAdvance(this::toma)) {
+                String actual = linea;
+                linea = null;
+                long epochMilis = parsea(actual);
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    accion.accept(epochMilis);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer accion) {
+            fuente.forEachRemaining(actual -> {
+                long epochMilis = parsea(actual);
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    accion.accept(epochMilis);
+                }
+            });
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            if (fuente.hasCharacteristics(Spliterator.SUBSIZED)) {
+                Spliterator<String> mitad = fuente.trySplit();
+                return mitad == null ? null : new LineasTexto(mitad, invalidas, lote);
+            }
+            String[] lineas = new String[lote];
+            int cantidad = 0;
+            while (cantidad < lineas.length && fuente.tryAdvance(this::toma)) {
+                lineas[cantidad++] = linea;
+            }
+            linea = null;
+            if (cantidad == 0) {
+                return null;
+            }
+            lote = Math.min(lote * 2, LOTE_MAXIMO);
+            return new LineasTexto(Spliterators.spliterator(lineas, 0, cantidad,
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), invalidas, lote);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fuente.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        private void toma(String linea) {
+            this.linea = linea;
+        }
+
+        private long parsea(String linea) {
+            String fecha = linea.endsWith("\r") ? linea.substring(0, linea.length() - 1) : linea;
+            long epochMilis = ParseadorFechas.parseaEs(fecha);
+            if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+                invalidas.accept(fecha, ValidadorFechas.validaFechaEs(fecha));
+            }
+            return epochMilis;
+        }
+    }
+
+    /**
+     * Lee un InputStream en bloques que terminan en un salto de línea. Al
+     * dividir entrega el bloque completo como {@link LineasBytes}.
+     */
+    private static final class BloquesBytes implements Spliterator.OfLong {
+        private final InputStream entrada;
+        private final ObjIntConsumer<String> invalidas;
+        private byte[] resto = new byte[0];
+        private int tamanio = 64 * LOTE_INICIAL;
+        private boolean agotada;
+        private LineasBytes actual;
+
+        BloquesBytes(InputStream entrada, ObjIntConsumer<String> invalidas) {
+            this.entrada = entrada;
+            this.invalidas = invalidas;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer accion) {
+            while (true) {
+                if (actual != null && actual.tryAdvance(accion)) {
+                    return true;
+                }
+                actual = siguienteBloque(64 * LOTE_INICIAL);
+                if (actual == null) {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            LineasBytes bloque = actual;
+            actual = null;
+            if (bloque != null && bloque.estimateSize() > 0) {
+                return bloque;
+            }
+            bloque = siguienteBloque(tamanio);
+            tamanio = Math.min(tamanio * 2, LOTE_MAXIMO);
+            return bloque;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        /**
+         * Lee al menos minimo bytes, más lo que falte para terminar la
+         * última línea.
+         *
+         * @return null si la entrada ya se terminó.
+         */
+        private LineasBytes siguienteBloque(int minimo) {
+            if (agotada && resto.length == 0) {
+                return null;
+            }
+            byte[] bloque = Arrays.copyOf(resto, Math.max(minimo, resto.length * 2));
+            int largo = resto.length;
+            int buscaDesde = 0;
+            try {
+                while (true) {
+                    while (!agotada && largo < bloque.length) {
+                        int leidos = entrada.read(bloque, largo, bloque.length - largo);
+                        if (leidos < 0) {
+                            agotada = true;
+                        } else {
+                            largo += leidos;
+                        }
+                    }
+                    int fin = ultimoSalto(bloque, buscaDesde, largo);
+                    if (fin >= 0 || agotada) {
+                        int corte = fin >= 0 && !agotada ? fin + 1 : largo;
+                        resto = Arrays.copyOfRange(bloque, corte, largo);
+                        return new LineasBytes(bloque, 0, corte, invalidas);
+                    }
+                    // una sola línea más larga que el bloque.
+                    buscaDesde = largo;
+                    bloque = Arrays.copyOf(bloque, bloque.length * 2);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int ultimoSalto(byte[] bloque, int desde, int hasta) {
+            for (int i = hasta - 1; i >= desde; i--) {
+                if (bloque[i] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Líneas completas de un bloque de bytes, en [posicion, hasta). Se
+     * divide en el primer salto de línea después de la mitad.
+     */
+    private static final class LineasBytes implements Spliterator.OfLong {
+        private final byte[] datos;
+        private final ObjIntConsumer<String> invalidas;
+        private int posicion;
+        private final int hasta;
+
+        LineasBytes(byte[] datos, int posicion, int hasta, ObjIntConsumer<String> invalidas) {
+            this.datos = datos;
+            this.posicion = posicion;
+            this.hasta = hasta;
+            this.invalidas = invalidas;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer accion) {
+            while (posicion < hasta) {
+                int fin = finLinea(posicion);
+                long epochMilis = parsea(posicion, fin);
+                posicion = fin + 1;
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    accion.accept(epochMilis);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer accion) {
+            int p = posicion;
+            posicion = hasta;
+            while (p < hasta) {
+                int fin = finLinea(p);
+                long epochMilis = parsea(p, fin);
+                p = fin + 1;
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    accion.accept(epochMilis);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            if (hasta - posicion < LOTE_MINIMO * (ValidadorFechas.LARGO_FECHA + 1)) {
+                return null;
+            }
+            int medio = finLinea((posicion + hasta) >>> 1) + 1;
+            if (medio >= hasta) {
+                return null;
+            }
+            LineasBytes primera = new LineasBytes(datos, posicion, medio, invalidas);
+            posicion = medio;
+            return primera;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (hasta - posicion) / (ValidadorFechas.LARGO_FECHA + 1);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        /**
+         * @return posición del salto de línea, o hasta si es la última línea.
+         */
+        private int finLinea(int desde) {
+            int i = desde;
+            while (i < hasta && datos[i] != '\n') {
+                i++;
+            }
+            return i;
+        }
+
+        private long parsea(int desde, int fin) {
+            int largo = fin > desde && datos[fin - 1] == '\r' ? fin - 1 - desde : fin - desde;
+            long epochMilis = largo == ValidadorFechas.LARGO_FECHA
+                    ? ParseadorFechas.parseaEs(datos, desde) : ParseadorFechas.FECHA_INVALIDA;
+            if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+                String linea = new String(datos, desde, largo, StandardCharsets.UTF_8);
+                invalidas.accept(linea, ValidadorFechas.validaFechaEs(linea));
+            }
+            return epochMilis;
+        }
+    }
+}
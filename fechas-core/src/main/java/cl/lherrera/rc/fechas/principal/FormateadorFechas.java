@@ -0,0 +1,290 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.io.IOException;
+
+/**
+ * Formateador de fechas en zona horaria America/Santiago, para los patrones
+ * "dd-MM-yyyy HH:mm:ss" y "yyyy-MM-dd HH:mm:ss".
+ *
+ * No tiene estado, por lo que se puede compartir entre hilos sin bloqueos,
+ * a diferencia de SimpleDateFormat. Los dígitos se escriben directamente en
+ * el destino entregado (char[], StringBuilder o Appendable) sin crear
+ * objetos intermedios; solamente {@link #formateaEs(long)} y
+ * {@link #formateaEn(long)} crean el String de salida.
+ *
+ * Nota: la zona horaria se aplica sobre los milisegundos desde la época,
+ *       igual que GregorianCalendar.getInstance(zonaHoraria), por lo que el
+ *       resultado no depende de la zona horaria del servidor.
+ *
+ * Nota 2: el año se escribe con cuatro dígitos, por lo que el rango
+ *         soportado es del año 0 al 9999, de {@link #MINIMO} a
+ *         {@link #MAXIMO}. Fuera de él se lanza IllegalArgumentException
+ *         antes de escribir en el destino.
+ */
+public final class FormateadorFechas {
+
+    /**
+     * Largo de ambos formatos, como [13-12-2020 00:00:31].
+     */
+    public static final int LARGO = 19;
+
+    /**
+     * Primer instante que se puede formatear, [01-01-0000 00:00:00] en Santiago.
+     */
+    public static final long MINIMO = TablaZonaHoraria.SANTIAGO.instanteDeMilisLocales(
+            CalendarioCivil.diaEpoca(0, 1, 1) * CalendarioCivil.MILIS_POR_DIA);
+
+    /**
+     * Último instante que se puede formatear, [31-12-9999 23:59:59.999] en Santiago.
+     */
+    public static final long MAXIMO = TablaZonaHoraria.SANTIAGO.instanteDeMilisLocales(
+            CalendarioCivil.diaEpoca(10_000, 1, 1) * CalendarioCivil.MILIS_POR_DIA) - 1;
+
+    /**
+     * Decenas y unidades de los números del 00 al 99, para escribir dos
+     * dígitos con dos lecturas de arreglo.
+     */
+    private static final char[] DECENAS = new char[100];
+    private static final char[] UNIDADES = new char[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DECENAS[i] = (char) ('0' + i / 10);
+            UNIDADES[i] = (char) ('0' + i % 10);
+        }
+    }
+
+    private FormateadorFechas() {
+    }
+
+    /**
+     * Formato local [13-12-2020 00:00:31].
+     *
+     * @param epochMilis milisegundos desde la época.
+     */
+    public static String formateaEs(long epochMilis) {
+        char[] destino = new char[LARGO];
+        escribeEs(epochMilis, destino, 0);
+        return new String(destino);
+    }
+
+    /**
+     * Formato [2020-12-13 00:00:31].
+     *
+     * @param epochMilis milisegundos desde la época.
+     */
+    public static String formateaEn(long epochMilis) {
+        char[] destino = new char[LARGO];
+        escribeEn(epochMilis, destino, 0);
+        return new String(destino);
+    }
+
+    /**
+     * Escribe [13-12-2020 00:00:31] en destino a partir de la posición desde.
+     *
+     * @return posición siguiente al último carácter escrito.
+     */
+    public static int escribeEs(long epochMilis, char[] destino, int desde) {
+        validaInstante(epochMilis);
+        long milisLocales = aMilisLocales(epochMilis);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+        int segundoDelDia = (int) (Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA) / 1000);
+        return escribeEs(CalendarioCivil.anio(fecha), CalendarioCivil.mes(fecha), CalendarioCivil.dia(fecha),
+                segundoDelDia / 3600, segundoDelDia / 60 % 60, segundoDelDia % 60, destino, desde);
+    }
+
+    /**
+     * Escribe [2020-12-13 00:00:31] en destino a partir de la posición desde.
+     *
+     * @return posición siguiente al último carácter escrito.
+     */
+    public static int escribeEn(long epochMilis, char[] destino, int desde) {
+        validaInstante(epochMilis);
+        long milisLocales = aMilisLocales(epochMilis);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+        int segundoDelDia = (int) (Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA) / 1000);
+        return escribeEn(CalendarioCivil.anio(fecha), CalendarioCivil.mes(fecha), CalendarioCivil.dia(fecha),
+                segundoDelDia / 3600, segundoDelDia / 60 % 60, segundoDelDia % 60, destino, desde);
+    }
+
+    /**
+     * Escribe campos ya calculados con el formato [13-12-2020 00:00:31].
+     *
+     * @return posición siguiente al último carácter escrito.
+     * @throws IllegalArgumentException si el año no está entre 0 y 9999.
+     */
+    public static int escribeEs(int anio, int mes, int dia, int hora, int minuto, int segundo,
+                                char[] destino, int desde) {
+        validaAnio(anio);
+        int i = dosDigitos(dia, destino, desde);
+        destino[i++] = '-';
+        i = dosDigitos(mes, destino, i);
+        destino[i++] = '-';
+        i = dosDigitos(anio / 100, destino, i);
+        i = dosDigitos(anio % 100, destino, i);
+        destino[i++] = ' ';
+        return escribeHora(hora, minuto, segundo, destino, i);
+    }
+
+    /**
+     * Escribe campos ya calculados con el formato [2020-12-13 00:00:31].
+     *
+     * @return posición siguiente al último carácter escrito.
+     * @throws IllegalArgumentException si el año no está entre 0 y 9999.
+     */
+    public static int escribeEn(int anio, int mes, int dia, int hora, int minuto, int segundo,
+                                char[] destino, int desde) {
+        validaAnio(anio);
+        int i = dosDigitos(anio / 100, destino, desde);
+        i = dosDigitos(anio % 100, destino, i);
+        destino[i++] = '-';
+        i = dosDigitos(mes, destino, i);
+        destino[i++] = '-';
+        i = dosDigitos(dia, destino, i);
+        destino[i++] = ' ';
+        return escribeHora(hora, minuto, segundo, destino, i);
+    }
+
+    /**
+     * Agrega [13-12-2020 00:00:31] al final de destino.
+     */
+    public static StringBuilder escribeEs(long epochMilis, StringBuilder destino) {
+        validaInstante(epochMilis);
+        int inicio = destino.length();
+        destino.setLength(inicio + LARGO);
+        long milisLocales = aMilisLocales(epochMilis);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+        int segundoDelDia = (int) (Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA) / 1000);
+        int anio = CalendarioCivil.anio(fecha);
+        int i = dosDigitos(CalendarioCivil.dia(fecha), destino, inicio);
+        destino.setCharAt(i++, '-');
+        i = dosDigitos(CalendarioCivil.mes(fecha), destino, i);
+        destino.setCharAt(i++, '-');
+        i = dosDigitos(anio / 100, destino, i);
+        i = dosDigitos(anio % 100, destino, i);
+        destino.setCharAt(i++, ' ');
+        escribeHora(segundoDelDia, destino, i);
+        return destino;
+    }
+
+    /**
+     * Agrega [2020-12-13 00:00:31] al final de destino.
+     */
+    public static StringBuilder escribeEn(long epochMilis, StringBuilder destino) {
+        validaInstante(epochMilis);
+        int inicio = destino.length();
+        destino.setLength(inicio + LARGO);
+        long milisLocales = aMilisLocales(epochMilis);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+        int segundoDelDia = (int) (Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA) / 1000);
+        int anio = CalendarioCivil.anio(fecha);
+        int i = dosDigitos(anio / 100, destino, inicio);
+        i = dosDigitos(anio % 100, destino, i);
+        destino.setCharAt(i++, '-');
+        i = dosDigitos(CalendarioCivil.mes(fecha), destino, i);
+        destino.setCharAt(i++, '-');
+        i = dosDigitos(CalendarioCivil.dia(fecha), destino, i);
+        destino.setCharAt(i++, ' ');
+        escribeHora(segundoDelDia, destino, i);
+        return destino;
+    }
+
+    /**
+     * Agrega [13-12-2020 00:00:31] a un Appendable, por ejemplo un Writer,
+     * un carácter a la vez.
+     *
+     * @throws IOException si el destino falla al escribir.
+     */
+    public static void escribeEs(long epochMilis, Appendable destino) throws IOException {
+        validaInstante(epochMilis);
+        long milisLocales = aMilisLocales(epochMilis);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+        int segundoDelDia = (int) (Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA) / 1000);
+        int anio = CalendarioCivil.anio(fecha);
+        dosDigitos(CalendarioCivil.dia(fecha), destino).append('-');
+        dosDigitos(CalendarioCivil.mes(fecha), destino).append('-');
+        dosDigitos(anio / 100, destino);
+        dosDigitos(anio % 100, destino).append(' ');
+        escribeHora(segundoDelDia, destino);
+    }
+
+    /**
+     * Agrega [2020-12-13 00:00:31] a un Appendable, un carácter a la vez.
+     *
+     * @throws IOException si el destino falla al escribir.
+     */
+    public static void escribeEn(long epochMilis, Appendable destino) throws IOException {
+        validaInstante(epochMilis);
+        long milisLocales = aMilisLocales(epochMilis);
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+        int segundoDelDia = (int) (Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA) / 1000);
+        int anio = CalendarioCivil.anio(fecha);
+        dosDigitos(anio / 100, destino);
+        dosDigitos(anio % 100, destino).append('-');
+        dosDigitos(CalendarioCivil.mes(fecha), destino).append('-');
+        dosDigitos(CalendarioCivil.dia(fecha), destino).append(' ');
+        escribeHora(segundoDelDia, destino);
+    }
+
+    /**
+     * @throws IllegalArgumentException si el instante cae fuera de los años
+     *                                  0 a 9999 en Santiago.
+     */
+    static void validaInstante(long epochMilis) {
+        if (epochMilis < MINIMO || epochMilis > MAXIMO) {
+            throw new IllegalArgumentException("el instante " + epochMilis
+                    + " cae fuera de los años 0 a 9999, que son los que se pueden formatear");
+        }
+    }
+
+    private static void validaAnio(int anio) {
+        if (anio < 0 || anio > 9999) {
+            throw new IllegalArgumentException("el año " + anio + " no se puede escribir con cuatro dígitos");
+        }
+    }
+
+    /**
+     * Milisegundos del reloj de pared de Santiago, contados como si fuera UTC.
+     */
+    private static long aMilisLocales(long epochMilis) {
+        return TablaZonaHoraria.SANTIAGO.aMilisLocales(epochMilis);
+    }
+
+    private static int escribeHora(int hora, int minuto, int segundo, char[] destino, int desde) {
+        int i = dosDigitos(hora, destino, desde);
+        destino[i++] = ':';
+        i = dosDigitos(minuto, destino, i);
+        destino[i++] = ':';
+        return dosDigitos(segundo, destino, i);
+    }
+
+    private static void escribeHora(int segundoDelDia, StringBuilder destino, int desde) {
+        int i = dosDigitos(segundoDelDia / 3600, destino, desde);
+        destino.setCharAt(i++, ':');
+        i = dosDigitos(segundoDelDia / 60 % 60, destino, i);
+        destino.setCharAt(i++, ':');
+        dosDigitos(segundoDelDia % 60, destino, i);
+    }
+
+    private static void escribeHora(int segundoDelDia, Appendable destino) throws IOException {
+        dosDigitos(segundoDelDia / 3600, destino).append(':');
+        dosDigitos(segundoDelDia / 60 % 60, destino).append(':');
+        dosDigitos(segundoDelDia % 60, destino);
+    }
+
+    private static int dosDigitos(int valor, char[] destino, int desde) {
+        destino[desde] = DECENAS[valor];
+        destino[desde + 1] = UNIDADES[valor];
+        return desde + 2;
+    }
+
+    private static int dosDigitos(int valor, StringBuilder destino, int desde) {
+        destino.setCharAt(desde, DECENAS[valor]);
+        destino.setCharAt(desde + 1, UNIDADES[valor]);
+        return desde + 2;
+    }
+
+    private static Appendable dosDigitos(int valor, Appendable destino) throws IOException {
+        return destino.append(DECENAS[valor]).append(UNIDADES[valor]);
+    }
+}
@@ -0,0 +1,338 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.Arrays;
+
+/**
+ * Formato de fecha de largo fijo compilado desde un patrón, para parsear
+ * literales a milisegundos desde la época en zona America/Santiago.
+ *
+ * El patrón se interpreta una sola vez, en {@link #compila(String)}: se
+ * calcula la posición de cada campo y de cada separador, y el parseo
+ * solamente lee esas posiciones, sin volver a mirar el patrón. Letras
+ * soportadas:
+ * <ul>
+ *     <li>yyyy: año, obligatorio.</li>
+ *     <li>MM: mes, obligatorio.</li>
+ *     <li>dd: día, obligatorio.</li>
+ *     <li>HH, mm, ss: hora, minuto y segundo, 0 si no están.</li>
+ *     <li>SSS: milisegundos, 0 si no están.</li>
+ * </ul>
+ * Cualquier otro carácter que no sea letra es un separador que debe estar
+ * tal cual en el literal, salvo el espacio, que acepta cualquier espacio en
+ * blanco igual que \s. Las letras literales van entre comillas simples,
+ * como en 'T'.
+ *
+ * Los rangos, el cambio de horario y los años aceptados son los mismos de
+ * {@link ParseadorFechas}, por lo que {@link #EN} y {@link #ES} parsean lo
+ * mismo que parseaEn y parseaEs.
+ *
+ * Para literales que pueden venir en varios formatos se usa
+ * {@link ParseadorMultiformato}.
+ */
+public final class FormatoFecha {
+
+    /**
+     * Formato "yyyy-MM-dd HH:mm:ss".
+     */
+    public static final FormatoFecha EN = compila("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Formato "dd-MM-yyyy HH:mm:ss".
+     */
+    public static final FormatoFecha ES = compila("dd-MM-yyyy HH:mm:ss");
+
+    private static final int SIN_CAMPO = -1;
+
+    /**
+     * Marca en plantilla de una posición que pertenece a un campo.
+     */
+    private static final char DIGITO = '\uFFFF';
+
+    private final String patron;
+    private final int largo;
+    private final int pAnio;
+    private final int pMes;
+    private final int pDia;
+    private final int pHora;
+    private final int pMinuto;
+    private final int pSegundo;
+    private final int pMilisegundo;
+    private final int[] posicionesSeparador;
+    private final char[] separadores;
+
+    /**
+     * Lo que va en cada posición del literal: el separador, o
+     * {@link #DIGITO} si es de un campo.
+     */
+    private final char[] plantilla;
+
+    private FormatoFecha(String patron, int largo, int[] posicionesCampo,
+                         int[] posicionesSeparador, char[] separadores) {
+        this.patron = patron;
+        this.largo = largo;
+        this.pAnio = posicionesCampo[0];
+        this.pMes = posicionesCampo[1];
+        this.pDia = posicionesCampo[2];
+        this.pHora = posicionesCampo[3];
+        this.pMinuto = posicionesCampo[4];
+        this.pSegundo = posicionesCampo[5];
+        this.pMilisegundo = posicionesCampo[6];
+        this.posicionesSeparador = posicionesSeparador;
+        this.separadores = separadores;
+        this.plantilla = new char[largo];
+        Arrays.fill(plantilla, DIGITO);
+        for (int i = 0; i < posicionesSeparador.length; i++) {
+            plantilla[posicionesSeparador[i]] = clase(separadores[i]);
+        }
+    }
+
+    /**
+     * Compila un patrón como "dd/MM/yyyy HH:mm" o "yyyyMMdd'T'HHmmss".
+     *
+     * @throws IllegalArgumentException si el patrón tiene letras no
+     *                                  soportadas, campos repetidos o le
+     *                                  falta el año, el mes o el día.
+     */
+    public static FormatoFecha compila(String patron) {
+        if (patron == null || patron.isEmpty()) {
+            throw new IllegalArgumentException("el patrón está vacío");
+        }
+        // año, mes, día, hora, minuto, segundo y milisegundo.
+        int[] posicionesCampo = new int[7];
+        Arrays.fill(posicionesCampo, SIN_CAMPO);
+        int[] posicionesSeparador = new int[patron.length()];
+        char[] separadores = new char[patron.length()];
+        int cantidadSeparadores = 0;
+        int largo = 0;
+        int i = 0;
+        while (i < patron.length()) {
+            char c = patron.charAt(i);
+            if (c == '\'') {
+                int cierre = patron.indexOf('\'', i + 1);
+                if (cierre <= i + 1) {
+                    throw new IllegalArgumentException("comilla sin cerrar o vacía en la posición " + i
+                            + " del patrón \"" + patron + "\"");
+                }
+                for (int j = i + 1; j < cierre; j++) {
+                    posicionesSeparador[cantidadSeparadores] = largo++;
+                    separadores[cantidadSeparadores++] = patron.charAt(j);
+                }
+                i = cierre + 1;
+            } else if (Character.isLetter(c)) {
+                int fin = i;
+                while (fin < patron.length() && patron.charAt(fin) == c) {
+                    fin++;
+                }
+                int campo = campo(c, fin - i, patron);
+                if (posicionesCampo[campo] != SIN_CAMPO) {
+                    throw new IllegalArgumentException("campo '" + c + "' repetido en el patrón \"" + patron + "\"");
+                }
+                posicionesCampo[campo] = largo;
+                largo += fin - i;
+                i = fin;
+            } else {
+                posicionesSeparador[cantidadSeparadores] = largo++;
+                separadores[cantidadSeparadores++] = c;
+                i++;
+            }
+        }
+        if (posicionesCampo[0] == SIN_CAMPO || posicionesCampo[1] == SIN_CAMPO || posicionesCampo[2] == SIN_CAMPO) {
+            throw new IllegalArgumentException("el patrón \"" + patron + "\" debe tener yyyy, MM y dd");
+        }
+        return new FormatoFecha(patron, largo, posicionesCampo,
+                Arrays.copyOf(posicionesSeparador, cantidadSeparadores),
+                Arrays.copyOf(separadores, cantidadSeparadores));
+    }
+
+    /**
+     * @return índice del campo en posicionesCampo para una letra repetida
+     * la cantidad de veces indicada.
+     */
+    private static int campo(char letra, int repeticiones, String patron) {
+        int campo;
+        int esperadas = 2;
+        switch (letra) {
+            case 'y':
+                campo = 0;
+                esperadas = 4;
+                break;
+            case 'M':
+                campo = 1;
+                break;
+            case 'd':
+                campo = 2;
+                break;
+            case 'H':
+                campo = 3;
+                break;
+            case 'm':
+                campo = 4;
+                break;
+            case 's':
+                campo = 5;
+                break;
+            case 'S':
+                campo = 6;
+                esperadas = 3;
+                break;
+            default:
+                throw new IllegalArgumentException("letra '" + letra + "' no soportada en el patrón \"" + patron + "\"");
+        }
+        if (repeticiones != esperadas) {
+            throw new IllegalArgumentException("se esperaban " + esperadas + " letras '" + letra
+                    + "' en el patrón \"" + patron + "\"");
+        }
+        return campo;
+    }
+
+    /**
+     * Parsea un literal con este formato.
+     *
+     * @return milisegundos desde la época, o
+     *         {@link ParseadorFechas#FECHA_INVALIDA} si el literal no tiene
+     *         el formato o no existe en el calendario.
+     */
+    public long parsea(CharSequence literal) {
+        return parsea(literal, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Parsea un literal con este formato, en la zona horaria indicada.
+     *
+     * @return milisegundos desde la época, o
+     *         {@link ParseadorFechas#FECHA_INVALIDA}.
+     */
+    public long parsea(CharSequence literal, TablaZonaHoraria zona) {
+        if (literal == null || literal.length() != largo || !coincidenSeparadores(literal)) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        return parseaCampos(literal, zona);
+    }
+
+    /**
+     * @return true si los separadores del literal están en su lugar. No
+     * revisa el largo ni los dígitos.
+     */
+    boolean coincidenSeparadores(CharSequence literal) {
+        for (int i = 0; i < separadores.length; i++) {
+            char esperado = separadores[i];
+            char c = literal.charAt(posicionesSeparador[i]);
+            if (c != esperado && !(esperado == ' ' && ValidadorFechas.esEspacio(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true si el literal, que ya tiene el largo de este formato,
+     * tiene los separadores en su lugar y dígitos en todos los campos. No
+     * revisa los rangos.
+     */
+    boolean coincide(CharSequence literal) {
+        for (int i = 0; i < largo; i++) {
+            char esperado = plantilla[i];
+            char c = literal.charAt(i);
+            if (esperado == DIGITO ? c < '0' || c > '9' : c != esperado && !(esperado == ' ' && ValidadorFechas.esEspacio(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lee los campos de un literal que ya tiene el largo y los separadores
+     * de este formato.
+     */
+    long parseaCampos(CharSequence literal) {
+        return parseaCampos(literal, TablaZonaHoraria.SANTIAGO);
+    }
+
+    long parseaCampos(CharSequence literal, TablaZonaHoraria zona) {
+        int anio = digitos(literal, pAnio, 4);
+        int mes = digitos(literal, pMes, 2);
+        int dia = digitos(literal, pDia, 2);
+        int hora = pHora == SIN_CAMPO ? 0 : digitos(literal, pHora, 2);
+        int minuto = pMinuto == SIN_CAMPO ? 0 : digitos(literal, pMinuto, 2);
+        int segundo = pSegundo == SIN_CAMPO ? 0 : digitos(literal, pSegundo, 2);
+        int milisegundo = pMilisegundo == SIN_CAMPO ? 0 : digitos(literal, pMilisegundo, 3);
+        if ((anio | mes | dia | hora | minuto | segundo | milisegundo) < 0) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        long epochMilis = ParseadorFechas.aEpochMilis(anio, mes, dia, hora, minuto, segundo, zona);
+        return epochMilis == ParseadorFechas.FECHA_INVALIDA ? epochMilis : epochMilis + milisegundo;
+    }
+
+    /**
+     * @return el número de los dígitos desde la posición, o negativo si
+     * alguno no es dígito.
+     */
+    private static int digitos(CharSequence literal, int posicion, int cantidad) {
+        int valor = 0;
+        int malos = 0;
+        for (int i = posicion; i < posicion + cantidad; i++) {
+            int d = literal.charAt(i) - '0';
+            malos |= d | (9 - d);
+            valor = valor * 10 + d;
+        }
+        return malos < 0 ? -1 : valor;
+    }
+
+    /**
+     * @return true si hay literales que {@link #coincide(CharSequence)}
+     * aceptaría con ambos formatos, con lo que no se podrían distinguir sin
+     * parsear. Una posición de campo solo choca con un separador que sea
+     * dígito.
+     */
+    boolean esAmbiguoCon(FormatoFecha otro) {
+        if (largo != otro.largo) {
+            return false;
+        }
+        for (int i = 0; i < largo; i++) {
+            char a = plantilla[i];
+            char b = otro.plantilla[i];
+            if (a != b && !(a == DIGITO && esDigito(b)) && !(b == DIGITO && esDigito(a))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * El espacio del patrón acepta cualquier espacio en blanco, por lo que
+     * para comparar formatos todos los espacios en blanco son iguales.
+     */
+    private static char clase(char separador) {
+        return ValidadorFechas.esEspacio(separador) ? ' ' : separador;
+    }
+
+    public String getPatron() {
+        return patron;
+    }
+
+    /**
+     * @return largo en caracteres de los literales de este formato.
+     */
+    public int getLargo() {
+        return largo;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return this == otro || (otro instanceof FormatoFecha && patron.equals(((FormatoFecha) otro).patron));
+    }
+
+    @Override
+    public int hashCode() {
+        return patron.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FormatoFecha[" + patron + "]";
+    }
+}
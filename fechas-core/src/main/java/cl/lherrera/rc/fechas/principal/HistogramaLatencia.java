@@ -0,0 +1,123 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias en nanosegundos, seguro entre hilos y sin
+ * bloqueos.
+ *
+ * Las cubetas son log-lineales: exactas hasta 15 ns y, desde ahí, ocho
+ * cubetas por cada potencia de dos, por lo que un percentil se informa con
+ * un error relativo menor a 12,5%. Son 488 cubetas fijas que cubren todo el
+ * rango de long, sin crear objetos al registrar.
+ */
+public final class HistogramaLatencia {
+
+    private static final int EXACTAS = 16;
+    private static final int SUBCUBETAS = 8;
+    private static final int CUBETAS = EXACTAS + (62 - 4 + 1) * SUBCUBETAS;
+
+    private final AtomicLongArray conteos = new AtomicLongArray(CUBETAS);
+    private final LongAdder muestras = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra una latencia; los valores negativos cuentan como cero.
+     */
+    public void registra(long nanos) {
+        long valor = Math.max(0, nanos);
+        conteos.incrementAndGet(cubeta(valor));
+        muestras.increment();
+        suma.add(valor);
+        if (valor > maximo.get()) {
+            maximo.accumulateAndGet(valor, Math::max);
+        }
+    }
+
+    public long getMuestras() {
+        return muestras.sum();
+    }
+
+    /**
+     * @return promedio en nanosegundos, o 0 si no hay muestras.
+     */
+    public double getPromedio() {
+        long cantidad = muestras.sum();
+        return cantidad == 0 ? 0 : (double) suma.sum() / cantidad;
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Percentil aproximado, como el límite superior de la cubeta donde cae.
+     *
+     * @param percentil de 0 a 100, por ejemplo 99.9.
+     * @return nanosegundos, o 0 si no hay muestras.
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("percentil fuera de rango [0-100]: " + percentil);
+        }
+        long[] copia = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = conteos.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Vacía el histograma. Los registros concurrentes con la limpieza
+     * pueden quedar o no.
+     */
+    public void reinicia() {
+        for (int i = 0; i < CUBETAS; i++) {
+            conteos.set(i, 0);
+        }
+        muestras.reset();
+        suma.reset();
+        maximo.set(0);
+    }
+
+    static int cubeta(long valor) {
+        if (valor < EXACTAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - 3)) & (SUBCUBETAS - 1);
+        return EXACTAS + (exponente - 4) * SUBCUBETAS + sub;
+    }
+
+    static long limiteSuperior(int cubeta) {
+        if (cubeta < EXACTAS) {
+            return cubeta;
+        }
+        int exponente = (cubeta - EXACTAS) / SUBCUBETAS + 4;
+        int sub = (cubeta - EXACTAS) % SUBCUBETAS;
+        long inferior = (long) (SUBCUBETAS + sub) << (exponente - 3);
+        return inferior + (1L << (exponente - 3)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HistogramaLatencia[muestras=%d, p50=%d ns, p99=%d ns, max=%d ns]",
+                getMuestras(), percentil(50), percentil(99), getMaximo());
+    }
+}
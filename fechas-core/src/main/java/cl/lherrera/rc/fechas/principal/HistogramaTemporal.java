@@ -0,0 +1,479 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Cantidad de eventos por minuto, hora o día del reloj local, para
+ * tableros que hoy separan cada fecha con FechasUtil.separaFechaEnArreglo y
+ * cuentan en un HashMap.
+ *
+ * Cada hilo cuenta en su propia {@link Parte}, un arreglo de long indexado
+ * por cubeta que crece al doble como el de {@link ResumenFechas}, por lo que
+ * registrar no crea objetos ni compite con otros hilos. Una
+ * {@link Instantanea} suma las partes sin detenerlas: lee cada contador con
+ * la misma garantía que LongAdder.sum(), por lo que los registros
+ * concurrentes con la lectura pueden quedar o no.
+ *
+ * Las cubetas de minuto y hora se cuentan por instante, sin buscar en la
+ * tabla de la zona: siguen el reloj local mientras los cambios de horario
+ * sean de horas completas, como los de Santiago. Así el día de 25 horas
+ * tiene dos cubetas "23:00" distintas y el de 23 horas no tiene la que no
+ * existe. Las cubetas de día son días locales, de 23, 24 o 25 horas.
+ */
+public final class HistogramaTemporal {
+
+    /**
+     * Máximo de cubetas entre la primera y la última de una parte: ocho
+     * años de minutos.
+     */
+    public static final int MAXIMO_CUBETAS = 1 << 22;
+
+    /**
+     * Tamaño de las cubetas.
+     */
+    public enum Resolucion {
+        MINUTO(CalendarioCivil.MILIS_POR_MINUTO),
+        HORA(CalendarioCivil.MILIS_POR_HORA),
+        DIA(CalendarioCivil.MILIS_POR_DIA);
+
+        private final long milis;
+
+        Resolucion(long milis) {
+            this.milis = milis;
+        }
+
+        public long getMilis() {
+            return milis;
+        }
+    }
+
+    private final Resolucion resolucion;
+    private final TablaZonaHoraria zona;
+    private final long fase;
+    private final List<Parte> partes = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Parte> porHilo = ThreadLocal.withInitial(this::nuevaParte);
+
+    /**
+     * Histograma con la hora de Santiago.
+     */
+    public HistogramaTemporal(Resolucion resolucion) {
+        this(resolucion, TablaZonaHoraria.SANTIAGO);
+    }
+
+    public HistogramaTemporal(Resolucion resolucion, TablaZonaHoraria zona) {
+        if (resolucion == null || zona == null) {
+            throw new IllegalArgumentException("la resolución y la zona horaria son obligatorias");
+        }
+        this.resolucion = resolucion;
+        this.zona = zona;
+        this.fase = fase(resolucion, zona);
+    }
+
+    /**
+     * Registra un instante en la parte del hilo actual.
+     * {@link ParseadorFechas#FECHA_INVALIDA} se ignora.
+     *
+     * @throws IllegalArgumentException si la parte del hilo abarcaría más
+     *                                  de {@link #MAXIMO_CUBETAS} cubetas.
+     */
+    public void registra(long epochMilis) {
+        porHilo.get().accept(epochMilis);
+    }
+
+    /**
+     * Registra epocas[desde, hasta) en la parte del hilo actual.
+     */
+    public void registra(long[] epocas, int desde, int hasta) {
+        porHilo.get().registra(epocas, desde, hasta);
+    }
+
+    /**
+     * Registra un flujo, en paralelo si el flujo lo es: cada hilo del flujo
+     * cuenta en su parte.
+     */
+    public void registra(LongStream epocas) {
+        epocas.forEach(this::registra);
+    }
+
+    /**
+     * Parte del hilo actual, para guardarla en un ciclo de ingesta y no
+     * buscarla en cada registro. Solo la debe usar ese hilo.
+     */
+    public Parte parte() {
+        return porHilo.get();
+    }
+
+    private Parte nuevaParte() {
+        Parte parte = new Parte();
+        partes.add(parte);
+        return parte;
+    }
+
+    /**
+     * Suma de todas las partes, sin bloquear a los hilos que registran.
+     */
+    public Instantanea instantanea() {
+        long desde = Long.MAX_VALUE;
+        long hasta = Long.MIN_VALUE;
+        Conteos[] vistas = new Conteos[partes.size()];
+        int cantidad = 0;
+        for (Parte parte : partes) {
+            if (cantidad == vistas.length) {
+                break;
+            }
+            Conteos conteos = parte.conteos;
+            vistas[cantidad++] = conteos;
+            if (conteos.valores.length() > 0) {
+                desde = Math.min(desde, conteos.base);
+                hasta = Math.max(hasta, conteos.base + conteos.valores.length());
+            }
+        }
+        if (desde > hasta) {
+            return new Instantanea(resolucion, zona, 0, new long[0]);
+        }
+        if (hasta - desde > MAXIMO_CUBETAS) {
+            throw new IllegalArgumentException("las partes abarcan más de " + MAXIMO_CUBETAS + " cubetas");
+        }
+        long[] suma = new long[(int) (hasta - desde)];
+        for (int i = 0; i < cantidad; i++) {
+            Conteos conteos = vistas[i];
+            int desplazamiento = (int) (conteos.base - desde);
+            for (int j = 0; j < conteos.valores.length(); j++) {
+                suma[desplazamiento + j] += conteos.valores.get(j);
+            }
+        }
+        return new Instantanea(resolucion, zona, desde, suma);
+    }
+
+    public Resolucion getResolucion() {
+        return resolucion;
+    }
+
+    public TablaZonaHoraria getZona() {
+        return zona;
+    }
+
+    /**
+     * Desplazamiento de las cubetas de minuto y hora respecto de UTC, para
+     * zonas con desfases de media hora.
+     */
+    private static long fase(Resolucion resolucion, TablaZonaHoraria zona) {
+        return resolucion == Resolucion.DIA ? 0 : Math.floorMod(zona.desfaseEn(0), resolucion.milis);
+    }
+
+    /**
+     * Cubeta de minuto u hora en que cae el instante.
+     */
+    private static long indice(long epochMilis, long milis, long fase) {
+        return Math.floorDiv(epochMilis + fase, milis);
+    }
+
+    /**
+     * Primer instante de una cubeta.
+     */
+    private static long inicio(Resolucion resolucion, TablaZonaHoraria zona, long fase, long indice) {
+        return resolucion == Resolucion.DIA
+                ? zona.instanteDeMilisLocales(indice * CalendarioCivil.MILIS_POR_DIA)
+                : indice * resolucion.milis - fase;
+    }
+
+    /**
+     * Contadores de una parte desde la cubeta base. Se reemplaza completo
+     * al crecer, para que quien lee vea base y valores de una misma vez.
+     */
+    private static final class Conteos {
+        final long base;
+        final AtomicLongArray valores;
+
+        Conteos(long base, AtomicLongArray valores) {
+            this.base = base;
+            this.valores = valores;
+        }
+    }
+
+    /**
+     * Contadores de un solo hilo. Escribe con lazySet, sin CAS, porque es el
+     * único que escribe; quien lee con get ve cada contador completo.
+     */
+    public final class Parte implements LongConsumer {
+        private volatile Conteos conteos = new Conteos(0, new AtomicLongArray(0));
+
+        // día local del último registro y, si el anterior cayó en el mismo
+        // día, sus límites, para no buscar en la tabla de la zona mientras
+        // los instantes sigan en ese día.
+        private long inicioDia = 1;
+        private long finDia;
+        private long dia;
+
+        private Parte() {
+        }
+
+        /**
+         * Registra un instante. {@link ParseadorFechas#FECHA_INVALIDA} se
+         * ignora.
+         *
+         * @throws IllegalArgumentException si con este instante la parte
+         *                                  abarcaría más de {@link #MAXIMO_CUBETAS} cubetas.
+         */
+        @Override
+        public void accept(long epochMilis) {
+            if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+                return;
+            }
+            long indice = resolucion == Resolucion.DIA
+                    ? diaDe(epochMilis)
+                    : HistogramaTemporal.indice(epochMilis, resolucion.milis, fase);
+            Conteos actuales = conteos;
+            long posicion = indice - actuales.base;
+            if (posicion < 0 || posicion >= actuales.valores.length()) {
+                actuales = incluye(indice);
+                posicion = indice - actuales.base;
+            }
+            AtomicLongArray valores = actuales.valores;
+            valores.lazySet((int) posicion, valores.get((int) posicion) + 1);
+        }
+
+        /**
+         * Registra epocas[desde, hasta).
+         */
+        public void registra(long[] epocas, int desde, int hasta) {
+            for (int i = desde; i < hasta; i++) {
+                accept(epocas[i]);
+            }
+        }
+
+        private long diaDe(long epochMilis) {
+            if (epochMilis >= inicioDia && epochMilis < finDia) {
+                return dia;
+            }
+            long anterior = dia;
+            dia = zona.diaEpocaLocal(epochMilis);
+            if (dia == anterior) {
+                inicioDia = zona.instanteDeMilisLocales(dia * CalendarioCivil.MILIS_POR_DIA);
+                finDia = zona.instanteDeMilisLocales((dia + 1) * CalendarioCivil.MILIS_POR_DIA);
+            } else {
+                inicioDia = 1;
+                finDia = 0;
+            }
+            return dia;
+        }
+
+        /**
+         * Agranda los contadores para que contengan la cubeta y los publica.
+         */
+        private Conteos incluye(long indice) {
+            Conteos actuales = conteos;
+            AtomicLongArray valores = actuales.valores;
+            int largoActual = valores.length();
+            if (largoActual == 0) {
+                conteos = new Conteos(indice, new AtomicLongArray(64));
+                return conteos;
+            }
+            long desde = Math.min(actuales.base, indice);
+            long hasta = Math.max(actuales.base + largoActual, indice + 1);
+            if (hasta - desde > MAXIMO_CUBETAS) {
+                throw new IllegalArgumentException("las fechas abarcan más de " + MAXIMO_CUBETAS + " cubetas");
+            }
+            int largo = (int) Math.min(MAXIMO_CUBETAS, Math.max(hasta - desde, largoActual * 2L));
+            long nuevaBase = indice < actuales.base ? hasta - largo : desde;
+            AtomicLongArray nuevos = new AtomicLongArray(largo);
+            int desplazamiento = (int) (actuales.base - nuevaBase);
+            for (int i = 0; i < largoActual; i++) {
+                nuevos.lazySet(desplazamiento + i, valores.get(i));
+            }
+            conteos = new Conteos(nuevaBase, nuevos);
+            return conteos;
+        }
+    }
+
+    /**
+     * Cantidades por cubeta en un momento, desde la primera hasta la última
+     * cubeta con eventos. Es inmutable.
+     */
+    public static final class Instantanea {
+        private final Resolucion resolucion;
+        private final TablaZonaHoraria zona;
+        private final long fase;
+        private final long base;
+        private final long[] cantidades;
+        private final long total;
+
+        Instantanea(Resolucion resolucion, TablaZonaHoraria zona, long base, long[] cantidades) {
+            int desde = 0;
+            int hasta = cantidades.length;
+            while (desde < hasta && cantidades[desde] == 0) {
+                desde++;
+            }
+            while (hasta > desde && cantidades[hasta - 1] == 0) {
+                hasta--;
+            }
+            long suma = 0;
+            for (int i = desde; i < hasta; i++) {
+                suma += cantidades[i];
+            }
+            this.resolucion = resolucion;
+            this.zona = zona;
+            this.fase = fase(resolucion, zona);
+            this.base = base + desde;
+            this.cantidades = desde == 0 && hasta == cantidades.length
+                    ? cantidades
+                    : Arrays.copyOfRange(cantidades, desde, hasta);
+            this.total = suma;
+        }
+
+        /**
+         * @return cantidad de cubetas, incluidas las vacías entre la primera
+         * y la última con eventos.
+         */
+        public int getCubetas() {
+            return cantidades.length;
+        }
+
+        /**
+         * @param cubeta de 0 a getCubetas() - 1.
+         * @return cantidad de eventos de la cubeta.
+         */
+        public long cantidad(int cubeta) {
+            return cantidades[cubeta];
+        }
+
+        /**
+         * @return primer instante de la cubeta, en milisegundos desde la época.
+         */
+        public long inicio(int cubeta) {
+            return HistogramaTemporal.inicio(resolucion, zona, fase, base + cubeta);
+        }
+
+        /**
+         * @return instante siguiente al último de la cubeta. En las cubetas
+         * de día, fin - inicio es de 23, 24 o 25 horas.
+         */
+        public long fin(int cubeta) {
+            return HistogramaTemporal.inicio(resolucion, zona, fase, base + cubeta + 1);
+        }
+
+        /**
+         * @return reloj local al inicio de la cubeta. En el día de 25 horas
+         * dos cubetas de hora tienen el mismo.
+         */
+        public LocalDateTime inicioLocal(int cubeta) {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(zona.aMilisLocales(inicio(cubeta)), 1000L), 0,
+                    ZoneOffset.UTC);
+        }
+
+        /**
+         * @return cantidad de eventos de la cubeta donde cae el instante.
+         */
+        public long cantidadEn(long epochMilis) {
+            long posicion = indiceDe(epochMilis) - base;
+            return posicion < 0 || posicion >= cantidades.length ? 0 : cantidades[(int) posicion];
+        }
+
+        private long indiceDe(long epochMilis) {
+            return resolucion == Resolucion.DIA
+                    ? zona.diaEpocaLocal(epochMilis)
+                    : indice(epochMilis, resolucion.milis, fase);
+        }
+
+        /**
+         * Junta las cubetas en otras de una resolución mayor o igual, por
+         * ejemplo minutos en horas o en días locales.
+         *
+         * @throws IllegalArgumentException si la resolución es menor.
+         */
+        public Instantanea agrupa(Resolucion mayor) {
+            if (mayor.compareTo(resolucion) < 0) {
+                throw new IllegalArgumentException("no se puede pasar de " + resolucion + " a " + mayor);
+            }
+            if (mayor == resolucion || cantidades.length == 0) {
+                return new Instantanea(mayor, zona, base, cantidades);
+            }
+            Instantanea vacia = new Instantanea(mayor, zona, 0, new long[0]);
+            long desde = vacia.indiceDe(inicio(0));
+            long[] agrupadas = new long[(int) (vacia.indiceDe(inicio(cantidades.length - 1)) - desde + 1)];
+            for (int i = 0; i < cantidades.length; i++) {
+                if (cantidades[i] != 0) {
+                    agrupadas[(int) (vacia.indiceDe(inicio(i)) - desde)] += cantidades[i];
+                }
+            }
+            return new Instantanea(mayor, zona, desde, agrupadas);
+        }
+
+        /**
+         * Suma dos instantáneas, por ejemplo de dos procesos.
+         *
+         * @throws IllegalArgumentException si son de zonas o resoluciones distintas.
+         */
+        public Instantanea combina(Instantanea otra) {
+            if (otra.zona != zona || otra.resolucion != resolucion) {
+                throw new IllegalArgumentException("instantáneas distintas: " + resolucion + " en " + zona
+                        + " y " + otra.resolucion + " en " + otra.zona);
+            }
+            if (otra.cantidades.length == 0) {
+                return this;
+            }
+            if (cantidades.length == 0) {
+                return otra;
+            }
+            long desde = Math.min(base, otra.base);
+            long hasta = Math.max(base + cantidades.length, otra.base + otra.cantidades.length);
+            if (hasta - desde > MAXIMO_CUBETAS) {
+                throw new IllegalArgumentException("las instantáneas abarcan más de " + MAXIMO_CUBETAS + " cubetas");
+            }
+            long[] suma = new long[(int) (hasta - desde)];
+            for (int i = 0; i < cantidades.length; i++) {
+                suma[(int) (base - desde) + i] += cantidades[i];
+            }
+            for (int i = 0; i < otra.cantidades.length; i++) {
+                suma[(int) (otra.base - desde) + i] += otra.cantidades[i];
+            }
+            return new Instantanea(resolucion, zona, desde, suma);
+        }
+
+        /**
+         * @return cantidad de eventos por día local, solamente los días con
+         * eventos, ordenada por día.
+         */
+        public SortedMap<LocalDate, Long> porDia() {
+            Instantanea dias = agrupa(Resolucion.DIA);
+            SortedMap<LocalDate, Long> retorno = new TreeMap<>();
+            for (int i = 0; i < dias.cantidades.length; i++) {
+                if (dias.cantidades[i] != 0) {
+                    retorno.put(LocalDate.ofEpochDay(dias.base + i), dias.cantidades[i]);
+                }
+            }
+            return retorno;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public Resolucion getResolucion() {
+            return resolucion;
+        }
+
+        public TablaZonaHoraria getZona() {
+            return zona;
+        }
+
+        @Override
+        public String toString() {
+            return "HistogramaTemporal.Instantanea[resolucion=" + resolucion + ", total=" + total
+                    + ", cubetas=" + cantidades.length
+                    + (cantidades.length == 0 ? "" : ", desde=" + inicioLocal(0)
+                    + ", hasta=" + inicioLocal(cantidades.length - 1))
+                    + "]";
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Índice inmutable de instantes en memoria, para preguntas como "registros
+ * entre el 01-03-2021 00:00:00 y el 31-03-2021 23:59:59" sin recorrer
+ * todos los registros.
+ *
+ * Guarda los instantes ordenados en un long[], junto con la posición que
+ * cada uno tenía en el arreglo original, y un resumen con el primer instante
+ * de cada bloque de {@link #BLOQUE} valores. Una búsqueda recorre primero
+ * el resumen, que es pequeño y cabe en cache, y después un solo bloque, por
+ * lo que cuesta O(log n). Como es inmutable, se comparte entre hilos.
+ *
+ * Los límites en literal se leen con las reglas de
+ * {@link ParseadorFechas#parseaEs(CharSequence)} en la zona del índice.
+ * Los rangos incluyen ambos extremos; un literal de término incluye todo su
+ * segundo, de .000 a .999.
+ */
+public final class IndiceFechas {
+
+    /**
+     * Valores por bloque del resumen.
+     */
+    public static final int BLOQUE = 64;
+
+    private static final int TRAMO_INSERCION = 32;
+
+    private final long[] valores;
+    private final int[] posiciones;
+    private final long[] resumen;
+    private final TablaZonaHoraria zona;
+
+    private IndiceFechas(long[] valores, int[] posiciones, TablaZonaHoraria zona) {
+        this.valores = valores;
+        this.posiciones = posiciones;
+        this.zona = zona;
+        this.resumen = new long[(valores.length + BLOQUE - 1) / BLOQUE];
+        for (int b = 0; b < resumen.length; b++) {
+            resumen[b] = valores[b * BLOQUE];
+        }
+    }
+
+    /**
+     * Índice de Santiago.
+     *
+     * @param epocas milisegundos desde la época, en cualquier orden. No se
+     *               modifica; {@link ParseadorFechas#FECHA_INVALIDA} se omite.
+     */
+    public static IndiceFechas de(long[] epocas) {
+        return de(epocas, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Índice cuyos límites en literal se leen en la zona indicada.
+     */
+    public static IndiceFechas de(long[] epocas, TablaZonaHoraria zona) {
+        if (epocas == null || zona == null) {
+            throw new IllegalArgumentException("los instantes y la zona horaria son obligatorios");
+        }
+        long[] valores = new long[epocas.length];
+        int[] posiciones = new int[epocas.length];
+        int cantidad = 0;
+        boolean ordenados = true;
+        for (int i = 0; i < epocas.length; i++) {
+            if (epocas[i] == ParseadorFechas.FECHA_INVALIDA) {
+                continue;
+            }
+            if (cantidad > 0 && epocas[i] < valores[cantidad - 1]) {
+                ordenados = false;
+            }
+            valores[cantidad] = epocas[i];
+            posiciones[cantidad++] = i;
+        }
+        if (cantidad < valores.length) {
+            valores = Arrays.copyOf(valores, cantidad);
+            posiciones = Arrays.copyOf(posiciones, cantidad);
+        }
+        if (!ordenados) {
+            ordena(valores, posiciones);
+        }
+        return new IndiceFechas(valores, posiciones, zona);
+    }
+
+    /**
+     * Cantidad de instantes en el índice.
+     */
+    public int tamanio() {
+        return valores.length;
+    }
+
+    /**
+     * @param i de 0 a tamanio() - 1, en orden de instante.
+     */
+    public long valor(int i) {
+        return valores[i];
+    }
+
+    /**
+     * @return la posición que tenía el i-ésimo instante en el arreglo con
+     * que se creó el índice.
+     */
+    public int posicion(int i) {
+        return posiciones[i];
+    }
+
+    /**
+     * @return la primera posición del índice con un instante mayor o igual,
+     * o tamanio() si no hay.
+     */
+    public int cotaInferior(long epochMilis) {
+        // último bloque que empieza antes del instante: la respuesta está en
+        // él o es el inicio del siguiente.
+        int bloque = primeroMayorOIgual(resumen, 0, resumen.length, epochMilis) - 1;
+        if (bloque < 0) {
+            return 0;
+        }
+        int desde = bloque * BLOQUE;
+        return primeroMayorOIgual(valores, desde, Math.min(valores.length, desde + BLOQUE), epochMilis);
+    }
+
+    /**
+     * @return la primera posición del índice con un instante mayor, o
+     * tamanio() si no hay.
+     */
+    public int cotaSuperior(long epochMilis) {
+        return epochMilis == Long.MAX_VALUE ? valores.length : cotaInferior(epochMilis + 1);
+    }
+
+    /**
+     * @return la posición del instante más cercano; si hay dos a la misma
+     * distancia, el anterior. -1 si el índice está vacío.
+     */
+    public int masCercano(long epochMilis) {
+        int siguiente = cotaInferior(epochMilis);
+        if (siguiente == 0) {
+            return valores.length == 0 ? -1 : 0;
+        }
+        if (siguiente == valores.length) {
+            return siguiente - 1;
+        }
+        // con instantes extremos las distancias pasan de Long.MAX_VALUE,
+        // pero nunca son negativas, así que se comparan sin signo.
+        long antes = epochMilis - valores[siguiente - 1];
+        long despues = valores[siguiente] - epochMilis;
+        return Long.compareUnsigned(antes, despues) <= 0 ? siguiente - 1 : siguiente;
+    }
+
+    /**
+     * Cantidad de instantes en [desde, hasta].
+     */
+    public int cantidadEntre(long desde, long hasta) {
+        return Math.max(0, cotaSuperior(hasta) - cotaInferior(desde));
+    }
+
+    /**
+     * Igual que {@link #cantidadEntre(long, long)}, con límites
+     * "dd-MM-yyyy HH:mm:ss".
+     *
+     * @throws IllegalArgumentException si algún límite no es una fecha válida.
+     */
+    public int cantidadEntre(CharSequence desde, CharSequence hasta) {
+        return cantidadEntre(inicio(desde), fin(hasta));
+    }
+
+    /**
+     * Instantes en [desde, hasta], en orden, sin copiarlos.
+     */
+    public LongStream entre(long desde, long hasta) {
+        int i = cotaInferior(desde);
+        return Arrays.stream(valores, i, Math.max(i, cotaSuperior(hasta)));
+    }
+
+    /**
+     * Igual que {@link #entre(long, long)}, con límites "dd-MM-yyyy HH:mm:ss".
+     *
+     * @throws IllegalArgumentException si algún límite no es una fecha válida.
+     */
+    public LongStream entre(CharSequence desde, CharSequence hasta) {
+        return entre(inicio(desde), fin(hasta));
+    }
+
+    /**
+     * Posiciones en el arreglo original de los instantes en [desde, hasta],
+     * en orden de instante, para llegar a los registros.
+     */
+    public IntStream posicionesEntre(long desde, long hasta) {
+        int i = cotaInferior(desde);
+        return Arrays.stream(posiciones, i, Math.max(i, cotaSuperior(hasta)));
+    }
+
+    /**
+     * Igual que {@link #posicionesEntre(long, long)}, con límites
+     * "dd-MM-yyyy HH:mm:ss".
+     *
+     * @throws IllegalArgumentException si algún límite no es una fecha válida.
+     */
+    public IntStream posicionesEntre(CharSequence desde, CharSequence hasta) {
+        return posicionesEntre(inicio(desde), fin(hasta));
+    }
+
+    /**
+     * Entrega al consumidor los instantes en [desde, hasta], en orden, sin
+     * crear objetos.
+     */
+    public void recorre(long desde, long hasta, LongConsumer consumidor) {
+        for (int i = cotaInferior(desde), fin = cotaSuperior(hasta); i < fin; i++) {
+            consumidor.accept(valores[i]);
+        }
+    }
+
+    public TablaZonaHoraria getZona() {
+        return zona;
+    }
+
+    private long inicio(CharSequence literal) {
+        long epochMilis = ParseadorFechas.parseaEs(literal, zona);
+        if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+            throw new IllegalArgumentException("límite de fecha inválido: " + literal);
+        }
+        return epochMilis;
+    }
+
+    private long fin(CharSequence literal) {
+        return inicio(literal) + CalendarioCivil.MILIS_POR_SEGUNDO - 1;
+    }
+
+    /**
+     * @return el primer i de [desde, hasta) con a[i] >= clave, o hasta.
+     */
+    private static int primeroMayorOIgual(long[] a, int desde, int hasta, long clave) {
+        int bajo = desde;
+        int alto = hasta;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (a[medio] < clave) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Merge sort estable de los instantes junto con sus posiciones, sin
+     * pasar por Long ni Integer. Los tramos de {@link #TRAMO_INSERCION} se
+     * ordenan primero por inserción, que para pocos valores es más rápido
+     * que mezclar.
+     */
+    private static void ordena(long[] valores, int[] posiciones) {
+        int n = valores.length;
+        for (int desde = 0; desde < n; desde += TRAMO_INSERCION) {
+            int hasta = Math.min(n, desde + TRAMO_INSERCION);
+            for (int i = desde + 1; i < hasta; i++) {
+                long valor = valores[i];
+                int posicion = posiciones[i];
+                int j = i - 1;
+                while (j >= desde && valores[j] > valor) {
+                    valores[j + 1] = valores[j];
+                    posiciones[j + 1] = posiciones[j];
+                    j--;
+                }
+                valores[j + 1] = valor;
+                posiciones[j + 1] = posicion;
+            }
+        }
+        long[] valoresAux = new long[n];
+        int[] posicionesAux = new int[n];
+        long[] origen = valores;
+        int[] origenPos = posiciones;
+        long[] destino = valoresAux;
+        int[] destinoPos = posicionesAux;
+        for (int ancho = TRAMO_INSERCION; ancho < n; ancho *= 2) {
+            for (int izq = 0; izq < n; izq += 2 * ancho) {
+                int medio = Math.min(n, izq + ancho);
+                int der = Math.min(n, izq + 2 * ancho);
+                int i = izq, j = medio, k = izq;
+                while (i < medio && j < der) {
+                    if (origen[j] < origen[i]) {
+                        destinoPos[k] = origenPos[j];
+                        destino[k++] = origen[j++];
+                    } else {
+                        destinoPos[k] = origenPos[i];
+                        destino[k++] = origen[i++];
+                    }
+                }
+                while (i < medio) {
+                    destinoPos[k] = origenPos[i];
+                    destino[k++] = origen[i++];
+                }
+                while (j < der) {
+                    destinoPos[k] = origenPos[j];
+                    destino[k++] = origen[j++];
+                }
+            }
+            long[] v = origen;
+            origen = destino;
+            destino = v;
+            int[] p = origenPos;
+            origenPos = destinoPos;
+            destinoPos = p;
+        }
+        if (origen != valores) {
+            System.arraycopy(origen, 0, valores, 0, n);
+            System.arraycopy(origenPos, 0, posiciones, 0, n);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IndiceFechas[tamanio=" + valores.length + ", bloques=" + resumen.length + "]";
+    }
+}
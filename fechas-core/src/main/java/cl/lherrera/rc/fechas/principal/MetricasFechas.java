@@ -0,0 +1,245 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de las operaciones de FechasUtilDos, de bajo costo para poder
+ * dejarlas siempre encendidas en vez de los logs por llamada.
+ *
+ * Las llamadas y errores se cuentan con LongAdder, que reparte los
+ * incrementos entre celdas cuando hay contención. La latencia se mide
+ * solamente en una de cada {@link #getMuestreo()} llamadas, elegidas al
+ * azar, y se guarda en un {@link HistogramaLatencia}. Se usa así:
+ *
+ * <pre>
+ *     long inicio = MetricasFechas.inicio(Operacion.FECHA_EN_PALABRAS);
+ *     ...
+ *     MetricasFechas.fin(Operacion.FECHA_EN_PALABRAS, inicio);
+ * </pre>
+ *
+ * Cada operación se publica por JMX como un {@link OperacionFechasMXBean},
+ * visible en JConsole o VisualVM bajo el dominio {@link #DOMINIO_JMX}.
+ *
+ * Nota: el muestreo inicial se puede cambiar con la propiedad de sistema
+ *       "fechas.metricas.muestreo", y el registro JMX se apaga con
+ *       "fechas.metricas.jmx=false".
+ */
+public final class MetricasFechas {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasFechas.class);
+
+    /**
+     * Dominio de los MXBean de las operaciones.
+     */
+    public static final String DOMINIO_JMX = "cl.lherrera.rc.fechas";
+
+    /**
+     * Valor de inicio de una llamada que no se mide.
+     */
+    public static final long NO_MUESTREADA = Long.MIN_VALUE;
+
+    /**
+     * Operaciones medidas.
+     */
+    public enum Operacion {
+        VALIDA_ESTRUCTURA_EN,
+        VALIDA_ESTRUCTURA_ES,
+        FECHA_LOCAL_LITERAL,
+        FECHA_EN_PALABRAS,
+        DIFERENCIA_DIAS,
+        DIFERENCIA_SEGUNDOS,
+        TIEMPO_TRANSCURRIDO
+    }
+
+    private static final Metricas[] METRICAS = new Metricas[Operacion.values().length];
+
+    /**
+     * Muestreo menos uno; el muestreo siempre es potencia de dos.
+     */
+    private static volatile int mascaraMuestreo;
+
+    private static boolean registradas;
+
+    static {
+        for (Operacion operacion : Operacion.values()) {
+            METRICAS[operacion.ordinal()] = new Metricas();
+        }
+        setMuestreo(Integer.getInteger("fechas.metricas.muestreo", 64));
+        if (Boolean.parseBoolean(System.getProperty("fechas.metricas.jmx", "true"))) {
+            registraJmx();
+        }
+    }
+
+    private MetricasFechas() {
+    }
+
+    /**
+     * Cuenta una llamada y decide si se mide su latencia.
+     *
+     * @return el valor a entregar en {@link #fin(Operacion, long)}.
+     */
+    public static long inicio(Operacion operacion) {
+        METRICAS[operacion.ordinal()].llamadas.increment();
+        return (ThreadLocalRandom.current().nextInt() & mascaraMuestreo) == 0 ? System.nanoTime() : NO_MUESTREADA;
+    }
+
+    /**
+     * Registra la latencia si la llamada fue elegida en la muestra.
+     *
+     * @param inicio lo entregado por {@link #inicio(Operacion)}.
+     */
+    public static void fin(Operacion operacion, long inicio) {
+        if (inicio != NO_MUESTREADA) {
+            METRICAS[operacion.ordinal()].latencias.registra(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Cuenta un error, como una fecha inválida. La latencia de las llamadas
+     * con error no se registra.
+     */
+    public static void error(Operacion operacion) {
+        METRICAS[operacion.ordinal()].errores.increment();
+    }
+
+    /**
+     * @return las métricas de la operación.
+     */
+    public static OperacionFechasMXBean de(Operacion operacion) {
+        return METRICAS[operacion.ordinal()];
+    }
+
+    /**
+     * @return se mide una de cada este número de llamadas.
+     */
+    public static int getMuestreo() {
+        return mascaraMuestreo + 1;
+    }
+
+    /**
+     * @param cadaN se redondea a la potencia de dos siguiente; 1 mide todas
+     *              las llamadas.
+     */
+    public static void setMuestreo(int cadaN) {
+        if (cadaN < 1 || cadaN > (1 << 30)) {
+            throw new IllegalArgumentException("muestreo fuera de rango [1-1073741824]: " + cadaN);
+        }
+        mascaraMuestreo = (cadaN == 1 ? 1 : Integer.highestOneBit(cadaN - 1) << 1) - 1;
+    }
+
+    /**
+     * Deja todas las operaciones en cero.
+     */
+    public static void reinicia() {
+        for (Metricas metricas : METRICAS) {
+            metricas.reinicia();
+        }
+    }
+
+    /**
+     * Registra un MXBean por operación en el MBeanServer de la plataforma.
+     * Se puede llamar varias veces; solo registra la primera.
+     */
+    public static synchronized void registraJmx() {
+        if (registradas) {
+            return;
+        }
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Operacion operacion : Operacion.values()) {
+                ObjectName nombre = nombreJmx(operacion);
+                if (!servidor.isRegistered(nombre)) {
+                    servidor.registerMBean(METRICAS[operacion.ordinal()], nombre);
+                }
+            }
+            registradas = true;
+        } catch (JMException e) {
+            log.warn("[registraJmx] - no se pudieron registrar las métricas: {}", e.toString());
+        }
+    }
+
+    /**
+     * @return nombre JMX de la operación.
+     */
+    public static ObjectName nombreJmx(Operacion operacion) throws JMException {
+        return new ObjectName(DOMINIO_JMX + ":type=Metricas,operacion=" + operacion.name());
+    }
+
+    /**
+     * Contadores e histograma de una operación.
+     */
+    private static final class Metricas implements OperacionFechasMXBean {
+        private final LongAdder llamadas = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private final HistogramaLatencia latencias = new HistogramaLatencia();
+        private volatile long desde = System.nanoTime();
+
+        @Override
+        public long getLlamadas() {
+            return llamadas.sum();
+        }
+
+        @Override
+        public long getErrores() {
+            return errores.sum();
+        }
+
+        @Override
+        public double getTasaErrores() {
+            long cantidad = llamadas.sum();
+            return cantidad == 0 ? 0 : (double) errores.sum() / cantidad;
+        }
+
+        @Override
+        public double getLlamadasPorSegundo() {
+            long nanos = System.nanoTime() - desde;
+            return nanos <= 0 ? 0 : llamadas.sum() * 1e9 / nanos;
+        }
+
+        @Override
+        public long getMuestras() {
+            return latencias.getMuestras();
+        }
+
+        @Override
+        public double getPromedioMicros() {
+            return latencias.getPromedio() / 1000;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return latencias.percentil(50) / 1000.0;
+        }
+
+        @Override
+        public double getP99Micros() {
+            return latencias.percentil(99) / 1000.0;
+        }
+
+        @Override
+        public double getP999Micros() {
+            return latencias.percentil(99.9) / 1000.0;
+        }
+
+        @Override
+        public double getMaximoMicros() {
+            return latencias.getMaximo() / 1000.0;
+        }
+
+        @Override
+        public void reinicia() {
+            llamadas.reset();
+            errores.reset();
+            latencias.reinicia();
+            desde = System.nanoTime();
+        }
+    }
+}
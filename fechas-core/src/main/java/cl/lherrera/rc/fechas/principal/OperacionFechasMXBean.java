@@ -0,0 +1,45 @@
+package cl.lherrera.rc.fechas.principal;
+
+/**
+ * Vista JMX de las métricas de una operación de fechas. Se registra como
+ * "cl.lherrera.rc.fechas:type=Metricas,operacion=NOMBRE".
+ *
+ * Las latencias vienen de una muestra de las llamadas, según
+ * {@link MetricasFechas#getMuestreo()}.
+ */
+public interface OperacionFechasMXBean {
+
+    long getLlamadas();
+
+    long getErrores();
+
+    /**
+     * @return errores sobre llamadas, de 0 a 1.
+     */
+    double getTasaErrores();
+
+    /**
+     * @return llamadas por segundo desde el último reinicio.
+     */
+    double getLlamadasPorSegundo();
+
+    /**
+     * @return llamadas con la latencia medida.
+     */
+    long getMuestras();
+
+    double getPromedioMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaximoMicros();
+
+    /**
+     * Deja los contadores y el histograma en cero.
+     */
+    void reinicia();
+}
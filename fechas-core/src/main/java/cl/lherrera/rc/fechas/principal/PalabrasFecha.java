@@ -0,0 +1,87 @@
+package cl.lherrera.rc.fechas.principal;
+
+/**
+ * Fechas en palabras en español, como [sábado 17 de julio de 2021], en zona
+ * horaria America/Santiago.
+ *
+ * Los nombres de días y meses salen de tablas precalculadas, sin
+ * SimpleDateFormat ni calendario. Como el texto depende solamente del día
+ * local, se guarda en una {@link CachePalabrasFecha} compartida, de modo que
+ * las fechas repetidas cuestan una búsqueda.
+ */
+public final class PalabrasFecha {
+
+    /**
+     * Capacidad de la cache compartida, sobre tres años de días distintos.
+     */
+    public static final int CAPACIDAD_CACHE = 1024;
+
+    /**
+     * Nombres de los días, indexados por día de la semana ISO (1 es lunes).
+     */
+    private static final String[] DIAS = {
+            null, "lunes", "martes", "miércoles", "jueves", "viernes", "sábado", "domingo"};
+
+    /**
+     * Nombres de los meses, indexados de 1 a 12.
+     */
+    private static final String[] MESES = {
+            null, "enero", "febrero", "marzo", "abril", "mayo", "junio", "julio",
+            "agosto", "septiembre", "octubre", "noviembre", "diciembre"};
+
+    private static final CachePalabrasFecha CACHE = new CachePalabrasFecha(CAPACIDAD_CACHE, PalabrasFecha::generaDia);
+
+    private PalabrasFecha() {
+    }
+
+    /**
+     * Transforma un instante a palabras, como [domingo 13 de diciembre de 2020].
+     *
+     * @param epochMilis milisegundos desde la época, de
+     *                   {@link FormateadorFechas#MINIMO} a
+     *                   {@link FormateadorFechas#MAXIMO}.
+     * @throws IllegalArgumentException si el instante cae fuera de los años 0 a 9999.
+     */
+    public static String enPalabras(long epochMilis) {
+        FormateadorFechas.validaInstante(epochMilis);
+        return CACHE.obtiene(TablaZonaHoraria.SANTIAGO.diaEpocaLocal(epochMilis));
+    }
+
+    /**
+     * Agrega el día en palabras al final de destino, sin pasar por la cache.
+     *
+     * @param diaEpoca día local desde 1970-01-01.
+     */
+    public static StringBuilder escribeDia(long diaEpoca, StringBuilder destino) {
+        int fecha = CalendarioCivil.fechaDeDiaEpoca(diaEpoca);
+        return destino.append(DIAS[CalendarioCivil.diaDeLaSemana(diaEpoca)])
+                .append(' ').append(CalendarioCivil.dia(fecha))
+                .append(" de ").append(MESES[CalendarioCivil.mes(fecha)])
+                .append(" de ").append(CalendarioCivil.anio(fecha));
+    }
+
+    /**
+     * @return nombre del día de la semana ISO, 1 es lunes.
+     */
+    public static String nombreDia(int diaDeLaSemana) {
+        return DIAS[diaDeLaSemana];
+    }
+
+    /**
+     * @return nombre del mes, de 1 a 12.
+     */
+    public static String nombreMes(int mes) {
+        return MESES[mes];
+    }
+
+    /**
+     * @return cache compartida, para revisar aciertos y fallos.
+     */
+    public static CachePalabrasFecha getCache() {
+        return CACHE;
+    }
+
+    private static String generaDia(long diaEpoca) {
+        return escribeDia(diaEpoca, new StringBuilder(40)).toString();
+    }
+}
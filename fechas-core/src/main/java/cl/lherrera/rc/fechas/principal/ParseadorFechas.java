@@ -0,0 +1,276 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+/**
+ * Parseo de literales "dd-MM-yyyy HH:mm:ss" y "yyyy-MM-dd HH:mm:ss" a
+ * milisegundos desde la época, en zona horaria America/Santiago.
+ *
+ * En una sola pasada sobre los caracteres se revisa la estructura, los
+ * rangos del calendario (días de cada mes y años bisiestos) y se calcula el
+ * instante. El resultado es un long primitivo, por lo que el camino más
+ * usado no crea objetos; el Date se crea solamente si se pide con
+ * {@link #parseaEsAFecha(CharSequence)}.
+ *
+ * Las horas que no existen o que se repiten por el cambio de horario se
+ * resuelven igual que GregorianCalendar:
+ * <ul>
+ *     <li>Hora que no existe (se adelanta el reloj): se usa el desfase
+ *     anterior al cambio, por ejemplo [05-09-2021 00:30:00] queda como
+ *     [05-09-2021 01:30:00] en horario de verano.</li>
+ *     <li>Hora repetida (se atrasa el reloj): se usa el desfase posterior
+ *     al cambio, es decir, horario de invierno.</li>
+ * </ul>
+ *
+ * Para otra zona horaria se usan las variantes que reciben una
+ * {@link TablaZonaHoraria}, o un {@link ContextoFecha}.
+ */
+public final class ParseadorFechas {
+
+    /**
+     * Valor retornado cuando el literal no es una fecha válida.
+     */
+    public static final long FECHA_INVALIDA = Long.MIN_VALUE;
+
+    private ParseadorFechas() {
+    }
+
+    /**
+     * Transforma [13-12-2021 23:59:59] a milisegundos desde la época.
+     *
+     * @param fechaLiteral fecha con formato "dd-MM-yyyy HH:mm:ss".
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA} si el
+     *         literal no tiene la estructura o no existe en el calendario.
+     */
+    public static long parseaEs(CharSequence fechaLiteral) {
+        return parseaEs(fechaLiteral, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #parseaEs(CharSequence)}, en la zona horaria indicada.
+     *
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA}.
+     */
+    public static long parseaEs(CharSequence fechaLiteral, TablaZonaHoraria zona) {
+        return parsea(fechaLiteral, ValidadorFechas.ES_ANIO, ValidadorFechas.ES_MES, ValidadorFechas.ES_DIA, 2, 5, zona);
+    }
+
+    /**
+     * Transforma [2021-12-13 23:59:59] a milisegundos desde la época.
+     *
+     * @param fechaLiteral fecha con formato "yyyy-MM-dd HH:mm:ss".
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA}.
+     */
+    public static long parseaEn(CharSequence fechaLiteral) {
+        return parseaEn(fechaLiteral, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #parseaEn(CharSequence)}, en la zona horaria indicada.
+     *
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA}.
+     */
+    public static long parseaEn(CharSequence fechaLiteral, TablaZonaHoraria zona) {
+        return parsea(fechaLiteral, ValidadorFechas.EN_ANIO, ValidadorFechas.EN_MES, ValidadorFechas.EN_DIA, 4, 7, zona);
+    }
+
+    /**
+     * Parsea [13-12-2021 23:59:59] desde bytes ASCII, leyendo en su lugar
+     * desde la posición absoluta indicada, sin decodificar a String ni
+     * mover la posición del buffer. Sirve para buffers en heap, directos o
+     * mapeados a un archivo.
+     *
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA}.
+     */
+    public static long parseaEs(ByteBuffer bytes, int posicion) {
+        return parseaEs(bytes, posicion, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #parseaEs(ByteBuffer, int)}, en la zona horaria indicada.
+     */
+    public static long parseaEs(ByteBuffer bytes, int posicion, TablaZonaHoraria zona) {
+        return parsea(bytes, posicion, ValidadorFechas.ES_ANIO, ValidadorFechas.ES_MES, ValidadorFechas.ES_DIA, 2, 5,
+                zona);
+    }
+
+    /**
+     * Parsea [2021-12-13 23:59:59] desde bytes ASCII, igual que
+     * {@link #parseaEs(ByteBuffer, int)}.
+     *
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA}.
+     */
+    public static long parseaEn(ByteBuffer bytes, int posicion) {
+        return parseaEn(bytes, posicion, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #parseaEn(ByteBuffer, int)}, en la zona horaria indicada.
+     */
+    public static long parseaEn(ByteBuffer bytes, int posicion, TablaZonaHoraria zona) {
+        return parsea(bytes, posicion, ValidadorFechas.EN_ANIO, ValidadorFechas.EN_MES, ValidadorFechas.EN_DIA, 4, 7,
+                zona);
+    }
+
+    /**
+     * Parsea [13-12-2021 23:59:59] desde bytes ASCII de un arreglo, por
+     * ejemplo el valor de un registro de Kafka, leyendo los 19 bytes desde
+     * la posición desde, sin decodificar a String.
+     *
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA} si el
+     *         literal no es válido o quedan menos de 19 bytes.
+     */
+    public static long parseaEs(byte[] bytes, int desde) {
+        return parseaEs(bytes, desde, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #parseaEs(byte[], int)}, en la zona horaria indicada.
+     */
+    public static long parseaEs(byte[] bytes, int desde, TablaZonaHoraria zona) {
+        return parsea(bytes, desde, ValidadorFechas.ES_ANIO, ValidadorFechas.ES_MES, ValidadorFechas.ES_DIA, 2, 5, zona);
+    }
+
+    /**
+     * Parsea [2021-12-13 23:59:59] desde bytes ASCII de un arreglo, igual
+     * que {@link #parseaEs(byte[], int)}.
+     *
+     * @return milisegundos desde la época, o {@link #FECHA_INVALIDA}.
+     */
+    public static long parseaEn(byte[] bytes, int desde) {
+        return parseaEn(bytes, desde, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #parseaEn(byte[], int)}, en la zona horaria indicada.
+     */
+    public static long parseaEn(byte[] bytes, int desde, TablaZonaHoraria zona) {
+        return parsea(bytes, desde, ValidadorFechas.EN_ANIO, ValidadorFechas.EN_MES, ValidadorFechas.EN_DIA, 4, 7, zona);
+    }
+
+    /**
+     * Igual que {@link #parseaEs(CharSequence)}, pero retorna un Date.
+     *
+     * @return la fecha, o null si el literal no es válido.
+     */
+    public static Date parseaEsAFecha(CharSequence fechaLiteral) {
+        long epochMilis = parseaEs(fechaLiteral);
+        return epochMilis == FECHA_INVALIDA ? null : new Date(epochMilis);
+    }
+
+    /**
+     * Lee los 14 dígitos según las posiciones del formato. Un dígito fuera
+     * de 0-9 deja negativo a d o a 9 - d, por lo que basta un OR de todos
+     * para saber si alguno es inválido.
+     */
+    private static long parsea(CharSequence f, int pAnio, int pMes, int pDia, int pGuion1, int pGuion2,
+                               TablaZonaHoraria zona) {
+        if (f == null || f.length() != ValidadorFechas.LARGO_FECHA) {
+            return FECHA_INVALIDA;
+        }
+        int a0 = f.charAt(pAnio) - '0', a1 = f.charAt(pAnio + 1) - '0';
+        int a2 = f.charAt(pAnio + 2) - '0', a3 = f.charAt(pAnio + 3) - '0';
+        int m0 = f.charAt(pMes) - '0', m1 = f.charAt(pMes + 1) - '0';
+        int d0 = f.charAt(pDia) - '0', d1 = f.charAt(pDia + 1) - '0';
+        int h0 = f.charAt(11) - '0', h1 = f.charAt(12) - '0';
+        int n0 = f.charAt(14) - '0', n1 = f.charAt(15) - '0';
+        int s0 = f.charAt(17) - '0', s1 = f.charAt(18) - '0';
+
+        int digitos = d0 | (9 - d0) | d1 | (9 - d1) | m0 | (9 - m0) | m1 | (9 - m1)
+                | a0 | (9 - a0) | a1 | (9 - a1) | a2 | (9 - a2) | a3 | (9 - a3)
+                | h0 | (9 - h0) | h1 | (9 - h1) | n0 | (9 - n0) | n1 | (9 - n1)
+                | s0 | (9 - s0) | s1 | (9 - s1);
+        int separadores = (f.charAt(pGuion1) ^ '-') | (f.charAt(pGuion2) ^ '-')
+                | (f.charAt(13) ^ ':') | (f.charAt(16) ^ ':');
+        if (digitos < 0 || separadores != 0 || !ValidadorFechas.esEspacio(f.charAt(10))) {
+            return FECHA_INVALIDA;
+        }
+        return aEpochMilis(a0 * 1000 + a1 * 100 + a2 * 10 + a3, m0 * 10 + m1, d0 * 10 + d1,
+                h0 * 10 + h1, n0 * 10 + n1, s0 * 10 + s1, zona);
+    }
+
+    /**
+     * Igual que {@link #parsea(CharSequence, int, int, int, int, int, TablaZonaHoraria)}, sobre
+     * bytes ASCII desde la posición p.
+     */
+    private static long parsea(ByteBuffer b, int p, int pAnio, int pMes, int pDia, int pGuion1, int pGuion2,
+                               TablaZonaHoraria zona) {
+        if (b == null || p < 0 || p > b.limit() - ValidadorFechas.LARGO_FECHA) {
+            return FECHA_INVALIDA;
+        }
+        int a0 = b.get(p + pAnio) - '0', a1 = b.get(p + pAnio + 1) - '0';
+        int a2 = b.get(p + pAnio + 2) - '0', a3 = b.get(p + pAnio + 3) - '0';
+        int m0 = b.get(p + pMes) - '0', m1 = b.get(p + pMes + 1) - '0';
+        int d0 = b.get(p + pDia) - '0', d1 = b.get(p + pDia + 1) - '0';
+        int h0 = b.get(p + 11) - '0', h1 = b.get(p + 12) - '0';
+        int n0 = b.get(p + 14) - '0', n1 = b.get(p + 15) - '0';
+        int s0 = b.get(p + 17) - '0', s1 = b.get(p + 18) - '0';
+
+        int digitos = d0 | (9 - d0) | d1 | (9 - d1) | m0 | (9 - m0) | m1 | (9 - m1)
+                | a0 | (9 - a0) | a1 | (9 - a1) | a2 | (9 - a2) | a3 | (9 - a3)
+                | h0 | (9 - h0) | h1 | (9 - h1) | n0 | (9 - n0) | n1 | (9 - n1)
+                | s0 | (9 - s0) | s1 | (9 - s1);
+        int separadores = (b.get(p + pGuion1) ^ '-') | (b.get(p + pGuion2) ^ '-')
+                | (b.get(p + 13) ^ ':') | (b.get(p + 16) ^ ':');
+        if (digitos < 0 || separadores != 0 || !ValidadorFechas.esEspacio(b.get(p + 10))) {
+            return FECHA_INVALIDA;
+        }
+        return aEpochMilis(a0 * 1000 + a1 * 100 + a2 * 10 + a3, m0 * 10 + m1, d0 * 10 + d1,
+                h0 * 10 + h1, n0 * 10 + n1, s0 * 10 + s1, zona);
+    }
+
+    /**
+     * Igual que {@link #parsea(CharSequence, int, int, int, int, int, TablaZonaHoraria)}, sobre
+     * un arreglo de bytes ASCII desde la posición p.
+     */
+    private static long parsea(byte[] b, int p, int pAnio, int pMes, int pDia, int pGuion1, int pGuion2,
+                               TablaZonaHoraria zona) {
+        if (b == null || p < 0 || p > b.length - ValidadorFechas.LARGO_FECHA) {
+            return FECHA_INVALIDA;
+        }
+        int a0 = b[p + pAnio] - '0', a1 = b[p + pAnio + 1] - '0';
+        int a2 = b[p + pAnio + 2] - '0', a3 = b[p + pAnio + 3] - '0';
+        int m0 = b[p + pMes] - '0', m1 = b[p + pMes + 1] - '0';
+        int d0 = b[p + pDia] - '0', d1 = b[p + pDia + 1] - '0';
+        int h0 = b[p + 11] - '0', h1 = b[p + 12] - '0';
+        int n0 = b[p + 14] - '0', n1 = b[p + 15] - '0';
+        int s0 = b[p + 17] - '0', s1 = b[p + 18] - '0';
+
+        int digitos = d0 | (9 - d0) | d1 | (9 - d1) | m0 | (9 - m0) | m1 | (9 - m1)
+                | a0 | (9 - a0) | a1 | (9 - a1) | a2 | (9 - a2) | a3 | (9 - a3)
+                | h0 | (9 - h0) | h1 | (9 - h1) | n0 | (9 - n0) | n1 | (9 - n1)
+                | s0 | (9 - s0) | s1 | (9 - s1);
+        int separadores = (b[p + pGuion1] ^ '-') | (b[p + pGuion2] ^ '-')
+                | (b[p + 13] ^ ':') | (b[p + 16] ^ ':');
+        if (digitos < 0 || separadores != 0 || !ValidadorFechas.esEspacio(b[p + 10])) {
+            return FECHA_INVALIDA;
+        }
+        return aEpochMilis(a0 * 1000 + a1 * 100 + a2 * 10 + a3, m0 * 10 + m1, d0 * 10 + d1,
+                h0 * 10 + h1, n0 * 10 + n1, s0 * 10 + s1, zona);
+    }
+
+    /**
+     * Revisa los rangos de los campos y calcula el instante en Santiago.
+     * Se comparte con los demás parseadores del paquete.
+     */
+    static long aEpochMilis(int anio, int mes, int dia, int hora, int minuto, int segundo) {
+        return aEpochMilis(anio, mes, dia, hora, minuto, segundo, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Igual que {@link #aEpochMilis(int, int, int, int, int, int)}, en la
+     * zona horaria indicada.
+     */
+    static long aEpochMilis(int anio, int mes, int dia, int hora, int minuto, int segundo,
+                            TablaZonaHoraria zona) {
+        if (anio < 1900 || anio > 2999 || mes < 1 || mes > 12 || dia < 1
+                || dia > CalendarioCivil.diasDelMes(anio, mes)
+                || hora > 23 || minuto > 59 || segundo > 59) {
+            return FECHA_INVALIDA;
+        }
+        long milisLocales = CalendarioCivil.diaEpoca(anio, mes, dia) * CalendarioCivil.MILIS_POR_DIA
+                + ((hora * 60L + minuto) * 60 + segundo) * CalendarioCivil.MILIS_POR_SEGUNDO;
+        return zona.instanteDeMilisLocales(milisLocales);
+    }
+}
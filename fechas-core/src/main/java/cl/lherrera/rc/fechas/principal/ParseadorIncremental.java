@@ -0,0 +1,234 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parseador con memoria para fechas ordenadas, como las de un log, donde
+ * muchas líneas seguidas comparten el mismo día.
+ *
+ * Recuerda los diez caracteres de la fecha de la última línea válida junto
+ * con la medianoche local de ese día y el desfase de la zona. Si la línea
+ * siguiente empieza con los mismos caracteres, solamente lee HH:mm:ss y
+ * suma; si no, la parsea completa con {@link ParseadorFechas} y recuerda su
+ * fecha. En un día con cambio de horario el desfase no es uno solo, por lo
+ * que esas horas se convierten con la tabla de la zona, igual que en el
+ * parseo completo.
+ *
+ * El resultado es siempre el mismo que el de ParseadorFechas. No es seguro
+ * entre hilos: se usa uno por flujo.
+ */
+public final class ParseadorIncremental {
+
+    /**
+     * Largo de la fecha, que en ambos formatos va al inicio del literal.
+     */
+    private static final int LARGO_PREFIJO = 10;
+
+    private final boolean espaniol;
+    private final TablaZonaHoraria zona;
+    private final byte[] prefijo = new byte[LARGO_PREFIJO];
+    private boolean conPrefijo;
+    private long medianoche;
+    private int desfase;
+    private long reutilizadas;
+    private long completas;
+
+    private ParseadorIncremental(boolean espaniol, TablaZonaHoraria zona) {
+        if (zona == null) {
+            throw new IllegalArgumentException("la zona horaria es obligatoria");
+        }
+        this.espaniol = espaniol;
+        this.zona = zona;
+    }
+
+    /**
+     * Parseador de dd-MM-yyyy HH:mm:ss en Santiago.
+     */
+    public static ParseadorIncremental es() {
+        return new ParseadorIncremental(true, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Parseador de dd-MM-yyyy HH:mm:ss en la zona indicada.
+     */
+    public static ParseadorIncremental es(TablaZonaHoraria zona) {
+        return new ParseadorIncremental(true, zona);
+    }
+
+    /**
+     * Parseador de yyyy-MM-dd HH:mm:ss en Santiago.
+     */
+    public static ParseadorIncremental en() {
+        return new ParseadorIncremental(false, TablaZonaHoraria.SANTIAGO);
+    }
+
+    /**
+     * Parseador de yyyy-MM-dd HH:mm:ss en la zona indicada.
+     */
+    public static ParseadorIncremental en(TablaZonaHoraria zona) {
+        return new ParseadorIncremental(false, zona);
+    }
+
+    /**
+     * @return milisegundos desde la época, o
+     * {@link ParseadorFechas#FECHA_INVALIDA} si el literal no es válido.
+     */
+    public long parsea(CharSequence f) {
+        if (f == null || f.length() != ValidadorFechas.LARGO_FECHA) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        if (conPrefijo && mismoPrefijo(f)) {
+            return conHora(f.charAt(10), f.charAt(11), f.charAt(12), f.charAt(13), f.charAt(14),
+                    f.charAt(15), f.charAt(16), f.charAt(17), f.charAt(18));
+        }
+        completas++;
+        long epochMilis = espaniol ? ParseadorFechas.parseaEs(f, zona) : ParseadorFechas.parseaEn(f, zona);
+        if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+            for (int i = 0; i < LARGO_PREFIJO; i++) {
+                prefijo[i] = (byte) f.charAt(i);
+            }
+            recuerdaPrefijo();
+        }
+        return epochMilis;
+    }
+
+    /**
+     * Igual que {@link #parsea(CharSequence)}, sobre bytes ASCII desde la
+     * posición indicada, sin crear objetos.
+     */
+    public long parsea(byte[] b, int p) {
+        if (b == null || p < 0 || p > b.length - ValidadorFechas.LARGO_FECHA) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        if (conPrefijo && mismoPrefijo(b, p)) {
+            return conHora(b[p + 10], b[p + 11], b[p + 12], b[p + 13], b[p + 14],
+                    b[p + 15], b[p + 16], b[p + 17], b[p + 18]);
+        }
+        completas++;
+        long epochMilis = espaniol ? ParseadorFechas.parseaEs(b, p, zona) : ParseadorFechas.parseaEn(b, p, zona);
+        if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+            System.arraycopy(b, p, prefijo, 0, LARGO_PREFIJO);
+            recuerdaPrefijo();
+        }
+        return epochMilis;
+    }
+
+    /**
+     * Igual que {@link #parsea(CharSequence)}, sobre bytes ASCII desde la
+     * posición absoluta indicada. No cambia la posición del buffer.
+     */
+    public long parsea(ByteBuffer b, int p) {
+        if (b == null || p < 0 || p > b.limit() - ValidadorFechas.LARGO_FECHA) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        if (conPrefijo && mismoPrefijo(b, p)) {
+            return conHora(b.get(p + 10), b.get(p + 11), b.get(p + 12), b.get(p + 13), b.get(p + 14),
+                    b.get(p + 15), b.get(p + 16), b.get(p + 17), b.get(p + 18));
+        }
+        completas++;
+        long epochMilis = espaniol ? ParseadorFechas.parseaEs(b, p, zona) : ParseadorFechas.parseaEn(b, p, zona);
+        if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+            for (int i = 0; i < LARGO_PREFIJO; i++) {
+                prefijo[i] = b.get(p + i);
+            }
+            recuerdaPrefijo();
+        }
+        return epochMilis;
+    }
+
+    /**
+     * Olvida la última fecha, por ejemplo al empezar otro archivo.
+     */
+    public void reinicia() {
+        conPrefijo = false;
+    }
+
+    /**
+     * @return cantidad de literales en que se reutilizó la fecha anterior,
+     * válidos o no.
+     */
+    public long getReutilizadas() {
+        return reutilizadas;
+    }
+
+    /**
+     * @return cantidad de literales parseados completos, válidos o no.
+     */
+    public long getCompletas() {
+        return completas;
+    }
+
+    public TablaZonaHoraria getZona() {
+        return zona;
+    }
+
+    private boolean mismoPrefijo(CharSequence f) {
+        for (int i = 0; i < LARGO_PREFIJO; i++) {
+            if (f.charAt(i) != prefijo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean mismoPrefijo(byte[] b, int p) {
+        for (int i = 0; i < LARGO_PREFIJO; i++) {
+            if (b[p + i] != prefijo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean mismoPrefijo(ByteBuffer b, int p) {
+        for (int i = 0; i < LARGO_PREFIJO; i++) {
+            if (b.get(p + i) != prefijo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcula la medianoche y el desfase del día del prefijo, que ya se
+     * validó al parsearlo completo.
+     */
+    private void recuerdaPrefijo() {
+        int pAnio = espaniol ? ValidadorFechas.ES_ANIO : ValidadorFechas.EN_ANIO;
+        int pMes = espaniol ? ValidadorFechas.ES_MES : ValidadorFechas.EN_MES;
+        int pDia = espaniol ? ValidadorFechas.ES_DIA : ValidadorFechas.EN_DIA;
+        int anio = (prefijo[pAnio] - '0') * 1000 + (prefijo[pAnio + 1] - '0') * 100
+                + (prefijo[pAnio + 2] - '0') * 10 + (prefijo[pAnio + 3] - '0');
+        int mes = (prefijo[pMes] - '0') * 10 + (prefijo[pMes + 1] - '0');
+        int dia = (prefijo[pDia] - '0') * 10 + (prefijo[pDia + 1] - '0');
+        medianoche = CalendarioCivil.diaEpoca(anio, mes, dia) * CalendarioCivil.MILIS_POR_DIA;
+        desfase = zona.desfaseConstanteEntreLocales(medianoche, medianoche + CalendarioCivil.MILIS_POR_DIA);
+        conPrefijo = true;
+    }
+
+    /**
+     * Lee " HH:mm:ss" y lo suma a la medianoche recordada, con la misma
+     * validación de ParseadorFechas.
+     */
+    private long conHora(int espacio, int c0, int c1, int dosPuntos1, int c3, int c4, int dosPuntos2,
+                         int c6, int c7) {
+        reutilizadas++;
+        int h0 = c0 - '0', h1 = c1 - '0';
+        int n0 = c3 - '0', n1 = c4 - '0';
+        int s0 = c6 - '0', s1 = c7 - '0';
+        int digitos = h0 | (9 - h0) | h1 | (9 - h1) | n0 | (9 - n0) | n1 | (9 - n1)
+                | s0 | (9 - s0) | s1 | (9 - s1);
+        if (digitos < 0 || ((dosPuntos1 ^ ':') | (dosPuntos2 ^ ':')) != 0 || !ValidadorFechas.esEspacio(espacio)) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        int hora = h0 * 10 + h1, minuto = n0 * 10 + n1, segundo = s0 * 10 + s1;
+        if (hora > 23 || minuto > 59 || segundo > 59) {
+            return ParseadorFechas.FECHA_INVALIDA;
+        }
+        long milisLocales = medianoche
+                + ((hora * 60L + minuto) * 60 + segundo) * CalendarioCivil.MILIS_POR_SEGUNDO;
+        return desfase != TablaZonaHoraria.DESFASE_VARIABLE
+                ? milisLocales - desfase
+                : zona.instanteDeMilisLocales(milisLocales);
+    }
+}
@@ -0,0 +1,184 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parseo de literales que pueden venir en cualquiera de varios formatos,
+ * como los "yyyy-MM-dd HH:mm:ss" y "dd-MM-yyyy HH:mm:ss" que llegan
+ * mezclados desde los sistemas de origen.
+ *
+ * El formato se elige mirando el literal una sola vez: una tabla indexada
+ * por largo entrega los formatos de ese largo, y entre ellos el único que
+ * tiene los separadores en su lugar y dígitos en cada campo. No se prueba
+ * un formato tras otro ni se capturan excepciones. Para que la elección sea
+ * única y no dependa del orden de registro, al registrar se rechazan los
+ * formatos que no se distinguen por largo, separadores ni posiciones de
+ * dígitos, como "yyyy-MM-dd" y "yyyy-dd-MM".
+ *
+ * Es inmutable: {@link #con(FormatoFecha)} entrega un parseador nuevo con
+ * un formato más, así que se pueden agregar formatos sin tocar el camino
+ * de parseo ni sincronizar a quienes ya lo usan.
+ */
+public final class ParseadorMultiformato {
+
+    private static final FormatoFecha[] NINGUNO = new FormatoFecha[0];
+
+    /**
+     * Los dos formatos de FechasUtil: {@link FormatoFecha#EN} y
+     * {@link FormatoFecha#ES}.
+     */
+    public static final ParseadorMultiformato ESTANDAR = new ParseadorMultiformato(FormatoFecha.EN, FormatoFecha.ES);
+
+    private final FormatoFecha[] formatos;
+
+    /**
+     * Formatos de cada largo, con el largo como índice.
+     */
+    private final FormatoFecha[][] porLargo;
+
+    /**
+     * Índice en formatos de cada elemento de porLargo.
+     */
+    private final int[][] indicesPorLargo;
+
+    /**
+     * @throws IllegalArgumentException si dos formatos no se distinguen por
+     *                                  largo, separadores y dígitos.
+     */
+    public ParseadorMultiformato(FormatoFecha... formatos) {
+        this.formatos = formatos.clone();
+        int largoMaximo = 0;
+        for (int i = 0; i < this.formatos.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (this.formatos[i].esAmbiguoCon(this.formatos[j])) {
+                    throw new IllegalArgumentException("los formatos \"" + this.formatos[j].getPatron() + "\" y \""
+                            + this.formatos[i].getPatron() + "\" no se distinguen por largo, separadores ni dígitos");
+                }
+            }
+            largoMaximo = Math.max(largoMaximo, this.formatos[i].getLargo());
+        }
+        this.porLargo = new FormatoFecha[largoMaximo + 1][];
+        this.indicesPorLargo = new int[largoMaximo + 1][];
+        Arrays.fill(porLargo, NINGUNO);
+        Arrays.fill(indicesPorLargo, new int[0]);
+        for (int i = 0; i < this.formatos.length; i++) {
+            int largo = this.formatos[i].getLargo();
+            int cantidad = porLargo[largo].length;
+            porLargo[largo] = Arrays.copyOf(porLargo[largo], cantidad + 1);
+            porLargo[largo][cantidad] = this.formatos[i];
+            indicesPorLargo[largo] = Arrays.copyOf(indicesPorLargo[largo], cantidad + 1);
+            indicesPorLargo[largo][cantidad] = i;
+        }
+    }
+
+    /**
+     * @return un parseador nuevo con los formatos de este más el indicado.
+     * @throws IllegalArgumentException si el formato no se distingue de
+     *                                  alguno de los actuales.
+     */
+    public ParseadorMultiformato con(FormatoFecha formato) {
+        FormatoFecha[] nuevos = Arrays.copyOf(formatos, formatos.length + 1);
+        nuevos[formatos.length] = formato;
+        return new ParseadorMultiformato(nuevos);
+    }
+
+    /**
+     * @return un parseador nuevo con el patrón compilado agregado.
+     */
+    public ParseadorMultiformato con(String patron) {
+        return con(FormatoFecha.compila(patron));
+    }
+
+    /**
+     * @return posición en {@link #getFormatos()} del formato que tiene el
+     * largo, los separadores y los dígitos del literal, o -1 si ninguno. No
+     * revisa los rangos.
+     */
+    public int detecta(CharSequence literal) {
+        if (literal == null || literal.length() >= porLargo.length) {
+            return -1;
+        }
+        FormatoFecha[] candidatos = porLargo[literal.length()];
+        for (int i = 0; i < candidatos.length; i++) {
+            if (candidatos[i].coincide(literal)) {
+                return indicesPorLargo[literal.length()][i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parsea el literal con el formato que le corresponde.
+     *
+     * @return milisegundos desde la época, o
+     *         {@link ParseadorFechas#FECHA_INVALIDA} si no tiene ninguno de
+     *         los formatos o no existe en el calendario.
+     */
+    public long parsea(CharSequence literal) {
+        int formato = detecta(literal);
+        return formato < 0 ? ParseadorFechas.FECHA_INVALIDA : formatos[formato].parseaCampos(literal);
+    }
+
+    /**
+     * Parsea un lote de literales en una pasada.
+     *
+     * @param destino  milisegundos desde la época de cada literal, o
+     *                 {@link ParseadorFechas#FECHA_INVALIDA}. Al menos del
+     *                 largo de literales.
+     * @param formatos posición del formato de cada literal, o -1 si no
+     *                 tiene ninguno. Puede ser null.
+     * @return cantidad de literales válidos.
+     */
+    public int parsea(CharSequence[] literales, long[] destino, int[] formatos) {
+        if (destino.length < literales.length || (formatos != null && formatos.length < literales.length)) {
+            throw new IllegalArgumentException("los destinos deben tener al menos " + literales.length + " posiciones");
+        }
+        int validos = 0;
+        for (int i = 0; i < literales.length; i++) {
+            int formato = detecta(literales[i]);
+            long epochMilis = formato < 0
+                    ? ParseadorFechas.FECHA_INVALIDA
+                    : this.formatos[formato].parseaCampos(literales[i]);
+            destino[i] = epochMilis;
+            if (formatos != null) {
+                formatos[i] = formato;
+            }
+            if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                validos++;
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * Igual que {@link #parsea(CharSequence[], long[], int[])}, marcando
+     * los válidos en un BitSet como {@link FechasMasivas}.
+     *
+     * @return cantidad de literales válidos.
+     */
+    public int parsea(CharSequence[] literales, long[] destino, BitSet validas) {
+        int cantidad = parsea(literales, destino, (int[]) null);
+        validas.clear(0, literales.length);
+        for (int i = 0; i < literales.length; i++) {
+            if (destino[i] != ParseadorFechas.FECHA_INVALIDA) {
+                validas.set(i);
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * @return los formatos en el orden en que se registraron.
+     */
+    public List<FormatoFecha> getFormatos() {
+        return Collections.unmodifiableList(Arrays.asList(formatos));
+    }
+
+    @Override
+    public String toString() {
+        return "ParseadorMultiformato" + Arrays.toString(formatos);
+    }
+}
@@ -0,0 +1,410 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Etapa reactiva que recibe literales "dd-MM-yyyy HH:mm:ss" y publica los
+ * milisegundos desde la época en zona America/Santiago de los válidos, en
+ * el mismo orden.
+ *
+ * Pide los literales en lotes de tamanioLote y parsea cada lote completo con
+ * {@link FechasMasivas}, en el Executor configurado. Las fechas se entregan
+ * con un SubmissionPublisher interno, y solo se le pasan las que caben en el
+ * buffer de todos los suscriptores. Si no caben, el lote queda a medio
+ * publicar hasta que algún suscriptor reciba una fecha, y el lote siguiente
+ * se pide recién cuando el anterior quedó publicado, por lo que un
+ * suscriptor lento frena al publicador de arriba sin acumular literales en
+ * memoria. Ningún hilo espera: ni el de arriba ni los del ejecutor, que
+ * puede tener un solo hilo. Hay a lo más un lote en proceso.
+ *
+ * Un literal inválido no termina el flujo: va al canal lateral "invalidas"
+ * con el código de {@link ValidadorFechas#validaFechaEs}, igual que en
+ * {@link FlujoFechas}, y se cuenta en {@link #getInvalidas()}. Un error del
+ * publicador de arriba se entrega a los suscriptores cuando recibieron todas
+ * las fechas publicadas antes; si alguno no pide más, no le llega.
+ *
+ * Un lote se entrega cuando llegan tamanioLote literales o cuando termina el
+ * flujo; con fuentes que emiten de a poco conviene un lote pequeño. Las
+ * fechas publicadas sin suscriptores se pierden, como en SubmissionPublisher.
+ */
+public final class ProcesadorFechas implements Flow.Processor<String, Long>, AutoCloseable {
+
+    /**
+     * Tamaño de lote por defecto.
+     */
+    public static final int LOTE = 1024;
+
+    private static final ObjIntConsumer<String> SIN_CANAL = (literal, codigo) -> {
+    };
+
+    private final SubmissionPublisher<Long> salida;
+    private final Executor ejecutor;
+    private final int tamanioLote;
+    private final ObjIntConsumer<String> invalidas;
+    private final LongAdder cantidadInvalidas = new LongAdder();
+
+    // solo un lote está en proceso a la vez, así que los arreglos se
+    // reutilizan; los estados se cambian con el monitor de cerrojo.
+    private final Object cerrojo = new Object();
+    private final String[] lote;
+    private final long[] epocas;
+    private final BitSet validas;
+    private final List<Suscriptor> suscriptores = new ArrayList<>();
+    private Flow.Subscription suscripcion;
+    private int cantidad;
+    private int largoLote;
+    private int siguiente;
+    private long publicadas;
+    private boolean procesando;
+    private boolean terminado;
+    private boolean cerrado;
+    private Throwable error;
+
+    // publica() lo enciende antes de contar lo entregado y lo apaga solo si
+    // pudo terminar; cada entrega suma a entregadas y después lo lee sin
+    // cerrojo. Con ese orden en ambos lados, o la entrega ve el aviso o
+    // publica() ve la entrega, y no se pierde ningún despertar.
+    private volatile boolean esperando;
+
+    /**
+     * Procesador con lotes de {@link #LOTE} en el Executor por defecto de
+     * SubmissionPublisher.
+     *
+     * @param invalidas recibe cada literal inválido y su código de error;
+     *                  null para descartarlos.
+     */
+    public ProcesadorFechas(ObjIntConsumer<String> invalidas) {
+        this.salida = new SubmissionPublisher<>();
+        this.ejecutor = salida.getExecutor();
+        this.tamanioLote = LOTE;
+        this.invalidas = invalidas == null ? SIN_CANAL : invalidas;
+        this.lote = new String[LOTE];
+        this.epocas = new long[LOTE];
+        this.validas = new BitSet(LOTE);
+    }
+
+    /**
+     * @param ejecutor    parsea los lotes y entrega a los suscriptores.
+     * @param tamanioLote literales por lote, también el buffer de cada
+     *                    suscriptor.
+     * @param invalidas   recibe cada literal inválido y su código de error;
+     *                    null para descartarlos.
+     * @throws IllegalArgumentException si falta el ejecutor o el lote no es positivo.
+     */
+    public ProcesadorFechas(Executor ejecutor, int tamanioLote, ObjIntConsumer<String> invalidas) {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("el ejecutor es obligatorio");
+        }
+        if (tamanioLote <= 0) {
+            throw new IllegalArgumentException("el tamaño de lote debe ser positivo: " + tamanioLote);
+        }
+        this.salida = new SubmissionPublisher<>(ejecutor, tamanioLote);
+        this.ejecutor = ejecutor;
+        this.tamanioLote = tamanioLote;
+        this.invalidas = invalidas == null ? SIN_CANAL : invalidas;
+        this.lote = new String[tamanioLote];
+        this.epocas = new long[tamanioLote];
+        this.validas = new BitSet(tamanioLote);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Long> suscriptor) {
+        Objects.requireNonNull(suscriptor);
+        synchronized (cerrojo) {
+            // recibe desde la próxima fecha publicada.
+            Suscriptor nuevo = new Suscriptor(suscriptor, publicadas);
+            suscriptores.add(nuevo);
+            salida.subscribe(nuevo);
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription suscripcion) {
+        Objects.requireNonNull(suscripcion);
+        synchronized (cerrojo) {
+            if (this.suscripcion != null || terminado) {
+                suscripcion.cancel();
+                return;
+            }
+            this.suscripcion = suscripcion;
+        }
+        suscripcion.request(tamanioLote);
+    }
+
+    @Override
+    public void onNext(String literal) {
+        Objects.requireNonNull(literal);
+        synchronized (cerrojo) {
+            if (terminado || cantidad == tamanioLote) {
+                return;
+            }
+            lote[cantidad++] = literal;
+            if (cantidad == tamanioLote) {
+                procesando = true;
+                int largo = cantidad;
+                ejecutor.execute(() -> procesa(largo));
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        termina(Objects.requireNonNull(error));
+    }
+
+    @Override
+    public void onComplete() {
+        termina(null);
+    }
+
+    /**
+     * Cancela la suscripción de arriba y cierra a los suscriptores, sin
+     * publicar el lote pendiente. Lo ya publicado se sigue entregando.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription actual;
+        synchronized (cerrojo) {
+            terminado = true;
+            cerrado = true;
+            actual = suscripcion;
+        }
+        if (actual != null) {
+            actual.cancel();
+        }
+        salida.close();
+    }
+
+    /**
+     * @return cantidad de literales inválidos recibidos.
+     */
+    public long getInvalidas() {
+        return cantidadInvalidas.sum();
+    }
+
+    public int getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public Executor getEjecutor() {
+        return ejecutor;
+    }
+
+    private void termina(Throwable error) {
+        synchronized (cerrojo) {
+            if (terminado) {
+                return;
+            }
+            terminado = true;
+            this.error = error;
+            if (procesando) {
+                // el lote en proceso cierra al terminar.
+                return;
+            }
+            procesando = true;
+            int largo = cantidad;
+            // el cierre también va al ejecutor, para no ocupar al hilo de arriba.
+            ejecutor.execute(() -> procesa(largo));
+        }
+    }
+
+    /**
+     * Parsea el lote, entrega las inválidas al canal lateral y comienza a
+     * publicar. Los arreglos del lote son de este hilo mientras procesando
+     * esté encendido.
+     */
+    private void procesa(int largo) {
+        try {
+            String[] literales = largo == tamanioLote ? lote : Arrays.copyOf(lote, largo);
+            FechasMasivas.parseaEs(literales, epocas, validas);
+            for (int i = validas.nextClearBit(0); i < largo; i = validas.nextClearBit(i + 1)) {
+                cantidadInvalidas.increment();
+                invalidas.accept(lote[i], ValidadorFechas.validaFechaEs(lote[i]));
+            }
+        } catch (RuntimeException e) {
+            falla(e);
+            return;
+        }
+        synchronized (cerrojo) {
+            largoLote = largo;
+            siguiente = 0;
+        }
+        publica();
+    }
+
+    /**
+     * Publica lo que quepa del lote. Si no cabe todo, queda esperando a que
+     * un suscriptor reciba algo; si ya se publicó, pide el lote siguiente o
+     * cierra.
+     */
+    private void publica() {
+        Flow.Subscription pedir;
+        boolean cerrar = false;
+        Throwable causa = null;
+        synchronized (cerrojo) {
+            if (cerrado) {
+                return;
+            }
+            esperando = true;
+            long libres = espacioLibre();
+            while (siguiente < largoLote) {
+                if (validas.get(siguiente)) {
+                    if (libres == 0) {
+                        break;
+                    }
+                    salida.offer(epocas[siguiente], null);
+                    publicadas++;
+                    libres--;
+                }
+                siguiente++;
+            }
+            if (siguiente < largoLote || (terminado && error != null && !todosRecibieron())) {
+                return;
+            }
+            esperando = false;
+            Arrays.fill(lote, 0, largoLote, null);
+            cantidad = 0;
+            largoLote = 0;
+            procesando = false;
+            pedir = suscripcion;
+            if (terminado) {
+                cerrado = true;
+                cerrar = true;
+                causa = error;
+                pedir = null;
+            }
+        }
+        if (cerrar) {
+            if (causa == null) {
+                salida.close();
+            } else {
+                salida.closeExceptionally(causa);
+            }
+        } else if (pedir != null) {
+            pedir.request(tamanioLote);
+        }
+    }
+
+    /**
+     * Un suscriptor recibió una fecha o se retiró: si publica() estaba
+     * esperando, se retoma en el ejecutor.
+     */
+    private void reanuda() {
+        if (!esperando) {
+            return;
+        }
+        synchronized (cerrojo) {
+            if (!esperando) {
+                return;
+            }
+            esperando = false;
+        }
+        ejecutor.execute(this::publica);
+    }
+
+    private void falla(RuntimeException e) {
+        Flow.Subscription actual;
+        synchronized (cerrojo) {
+            terminado = true;
+            cerrado = true;
+            actual = suscripcion;
+        }
+        if (actual != null) {
+            actual.cancel();
+        }
+        salida.closeExceptionally(e);
+    }
+
+    /**
+     * Fechas que caben en el buffer de todos los suscriptores. Se llama con
+     * el cerrojo tomado.
+     */
+    private long espacioLibre() {
+        long libres = Long.MAX_VALUE;
+        int capacidad = salida.getMaxBufferCapacity();
+        for (Suscriptor s : suscriptores) {
+            libres = Math.min(libres, capacidad - (publicadas - s.base - s.entregadas));
+        }
+        return Math.max(0, libres);
+    }
+
+    private boolean todosRecibieron() {
+        for (Suscriptor s : suscriptores) {
+            if (publicadas - s.base != s.entregadas) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void retira(Suscriptor suscriptor) {
+        synchronized (cerrojo) {
+            suscriptores.remove(suscriptor);
+        }
+        reanuda();
+    }
+
+    /**
+     * Envuelve a cada suscriptor para contar lo que ya recibió. SubmissionPublisher
+     * libera el lugar en el buffer antes de entregar, así que el espacio
+     * calculado con esta cuenta nunca es mayor que el real.
+     */
+    private final class Suscriptor implements Flow.Subscriber<Long> {
+        private final Flow.Subscriber<? super Long> destino;
+        private final long base;
+        // solo lo escribe el hilo que entrega a este suscriptor.
+        private volatile long entregadas;
+
+        Suscriptor(Flow.Subscriber<? super Long> destino, long base) {
+            this.destino = destino;
+            this.base = base;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription suscripcion) {
+            destino.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    suscripcion.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    suscripcion.cancel();
+                    retira(Suscriptor.this);
+                }
+            });
+        }
+
+        @Override
+        public void onNext(Long epochMilis) {
+            try {
+                destino.onNext(epochMilis);
+            } finally {
+                entregadas++;
+                reanuda();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            retira(this);
+            destino.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            retira(this);
+            destino.onComplete();
+        }
+    }
+}
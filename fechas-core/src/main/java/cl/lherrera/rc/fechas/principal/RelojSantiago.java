@@ -0,0 +1,247 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloj con la hora actual de Santiago ya calculada y formateada, para los
+ * llamados que piden la fecha actual miles de veces por segundo, como los
+ * logs de acceso.
+ *
+ * La hora vigente se guarda en una {@link Instantanea} inmutable publicada
+ * en un campo volatile, que se recalcula una vez por tick (segundo o
+ * milisegundo, según la {@link Resolucion}). Hay dos modos:
+ * <ul>
+ *     <li>perezoso, con el constructor: cada lectura consulta el Clock y
+ *     solo recalcula si el tick cambió.</li>
+ *     <li>con temporizador, con {@link #conTemporizador(Clock, Resolucion)}:
+ *     un hilo daemon recalcula al comenzar cada tick y la lectura es una
+ *     sola lectura volatile. Se detiene con {@link #close()}.</li>
+ * </ul>
+ *
+ * Nota: con temporizador la hora entregada puede atrasarse lo que demore el
+ *       hilo en despertar, normalmente menos de un milisegundo.
+ */
+public final class RelojSantiago implements AutoCloseable {
+
+    /**
+     * Reloj perezoso del sistema con resolución de un segundo, compartido por
+     * los métodos de FechasUtil y FechasUtilDos.
+     */
+    public static final RelojSantiago SISTEMA = new RelojSantiago(Clock.systemUTC(), Resolucion.SEGUNDO);
+
+    /**
+     * Cada cuánto se recalcula la hora.
+     */
+    public enum Resolucion {
+        SEGUNDO(CalendarioCivil.MILIS_POR_SEGUNDO),
+        MILISEGUNDO(1);
+
+        private final long milis;
+
+        Resolucion(long milis) {
+            this.milis = milis;
+        }
+
+        public long getMilis() {
+            return milis;
+        }
+    }
+
+    /**
+     * Hora de Santiago al comienzo de un tick, con sus campos locales y el
+     * literal "dd-MM-yyyy HH:mm:ss".
+     */
+    public static final class Instantanea {
+        private final long epochMilis;
+        private final int anio;
+        private final int mes;
+        private final int dia;
+        private final int hora;
+        private final int minuto;
+        private final int segundo;
+        private final int milisegundo;
+        private final String literal;
+
+        Instantanea(long epochMilis) {
+            this.epochMilis = epochMilis;
+            long milisLocales = TablaZonaHoraria.SANTIAGO.aMilisLocales(epochMilis);
+            int fecha = CalendarioCivil.fechaDeDiaEpoca(Math.floorDiv(milisLocales, CalendarioCivil.MILIS_POR_DIA));
+            int milisDelDia = (int) Math.floorMod(milisLocales, CalendarioCivil.MILIS_POR_DIA);
+            this.anio = CalendarioCivil.anio(fecha);
+            this.mes = CalendarioCivil.mes(fecha);
+            this.dia = CalendarioCivil.dia(fecha);
+            this.hora = milisDelDia / 3_600_000;
+            this.minuto = milisDelDia / 60_000 % 60;
+            this.segundo = milisDelDia / 1000 % 60;
+            this.milisegundo = milisDelDia % 1000;
+            char[] destino = new char[FormateadorFechas.LARGO];
+            FormateadorFechas.escribeEs(anio, mes, dia, hora, minuto, segundo, destino, 0);
+            this.literal = new String(destino);
+        }
+
+        /**
+         * @return milisegundos desde la época al comienzo del tick.
+         */
+        public long getEpochMilis() {
+            return epochMilis;
+        }
+
+        public int getAnio() {
+            return anio;
+        }
+
+        /**
+         * @return mes de 1 a 12.
+         */
+        public int getMes() {
+            return mes;
+        }
+
+        public int getDia() {
+            return dia;
+        }
+
+        public int getHora() {
+            return hora;
+        }
+
+        public int getMinuto() {
+            return minuto;
+        }
+
+        public int getSegundo() {
+            return segundo;
+        }
+
+        public int getMilisegundo() {
+            return milisegundo;
+        }
+
+        /**
+         * @return la hora como [13-12-2020 00:00:31].
+         */
+        public String getLiteral() {
+            return literal;
+        }
+
+        @Override
+        public String toString() {
+            return literal;
+        }
+    }
+
+    private final Clock reloj;
+    private final long milisTick;
+    private final ScheduledExecutorService temporizador;
+    private volatile Instantanea actual;
+
+    /**
+     * Reloj perezoso: recalcula en la primera lectura de cada tick.
+     *
+     * @param reloj      fuente de la hora actual.
+     * @param resolucion cada cuánto cambia la instantánea.
+     */
+    public RelojSantiago(Clock reloj, Resolucion resolucion) {
+        this(reloj, resolucion, null);
+    }
+
+    private RelojSantiago(Clock reloj, Resolucion resolucion, ScheduledExecutorService temporizador) {
+        this.reloj = reloj;
+        this.milisTick = resolucion.getMilis();
+        this.temporizador = temporizador;
+        this.actual = new Instantanea(inicioTick(reloj.millis()));
+    }
+
+    /**
+     * Reloj que recalcula desde un hilo daemon al comenzar cada tick. Se
+     * debe cerrar con {@link #close()} cuando ya no se use.
+     */
+    public static RelojSantiago conTemporizador(Clock reloj, Resolucion resolucion) {
+        ScheduledExecutorService temporizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "reloj-santiago");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        RelojSantiago relojSantiago = new RelojSantiago(reloj, resolucion, temporizador);
+        relojSantiago.programa();
+        return relojSantiago;
+    }
+
+    /**
+     * @return la hora actual de Santiago, truncada al tick.
+     */
+    public Instantanea instantanea() {
+        Instantanea instantanea = actual;
+        if (temporizador != null) {
+            return instantanea;
+        }
+        long ahora = reloj.millis();
+        if (ahora - instantanea.epochMilis >= milisTick || ahora < instantanea.epochMilis) {
+            // si dos hilos recalculan a la vez ambos obtienen lo mismo.
+            instantanea = new Instantanea(inicioTick(ahora));
+            actual = instantanea;
+        }
+        return instantanea;
+    }
+
+    /**
+     * @return la hora actual como [13-12-2020 00:00:31].
+     */
+    public String literal() {
+        return instantanea().literal;
+    }
+
+    /**
+     * @return milisegundos desde la época, truncados al tick.
+     */
+    public long epochMilis() {
+        return instantanea().epochMilis;
+    }
+
+    public boolean isConTemporizador() {
+        return temporizador != null;
+    }
+
+    /**
+     * Detiene el hilo del temporizador, si lo hay. Después de cerrar, la
+     * instantánea queda fija en la última calculada.
+     */
+    @Override
+    public void close() {
+        if (temporizador != null) {
+            temporizador.shutdownNow();
+        }
+    }
+
+    /**
+     * Recalcula y se vuelve a programar para el comienzo del siguiente tick,
+     * en vez de usar una tasa fija que se desfasa del reloj con el tiempo.
+     */
+    private void programa() {
+        long ahora = reloj.millis();
+        long tick = inicioTick(ahora);
+        if (tick != actual.epochMilis) {
+            actual = new Instantanea(tick);
+        }
+        long espera = Math.max(1, tick + milisTick - ahora);
+        try {
+            temporizador.schedule(this::programa, espera, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // se cerró mientras recalculaba.
+        }
+    }
+
+    private long inicioTick(long epochMilis) {
+        return epochMilis - Math.floorMod(epochMilis, milisTick);
+    }
+
+    @Override
+    public String toString() {
+        return "RelojSantiago[" + actual.literal + ", tick=" + milisTick + " ms"
+                + (temporizador != null ? ", temporizador" : "") + "]";
+    }
+}
@@ -0,0 +1,139 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.time.Clock;
+
+/**
+ * Literales con el tiempo transcurrido entre una fecha y "ahora", como los
+ * de las publicaciones en redes sociales.
+ *
+ * Según la granularidad, la salida es completa, como
+ * [366 días, 0 horas, 1 minuto y 16 segundos], o solamente la unidad
+ * mayor distinta de cero, como [366 días]. Con prefijo queda como
+ * [hace 366 días], o [dentro de 366 días] si la fecha es futura. Se respeta
+ * el singular y plural de cada unidad.
+ *
+ * El texto se arma con trozos precalculados sobre un StringBuilder, sin
+ * String.format ni calendarios. "Ahora" sale del Clock entregado o se pasa
+ * como milisegundos, lo que permite probarlo con un reloj fijo y renderizar
+ * una página completa contra un mismo "ahora".
+ *
+ * Es inmutable, por lo que una instancia se puede compartir entre hilos.
+ */
+public final class RenderizadorTiempoRelativo {
+
+    /**
+     * Nivel de detalle del literal.
+     */
+    public enum Granularidad {
+        /**
+         * Días, horas, minutos y segundos.
+         */
+        COMPLETA,
+        /**
+         * Solamente la unidad mayor distinta de cero.
+         */
+        UNIDAD_MAYOR
+    }
+
+    /**
+     * Unidades en orden: días, horas, minutos y segundos.
+     */
+    private static final long[] MILIS_UNIDAD = {
+            CalendarioCivil.MILIS_POR_DIA, CalendarioCivil.MILIS_POR_HORA,
+            CalendarioCivil.MILIS_POR_MINUTO, CalendarioCivil.MILIS_POR_SEGUNDO};
+    private static final String[] SINGULAR = {" día", " hora", " minuto", " segundo"};
+    private static final String[] PLURAL = {" días", " horas", " minutos", " segundos"};
+    private static final String[] SEPARADOR = {", ", ", ", " y ", ""};
+
+    private final Clock reloj;
+    private final Granularidad granularidad;
+    private final boolean conPrefijo;
+
+    /**
+     * @param reloj        fuente de "ahora".
+     * @param granularidad nivel de detalle.
+     * @param conPrefijo   si se antepone "hace" o "dentro de".
+     */
+    public RenderizadorTiempoRelativo(Clock reloj, Granularidad granularidad, boolean conPrefijo) {
+        this.reloj = reloj;
+        this.granularidad = granularidad;
+        this.conPrefijo = conPrefijo;
+    }
+
+    /**
+     * Literal entre la fecha y el "ahora" del reloj.
+     *
+     * @param epochMilis milisegundos desde la época.
+     */
+    public String renderiza(long epochMilis) {
+        return renderiza(epochMilis, reloj.millis(), new StringBuilder(48)).toString();
+    }
+
+    /**
+     * Agrega al final de destino el literal entre la fecha y ahoraMilis.
+     *
+     * @return el mismo destino.
+     */
+    public StringBuilder renderiza(long epochMilis, long ahoraMilis, StringBuilder destino) {
+        long diferencia = ahoraMilis - epochMilis;
+        if (conPrefijo) {
+            destino.append(diferencia >= 0 ? "hace " : "dentro de ");
+        }
+        long restante = Math.abs(diferencia);
+        if (granularidad == Granularidad.UNIDAD_MAYOR) {
+            int unidad = 0;
+            while (unidad < MILIS_UNIDAD.length - 1 && restante < MILIS_UNIDAD[unidad]) {
+                unidad++;
+            }
+            return agregaUnidad(restante / MILIS_UNIDAD[unidad], unidad, destino);
+        }
+        for (int unidad = 0; unidad < MILIS_UNIDAD.length; unidad++) {
+            long cantidad = restante / MILIS_UNIDAD[unidad];
+            restante -= cantidad * MILIS_UNIDAD[unidad];
+            agregaUnidad(cantidad, unidad, destino).append(SEPARADOR[unidad]);
+        }
+        return destino;
+    }
+
+    /**
+     * Renderiza una página completa contra un mismo "ahora", tomado una sola
+     * vez del reloj.
+     *
+     * @return un literal por cada fecha, en el mismo orden.
+     */
+    public String[] renderiza(long[] epocas) {
+        return renderiza(epocas, reloj.millis(), new String[epocas.length]);
+    }
+
+    /**
+     * Renderiza todas las fechas contra ahoraMilis, reutilizando un solo
+     * StringBuilder.
+     *
+     * @param destino al menos del largo de epocas.
+     * @return el mismo destino.
+     */
+    public String[] renderiza(long[] epocas, long ahoraMilis, String[] destino) {
+        StringBuilder constructor = new StringBuilder(48);
+        for (int i = 0; i < epocas.length; i++) {
+            constructor.setLength(0);
+            destino[i] = renderiza(epocas[i], ahoraMilis, constructor).toString();
+        }
+        return destino;
+    }
+
+    public Clock getReloj() {
+        return reloj;
+    }
+
+    public Granularidad getGranularidad() {
+        return granularidad;
+    }
+
+    public boolean isConPrefijo() {
+        return conPrefijo;
+    }
+
+    private static StringBuilder agregaUnidad(long cantidad, int unidad, StringBuilder destino) {
+        return destino.append(cantidad).append(cantidad == 1 ? SINGULAR[unidad] : PLURAL[unidad]);
+    }
+}
@@ -0,0 +1,195 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.OptionalLong;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Acumulador de un flujo de milisegundos desde la época: cantidad, mínimo,
+ * máximo y cantidad por día local, como LongSummaryStatistics.
+ *
+ * Las cantidades por día se guardan en un long[] indexado por día desde el
+ * menor día visto, que crece al doble cuando llega un día fuera del rango,
+ * por lo que acumular no crea objetos. Igual que LongSummaryStatistics, no es
+ * seguro entre hilos; en un flujo paralelo cada hilo tiene el suyo y se
+ * juntan con {@link #combina(ResumenFechas)}:
+ *
+ * <pre>
+ *     ResumenFechas resumen = fechas.collect(ResumenFechas::new, ResumenFechas::accept, ResumenFechas::combina);
+ * </pre>
+ */
+public final class ResumenFechas implements LongConsumer {
+
+    /**
+     * Máximo de días entre la primera y la última fecha, sobre mil años.
+     */
+    public static final int MAXIMO_DIAS = 1 << 19;
+
+    private final TablaZonaHoraria zona;
+    private long cantidad;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo = Long.MIN_VALUE;
+
+    /**
+     * Día local de porDia[0].
+     */
+    private long diaBase;
+    private long[] porDia = new long[0];
+
+    /**
+     * Resumen con los días de Santiago.
+     */
+    public ResumenFechas() {
+        this(TablaZonaHoraria.SANTIAGO);
+    }
+
+    public ResumenFechas(TablaZonaHoraria zona) {
+        this.zona = zona;
+    }
+
+    /**
+     * Resume un flujo sin pasar por Long, en paralelo si el flujo lo es.
+     */
+    public static ResumenFechas de(LongStream fechas) {
+        return fechas.collect(ResumenFechas::new, ResumenFechas::accept, ResumenFechas::combina);
+    }
+
+    /**
+     * Agrega un instante. {@link ParseadorFechas#FECHA_INVALIDA} se ignora.
+     *
+     * @throws IllegalArgumentException si con este instante las fechas
+     *                                  abarcan más de {@link #MAXIMO_DIAS} días.
+     */
+    @Override
+    public void accept(long epochMilis) {
+        if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+            return;
+        }
+        long dia = zona.diaEpocaLocal(epochMilis);
+        incluye(dia);
+        porDia[(int) (dia - diaBase)]++;
+        cantidad++;
+        minimo = Math.min(minimo, epochMilis);
+        maximo = Math.max(maximo, epochMilis);
+    }
+
+    /**
+     * Suma otro resumen a este.
+     *
+     * @return este resumen.
+     * @throws IllegalArgumentException si los resúmenes son de zonas distintas.
+     */
+    public ResumenFechas combina(ResumenFechas otro) {
+        if (otro.zona != zona) {
+            throw new IllegalArgumentException("resúmenes de zonas distintas: " + zona + " y " + otro.zona);
+        }
+        if (otro.cantidad == 0) {
+            return this;
+        }
+        long desde = zona.diaEpocaLocal(otro.minimo);
+        long hasta = zona.diaEpocaLocal(otro.maximo);
+        incluye(desde);
+        incluye(hasta);
+        for (long dia = desde; dia <= hasta; dia++) {
+            porDia[(int) (dia - diaBase)] += otro.porDia[(int) (dia - otro.diaBase)];
+        }
+        cantidad += otro.cantidad;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+        return this;
+    }
+
+    /**
+     * Agranda porDia para que contenga el día.
+     */
+    private void incluye(long dia) {
+        if (porDia.length == 0) {
+            diaBase = dia;
+            porDia = new long[64];
+            return;
+        }
+        if (dia >= diaBase && dia < diaBase + porDia.length) {
+            return;
+        }
+        long desde = Math.min(diaBase, dia);
+        long hasta = Math.max(diaBase + porDia.length, dia + 1);
+        if (hasta - desde > MAXIMO_DIAS) {
+            throw new IllegalArgumentException("las fechas abarcan más de " + MAXIMO_DIAS + " días");
+        }
+        int largo = (int) Math.min(MAXIMO_DIAS, Math.max(hasta - desde, porDia.length * 2L));
+        long nuevaBase = dia < diaBase ? hasta - largo : desde;
+        long[] nuevo = new long[largo];
+        System.arraycopy(porDia, 0, nuevo, (int) (diaBase - nuevaBase), porDia.length);
+        diaBase = nuevaBase;
+        porDia = nuevo;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * @return el menor instante, vacío si no hay fechas.
+     */
+    public OptionalLong getMinimo() {
+        return cantidad == 0 ? OptionalLong.empty() : OptionalLong.of(minimo);
+    }
+
+    /**
+     * @return el mayor instante, vacío si no hay fechas.
+     */
+    public OptionalLong getMaximo() {
+        return cantidad == 0 ? OptionalLong.empty() : OptionalLong.of(maximo);
+    }
+
+    /**
+     * @return cantidad de fechas del día local desde 1970-01-01.
+     */
+    public long cantidadEnDia(long diaEpoca) {
+        long indice = diaEpoca - diaBase;
+        return indice < 0 || indice >= porDia.length ? 0 : porDia[(int) indice];
+    }
+
+    /**
+     * @return cantidad de días con al menos una fecha.
+     */
+    public int getDias() {
+        int dias = 0;
+        for (long enDia : porDia) {
+            if (enDia != 0) {
+                dias++;
+            }
+        }
+        return dias;
+    }
+
+    /**
+     * @return cantidad de fechas por día, solamente los días con fechas,
+     * ordenada por día.
+     */
+    public SortedMap<LocalDate, Long> porDia() {
+        SortedMap<LocalDate, Long> retorno = new TreeMap<>();
+        for (int i = 0; i < porDia.length; i++) {
+            if (porDia[i] != 0) {
+                retorno.put(LocalDate.ofEpochDay(diaBase + i), porDia[i]);
+            }
+        }
+        return retorno;
+    }
+
+    public TablaZonaHoraria getZona() {
+        return zona;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenFechas[cantidad=" + cantidad
+                + (cantidad == 0 ? "" : ", minimo=" + Instant.ofEpochMilli(minimo)
+                + ", maximo=" + Instant.ofEpochMilli(maximo))
+                + ", dias=" + getDias() + "]";
+    }
+}
@@ -0,0 +1,287 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Tabla de cambios de horario de una zona, cargada una sola vez en arreglos
+ * primitivos ordenados.
+ *
+ * Responde "desfase en un instante" e "instante para un reloj de pared" con
+ * una búsqueda binaria y sin crear objetos, en vez de crear un
+ * GregorianCalendar por cada conversión. Chile cambia sus reglas de horario
+ * de verano con frecuencia, por lo que la historia completa de la zona vale
+ * la pena tenerla precalculada.
+ *
+ * Los cambios se precalculan hasta el año {@link #ANIO_LIMITE}; después de
+ * ese año se consulta a las reglas de java.time, que sí crean objetos.
+ *
+ * Los milisegundos locales son el reloj de pared de la zona contado como si
+ * fuera UTC, es decir, epochMilis + desfase.
+ */
+public final class TablaZonaHoraria {
+
+    /**
+     * Zona horaria de Santiago de Chile.
+     */
+    public static final TablaZonaHoraria SANTIAGO = new TablaZonaHoraria(ZoneId.of("America/Santiago"));
+
+    /**
+     * Último año con los cambios precalculados.
+     */
+    public static final int ANIO_LIMITE = 2100;
+
+    /**
+     * Valor de {@link #desfaseConstanteEntreLocales(long, long)} cuando el
+     * desfase cambia dentro del tramo.
+     */
+    public static final int DESFASE_VARIABLE = Integer.MIN_VALUE;
+
+    /**
+     * Ningún desfase horario supera las 14 horas, por lo que alrededor de un
+     * instante local basta revisar esa ventana.
+     */
+    private static final long VENTANA_DESFASE = 14 * CalendarioCivil.MILIS_POR_HORA;
+
+    private final ZoneId zona;
+    private final ZoneRules reglas;
+
+    /**
+     * Desfase vigente antes del primer cambio, en milisegundos.
+     */
+    private final int desfaseInicial;
+
+    /**
+     * Instante de cada cambio, ordenados.
+     */
+    private final long[] instantes;
+
+    /**
+     * Desfase vigente desde cada cambio, en milisegundos.
+     */
+    private final int[] desfases;
+
+    /**
+     * Reloj de pared desde el cual rige cada desfase: instantes[i] + desfases[i].
+     * En una hora que no existe el reloj queda antes de este valor, y en una
+     * hora repetida queda después, lo que resuelve ambos casos igual que
+     * GregorianCalendar.
+     */
+    private final long[] localesDesde;
+
+    /**
+     * Instante desde el cual ya no hay cambios precalculados.
+     */
+    private final long limite;
+
+    public TablaZonaHoraria(ZoneId zona) {
+        this.zona = zona;
+        this.reglas = zona.getRules();
+        this.limite = CalendarioCivil.diaEpoca(ANIO_LIMITE + 1, 1, 1) * CalendarioCivil.MILIS_POR_DIA;
+
+        Instant desde = Instant.parse("1800-01-01T00:00:00Z");
+        this.desfaseInicial = reglas.getOffset(desde).getTotalSeconds() * 1000;
+        long[] cambios = new long[256];
+        int[] nuevos = new int[256];
+        int cantidad = 0;
+        for (ZoneOffsetTransition cambio = reglas.nextTransition(desde);
+             cambio != null && cambio.toEpochSecond() * 1000 < limite;
+             cambio = reglas.nextTransition(cambio.getInstant())) {
+            if (cantidad == cambios.length) {
+                cambios = Arrays.copyOf(cambios, cantidad * 2);
+                nuevos = Arrays.copyOf(nuevos, cantidad * 2);
+            }
+            cambios[cantidad] = cambio.toEpochSecond() * 1000;
+            nuevos[cantidad++] = cambio.getOffsetAfter().getTotalSeconds() * 1000;
+        }
+        this.instantes = Arrays.copyOf(cambios, cantidad);
+        this.desfases = Arrays.copyOf(nuevos, cantidad);
+        this.localesDesde = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            localesDesde[i] = instantes[i] + desfases[i];
+        }
+    }
+
+    public ZoneId getZona() {
+        return zona;
+    }
+
+    /**
+     * @return cantidad de cambios de horario precalculados.
+     */
+    public int getCantidadCambios() {
+        return instantes.length;
+    }
+
+    /**
+     * Desfase de la zona respecto de UTC en un instante.
+     *
+     * @return milisegundos a sumar al instante para obtener el reloj local.
+     */
+    public int desfaseEn(long epochMilis) {
+        if (epochMilis >= limite) {
+            return reglas.getOffset(Instant.ofEpochMilli(epochMilis)).getTotalSeconds() * 1000;
+        }
+        int i = ultimoMenorOIgual(instantes, epochMilis);
+        return i < 0 ? desfaseInicial : desfases[i];
+    }
+
+    /**
+     * @return el reloj de pared de la zona en el instante, como milisegundos locales.
+     */
+    public long aMilisLocales(long epochMilis) {
+        return epochMilis + desfaseEn(epochMilis);
+    }
+
+    /**
+     * Instante que corresponde a un reloj de pared de la zona. Las horas que
+     * no existen usan el desfase anterior al cambio y las horas repetidas el
+     * desfase posterior, igual que GregorianCalendar.
+     *
+     * @param milisLocales reloj de pared contado como si fuera UTC.
+     */
+    public long instanteDeMilisLocales(long milisLocales) {
+        if (milisLocales >= limite) {
+            return instanteFueraDeTabla(milisLocales);
+        }
+        int i = ultimoMenorOIgual(localesDesde, milisLocales);
+        return milisLocales - (i < 0 ? desfaseInicial : desfases[i]);
+    }
+
+    /**
+     * Desfase que usa {@link #instanteDeMilisLocales(long)} para todo reloj
+     * de pared del tramo [desde, hasta), si es el mismo en todo el tramo.
+     * Sirve para convertir muchas horas de un mismo día restando un solo
+     * valor, sin buscar en la tabla cada vez.
+     *
+     * @param desde primer reloj de pared del tramo, en milisegundos locales.
+     * @param hasta reloj de pared siguiente al último del tramo.
+     * @return el desfase en milisegundos, o {@link #DESFASE_VARIABLE} si en
+     *         el tramo hay un cambio de horario o el tramo pasa de
+     *         {@link #ANIO_LIMITE}.
+     */
+    public int desfaseConstanteEntreLocales(long desde, long hasta) {
+        if (hasta > limite || hasta <= desde) {
+            return DESFASE_VARIABLE;
+        }
+        int i = ultimoMenorOIgual(localesDesde, desde);
+        if (i != ultimoMenorOIgual(localesDesde, hasta - 1)) {
+            return DESFASE_VARIABLE;
+        }
+        return i < 0 ? desfaseInicial : desfases[i];
+    }
+
+    /**
+     * Instante de una fecha y hora de la zona, sin validar los rangos.
+     *
+     * @param mes de 1 a 12.
+     */
+    public long instanteDe(int anio, int mes, int dia, int hora, int minuto, int segundo) {
+        return instanteDeMilisLocales(CalendarioCivil.diaEpoca(anio, mes, dia) * CalendarioCivil.MILIS_POR_DIA
+                + ((hora * 60L + minuto) * 60 + segundo) * CalendarioCivil.MILIS_POR_SEGUNDO);
+    }
+
+    /**
+     * Número de día local (desde 1970-01-01) en que cae el instante.
+     */
+    public long diaEpocaLocal(long epochMilis) {
+        return Math.floorDiv(aMilisLocales(epochMilis), CalendarioCivil.MILIS_POR_DIA);
+    }
+
+    /**
+     * Versión masiva de {@link #desfaseEn(long)}.
+     *
+     * @param destino al menos del largo de epocas.
+     */
+    public void desfasesEn(long[] epocas, int[] destino) {
+        for (int i = 0; i < epocas.length; i++) {
+            destino[i] = desfaseEn(epocas[i]);
+        }
+    }
+
+    /**
+     * Versión masiva de {@link #aMilisLocales(long)}. Como los valores suelen
+     * venir agrupados en el tiempo, se reutiliza el tramo del cambio anterior
+     * mientras el valor siga dentro de él y solo se busca de nuevo al salir.
+     *
+     * @param destino al menos del largo de epocas, puede ser el mismo arreglo.
+     */
+    public void aMilisLocales(long[] epocas, long[] destino) {
+        aMilisLocales(epocas, 0, epocas.length, destino, 0);
+    }
+
+    /**
+     * Igual que {@link #aMilisLocales(long[], long[])}, para el rango
+     * [desde, hasta) de epocas, escribiendo en destino desde la posición
+     * enDestino.
+     */
+    public void aMilisLocales(long[] epocas, int desde, int hasta, long[] destino, int enDestino) {
+        long tramoDesde = Long.MAX_VALUE;
+        long tramoHasta = Long.MIN_VALUE;
+        int desfase = 0;
+        for (int i = desde, k = enDestino; i < hasta; i++, k++) {
+            long epochMilis = epocas[i];
+            if (epochMilis < tramoDesde || epochMilis >= tramoHasta) {
+                if (epochMilis >= limite) {
+                    destino[k] = aMilisLocales(epochMilis);
+                    continue;
+                }
+                int j = ultimoMenorOIgual(instantes, epochMilis);
+                tramoDesde = j < 0 ? Long.MIN_VALUE : instantes[j];
+                tramoHasta = j + 1 < instantes.length ? instantes[j + 1] : limite;
+                desfase = j < 0 ? desfaseInicial : desfases[j];
+            }
+            destino[k] = epochMilis + desfase;
+        }
+    }
+
+    /**
+     * Versión masiva de {@link #instanteDeMilisLocales(long)}.
+     *
+     * @param destino al menos del largo de locales, puede ser el mismo arreglo.
+     */
+    public void instantesDeMilisLocales(long[] locales, long[] destino) {
+        for (int i = 0; i < locales.length; i++) {
+            destino[i] = instanteDeMilisLocales(locales[i]);
+        }
+    }
+
+    /**
+     * Después de la tabla se revisa el desfase a ambos lados de una ventana
+     * de 14 horas: si no cambia se resta directamente, si cambia se usa el
+     * posterior cuando es consistente con el instante resultante.
+     */
+    private long instanteFueraDeTabla(long milisLocales) {
+        int antes = desfaseEn(milisLocales - VENTANA_DESFASE);
+        int despues = desfaseEn(milisLocales + VENTANA_DESFASE);
+        if (antes == despues) {
+            return milisLocales - antes;
+        }
+        return desfaseEn(milisLocales - despues) == despues ? milisLocales - despues : milisLocales - antes;
+    }
+
+    /**
+     * @return índice del último valor menor o igual a clave, o -1 si no hay.
+     */
+    private static int ultimoMenorOIgual(long[] valores, long clave) {
+        int bajo = 0;
+        int alto = valores.length - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (valores[medio] <= clave) {
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return alto;
+    }
+
+    @Override
+    public String toString() {
+        return "TablaZonaHoraria[" + zona + ", " + instantes.length + " cambios hasta " + ANIO_LIMITE + "]";
+    }
+}
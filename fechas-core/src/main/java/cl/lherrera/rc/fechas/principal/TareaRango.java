@@ -0,0 +1,58 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reparte el rango [0, largo) de un arreglo entre los núcleos con fork/join.
+ *
+ * Los cortes se hacen en múltiplos de 64, para que cada tramo sea dueño de
+ * palabras completas de un long[] usado como mapa de bits y dos hilos nunca
+ * escriban la misma palabra.
+ */
+final class TareaRango extends RecursiveAction {
+
+    /**
+     * Trabajo secuencial sobre el tramo [desde, hasta).
+     */
+    @FunctionalInterface
+    interface Tramo {
+        void procesa(int desde, int hasta);
+    }
+
+    private final Tramo tramo;
+    private final int desde;
+    private final int hasta;
+    private final int umbral;
+
+    private TareaRango(Tramo tramo, int desde, int hasta, int umbral) {
+        this.tramo = tramo;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.umbral = umbral;
+    }
+
+    /**
+     * Procesa [0, largo), en el hilo actual si el largo no supera el umbral
+     * y en el pool común de fork/join en caso contrario.
+     *
+     * @param umbral largo máximo de un tramo secuencial, al menos 128.
+     */
+    static void ejecuta(int largo, int umbral, Tramo tramo) {
+        if (largo <= umbral) {
+            tramo.procesa(0, largo);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new TareaRango(tramo, 0, largo, Math.max(umbral, 128)));
+    }
+
+    @Override
+    protected void compute() {
+        if (hasta - desde <= umbral) {
+            tramo.procesa(desde, hasta);
+            return;
+        }
+        int medio = ((desde + hasta) >>> 1) & ~63;
+        invokeAll(new TareaRango(tramo, desde, medio, umbral), new TareaRango(tramo, medio, hasta, umbral));
+    }
+}
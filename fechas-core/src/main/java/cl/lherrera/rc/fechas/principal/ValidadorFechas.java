@@ -0,0 +1,432 @@
+package cl.lherrera.rc.fechas.principal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Motor de validación de estructura de fechas, sin expresiones regulares.
+ *
+ * Recorre el literal un carácter a la vez contra una plantilla fija de 19
+ * posiciones y retorna un código de resultado, en vez de lanzar una
+ * excepción. No crea objetos en ningún caso, por lo que se puede usar en
+ * ciclos de ingesta donde las fechas inválidas son frecuentes.
+ *
+ * Formatos soportados:
+ * <ul>
+ *     <li>validaEstructuraEn: yyyy-MM-dd HH:mm:ss, como [2021-12-13 04:59:31]</li>
+ *     <li>validaEstructuraEs: dd-MM-yyyy HH:mm:ss, como [21-12-2020 15:59:31]</li>
+ * </ul>
+ *
+ * Las reglas son las mismas de las expresiones regulares originales de
+ * {@link FechasUtilDos}: año entre 1900 y 2999, mes 01 a 12, día 01 a 31
+ * (sin validar días por mes), cualquier espacio en blanco entre fecha y
+ * hora, hora 00 a 23, minutos y segundos 00 a 59.
+ *
+ * {@link #validaFechaEn(CharSequence)} y {@link #validaFechaEs(CharSequence)}
+ * además revisan los días de cada mes y los años bisiestos.
+ *
+ * Cada validación tiene también una variante sobre bytes ASCII, en un byte[]
+ * o en un ByteBuffer en heap o directo, que lee los 19 bytes desde la
+ * posición indicada sin decodificar a String. Si quedan menos de 19 bytes
+ * el resultado es {@link #ERROR_LARGO}.
+ *
+ * El código retornado es {@link #VALIDA} o un entero que empaqueta el tipo
+ * de error en los 8 bits bajos y la posición del carácter que falló en el
+ * resto. Se descompone con {@link #tipoError(int)} y {@link #posicionError(int)}.
+ */
+public final class ValidadorFechas {
+
+    /**
+     * Largo fijo de ambos formatos.
+     */
+    public static final int LARGO_FECHA = 19;
+
+    public static final int VALIDA = 0;
+    public static final int ERROR_NULA = 1;
+    public static final int ERROR_LARGO = 2;
+    public static final int ERROR_DIGITO = 3;
+    public static final int ERROR_SEPARADOR = 4;
+    public static final int ERROR_ANIO = 5;
+    public static final int ERROR_MES = 6;
+    public static final int ERROR_DIA = 7;
+    public static final int ERROR_HORA = 8;
+    public static final int ERROR_MINUTO = 9;
+    public static final int ERROR_SEGUNDO = 10;
+    public static final int ERROR_DIA_DEL_MES = 11;
+
+    /**
+     * Descripción de cada tipo de error, indexada por el tipo.
+     */
+    private static final String[] DESCRIPCIONES = {
+            "válida",
+            "fecha nula",
+            "largo distinto de 19",
+            "se esperaba un dígito",
+            "separador incorrecto",
+            "año fuera de rango [1900-2999]",
+            "mes fuera de rango [01-12]",
+            "día fuera de rango [01-31]",
+            "hora fuera de rango [00-23]",
+            "minutos fuera de rango [00-59]",
+            "segundos fuera de rango [00-59]",
+            "el día no existe en el mes"
+    };
+
+    /**
+     * Clases de carácter de la plantilla.
+     */
+    private static final byte D = 0; // dígito
+    private static final byte G = 1; // guión
+    private static final byte E = 2; // espacio en blanco
+    private static final byte P = 3; // dos puntos
+
+    /**
+     * Plantilla de [2021-12-13 04:59:31].
+     */
+    private static final byte[] PLANTILLA_EN = {D, D, D, D, G, D, D, G, D, D, E, D, D, P, D, D, P, D, D};
+
+    /**
+     * Plantilla de [13-12-2021 04:59:31].
+     */
+    private static final byte[] PLANTILLA_ES = {D, D, G, D, D, G, D, D, D, D, E, D, D, P, D, D, P, D, D};
+
+    /**
+     * Posiciones de inicio de año, mes y día en cada formato. La hora siempre
+     * comienza en la posición 11.
+     */
+    static final int EN_ANIO = 0, EN_MES = 5, EN_DIA = 8;
+    static final int ES_DIA = 0, ES_MES = 3, ES_ANIO = 6;
+    static final int HORA = 11, MINUTO = 14, SEGUNDO = 17;
+
+    private ValidadorFechas() {
+    }
+
+    /**
+     * Valida estructura [2021-12-13 04:59:31]
+     *
+     * @param fecha literal a validar.
+     * @return {@link #VALIDA} o el código de error.
+     */
+    public static int validaEstructuraEn(CharSequence fecha) {
+        return valida(fecha, PLANTILLA_EN, EN_ANIO, EN_MES, EN_DIA);
+    }
+
+    /**
+     * Valida estructura [21-12-2020 15:59:31]
+     *
+     * @param fecha literal a validar.
+     * @return {@link #VALIDA} o el código de error.
+     */
+    public static int validaEstructuraEs(CharSequence fecha) {
+        return valida(fecha, PLANTILLA_ES, ES_ANIO, ES_MES, ES_DIA);
+    }
+
+    /**
+     * Valida estructura y calendario de [2021-12-13 04:59:31], por ejemplo
+     * rechaza [2021-02-29 00:00:00].
+     *
+     * @param fecha literal a validar.
+     * @return {@link #VALIDA} o el código de error.
+     */
+    public static int validaFechaEn(CharSequence fecha) {
+        int codigo = validaEstructuraEn(fecha);
+        return esValida(codigo) ? validaDiaDelMes(fecha, EN_ANIO, EN_MES, EN_DIA) : codigo;
+    }
+
+    /**
+     * Valida estructura y calendario de [21-12-2020 15:59:31], por ejemplo
+     * rechaza [31-04-2021 00:00:00].
+     *
+     * @param fecha literal a validar.
+     * @return {@link #VALIDA} o el código de error.
+     */
+    public static int validaFechaEs(CharSequence fecha) {
+        int codigo = validaEstructuraEs(fecha);
+        return esValida(codigo) ? validaDiaDelMes(fecha, ES_ANIO, ES_MES, ES_DIA) : codigo;
+    }
+
+    /**
+     * Igual que {@link #validaEstructuraEn(CharSequence)}, sobre los bytes
+     * ASCII desde la posición desde.
+     */
+    public static int validaEstructuraEn(byte[] bytes, int desde) {
+        return valida(bytes, desde, PLANTILLA_EN, EN_ANIO, EN_MES, EN_DIA);
+    }
+
+    /**
+     * Igual que {@link #validaEstructuraEs(CharSequence)}, sobre los bytes
+     * ASCII desde la posición desde.
+     */
+    public static int validaEstructuraEs(byte[] bytes, int desde) {
+        return valida(bytes, desde, PLANTILLA_ES, ES_ANIO, ES_MES, ES_DIA);
+    }
+
+    /**
+     * Igual que {@link #validaFechaEn(CharSequence)}, sobre los bytes ASCII
+     * desde la posición desde.
+     */
+    public static int validaFechaEn(byte[] bytes, int desde) {
+        int codigo = validaEstructuraEn(bytes, desde);
+        return esValida(codigo) ? validaDiaDelMes(bytes, desde, EN_ANIO, EN_MES, EN_DIA) : codigo;
+    }
+
+    /**
+     * Igual que {@link #validaFechaEs(CharSequence)}, sobre los bytes ASCII
+     * desde la posición desde.
+     */
+    public static int validaFechaEs(byte[] bytes, int desde) {
+        int codigo = validaEstructuraEs(bytes, desde);
+        return esValida(codigo) ? validaDiaDelMes(bytes, desde, ES_ANIO, ES_MES, ES_DIA) : codigo;
+    }
+
+    /**
+     * Igual que {@link #validaEstructuraEn(CharSequence)}, sobre los bytes
+     * ASCII desde la posición absoluta indicada, sin mover la posición del
+     * buffer.
+     */
+    public static int validaEstructuraEn(ByteBuffer bytes, int posicion) {
+        return valida(bytes, posicion, PLANTILLA_EN, EN_ANIO, EN_MES, EN_DIA);
+    }
+
+    /**
+     * Igual que {@link #validaEstructuraEs(CharSequence)}, sobre los bytes
+     * ASCII desde la posición absoluta indicada.
+     */
+    public static int validaEstructuraEs(ByteBuffer bytes, int posicion) {
+        return valida(bytes, posicion, PLANTILLA_ES, ES_ANIO, ES_MES, ES_DIA);
+    }
+
+    /**
+     * Igual que {@link #validaFechaEn(CharSequence)}, sobre los bytes ASCII
+     * desde la posición absoluta indicada.
+     */
+    public static int validaFechaEn(ByteBuffer bytes, int posicion) {
+        int codigo = validaEstructuraEn(bytes, posicion);
+        return esValida(codigo) ? validaDiaDelMes(bytes, posicion, EN_ANIO, EN_MES, EN_DIA) : codigo;
+    }
+
+    /**
+     * Igual que {@link #validaFechaEs(CharSequence)}, sobre los bytes ASCII
+     * desde la posición absoluta indicada.
+     */
+    public static int validaFechaEs(ByteBuffer bytes, int posicion) {
+        int codigo = validaEstructuraEs(bytes, posicion);
+        return esValida(codigo) ? validaDiaDelMes(bytes, posicion, ES_ANIO, ES_MES, ES_DIA) : codigo;
+    }
+
+    /**
+     * @return true si el código corresponde a una fecha válida.
+     */
+    public static boolean esValida(int codigo) {
+        return codigo == VALIDA;
+    }
+
+    /**
+     * @return tipo de error, uno de los ERROR_*, o {@link #VALIDA}.
+     */
+    public static int tipoError(int codigo) {
+        return codigo & 0xFF;
+    }
+
+    /**
+     * @return posición del carácter que falló, cero si es válida.
+     */
+    public static int posicionError(int codigo) {
+        return codigo >>> 8;
+    }
+
+    /**
+     * Describe un código de resultado, por ejemplo
+     * [minutos fuera de rango [00-59], posición 14]. Crea un String, por lo
+     * que está pensado para mensajes de error y no para el camino feliz.
+     */
+    public static String describe(int codigo) {
+        int tipo = tipoError(codigo);
+        String descripcion = tipo < DESCRIPCIONES.length ? DESCRIPCIONES[tipo] : "error desconocido";
+        if (tipo == VALIDA) {
+            return descripcion;
+        }
+        return descripcion + ", posición " + posicionError(codigo);
+    }
+
+    /**
+     * Recorre la fecha contra la plantilla y luego revisa los rangos de cada
+     * campo, reportando siempre el primer error de izquierda a derecha.
+     */
+    private static int valida(CharSequence fecha, byte[] plantilla, int pAnio, int pMes, int pDia) {
+        if (fecha == null) {
+            return ERROR_NULA;
+        }
+        int largo = fecha.length();
+        if (largo != LARGO_FECHA) {
+            return error(ERROR_LARGO, Math.min(largo, LARGO_FECHA));
+        }
+        for (int i = 0; i < LARGO_FECHA; i++) {
+            if (!coincide(plantilla[i], fecha.charAt(i))) {
+                return error(plantilla[i] == D ? ERROR_DIGITO : ERROR_SEPARADOR, i);
+            }
+        }
+        return validaRangos(
+                dosDigitos(fecha, pAnio) * 100 + dosDigitos(fecha, pAnio + 2),
+                dosDigitos(fecha, pMes),
+                dosDigitos(fecha, pDia),
+                dosDigitos(fecha, HORA),
+                dosDigitos(fecha, MINUTO),
+                dosDigitos(fecha, SEGUNDO),
+                pAnio, pMes, pDia);
+    }
+
+    /**
+     * Igual que {@link #valida(CharSequence, byte[], int, int, int)}, sobre
+     * los bytes desde la posición desde.
+     */
+    private static int valida(byte[] bytes, int desde, byte[] plantilla, int pAnio, int pMes, int pDia) {
+        if (bytes == null) {
+            return ERROR_NULA;
+        }
+        int disponibles = bytes.length - desde;
+        if (desde < 0 || disponibles < LARGO_FECHA) {
+            return error(ERROR_LARGO, Math.max(0, Math.min(disponibles, LARGO_FECHA)));
+        }
+        for (int i = 0; i < LARGO_FECHA; i++) {
+            if (!coincide(plantilla[i], bytes[desde + i])) {
+                return error(plantilla[i] == D ? ERROR_DIGITO : ERROR_SEPARADOR, i);
+            }
+        }
+        return validaRangos(
+                dosDigitos(bytes, desde + pAnio) * 100 + dosDigitos(bytes, desde + pAnio + 2),
+                dosDigitos(bytes, desde + pMes),
+                dosDigitos(bytes, desde + pDia),
+                dosDigitos(bytes, desde + HORA),
+                dosDigitos(bytes, desde + MINUTO),
+                dosDigitos(bytes, desde + SEGUNDO),
+                pAnio, pMes, pDia);
+    }
+
+    /**
+     * Igual que {@link #valida(CharSequence, byte[], int, int, int)}, sobre
+     * el buffer desde la posición absoluta p, hasta su límite.
+     */
+    private static int valida(ByteBuffer bytes, int p, byte[] plantilla, int pAnio, int pMes, int pDia) {
+        if (bytes == null) {
+            return ERROR_NULA;
+        }
+        int disponibles = bytes.limit() - p;
+        if (p < 0 || disponibles < LARGO_FECHA) {
+            return error(ERROR_LARGO, Math.max(0, Math.min(disponibles, LARGO_FECHA)));
+        }
+        for (int i = 0; i < LARGO_FECHA; i++) {
+            if (!coincide(plantilla[i], bytes.get(p + i))) {
+                return error(plantilla[i] == D ? ERROR_DIGITO : ERROR_SEPARADOR, i);
+            }
+        }
+        return validaRangos(
+                dosDigitos(bytes, p + pAnio) * 100 + dosDigitos(bytes, p + pAnio + 2),
+                dosDigitos(bytes, p + pMes),
+                dosDigitos(bytes, p + pDia),
+                dosDigitos(bytes, p + HORA),
+                dosDigitos(bytes, p + MINUTO),
+                dosDigitos(bytes, p + SEGUNDO),
+                pAnio, pMes, pDia);
+    }
+
+    /**
+     * @return true si el carácter corresponde a la clase de la plantilla.
+     */
+    private static boolean coincide(byte clase, int c) {
+        switch (clase) {
+            case D:
+                return c >= '0' && c <= '9';
+            case G:
+                return c == '-';
+            case P:
+                return c == ':';
+            default:
+                return esEspacio(c);
+        }
+    }
+
+    /**
+     * Revisa los rangos de cada campo ya leído. Los campos se revisan en el
+     * orden en que aparecen en el literal, para que la posición informada sea
+     * la del primer campo inválido.
+     */
+    static int validaRangos(int anio, int mes, int dia, int hora, int minuto, int segundo,
+                            int pAnio, int pMes, int pDia) {
+        boolean anioPrimero = pAnio < pDia;
+        if (anioPrimero && (anio < 1900 || anio > 2999)) {
+            return error(ERROR_ANIO, pAnio);
+        }
+        if (!anioPrimero && (dia < 1 || dia > 31)) {
+            return error(ERROR_DIA, pDia);
+        }
+        if (mes < 1 || mes > 12) {
+            return error(ERROR_MES, pMes);
+        }
+        if (anioPrimero && (dia < 1 || dia > 31)) {
+            return error(ERROR_DIA, pDia);
+        }
+        if (!anioPrimero && (anio < 1900 || anio > 2999)) {
+            return error(ERROR_ANIO, pAnio);
+        }
+        if (hora > 23) {
+            return error(ERROR_HORA, HORA);
+        }
+        if (minuto > 59) {
+            return error(ERROR_MINUTO, MINUTO);
+        }
+        if (segundo > 59) {
+            return error(ERROR_SEGUNDO, SEGUNDO);
+        }
+        return VALIDA;
+    }
+
+    /**
+     * Revisa el día contra los días del mes, con una estructura ya validada.
+     */
+    private static int validaDiaDelMes(CharSequence fecha, int pAnio, int pMes, int pDia) {
+        int anio = dosDigitos(fecha, pAnio) * 100 + dosDigitos(fecha, pAnio + 2);
+        if (dosDigitos(fecha, pDia) > CalendarioCivil.diasDelMes(anio, dosDigitos(fecha, pMes))) {
+            return error(ERROR_DIA_DEL_MES, pDia);
+        }
+        return VALIDA;
+    }
+
+    private static int validaDiaDelMes(byte[] bytes, int desde, int pAnio, int pMes, int pDia) {
+        int anio = dosDigitos(bytes, desde + pAnio) * 100 + dosDigitos(bytes, desde + pAnio + 2);
+        if (dosDigitos(bytes, desde + pDia) > CalendarioCivil.diasDelMes(anio, dosDigitos(bytes, desde + pMes))) {
+            return error(ERROR_DIA_DEL_MES, pDia);
+        }
+        return VALIDA;
+    }
+
+    private static int validaDiaDelMes(ByteBuffer bytes, int p, int pAnio, int pMes, int pDia) {
+        int anio = dosDigitos(bytes, p + pAnio) * 100 + dosDigitos(bytes, p + pAnio + 2);
+        if (dosDigitos(bytes, p + pDia) > CalendarioCivil.diasDelMes(anio, dosDigitos(bytes, p + pMes))) {
+            return error(ERROR_DIA_DEL_MES, pDia);
+        }
+        return VALIDA;
+    }
+
+    static int error(int tipo, int posicion) {
+        return (posicion << 8) | tipo;
+    }
+
+    /**
+     * Equivalente a la clase \s de las expresiones regulares.
+     */
+    static boolean esEspacio(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static int dosDigitos(CharSequence fecha, int posicion) {
+        return (fecha.charAt(posicion) - '0') * 10 + (fecha.charAt(posicion + 1) - '0');
+    }
+
+    private static int dosDigitos(byte[] bytes, int posicion) {
+        return (bytes[posicion] - '0') * 10 + (bytes[posicion + 1] - '0');
+    }
+
+    private static int dosDigitos(ByteBuffer bytes, int posicion) {
+        return (bytes.get(posicion) - '0') * 10 + (bytes.get(posicion + 1) - '0');
+    }
+}
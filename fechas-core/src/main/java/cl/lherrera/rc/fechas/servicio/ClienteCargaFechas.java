@@ -0,0 +1,205 @@
+package cl.lherrera.rc.fechas.servicio;
+
+import cl.lherrera.rc.fechas.principal.FormateadorFechas;
+import cl.lherrera.rc.fechas.principal.HistogramaLatencia;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cliente de carga para {@link ServidorFechas}: varios hilos envían
+ * peticiones sin pausa durante un tiempo y se informan las peticiones por
+ * segundo y los percentiles de latencia.
+ *
+ * Uso, con el servicio ya corriendo:
+ *
+ * <pre>
+ *     java -cp target/classes cl.lherrera.rc.fechas.servicio.ClienteCargaFechas \
+ *         --url=http://127.0.0.1:8080 --operacion=parsea --hilos=32 --segundos=10 --lote=0
+ * </pre>
+ *
+ * Con lote 0 cada petición es un GET de un valor; con lote N es un POST con
+ * N valores, uno por línea. Los valores son fechas o instantes al azar
+ * entre 1990 y 2030, con semilla fija por hilo.
+ */
+public final class ClienteCargaFechas {
+
+    private static final long INICIO_VALORES = 631_152_000_000L;
+    private static final long RANGO_VALORES = 1_262_304_000_000L;
+
+    private ClienteCargaFechas() {
+    }
+
+    /**
+     * Totales de una prueba de carga.
+     */
+    public static final class Resultado {
+        private final long peticiones;
+        private final long errores;
+        private final long nanos;
+        private final HistogramaLatencia latencias;
+
+        Resultado(long peticiones, long errores, long nanos, HistogramaLatencia latencias) {
+            this.peticiones = peticiones;
+            this.errores = errores;
+            this.nanos = nanos;
+            this.latencias = latencias;
+        }
+
+        public long getPeticiones() {
+            return peticiones;
+        }
+
+        /**
+         * @return peticiones que fallaron o no respondieron 200.
+         */
+        public long getErrores() {
+            return errores;
+        }
+
+        public double getPeticionesPorSegundo() {
+            return nanos == 0 ? 0 : peticiones * 1e9 / nanos;
+        }
+
+        /**
+         * @param percentil de 0 a 100.
+         * @return latencia en microsegundos.
+         */
+        public double latenciaMicros(double percentil) {
+            return latencias.percentil(percentil) / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d peticiones, %d errores, %.0f peticiones/s, latencia p50=%.0f us, p90=%.0f us, "
+                            + "p99=%.0f us, p99.9=%.0f us, máx=%.0f us",
+                    peticiones, errores, getPeticionesPorSegundo(), latenciaMicros(50), latenciaMicros(90),
+                    latenciaMicros(99), latenciaMicros(99.9), latencias.getMaximo() / 1000.0);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String url = "http://127.0.0.1:8080";
+        String operacion = "parsea";
+        int hilos = 32;
+        int segundos = 10;
+        int lote = 0;
+        for (String argumento : args) {
+            int igual = argumento.indexOf('=');
+            if (!argumento.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("argumento inválido: " + argumento);
+            }
+            String valor = argumento.substring(igual + 1);
+            switch (argumento.substring(2, igual)) {
+                case "url":
+                    url = valor;
+                    break;
+                case "operacion":
+                    operacion = valor;
+                    break;
+                case "hilos":
+                    hilos = Integer.parseInt(valor);
+                    break;
+                case "segundos":
+                    segundos = Integer.parseInt(valor);
+                    break;
+                case "lote":
+                    lote = Integer.parseInt(valor);
+                    break;
+                default:
+                    throw new IllegalArgumentException("argumento desconocido: " + argumento);
+            }
+        }
+        System.out.println("calentando...");
+        ejecuta(URI.create(url), operacion, hilos, Duration.ofSeconds(Math.max(1, segundos / 5)), lote);
+        Resultado resultado = ejecuta(URI.create(url), operacion, hilos, Duration.ofSeconds(segundos), lote);
+        System.out.println(operacion + (lote > 0 ? " en lotes de " + lote : "") + " con " + hilos + " hilos: "
+                + resultado);
+    }
+
+    /**
+     * Envía peticiones desde varios hilos durante el tiempo indicado.
+     *
+     * @param base      dirección del servicio, como http://127.0.0.1:8080.
+     * @param operacion valida, parsea, formatea, palabras o transcurrido.
+     * @param lote      0 para un GET por valor, o la cantidad de valores de
+     *                  cada POST.
+     */
+    public static Resultado ejecuta(URI base, String operacion, int hilos, Duration duracion, int lote)
+            throws InterruptedException {
+        if (hilos < 1 || lote < 0) {
+            throw new IllegalArgumentException("se necesita al menos un hilo y un lote no negativo");
+        }
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        boolean conFecha = "valida".equals(operacion) || "parsea".equals(operacion);
+        URI destino = base.resolve(ServidorFechas.RAIZ + operacion);
+        HistogramaLatencia latencias = new HistogramaLatencia();
+        LongAdder peticiones = new LongAdder();
+        LongAdder errores = new LongAdder();
+        CountDownLatch fin = new CountDownLatch(hilos);
+        long inicio = System.nanoTime();
+        long limite = inicio + duracion.toNanos();
+        for (int h = 0; h < hilos; h++) {
+            Random azar = new Random(h);
+            Thread hilo = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < limite) {
+                        HttpRequest peticion = lote == 0
+                                ? HttpRequest.newBuilder(URI.create(destino + "?" + (conFecha ? "fecha" : "epochMilis")
+                                + "=" + URLEncoder.encode(valor(azar, conFecha), StandardCharsets.UTF_8))).GET().build()
+                                : HttpRequest.newBuilder(destino)
+                                .header("Content-Type", "application/x-ndjson")
+                                .POST(HttpRequest.BodyPublishers.ofString(cuerpo(azar, conFecha, lote))).build();
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                            if (respuesta.statusCode() != 200) {
+                                errores.increment();
+                            }
+                        } catch (IOException e) {
+                            errores.increment();
+                        }
+                        latencias.registra(System.nanoTime() - antes);
+                        peticiones.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fin.countDown();
+                }
+            }, "carga-fechas-" + h);
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+        fin.await();
+        return new Resultado(peticiones.sum(), errores.sum(), System.nanoTime() - inicio, latencias);
+    }
+
+    private static String cuerpo(Random azar, boolean conFecha, int lote) {
+        StringBuilder cuerpo = new StringBuilder(lote * 20);
+        for (int i = 0; i < lote; i++) {
+            cuerpo.append(valor(azar, conFecha)).append('\n');
+        }
+        return cuerpo.toString();
+    }
+
+    /**
+     * @return una fecha en uno de los dos formatos, o un instante.
+     */
+    private static String valor(Random azar, boolean conFecha) {
+        long epochMilis = INICIO_VALORES + (long) (azar.nextDouble() * RANGO_VALORES);
+        if (!conFecha) {
+            return Long.toString(epochMilis);
+        }
+        return azar.nextBoolean() ? FormateadorFechas.formateaEs(epochMilis) : FormateadorFechas.formateaEn(epochMilis);
+    }
+}
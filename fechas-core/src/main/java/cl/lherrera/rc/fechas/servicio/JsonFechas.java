@@ -0,0 +1,171 @@
+package cl.lherrera.rc.fechas.servicio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura y escritura del JSON mínimo que usa el servicio: arreglos de
+ * textos o números a la entrada y objetos planos a la salida. Se escribe a
+ * mano para no agregar una dependencia por algo tan acotado.
+ */
+final class JsonFechas {
+
+    private JsonFechas() {
+    }
+
+    /**
+     * Lee un arreglo JSON de textos, números o null, como
+     * ["13-12-2021 23:59:59", 1639450799000]. Los números se entregan con
+     * el texto tal cual venían y los null como null.
+     *
+     * @throws IllegalArgumentException si no es un arreglo JSON de valores
+     *                                  simples.
+     */
+    static List<String> leeArreglo(CharSequence json) {
+        List<String> valores = new ArrayList<>();
+        int i = saltaEspacios(json, 0);
+        if (i >= json.length() || json.charAt(i) != '[') {
+            throw new IllegalArgumentException("se esperaba un arreglo JSON");
+        }
+        i = saltaEspacios(json, i + 1);
+        if (i < json.length() && json.charAt(i) == ']') {
+            return verificaFin(json, i + 1, valores);
+        }
+        while (true) {
+            if (i >= json.length()) {
+                throw new IllegalArgumentException("el arreglo JSON no termina");
+            }
+            char c = json.charAt(i);
+            if (c == '"') {
+                StringBuilder texto = new StringBuilder();
+                i = leeTexto(json, i + 1, texto);
+                valores.add(texto.toString());
+            } else if (json.length() - i >= 4 && json.subSequence(i, i + 4).toString().equals("null")) {
+                valores.add(null);
+                i += 4;
+            } else {
+                int inicio = i;
+                while (i < json.length() && "+-.0123456789eE".indexOf(json.charAt(i)) >= 0) {
+                    i++;
+                }
+                if (i == inicio) {
+                    throw new IllegalArgumentException("valor JSON inesperado en la posición " + inicio);
+                }
+                valores.add(json.subSequence(inicio, i).toString());
+            }
+            i = saltaEspacios(json, i);
+            if (i < json.length() && json.charAt(i) == ',') {
+                i = saltaEspacios(json, i + 1);
+            } else if (i < json.length() && json.charAt(i) == ']') {
+                return verificaFin(json, i + 1, valores);
+            } else {
+                throw new IllegalArgumentException("se esperaba ',' o ']' en la posición " + i);
+            }
+        }
+    }
+
+    /**
+     * Agrega el texto entre comillas y con los caracteres especiales
+     * escapados, o null si es null.
+     */
+    static StringBuilder escribeTexto(StringBuilder destino, String texto) {
+        if (texto == null) {
+            return destino.append("null");
+        }
+        destino.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"':
+                    destino.append("\\\"");
+                    break;
+                case '\\':
+                    destino.append("\\\\");
+                    break;
+                case '\n':
+                    destino.append("\\n");
+                    break;
+                case '\r':
+                    destino.append("\\r");
+                    break;
+                case '\t':
+                    destino.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+        return destino.append('"');
+    }
+
+    /**
+     * Lee un texto desde después de la comilla de apertura.
+     *
+     * @return posición siguiente a la comilla de cierre.
+     */
+    private static int leeTexto(CharSequence json, int i, StringBuilder destino) {
+        while (i < json.length()) {
+            char c = json.charAt(i++);
+            if (c == '"') {
+                return i;
+            }
+            if (c != '\\') {
+                destino.append(c);
+                continue;
+            }
+            if (i >= json.length()) {
+                break;
+            }
+            char escape = json.charAt(i++);
+            switch (escape) {
+                case 'n':
+                    destino.append('\n');
+                    break;
+                case 'r':
+                    destino.append('\r');
+                    break;
+                case 't':
+                    destino.append('\t');
+                    break;
+                case 'b':
+                    destino.append('\b');
+                    break;
+                case 'f':
+                    destino.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 > json.length()) {
+                        throw new IllegalArgumentException("escape \\u incompleto en la posición " + (i - 2));
+                    }
+                    try {
+                        destino.append((char) Integer.parseInt(json.subSequence(i, i + 4).toString(), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("escape \\u inválido en la posición " + (i - 2));
+                    }
+                    i += 4;
+                    break;
+                default:
+                    destino.append(escape);
+            }
+        }
+        throw new IllegalArgumentException("texto JSON sin cerrar");
+    }
+
+    private static int saltaEspacios(CharSequence json, int i) {
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static List<String> verificaFin(CharSequence json, int i, List<String> valores) {
+        if (saltaEspacios(json, i) != json.length()) {
+            throw new IllegalArgumentException("hay contenido después del arreglo JSON");
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,429 @@
+package cl.lherrera.rc.fechas.servicio;
+
+import cl.lherrera.rc.fechas.principal.FormateadorFechas;
+import cl.lherrera.rc.fechas.principal.PalabrasFecha;
+import cl.lherrera.rc.fechas.principal.ParseadorFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorMultiformato;
+import cl.lherrera.rc.fechas.principal.RenderizadorTiempoRelativo;
+import cl.lherrera.rc.fechas.principal.ValidadorFechas;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio HTTP local con las operaciones de fechas, sobre el HttpServer
+ * del JDK, sin contenedor de servlets.
+ *
+ * Operaciones, bajo {@link #RAIZ}:
+ * <ul>
+ *     <li>valida?fecha=: valida "dd-MM-yyyy HH:mm:ss" o "yyyy-MM-dd
+ *     HH:mm:ss", y si no es válida informa el error y su posición.</li>
+ *     <li>parsea?fecha=: milisegundos desde la época de la fecha, en
+ *     cualquiera de los dos formatos.</li>
+ *     <li>formatea?epochMilis=: la fecha en ambos formatos.</li>
+ *     <li>palabras?epochMilis=: la fecha en palabras.</li>
+ *     <li>transcurrido?epochMilis=: tiempo transcurrido hasta ahora.</li>
+ * </ul>
+ * Con GET se procesa un valor y se responde un objeto JSON. Con POST se
+ * procesa un lote: si el cuerpo comienza con '[' es un arreglo JSON y se
+ * responde un arreglo; si no, es un valor por línea y se responde un
+ * objeto JSON por línea (application/x-ndjson), en el mismo orden.
+ *
+ * Un epochMilis que no es un número entero, o que en formatea y palabras
+ * cae fuera de los años 0 a 9999, se responde como {"entrada":..,"error":..}:
+ * con estado 400 si es un solo valor, y en su lugar dentro de un lote.
+ *
+ * El HttpServer atiende las conexiones con NIO y cada petición se procesa
+ * en el ejecutor: hilos virtuales si la JVM los tiene (Java 21 o
+ * superior), o un pool fijo de hilos si no.
+ */
+public final class ServidorFechas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServidorFechas.class);
+
+    /**
+     * Prefijo de las rutas del servicio.
+     */
+    public static final String RAIZ = "/fechas/";
+
+    /**
+     * Bytes máximos del cuerpo de un lote.
+     */
+    public static final int MAXIMO_CUERPO = 16 * 1024 * 1024;
+
+    /**
+     * Hilos del pool cuando la JVM no tiene hilos virtuales.
+     */
+    private static final int HILOS_SIN_VIRTUALES = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String NDJSON = "application/x-ndjson; charset=utf-8";
+
+    private static final RenderizadorTiempoRelativo TIEMPO_TRANSCURRIDO = new RenderizadorTiempoRelativo(
+            Clock.systemUTC(), RenderizadorTiempoRelativo.Granularidad.COMPLETA, false);
+
+    /**
+     * Operaciones del servicio, con el parámetro que reciben. Cada una
+     * escribe sobre un literal o sobre un instante, nunca las dos.
+     */
+    private enum Operacion {
+        VALIDA("valida", Operacion::valida),
+        PARSEA("parsea", Operacion::parsea),
+        FORMATEA("formatea", true, Operacion::formatea),
+        PALABRAS("palabras", true, Operacion::palabras),
+        TRANSCURRIDO("transcurrido", false, Operacion::transcurrido);
+
+        private final String nombre;
+        private final String parametro;
+        private final SobreLiteral sobreLiteral;
+        private final SobreInstante sobreInstante;
+        // si el instante debe caer entre FormateadorFechas.MINIMO y MAXIMO.
+        private final boolean acotada;
+
+        Operacion(String nombre, SobreLiteral sobreLiteral) {
+            this.nombre = nombre;
+            this.parametro = "fecha";
+            this.sobreLiteral = sobreLiteral;
+            this.sobreInstante = null;
+            this.acotada = false;
+        }
+
+        Operacion(String nombre, boolean acotada, SobreInstante sobreInstante) {
+            this.nombre = nombre;
+            this.parametro = "epochMilis";
+            this.sobreLiteral = null;
+            this.sobreInstante = sobreInstante;
+            this.acotada = acotada;
+        }
+
+        static Operacion de(String nombre) {
+            for (Operacion operacion : values()) {
+                if (operacion.nombre.equals(nombre)) {
+                    return operacion;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Escribe el resultado de un valor como objeto JSON. Las operaciones
+         * sobre instantes reciben el valor ya convertido a long.
+         *
+         * @return false si el valor no es un instante que la operación pueda
+         * procesar; en ese caso se escribe la entrada con el error.
+         */
+        boolean escribe(String valor, StringBuilder destino) {
+            if (sobreLiteral != null) {
+                sobreLiteral.escribe(valor, destino);
+                return true;
+            }
+            long epochMilis;
+            try {
+                epochMilis = Long.parseLong(valor == null ? "" : valor.trim());
+            } catch (NumberFormatException e) {
+                return rechaza(valor, "epochMilis debe ser un número entero", destino);
+            }
+            if (acotada && (epochMilis < FormateadorFechas.MINIMO || epochMilis > FormateadorFechas.MAXIMO)) {
+                return rechaza(valor, "epochMilis debe caer entre los años 0 y 9999", destino);
+            }
+            sobreInstante.escribe(epochMilis, destino);
+            return true;
+        }
+
+        private static boolean rechaza(String valor, String error, StringBuilder destino) {
+            JsonFechas.escribeTexto(destino.append("{\"entrada\":"), valor).append(",\"error\":");
+            JsonFechas.escribeTexto(destino, error).append('}');
+            return false;
+        }
+
+        private static void valida(String fecha, StringBuilder destino) {
+            // "dd-MM-yyyy" tiene un guión en la tercera posición y "yyyy-MM-dd" un dígito.
+            boolean es = fecha != null && fecha.length() > 2 && fecha.charAt(2) == '-';
+            int codigo = es ? ValidadorFechas.validaFechaEs(fecha) : ValidadorFechas.validaFechaEn(fecha);
+            JsonFechas.escribeTexto(destino.append("{\"fecha\":"), fecha)
+                    .append(",\"valida\":").append(ValidadorFechas.esValida(codigo));
+            if (!ValidadorFechas.esValida(codigo)) {
+                JsonFechas.escribeTexto(destino.append(",\"error\":"), ValidadorFechas.describe(codigo))
+                        .append(",\"posicion\":").append(ValidadorFechas.posicionError(codigo));
+            }
+            destino.append('}');
+        }
+
+        private static void parsea(String fecha, StringBuilder destino) {
+            long epochMilis = ParseadorMultiformato.ESTANDAR.parsea(fecha);
+            JsonFechas.escribeTexto(destino.append("{\"fecha\":"), fecha).append(",\"epochMilis\":");
+            if (epochMilis == ParseadorFechas.FECHA_INVALIDA) {
+                destino.append("null");
+            } else {
+                destino.append(epochMilis);
+            }
+            destino.append('}');
+        }
+
+        private static void formatea(long epochMilis, StringBuilder destino) {
+            destino.append("{\"epochMilis\":").append(epochMilis).append(",\"es\":\"");
+            FormateadorFechas.escribeEs(epochMilis, destino).append("\",\"en\":\"");
+            FormateadorFechas.escribeEn(epochMilis, destino).append("\"}");
+        }
+
+        private static void palabras(long epochMilis, StringBuilder destino) {
+            destino.append("{\"epochMilis\":").append(epochMilis).append(",\"palabras\":");
+            JsonFechas.escribeTexto(destino, PalabrasFecha.enPalabras(epochMilis)).append('}');
+        }
+
+        private static void transcurrido(long epochMilis, StringBuilder destino) {
+            destino.append("{\"epochMilis\":").append(epochMilis).append(",\"transcurrido\":\"");
+            TIEMPO_TRANSCURRIDO.renderiza(epochMilis, TIEMPO_TRANSCURRIDO.getReloj().millis(), destino)
+                    .append("\"}");
+        }
+    }
+
+    /**
+     * Operación sobre el literal de una fecha, tal como llegó.
+     */
+    @FunctionalInterface
+    private interface SobreLiteral {
+        void escribe(String fecha, StringBuilder destino);
+    }
+
+    /**
+     * Operación sobre un instante en milisegundos desde la época.
+     */
+    @FunctionalInterface
+    private interface SobreInstante {
+        void escribe(long epochMilis, StringBuilder destino);
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final boolean hilosVirtuales;
+
+    private ServidorFechas(HttpServer servidor, ExecutorService ejecutor, boolean hilosVirtuales) {
+        this.servidor = servidor;
+        this.ejecutor = ejecutor;
+        this.hilosVirtuales = hilosVirtuales;
+    }
+
+    /**
+     * Inicia el servicio con hilos virtuales, o con un pool fijo si la JVM
+     * no los tiene.
+     *
+     * @param direccion puerto 0 para que el sistema elija uno libre.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public static ServidorFechas inicia(InetSocketAddress direccion) throws IOException {
+        ExecutorService virtuales = hilosVirtuales();
+        return virtuales != null ? inicia(direccion, virtuales, true) : inicia(direccion, poolFijo(), false);
+    }
+
+    /**
+     * Inicia el servicio procesando las peticiones en el ejecutor indicado,
+     * que se cierra junto con el servicio.
+     *
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public static ServidorFechas inicia(InetSocketAddress direccion, ExecutorService ejecutor) throws IOException {
+        return inicia(direccion, ejecutor, false);
+    }
+
+    private static ServidorFechas inicia(InetSocketAddress direccion, ExecutorService ejecutor,
+                                         boolean hilosVirtuales) throws IOException {
+        HttpServer servidor = HttpServer.create(direccion, 0);
+        ServidorFechas servidorFechas = new ServidorFechas(servidor, ejecutor, hilosVirtuales);
+        servidor.createContext(RAIZ, servidorFechas::atiende);
+        servidor.setExecutor(ejecutor);
+        servidor.start();
+        log.info("[inicia] - servicio de fechas en [{}] con {}", servidor.getAddress(),
+                hilosVirtuales ? "hilos virtuales" : "pool de hilos");
+        return servidorFechas;
+    }
+
+    /**
+     * @return un ejecutor de hilos virtuales, o null si la JVM no los tiene.
+     * Se busca por reflexión para seguir compilando con Java 11.
+     */
+    private static ExecutorService hilosVirtuales() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService poolFijo() {
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(HILOS_SIN_VIRTUALES, tarea -> {
+            Thread hilo = new Thread(tarea, "fechas-http-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * @return puerto en que escucha, útil si se inició con el puerto 0.
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    public boolean isHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    /**
+     * Deja de aceptar peticiones, espera hasta un segundo a las que están en
+     * curso y cierra el ejecutor.
+     */
+    @Override
+    public void close() {
+        servidor.stop(1);
+        ejecutor.shutdown();
+    }
+
+    private void atiende(HttpExchange intercambio) throws IOException {
+        try {
+            Operacion operacion = Operacion.de(intercambio.getRequestURI().getPath().substring(RAIZ.length()));
+            if (operacion == null) {
+                respondeError(intercambio, 404, "operación desconocida");
+            } else if ("GET".equals(intercambio.getRequestMethod())) {
+                String valor = parametro(intercambio.getRequestURI().getRawQuery(), operacion.parametro);
+                if (valor == null) {
+                    respondeError(intercambio, 400, "falta el parámetro " + operacion.parametro);
+                } else {
+                    StringBuilder salida = new StringBuilder(128);
+                    boolean procesado = operacion.escribe(valor, salida);
+                    responde(intercambio, procesado ? 200 : 400, JSON, salida);
+                }
+            } else if ("POST".equals(intercambio.getRequestMethod())) {
+                atiendeLote(intercambio, operacion);
+            } else {
+                intercambio.getResponseHeaders().set("Allow", "GET, POST");
+                respondeError(intercambio, 405, "método no permitido");
+            }
+        } catch (IllegalArgumentException e) {
+            respondeError(intercambio, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("[atiende] - error en [{}]", intercambio.getRequestURI(), e);
+            respondeError(intercambio, 500, "error interno");
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    private void atiendeLote(HttpExchange intercambio, Operacion operacion) throws IOException {
+        String cuerpo = leeCuerpo(intercambio);
+        if (cuerpo == null) {
+            respondeError(intercambio, 413, "el lote supera los " + MAXIMO_CUERPO + " bytes");
+            return;
+        }
+        boolean esJson = cuerpo.trim().startsWith("[");
+        List<String> valores = esJson ? JsonFechas.leeArreglo(cuerpo) : lineas(cuerpo);
+        StringBuilder salida = new StringBuilder(valores.size() * 64 + 2);
+        if (esJson) {
+            salida.append('[');
+        }
+        for (int i = 0; i < valores.size(); i++) {
+            if (esJson && i > 0) {
+                salida.append(',');
+            }
+            operacion.escribe(valores.get(i), salida);
+            if (!esJson) {
+                salida.append('\n');
+            }
+        }
+        if (esJson) {
+            salida.append(']');
+        }
+        responde(intercambio, 200, esJson ? JSON : NDJSON, salida);
+    }
+
+    /**
+     * @return el cuerpo en UTF-8, o null si supera {@link #MAXIMO_CUERPO}.
+     */
+    private static String leeCuerpo(HttpExchange intercambio) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] bloque = new byte[8192];
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            for (int leidos = entrada.read(bloque); leidos >= 0; leidos = entrada.read(bloque)) {
+                if (bytes.size() + leidos > MAXIMO_CUERPO) {
+                    return null;
+                }
+                bytes.write(bloque, 0, leidos);
+            }
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return las líneas no vacías del cuerpo, sin el \r final.
+     */
+    private static List<String> lineas(String cuerpo) {
+        List<String> valores = new ArrayList<>();
+        int inicio = 0;
+        while (inicio < cuerpo.length()) {
+            int fin = cuerpo.indexOf('\n', inicio);
+            if (fin < 0) {
+                fin = cuerpo.length();
+            }
+            int finLinea = fin > inicio && cuerpo.charAt(fin - 1) == '\r' ? fin - 1 : fin;
+            if (finLinea > inicio) {
+                valores.add(cuerpo.substring(inicio, finLinea));
+            }
+            inicio = fin + 1;
+        }
+        return valores;
+    }
+
+    /**
+     * @return el valor decodificado del parámetro, o null si no está.
+     */
+    static String parametro(String consulta, String nombre) {
+        if (consulta == null) {
+            return null;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            if (clave.equals(nombre)) {
+                return igual < 0 ? "" : URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void respondeError(HttpExchange intercambio, int estado, String mensaje) throws IOException {
+        StringBuilder salida = new StringBuilder("{\"error\":");
+        JsonFechas.escribeTexto(salida, mensaje).append('}');
+        responde(intercambio, estado, JSON, salida);
+    }
+
+    private static void responde(HttpExchange intercambio, int estado, String tipo, CharSequence salida)
+            throws IOException {
+        byte[] bytes = salida.toString().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", tipo);
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream cuerpo = intercambio.getResponseBody()) {
+            cuerpo.write(bytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ServidorFechas[" + servidor.getAddress() + (hilosVirtuales ? ", hilos virtuales" : "") + "]";
+    }
+}
@@ -0,0 +1,170 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarioHabilTest {
+
+    private static final TablaZonaHoraria SANTIAGO = TablaZonaHoraria.SANTIAGO;
+
+    /**
+     * Compara con un recorrido día a día sobre LocalDate y los feriados del
+     * recurso, para pares al azar en los años del calendario.
+     */
+    @Test
+    void igualQueRecorrerLosDias() throws IOException {
+        CalendarioHabil calendario = CalendarioHabil.chile();
+        Set<LocalDate> feriados = feriadosDelRecurso();
+        long inicio = SANTIAGO.instanteDe(calendario.getAnioDesde(), 1, 1, 0, 0, 0);
+        long fin = SANTIAGO.instanteDe(calendario.getAnioHasta(), 12, 31, 23, 59, 59);
+        Random azar = new Random(15);
+        for (int i = 0; i < 2000; i++) {
+            long desde = inicio + (long) (azar.nextDouble() * (fin - inicio));
+            long hasta = inicio + (long) (azar.nextDouble() * (fin - inicio));
+            LocalDate diaDesde = LocalDate.ofEpochDay(SANTIAGO.diaEpocaLocal(desde));
+            LocalDate diaHasta = LocalDate.ofEpochDay(SANTIAGO.diaEpocaLocal(hasta));
+            long esperado = 0;
+            for (LocalDate d = diaDesde; d.isBefore(diaHasta); d = d.plusDays(1)) {
+                esperado += esHabil(d, feriados) ? 1 : 0;
+            }
+            for (LocalDate d = diaHasta; d.isBefore(diaDesde); d = d.plusDays(1)) {
+                esperado -= esHabil(d, feriados) ? 1 : 0;
+            }
+            assertEquals(esperado, calendario.diasHabiles(desde, hasta));
+            assertEquals(diaHasta.toEpochDay() - diaDesde.toEpochDay(), CalendarioHabil.diasCalendario(desde, hasta));
+        }
+    }
+
+    /**
+     * Semana del 8 de diciembre de 2021: de lunes a lunes hay 7 días de
+     * calendario y 4 hábiles.
+     */
+    @Test
+    void semanaConFeriado() {
+        CalendarioHabil calendario = CalendarioHabil.chile();
+        long lunes = ParseadorFechas.parseaEs("06-12-2021 18:00:00");
+        long lunesSiguiente = ParseadorFechas.parseaEs("13-12-2021 09:00:00");
+        assertEquals(7, CalendarioHabil.diasCalendario(lunes, lunesSiguiente));
+        assertEquals(4, calendario.diasHabiles(lunes, lunesSiguiente));
+        assertEquals(-4, calendario.diasHabiles(lunesSiguiente, lunes));
+        assertFalse(calendario.esHabil(ParseadorFechas.parseaEs("08-12-2021 12:00:00")));
+        assertFalse(calendario.esHabil(ParseadorFechas.parseaEs("11-12-2021 12:00:00")));
+        assertTrue(calendario.esHabil(ParseadorFechas.parseaEs("09-12-2021 12:00:00")));
+    }
+
+    /**
+     * El calendario de Chile cubre de 2021 a 2030, con los traslados a lunes
+     * de los años sin datos publicados, y fuera de esos años lanza.
+     */
+    @Test
+    void cubreHasta2030() {
+        CalendarioHabil calendario = CalendarioHabil.chile();
+        assertEquals(2021, calendario.getAnioDesde());
+        assertEquals(2030, calendario.getAnioHasta());
+        // San Pedro y San Pablo de 2029 cae viernes y pasa al lunes 2 de julio.
+        assertTrue(calendario.esHabil(ParseadorFechas.parseaEs("29-06-2029 12:00:00")));
+        assertFalse(calendario.esHabil(ParseadorFechas.parseaEs("02-07-2029 12:00:00")));
+        long ultimo = ParseadorFechas.parseaEs("31-12-2030 23:59:59");
+        assertTrue(calendario.esHabil(ultimo));
+        assertEquals(1, calendario.diasHabiles(ultimo - 1000, ultimo + 1000));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendario.esHabil(ParseadorFechas.parseaEs("01-01-2031 00:00:00")));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendario.diasHabiles(ultimo, ParseadorFechas.parseaEs("02-01-2031 00:00:00")));
+    }
+
+    /**
+     * El 5 de septiembre de 2021 duró 23 horas en Santiago: de mediodía a
+     * mediodía hay un día de calendario aunque no alcancen a ser 24 horas.
+     */
+    @Test
+    void diaDeCambioDeHorario() {
+        long sabado = ParseadorFechas.parseaEs("04-09-2021 12:00:00");
+        long domingo = ParseadorFechas.parseaEs("05-09-2021 12:00:00");
+        assertEquals(0, FechasUtil.diferenciaDiasFechaLocal(new Date(sabado), new Date(domingo)));
+        assertEquals(1, CalendarioHabil.diasCalendario(sabado, domingo));
+        long casiMedianoche = ParseadorFechas.parseaEs("04-09-2021 23:59:00");
+        long lunes = ParseadorFechas.parseaEs("06-09-2021 00:01:00");
+        assertEquals(2, CalendarioHabil.diasCalendario(casiMedianoche, lunes));
+    }
+
+    /**
+     * Carga desde un archivo local, ignorando comentarios y descripciones.
+     */
+    @Test
+    void cargaDesdeArchivo() throws IOException {
+        Path archivo = Files.createTempFile("feriados", ".txt");
+        Files.write(archivo, ("# prueba\n\n2030-01-01 Año Nuevo\n2030-01-02\n2031-12-31 # fin\n")
+                .getBytes(StandardCharsets.UTF_8));
+        CalendarioHabil calendario;
+        try {
+            calendario = CalendarioHabil.carga(archivo);
+        } finally {
+            Files.delete(archivo);
+        }
+        assertEquals(2030, calendario.getAnioDesde());
+        assertEquals(2031, calendario.getAnioHasta());
+        assertEquals(3, calendario.getCantidadFeriados());
+        // 2030-01-01 es martes: la primera semana tiene 3 hábiles.
+        long primerDia = CalendarioCivil.diaEpoca(2030, 1, 1);
+        assertEquals(3, calendario.diasHabilesEntreDias(primerDia, primerDia + 7));
+        long finDelCalendario = CalendarioCivil.diaEpoca(2032, 1, 1);
+        assertEquals(0, calendario.diasHabilesEntreDias(finDelCalendario - 1, finDelCalendario));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendario.diasHabilesEntreDias(primerDia - 1, primerDia));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendario.diasHabilesEntreDias(primerDia, finDelCalendario + 1));
+        assertThrows(IllegalArgumentException.class, () -> calendario.esDiaHabil(finDelCalendario));
+    }
+
+    /**
+     * Las líneas que no comienzan con una fecha válida se rechazan con su
+     * número de línea.
+     */
+    @Test
+    void rechazaLineasInvalidas() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> CalendarioHabil.carga(new StringReader("2030-01-01\n2030-02-30\n"), SANTIAGO));
+        assertTrue(error.getMessage().startsWith("línea 2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalendarioHabil.carga(new StringReader("01-01-2030\n"), SANTIAGO));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalendarioHabil.carga(new StringReader("# sin fechas\n"), SANTIAGO));
+    }
+
+    private static boolean esHabil(LocalDate dia, Set<LocalDate> feriados) {
+        return dia.getDayOfWeek() != DayOfWeek.SATURDAY && dia.getDayOfWeek() != DayOfWeek.SUNDAY
+                && !feriados.contains(dia);
+    }
+
+    private static Set<LocalDate> feriadosDelRecurso() throws IOException {
+        Set<LocalDate> feriados = new HashSet<>();
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+                CalendarioHabil.class.getResourceAsStream(CalendarioHabil.RECURSO_CHILE), StandardCharsets.UTF_8))) {
+            for (String linea = lector.readLine(); linea != null; linea = lector.readLine()) {
+                if (!linea.isEmpty() && !linea.startsWith("#")) {
+                    feriados.add(LocalDate.parse(linea.substring(0, 10)));
+                }
+            }
+        }
+        return feriados;
+    }
+}
@@ -0,0 +1,87 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CamposFechaTest {
+
+    private static final TimeZone ZONA_HORARIA = TimeZone.getTimeZone("America/Santiago");
+
+    /**
+     * Compara los campos empaquetados con GregorianCalendar en Santiago.
+     */
+    @Test
+    void igualQueGregorianCalendar() {
+        Calendar calendario = new GregorianCalendar(ZONA_HORARIA);
+        Random azar = new Random(13);
+        long desde = -2_208_988_800_000L; // 1900-01-01
+        long rango = 250L * 365 * 24 * 3600 * 1000;
+        for (int i = 0; i < 50_000; i++) {
+            long instante = desde + (long) (azar.nextDouble() * rango);
+            calendario.setTimeInMillis(instante);
+            long campos = CamposFecha.empaqueta(instante);
+            assertEquals(calendario.get(Calendar.YEAR), CamposFecha.anio(campos));
+            assertEquals(calendario.get(Calendar.MONTH) + 1, CamposFecha.mes(campos));
+            assertEquals(calendario.get(Calendar.DAY_OF_MONTH), CamposFecha.dia(campos));
+            assertEquals(calendario.get(Calendar.DAY_OF_YEAR), CamposFecha.diaDelAnio(campos));
+            assertEquals((calendario.get(Calendar.DAY_OF_WEEK) + 5) % 7 + 1, CamposFecha.diaDeLaSemana(campos));
+            assertEquals(calendario.get(Calendar.HOUR_OF_DAY), CamposFecha.hora(campos));
+            assertEquals(calendario.get(Calendar.MINUTE), CamposFecha.minuto(campos));
+            assertEquals(calendario.get(Calendar.SECOND), CamposFecha.segundo(campos));
+        }
+    }
+
+    /**
+     * Prueba el objeto inmutable con una fecha conocida.
+     */
+    @Test
+    void objetoInmutable() {
+        CamposFecha campos = CamposFecha.de(ParseadorFechas.parseaEs("31-12-2020 23:59:58"));
+        assertEquals(2020, campos.getAnio());
+        assertEquals(12, campos.getMes());
+        assertEquals(31, campos.getDia());
+        assertEquals(366, campos.getDiaDelAnio());
+        assertEquals(4, campos.getDiaDeLaSemana());
+        assertEquals(23, campos.getHora());
+        assertEquals(59, campos.getMinuto());
+        assertEquals(58, campos.getSegundo());
+        assertEquals(CamposFecha.de(campos.getEpochMilis()), campos);
+        assertEquals(CamposFecha.de(-1).getAnio(), 1969);
+    }
+
+    /**
+     * Prueba que las columnas coincidan con los campos empaquetados, en un
+     * lote que se reparte entre hilos.
+     */
+    @Test
+    void separaEnColumnas() {
+        Random azar = new Random(17);
+        long[] epocas = new long[50_000];
+        long instante = 1_600_000_000_000L;
+        for (int i = 0; i < epocas.length; i++) {
+            instante += azar.nextInt(600_000);
+            epocas[i] = i % 1000 == 0 ? azar.nextLong() % 4_000_000_000_000L : instante;
+        }
+        CamposFecha.Columnas columnas = CamposFecha.separa(epocas);
+        for (int i = 0; i < epocas.length; i++) {
+            long campos = CamposFecha.empaqueta(epocas[i]);
+            assertEquals(CamposFecha.anio(campos), columnas.anio[i]);
+            assertEquals(CamposFecha.mes(campos), columnas.mes[i]);
+            assertEquals(CamposFecha.dia(campos), columnas.dia[i]);
+            assertEquals(CamposFecha.diaDelAnio(campos), columnas.diaDelAnio[i]);
+            assertEquals(CamposFecha.diaDeLaSemana(campos), columnas.diaDeLaSemana[i]);
+            assertEquals(CamposFecha.hora(campos), columnas.hora[i]);
+            assertEquals(CamposFecha.minuto(campos), columnas.minuto[i]);
+            assertEquals(CamposFecha.segundo(campos), columnas.segundo[i]);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> CamposFecha.separa(epocas, new CamposFecha.Columnas(10)));
+    }
+}
@@ -0,0 +1,115 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContextoFechaTest {
+
+    /**
+     * El contexto de Santiago entrega lo mismo que los métodos estáticos.
+     */
+    @Test
+    void santiagoIgualQueEstaticos() {
+        Random azar = new Random(23);
+        long desde = 946_684_800_000L; // 2000-01-01
+        long rango = 40L * 365 * 24 * 3600 * 1000;
+        for (int i = 0; i < 20_000; i++) {
+            long instante = desde + (long) (azar.nextDouble() * rango) / 1000 * 1000;
+            String es = FormateadorFechas.formateaEs(instante);
+            assertEquals(es, ContextoFecha.SANTIAGO.formateaEs(instante));
+            assertEquals(FormateadorFechas.formateaEn(instante), ContextoFecha.SANTIAGO.formateaEn(instante));
+            assertEquals(PalabrasFecha.enPalabras(instante), ContextoFecha.SANTIAGO.enPalabras(instante));
+            assertEquals(ParseadorFechas.parseaEs(es), ContextoFecha.SANTIAGO.parseaEs(es));
+        }
+        assertSame(ContextoFecha.SANTIAGO, ContextoFecha.de("America/Santiago", "es-CL"));
+    }
+
+    /**
+     * En otra zona y localidad compara con SimpleDateFormat y con el formato
+     * largo de java.time, también alrededor de los cambios de horario.
+     */
+    @Test
+    void otraZonaYLocalidad() {
+        ContextoFecha nuevaYork = ContextoFecha.de("America/New_York", "en-US");
+        SimpleDateFormat es = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+        es.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        DateTimeFormatter largo = DateTimeFormatter.ofLocalizedDate(FormatStyle.FULL).withLocale(Locale.US);
+
+        Random azar = new Random(29);
+        long desde = 1_577_836_800_000L; // 2020-01-01
+        long rango = 5L * 365 * 24 * 3600 * 1000;
+        for (int i = 0; i < 20_000; i++) {
+            long instante = desde + (long) (azar.nextDouble() * rango) / 1000 * 1000;
+            String literal = es.format(new Date(instante));
+            assertEquals(literal, nuevaYork.formateaEs(instante));
+            // en la hora repetida de noviembre se toma la segunda, igual que en Santiago.
+            long parseado = nuevaYork.parseaEs(literal);
+            assertTrue(parseado == instante || parseado == instante + 3_600_000L, literal);
+            assertEquals(largo.format(Instant.ofEpochMilli(instante).atZone(ZoneId.of("America/New_York"))),
+                    nuevaYork.enPalabras(instante));
+        }
+        assertEquals("Saturday", nuevaYork.nombreDia(6));
+        assertEquals("July", nuevaYork.nombreMes(7));
+    }
+
+    /**
+     * Pedir dos veces la misma zona y localidad entrega la misma instancia.
+     */
+    @Test
+    void reutilizaContextos() {
+        ContextoFecha bogota = ContextoFecha.de(ZoneId.of("America/Bogota"), Locale.forLanguageTag("es-CO"));
+        assertSame(bogota, ContextoFecha.de("America/Bogota", "es-CO"));
+        assertNotSame(bogota, ContextoFecha.de("America/Bogota", "en-US"));
+        assertEquals("sábado 17 de julio de 2021", bogota.enPalabras(bogota.parseaEs("17-07-2021 12:00:00")));
+        assertEquals(TablaZonaHoraria.SANTIAGO, ContextoFecha.SANTIAGO.getZona());
+
+        assertThrows(IllegalArgumentException.class, () -> ContextoFecha.de("America/Nada", "es-CL"));
+        assertThrows(IllegalArgumentException.class, () -> ContextoFecha.de("America/Santiago", " "));
+    }
+
+    /**
+     * FechasUtil y FechasUtilDos entregan lo mismo con un contexto, y con el
+     * de Santiago lo mismo que sin contexto.
+     */
+    @Test
+    void utilidadesConContexto() {
+        ContextoFecha nuevaYork = ContextoFecha.de("America/New_York", "en-US");
+        Date fecha = new Date(ParseadorFechas.parseaEs("17-01-2021 01:30:00"));
+        assertEquals("Saturday, January 16, 2021", FechasUtil.parseaAFechaPalabras(fecha, nuevaYork));
+        assertEquals(FechasUtilDos.parseaAFechaPalabras(fecha, nuevaYork), FechasUtil.parseaAFechaPalabras(fecha, nuevaYork));
+        assertEquals(FechasUtil.parseaAFechaPalabras(fecha), FechasUtil.parseaAFechaPalabras(fecha, ContextoFecha.SANTIAGO));
+
+        long antes = System.currentTimeMillis() / 1000 * 1000;
+        long literal = nuevaYork.parseaEs(FechasUtil.obtenerFechaLocalLiteral(nuevaYork));
+        long despues = System.currentTimeMillis();
+        // la hora repetida de noviembre se parsea como la segunda.
+        assertTrue(literal >= antes && literal <= despues + 3_600_000L, String.valueOf(literal));
+        assertEquals(19, FechasUtil.obtenerFechaLocalLiteral(ContextoFecha.SANTIAGO).length());
+    }
+
+    /**
+     * Un formato compilado parsea en la zona del contexto.
+     */
+    @Test
+    void formatoEnLaZona() {
+        ContextoFecha utc = ContextoFecha.de("UTC", "es-CL");
+        assertEquals(1_639_439_999_000L, utc.parsea(FormatoFecha.compila("dd/MM/yyyy HH:mm:ss"), "13/12/2021 23:59:59"));
+        assertEquals(1_639_439_999_000L, utc.parseaEn("2021-12-13 23:59:59"));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, utc.parseaEs("31-02-2021 00:00:00"));
+    }
+}
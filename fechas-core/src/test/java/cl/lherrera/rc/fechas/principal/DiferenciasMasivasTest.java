@@ -0,0 +1,57 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiferenciasMasivasTest {
+
+    /**
+     * Compara las tres unidades con los métodos de a un par de FechasUtil,
+     * en un lote que se reparte entre hilos.
+     */
+    @Test
+    void igualQueDeAUnPar() {
+        Random azar = new Random(5);
+        int largo = 200_000;
+        long[] desde = new long[largo];
+        long[] hasta = new long[largo];
+        for (int i = 0; i < largo; i++) {
+            desde[i] = 1_600_000_000_000L + azar.nextInt(Integer.MAX_VALUE) * 10L;
+            hasta[i] = desde[i] + (azar.nextInt(2_000_000_000) - 1_000_000_000L);
+        }
+        long[] milis = new long[largo];
+        long[] segundos = new long[largo];
+        long[] dias = new long[largo];
+        DiferenciasMasivas.enMilisegundos(desde, hasta, milis);
+        DiferenciasMasivas.enSegundos(desde, hasta, segundos);
+        DiferenciasMasivas.enDias(desde, hasta, dias);
+        for (int i = 0; i < largo; i += 97) {
+            Date uno = new Date(desde[i]);
+            Date dos = new Date(hasta[i]);
+            assertEquals(Math.abs(desde[i] - hasta[i]), milis[i]);
+            assertEquals(FechasUtil.diferenciaFechasEnSegundos(uno, dos), segundos[i]);
+            assertEquals(FechasUtil.diferenciaDiasFechaLocal(uno, dos), dias[i]);
+        }
+    }
+
+    /**
+     * Prueba que no se trunque a int y que el destino pueda ser una entrada.
+     */
+    @Test
+    void sinTruncarYEnElMismoArreglo() {
+        long[] desde = {0, 100L * 365 * CalendarioCivil.MILIS_POR_DIA};
+        long[] hasta = {100L * 365 * CalendarioCivil.MILIS_POR_DIA, 0};
+        DiferenciasMasivas.enSegundos(desde, hasta, desde);
+        assertArrayEquals(new long[]{3_153_600_000L, 3_153_600_000L}, desde);
+        assertThrows(IllegalArgumentException.class,
+                () -> DiferenciasMasivas.enDias(new long[2], new long[3], new long[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> DiferenciasMasivas.enDias(new long[3], new long[3], new long[2]));
+    }
+}
@@ -0,0 +1,87 @@
+package cl.lherrera.rc.fechas.principal;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventosFechasTest {
+
+    /**
+     * Prueba que el archivo fechas.jfc se lea y configure los eventos.
+     */
+    @Test
+    void configuracionJfc() throws Exception {
+        try (Reader lector = new InputStreamReader(
+                getClass().getResourceAsStream("/fechas.jfc"), StandardCharsets.UTF_8)) {
+            Configuration configuracion = Configuration.create(lector);
+            assertEquals("Fechas", configuracion.getLabel());
+            assertEquals("20 us", configuracion.getSettings().get("cl.lherrera.rc.fechas.Parseo#threshold"));
+            assertEquals("1", configuracion.getSettings().get("cl.lherrera.rc.fechas.ValidacionFallida#muestreo"));
+        }
+    }
+
+    /**
+     * Prueba que una grabación reciba los eventos de validación, parseo,
+     * formateo y calendario, con sus campos.
+     */
+    @Test
+    void registraEventos() throws Exception {
+        Path archivo = Files.createTempFile("fechas", ".jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("cl.lherrera.rc.fechas.ValidacionFallida");
+            grabacion.enable("cl.lherrera.rc.fechas.Parseo").withThreshold(java.time.Duration.ZERO);
+            grabacion.enable("cl.lherrera.rc.fechas.Formateo").withThreshold(java.time.Duration.ZERO);
+            grabacion.enable("cl.lherrera.rc.fechas.CreacionCalendario");
+            grabacion.start();
+
+            assertThrows(RuntimeException.class, () -> FechasUtilDos.validaEstructuraFechaEs("13-12-2021 25:00:00"));
+            FechasUtil.parseaStringAFecha("13-12-2021 04:59:31");
+            FechasUtil.parseaAFechaPalabras(new Date(0));
+            FechasUtil.separaFechaEnArreglo(new Date(0));
+
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(archivo).stream()
+                .filter(e -> e.getEventType().getName().startsWith("cl.lherrera.rc.fechas."))
+                .collect(Collectors.toList());
+        Files.delete(archivo);
+
+        RecordedEvent fallida = primero(eventos, "ValidacionFallida");
+        assertEquals("dd-MM-yyyy HH:mm:ss", fallida.getString("formato"));
+        assertEquals("13-12-2021 25:00:00", fallida.getString("fecha"));
+        assertEquals(11, fallida.getInt("posicion"));
+
+        RecordedEvent parseo = primero(eventos, "Parseo");
+        assertEquals("13-12-2021 04:59:31", parseo.getString("literal"));
+        assertTrue(parseo.getBoolean("valida"));
+
+        assertEquals("miércoles 31 de diciembre de 1969", primero(eventos, "Formateo").getString("salida"));
+        RecordedEvent calendario = primero(eventos, "CreacionCalendario");
+        assertEquals("FechasUtil.separaFechaEnArreglo", calendario.getString("origen"));
+        assertFalse(calendario.getStackTrace().getFrames().isEmpty());
+    }
+
+    private static RecordedEvent primero(List<RecordedEvent> eventos, String nombre) {
+        return eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("cl.lherrera.rc.fechas." + nombre))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("sin evento " + nombre));
+    }
+}
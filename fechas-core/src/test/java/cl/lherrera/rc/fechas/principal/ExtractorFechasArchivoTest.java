@@ -0,0 +1,86 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExtractorFechasArchivoTest {
+
+    /**
+     * Genera un log con líneas de distinto largo, en ambos formatos y con
+     * líneas sin fecha, y lo extrae con tramos pequeños para que los cortes
+     * caigan en medio de las líneas. Se compara contra una lectura simple
+     * línea por línea.
+     *
+     * @throws IOException por los archivos temporales.
+     */
+    @Test
+    void extraeIgualQueLineaALinea() throws IOException {
+        Random azar = new Random(11);
+        StringBuilder log = new StringBuilder();
+        List<long[]> esperados = new ArrayList<>();
+        int desplazamiento = 0;
+        for (int i = 0; i < 5_000; i++) {
+            String linea;
+            long epochMilis = ParseadorFechas.FECHA_INVALIDA;
+            String fecha = String.format("%02d-%02d-%04d %02d:%02d:%02d",
+                    1 + azar.nextInt(28), 1 + azar.nextInt(12), 2000 + azar.nextInt(25),
+                    azar.nextInt(24), azar.nextInt(60), azar.nextInt(60));
+            switch (azar.nextInt(4)) {
+                case 0:
+                    linea = "INFO " + fecha + " [main] mensaje " + i;
+                    epochMilis = ParseadorFechas.parseaEs(fecha);
+                    break;
+                case 1:
+                    String fechaEn = fecha.substring(6, 10) + "-" + fecha.substring(3, 5) + "-"
+                            + fecha.substring(0, 2) + fecha.substring(10);
+                    linea = fechaEn + " ERROR 12-34 algo falló";
+                    epochMilis = ParseadorFechas.parseaEn(fechaEn);
+                    break;
+                case 2:
+                    linea = "sin fecha 99-99-9999 99:99:99";
+                    break;
+                default:
+                    linea = "";
+            }
+            if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                esperados.add(new long[]{desplazamiento, epochMilis});
+            }
+            log.append(linea).append('\n');
+            desplazamiento += linea.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+
+        Path entrada = Files.createTempFile("fechas", ".log");
+        Path salida = Files.createTempFile("fechas", ".bin");
+        try {
+            Files.write(entrada, log.toString().getBytes(StandardCharsets.UTF_8));
+            ExtractorFechasArchivo.Resumen resumen = ExtractorFechasArchivo.extrae(entrada, salida, 4096);
+
+            assertEquals(5_000, resumen.getLineas());
+            assertEquals(esperados.size(), resumen.getFechas());
+
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(salida));
+            byte[] cabecera = new byte[8];
+            bytes.get(cabecera);
+            assertArrayEquals(ExtractorFechasArchivo.CABECERA, cabecera);
+            for (long[] esperado : esperados) {
+                assertEquals(Arrays.toString(esperado), Arrays.toString(new long[]{bytes.getLong(), bytes.getLong()}));
+            }
+            assertEquals(0, bytes.remaining());
+        } finally {
+            Files.deleteIfExists(entrada);
+            Files.deleteIfExists(salida);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FechasMasivasTest {
+
+    /**
+     * Genera un lote con fechas válidas e inválidas mezcladas.
+     */
+    private static String[] generaLote(int largo) {
+        Random azar = new Random(5);
+        String[] lote = new String[largo];
+        for (int i = 0; i < largo; i++) {
+            int dia = 1 + azar.nextInt(31);
+            int mes = 1 + azar.nextInt(12);
+            lote[i] = String.format("%02d-%02d-%04d %02d:%02d:%02d",
+                    dia, mes, 1990 + azar.nextInt(40), azar.nextInt(25), azar.nextInt(60), azar.nextInt(60));
+        }
+        return lote;
+    }
+
+    /**
+     * Prueba que el lote paralelo entregue lo mismo que el parseo uno a uno,
+     * incluyendo el mapa de válidas.
+     */
+    @Test
+    void parseaEsIgualQueUnoAUno() {
+        String[] lote = generaLote(100_003);
+        long[] epocas = new long[lote.length];
+        BitSet validas = new BitSet();
+        validas.set(lote.length + 10);
+
+        int cantidad = FechasMasivas.parseaEs(lote, epocas, validas);
+
+        int esperadas = 0;
+        for (int i = 0; i < lote.length; i++) {
+            long esperado = ParseadorFechas.parseaEs(lote[i]);
+            assertEquals(esperado, epocas[i], lote[i]);
+            assertEquals(esperado != ParseadorFechas.FECHA_INVALIDA, validas.get(i), lote[i]);
+            if (esperado != ParseadorFechas.FECHA_INVALIDA) {
+                esperadas++;
+            }
+        }
+        assertEquals(esperadas, cantidad);
+        assertFalse(esperadas == 0 || esperadas == lote.length);
+    }
+
+    /**
+     * Prueba las listas, con y sin acceso aleatorio.
+     */
+    @Test
+    void parseaEsListas() {
+        List<String> lote = Arrays.asList(generaLote(20_000));
+        long[] desdeArreglo = new long[lote.size()];
+        long[] desdeLista = new long[lote.size()];
+        long[] desdeEnlazada = new long[lote.size()];
+        BitSet validas = new BitSet();
+
+        int cantidad = FechasMasivas.parseaEs(lote.toArray(new String[0]), desdeArreglo, validas);
+        assertEquals(cantidad, FechasMasivas.parseaEs(lote, desdeLista, validas));
+        assertEquals(cantidad, FechasMasivas.parseaEs(new LinkedList<>(lote), desdeEnlazada, validas));
+        assertEquals(Arrays.toString(desdeArreglo), Arrays.toString(desdeLista));
+        assertEquals(Arrays.toString(desdeArreglo), Arrays.toString(desdeEnlazada));
+    }
+}
@@ -0,0 +1,54 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FechasUtilTest {
+
+    /**
+     * Diferencia en segundos entre dos fechas del mismo minuto, sin
+     * importar el orden.
+     */
+    @Test
+    void diferenciaFechasEnSegundos() {
+        Date uno = FechasUtil.parseaStringAFecha("01-01-2020 23:59:59");
+        Date dos = FechasUtil.parseaStringAFecha("01-01-2020 23:59:57");
+        assertEquals(2, FechasUtil.diferenciaFechasEnSegundos(uno, dos));
+        assertEquals(2, FechasUtil.diferenciaFechasEnSegundos(dos, uno));
+    }
+
+    /**
+     * Diferencia en días de un año bisiesto, a la misma hora.
+     */
+    @Test
+    void diferenciaDiasFechaLocal() {
+        Date uno = FechasUtil.parseaStringAFecha("01-01-2020 23:59:59");
+        Date dos = FechasUtil.parseaStringAFecha("31-12-2020 23:59:59");
+        assertEquals(365, FechasUtil.diferenciaDiasFechaLocal(uno, dos));
+    }
+
+    /**
+     * El tiempo transcurrido desde una fecha pasada tiene días, horas,
+     * minutos y segundos.
+     */
+    @Test
+    void obtenerDiferenciaLiteralConFechaActual() {
+        String diferencia = FechasUtil.obtenerDiferenciaLiteralConFechaActual(
+                FechasUtil.parseaStringAFecha("18-07-2020 11:34:00"));
+        assertTrue(diferencia.matches("\\d+ días, \\d+ horas?, \\d+ minutos? y \\d+ segundos?"), diferencia);
+    }
+
+    /**
+     * La fecha en palabras queda en español aunque la JVM tenga otra
+     * localidad.
+     */
+    @Test
+    void parseaAFechaPalabras() {
+        Date fecha = FechasUtil.parseaStringAFecha("13-12-2021 23:59:59");
+        assertEquals("lunes 13 de diciembre de 2021", FechasUtil.parseaAFechaPalabras(fecha));
+    }
+}
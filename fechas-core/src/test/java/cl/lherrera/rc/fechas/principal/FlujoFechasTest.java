@@ -0,0 +1,182 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlujoFechasTest {
+
+    /**
+     * Líneas al azar, una de cada diez inválida, y lo que debería salir de
+     * ellas según ParseadorFechas.
+     */
+    private static final class Entrada {
+        final List<String> lineas = new ArrayList<>();
+        long[] esperadas;
+        int invalidas;
+
+        Entrada(int cantidad, long semilla) {
+            Random azar = new Random(semilla);
+            long desde = 1_609_459_200_000L; // 2021-01-01
+            long[] validas = new long[cantidad];
+            int v = 0;
+            for (int i = 0; i < cantidad; i++) {
+                long instante = desde + (long) (azar.nextDouble() * 3L * 365 * 24 * 3600 * 1000) / 1000 * 1000;
+                String linea = FormateadorFechas.formateaEs(instante);
+                if (i % 10 == 3) {
+                    linea = i % 20 == 3 ? "31-02-2021 00:00:00" : "linea " + i;
+                    invalidas++;
+                } else {
+                    validas[v++] = ParseadorFechas.parseaEs(linea);
+                }
+                lineas.add(linea);
+            }
+            esperadas = Arrays.copyOf(validas, v);
+        }
+
+        String texto(String salto) {
+            return String.join(salto, lineas) + salto;
+        }
+    }
+
+    /**
+     * Las tres fuentes entregan las fechas válidas en orden y mandan las
+     * inválidas al canal lateral con su código.
+     */
+    @Test
+    void fuentesSecuenciales() {
+        Entrada entrada = new Entrada(5_000, 31);
+        ConcurrentLinkedQueue<String> invalidas = new ConcurrentLinkedQueue<>();
+
+        assertArrayEquals(entrada.esperadas,
+                FlujoFechas.parseaEs(entrada.lineas.stream(), (linea, codigo) -> invalidas.add(linea)).toArray());
+        assertEquals(entrada.invalidas, invalidas.size());
+
+        invalidas.clear();
+        assertArrayEquals(entrada.esperadas,
+                FlujoFechas.parseaEs(new StringReader(entrada.texto("\n")), (linea, codigo) -> invalidas.add(linea))
+                        .toArray());
+        assertEquals(entrada.invalidas, invalidas.size());
+
+        invalidas.clear();
+        byte[] bytes = entrada.texto("\r\n").getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(entrada.esperadas,
+                FlujoFechas.parseaEs(new ByteArrayInputStream(bytes), (linea, codigo) -> invalidas.add(linea))
+                        .toArray());
+        assertEquals(entrada.invalidas, invalidas.size());
+        assertTrue(invalidas.contains("31-02-2021 00:00:00"));
+    }
+
+    /**
+     * El código de error del canal lateral es el de ValidadorFechas.
+     */
+    @Test
+    void codigoDeError() {
+        List<Integer> codigos = new ArrayList<>();
+        long[] fechas = FlujoFechas.parseaEs(new StringReader("13-12-2021 23:59:59\n31-02-2021 00:00:00\nhola"),
+                (linea, codigo) -> codigos.add(codigo)).toArray();
+        assertEquals(1, fechas.length);
+        assertEquals(Arrays.asList(ValidadorFechas.validaFechaEs("31-02-2021 00:00:00"),
+                ValidadorFechas.validaFechaEs("hola")), codigos);
+        assertEquals(0, FlujoFechas.parseaEs(new StringReader(""), null).count());
+    }
+
+    /**
+     * En paralelo el resultado es el mismo y en el mismo orden, aunque la
+     * entrada se lea en lotes.
+     */
+    @Test
+    void paraleloIgualQueSecuencial() {
+        Entrada entrada = new Entrada(200_000, 37);
+        byte[] bytes = entrada.texto("\n").getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(entrada.esperadas,
+                FlujoFechas.parseaEs(new ByteArrayInputStream(bytes), null).parallel().toArray());
+        assertArrayEquals(entrada.esperadas,
+                FlujoFechas.parseaEs(new StringReader(entrada.texto("\n")), null).parallel().toArray());
+        assertArrayEquals(entrada.esperadas,
+                FlujoFechas.parseaEs(entrada.lineas.parallelStream(), null).toArray());
+        assertEquals(entrada.esperadas.length,
+                FlujoFechas.parseaEs(new ByteArrayInputStream(bytes), null).parallel().count());
+    }
+
+    /**
+     * Un lote de bytes se vuelve a dividir en saltos de línea, sin perder ni
+     * repetir fechas.
+     */
+    @Test
+    void divideEnSaltosDeLinea() {
+        Entrada entrada = new Entrada(50_000, 41);
+        byte[] bytes = entrada.texto("\n").getBytes(StandardCharsets.UTF_8);
+        Spliterator.OfLong flujo = FlujoFechas.parseaEs(new ByteArrayInputStream(bytes), null).spliterator();
+        Spliterator.OfLong lote = flujo.trySplit();
+        assertNotNull(lote);
+        Spliterator.OfLong mitad = lote.trySplit();
+        assertNotNull(mitad);
+
+        LongStream.Builder todas = LongStream.builder();
+        mitad.forEachRemaining(todas);
+        lote.forEachRemaining(todas);
+        flujo.forEachRemaining(todas);
+        assertArrayEquals(entrada.esperadas, todas.build().toArray());
+    }
+
+    /**
+     * Cerrar el flujo cierra la entrada.
+     */
+    @Test
+    void cerrarCierraLaEntrada() {
+        AtomicBoolean cerrada = new AtomicBoolean();
+        ByteArrayInputStream bytes = new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                cerrada.set(true);
+            }
+        };
+        try (LongStream fechas = FlujoFechas.parseaEs(bytes, null)) {
+            assertEquals(0, fechas.count());
+        }
+        assertTrue(cerrada.get());
+    }
+
+    /**
+     * Los Collector calculan mínimo, máximo y cantidad por día.
+     */
+    @Test
+    void collectors() {
+        Entrada entrada = new Entrada(20_000, 43);
+        long[] ordenadas = entrada.esperadas.clone();
+        Arrays.sort(ordenadas);
+
+        assertEquals(OptionalLong.of(ordenadas[0]),
+                FlujoFechas.parseaEs(entrada.lineas.stream(), null).boxed().collect(FlujoFechas.minimo()));
+        assertEquals(OptionalLong.of(ordenadas[ordenadas.length - 1]),
+                FlujoFechas.parseaEs(entrada.lineas.parallelStream(), null).boxed().collect(FlujoFechas.maximo()));
+        assertEquals(OptionalLong.empty(), LongStream.empty().boxed().collect(FlujoFechas.minimo()));
+
+        SortedMap<LocalDate, Long> esperado = new java.util.TreeMap<>(Arrays.stream(entrada.esperadas).boxed()
+                .collect(Collectors.groupingBy(
+                        e -> LocalDate.ofEpochDay(TablaZonaHoraria.SANTIAGO.diaEpocaLocal(e)), Collectors.counting())));
+        assertEquals(esperado, FlujoFechas.parseaEs(entrada.lineas.parallelStream(), null).boxed()
+                .collect(FlujoFechas.porDia()));
+        assertEquals(esperado, ResumenFechas.de(FlujoFechas.parseaEs(entrada.lineas.parallelStream(), null)).porDia());
+    }
+}
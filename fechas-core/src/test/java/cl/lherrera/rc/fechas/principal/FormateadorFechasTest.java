@@ -0,0 +1,93 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FormateadorFechasTest {
+
+    /**
+     * Compara el formateador con SimpleDateFormat en zona America/Santiago,
+     * para instantes al azar entre 1900 y 2100.
+     */
+    @Test
+    void formateaIgualQueSimpleDateFormat() {
+        SimpleDateFormat formatoEs = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+        SimpleDateFormat formatoEn = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        TimeZone zonaHoraria = TimeZone.getTimeZone("America/Santiago");
+        formatoEs.setTimeZone(zonaHoraria);
+        formatoEn.setTimeZone(zonaHoraria);
+
+        Random azar = new Random(13);
+        long desde = -2_208_988_800_000L; // 1900-01-01
+        long rango = 200L * 365 * 24 * 3600 * 1000;
+        for (int i = 0; i < 50_000; i++) {
+            long instante = desde + (long) (azar.nextDouble() * rango);
+            Date fecha = new Date(instante);
+            assertEquals(formatoEs.format(fecha), FormateadorFechas.formateaEs(instante));
+            assertEquals(formatoEn.format(fecha), FormateadorFechas.formateaEn(instante));
+        }
+    }
+
+    /**
+     * Prueba la escritura en los distintos destinos, a continuación de lo
+     * que ya contienen.
+     */
+    @Test
+    void escribeEnDestinos() throws IOException {
+        long instante = 1_607_828_431_000L; // 13-12-2020 00:00:31 en Santiago
+
+        char[] arreglo = new char[21];
+        arreglo[0] = '[';
+        int fin = FormateadorFechas.escribeEs(instante, arreglo, 1);
+        arreglo[fin] = ']';
+        assertEquals("[13-12-2020 00:00:31]", new String(arreglo));
+
+        StringBuilder constructor = new StringBuilder("fecha: ");
+        FormateadorFechas.escribeEn(instante, constructor);
+        assertEquals("fecha: 2020-12-13 00:00:31", constructor.toString());
+
+        StringWriter escritor = new StringWriter();
+        FormateadorFechas.escribeEs(instante, escritor);
+        assertEquals("13-12-2020 00:00:31", escritor.toString());
+    }
+
+    /**
+     * Los años -1 y 10000 no caben en cuatro dígitos: se rechazan antes de
+     * tocar el destino.
+     */
+    @Test
+    void rechazaAniosFueraDeRango() {
+        assertEquals("0000-01-01 00:00:00", FormateadorFechas.formateaEn(FormateadorFechas.MINIMO));
+        assertEquals("31-12-9999 23:59:59", FormateadorFechas.formateaEs(FormateadorFechas.MAXIMO));
+
+        long anioMenosUno = FormateadorFechas.MINIMO - 1;
+        long anioDiezMil = FormateadorFechas.MAXIMO + 1;
+        for (long instante : new long[]{anioMenosUno, anioDiezMil, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertThrows(IllegalArgumentException.class, () -> FormateadorFechas.formateaEs(instante));
+            assertThrows(IllegalArgumentException.class, () -> FormateadorFechas.formateaEn(instante));
+            StringBuilder constructor = new StringBuilder("fecha: ");
+            assertThrows(IllegalArgumentException.class, () -> FormateadorFechas.escribeEs(instante, constructor));
+            assertThrows(IllegalArgumentException.class, () -> FormateadorFechas.escribeEn(instante, constructor));
+            assertEquals("fecha: ", constructor.toString());
+            StringWriter escritor = new StringWriter();
+            assertThrows(IllegalArgumentException.class, () -> FormateadorFechas.escribeEs(instante, escritor));
+            assertEquals("", escritor.toString());
+        }
+        char[] arreglo = new char[FormateadorFechas.LARGO];
+        assertThrows(IllegalArgumentException.class,
+                () -> FormateadorFechas.escribeEs(-1, 1, 1, 0, 0, 0, arreglo, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> FormateadorFechas.escribeEn(10_000, 1, 1, 0, 0, 0, arreglo, 0));
+        assertArrayEquals(new char[FormateadorFechas.LARGO], arreglo);
+    }
+}
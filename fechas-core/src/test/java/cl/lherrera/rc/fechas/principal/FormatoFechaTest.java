@@ -0,0 +1,57 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FormatoFechaTest {
+
+    /**
+     * Los formatos compilados EN y ES parsean lo mismo que ParseadorFechas,
+     * incluidos los literales con errores.
+     */
+    @Test
+    void igualQueParseadorFechas() {
+        Random azar = new Random(16);
+        for (int i = 0; i < 20_000; i++) {
+            String es = String.format("%02d-%02d-%04d %02d:%02d:%02d", azar.nextInt(33), azar.nextInt(14),
+                    1890 + azar.nextInt(150), azar.nextInt(25), azar.nextInt(61), azar.nextInt(61));
+            char[] en = (es.substring(6, 10) + "-" + es.substring(3, 5) + "-" + es.substring(0, 2) + es.substring(10))
+                    .toCharArray();
+            if (azar.nextInt(10) == 0) {
+                en[azar.nextInt(en.length)] = "x/ 9:-".charAt(azar.nextInt(6));
+            }
+            assertEquals(ParseadorFechas.parseaEs(es), FormatoFecha.ES.parsea(es), es);
+            assertEquals(ParseadorFechas.parseaEn(new String(en)), FormatoFecha.EN.parsea(new String(en)), new String(en));
+        }
+    }
+
+    /**
+     * Campos opcionales, milisegundos y letras literales entre comillas.
+     */
+    @Test
+    void otrosPatrones() {
+        long esperado = ParseadorFechas.parseaEs("13-12-2021 23:59:58");
+        assertEquals(esperado + 125, FormatoFecha.compila("yyyy-MM-dd'T'HH:mm:ss.SSS").parsea("2021-12-13T23:59:58.125"));
+        assertEquals(esperado, FormatoFecha.compila("yyyyMMddHHmmss").parsea("20211213235958"));
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 00:00:00"), FormatoFecha.compila("dd/MM/yyyy").parsea("13/12/2021"));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, FormatoFecha.compila("dd/MM/yyyy").parsea("13-12-2021"));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, FormatoFecha.compila("dd/MM/yyyy").parsea("31/02/2021"));
+        assertEquals(10, FormatoFecha.compila("dd/MM/yyyy").getLargo());
+    }
+
+    /**
+     * Los patrones con letras no soportadas o sin año, mes o día no compilan.
+     */
+    @Test
+    void rechazaPatronesInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> FormatoFecha.compila("yyyy-MM"));
+        assertThrows(IllegalArgumentException.class, () -> FormatoFecha.compila("yy-MM-dd"));
+        assertThrows(IllegalArgumentException.class, () -> FormatoFecha.compila("yyyy-MM-dd EEE"));
+        assertThrows(IllegalArgumentException.class, () -> FormatoFecha.compila("yyyy-MM-dd dd"));
+        assertThrows(IllegalArgumentException.class, () -> FormatoFecha.compila("yyyy-MM-dd'T"));
+    }
+}
@@ -0,0 +1,54 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramaLatenciaTest {
+
+    /**
+     * Prueba que cada valor caiga en una cubeta cuyos límites lo contengan.
+     */
+    @Test
+    void cubetasContienenAlValor() {
+        Random azar = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            long valor = (azar.nextLong() >>> 1) >>> azar.nextInt(63);
+            int cubeta = HistogramaLatencia.cubeta(valor);
+            assertTrue(valor <= HistogramaLatencia.limiteSuperior(cubeta), "valor " + valor);
+            assertTrue(cubeta == 0 || valor > HistogramaLatencia.limiteSuperior(cubeta - 1), "valor " + valor);
+        }
+        assertEquals(Long.MAX_VALUE, HistogramaLatencia.limiteSuperior(HistogramaLatencia.cubeta(Long.MAX_VALUE)));
+    }
+
+    /**
+     * Prueba los percentiles con un error relativo menor a 12,5%.
+     */
+    @Test
+    void percentiles() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 1; i <= 10_000; i++) {
+            histograma.registra(i * 100L);
+        }
+        assertEquals(10_000, histograma.getMuestras());
+        assertEquals(500_050, histograma.getPromedio(), 0.001);
+        assertEquals(1_000_000, histograma.getMaximo());
+        assertCercano(500_000, histograma.percentil(50));
+        assertCercano(990_000, histograma.percentil(99));
+        assertEquals(1_000_000, histograma.percentil(100));
+        assertEquals(100, histograma.percentil(0) / 100 * 100);
+
+        histograma.reinicia();
+        assertEquals(0, histograma.getMuestras());
+        assertEquals(0, histograma.percentil(99));
+        assertThrows(IllegalArgumentException.class, () -> histograma.percentil(101));
+    }
+
+    private static void assertCercano(long esperado, long obtenido) {
+        assertTrue(Math.abs(obtenido - esperado) <= esperado / 8, "esperado " + esperado + ", obtenido " + obtenido);
+    }
+}
@@ -0,0 +1,191 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramaTemporalTest {
+
+    private static final ZoneId SANTIAGO = ZoneId.of("America/Santiago");
+
+    /**
+     * Instantes al azar durante 2021, con sus dos cambios de horario.
+     */
+    private static long[] instantes(int cantidad, long semilla) {
+        Random azar = new Random(semilla);
+        long desde = 1_609_459_200_000L; // 2021-01-01
+        long[] instantes = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            instantes[i] = desde + (long) (azar.nextDouble() * 365L * 24 * 3600 * 1000);
+        }
+        return instantes;
+    }
+
+    /**
+     * Por minuto, hora y día cuenta lo mismo que truncar con java.time, y la
+     * hora repetida de abril queda en dos cubetas.
+     */
+    @Test
+    void igualQueJavaTime() {
+        long[] instantes = instantes(100_000, 13);
+        for (ChronoUnit unidad : new ChronoUnit[]{ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS}) {
+            HistogramaTemporal histograma = new HistogramaTemporal(unidad == ChronoUnit.MINUTES
+                    ? HistogramaTemporal.Resolucion.MINUTO
+                    : unidad == ChronoUnit.HOURS ? HistogramaTemporal.Resolucion.HORA : HistogramaTemporal.Resolucion.DIA);
+            Map<Instant, Long> esperado = new HashMap<>();
+            for (long instante : instantes) {
+                histograma.registra(instante);
+                Instant inicio = Instant.ofEpochMilli(instante).atZone(SANTIAGO).truncatedTo(unidad).toInstant();
+                esperado.merge(inicio, 1L, Long::sum);
+            }
+            HistogramaTemporal.Instantanea instantanea = histograma.instantanea();
+            Map<Instant, Long> contado = new HashMap<>();
+            for (int i = 0; i < instantanea.getCubetas(); i++) {
+                if (instantanea.cantidad(i) != 0) {
+                    contado.put(Instant.ofEpochMilli(instantanea.inicio(i)), instantanea.cantidad(i));
+                }
+            }
+            assertEquals(esperado, contado, unidad.toString());
+            assertEquals(instantes.length, instantanea.getTotal());
+            for (int i = 0; i < 1000; i++) {
+                Instant inicio = Instant.ofEpochMilli(instantes[i]).atZone(SANTIAGO).truncatedTo(unidad).toInstant();
+                assertEquals(esperado.get(inicio), instantanea.cantidadEn(instantes[i]));
+            }
+        }
+    }
+
+    /**
+     * Los días de cambio de horario duran 25 y 23 horas, y agrupar horas en
+     * días da lo mismo que contar por día.
+     */
+    @Test
+    void diasDeVeinticincoYVeintitresHoras() {
+        HistogramaTemporal porHora = new HistogramaTemporal(HistogramaTemporal.Resolucion.HORA);
+        HistogramaTemporal porDia = new HistogramaTemporal(HistogramaTemporal.Resolucion.DIA);
+        long desde = ParseadorFechas.parseaEs("01-04-2021 00:00:00");
+        long hasta = ParseadorFechas.parseaEs("10-09-2021 00:00:00");
+        for (long instante = desde; instante < hasta; instante += 60_000L) {
+            porHora.registra(instante);
+            porDia.registra(instante);
+        }
+        HistogramaTemporal.Instantanea dias = porDia.instantanea();
+        assertEquals(dias.porDia(), porHora.instantanea().agrupa(HistogramaTemporal.Resolucion.DIA).porDia());
+
+        Map<LocalDate, Long> horasPorDia = new HashMap<>();
+        for (int i = 0; i < dias.getCubetas(); i++) {
+            LocalDate dia = dias.inicioLocal(i).toLocalDate();
+            long horas = Duration.ofMillis(dias.fin(i) - dias.inicio(i)).toHours();
+            ZonedDateTime medianoche = dia.atStartOfDay(SANTIAGO);
+            assertEquals(Duration.between(medianoche, dia.plusDays(1).atStartOfDay(SANTIAGO)).toHours(), horas);
+            assertEquals(horas * 60, dias.cantidad(i), dia.toString());
+            horasPorDia.put(dia, horas);
+        }
+        assertEquals(25L, horasPorDia.get(LocalDate.of(2021, 4, 3)));
+        assertEquals(23L, horasPorDia.get(LocalDate.of(2021, 9, 5)));
+
+        HistogramaTemporal.Instantanea horas = porHora.instantanea();
+        long veintitres = 0;
+        for (int i = 0; i < horas.getCubetas(); i++) {
+            if (horas.inicioLocal(i).toLocalDate().equals(LocalDate.of(2021, 4, 3))
+                    && horas.inicioLocal(i).getHour() == 23) {
+                veintitres++;
+                assertEquals(60, horas.cantidad(i));
+            }
+        }
+        assertEquals(2, veintitres);
+    }
+
+    /**
+     * Varios hilos registran mientras otro lee instantáneas: el total nunca
+     * baja y al final están todos.
+     */
+    @Test
+    void registroConcurrente() throws InterruptedException {
+        HistogramaTemporal histograma = new HistogramaTemporal(HistogramaTemporal.Resolucion.MINUTO);
+        long[] instantes = instantes(400_000, 17);
+        int hilos = 4;
+        CountDownLatch listos = new CountDownLatch(hilos);
+        Thread[] escritores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int desde = h * instantes.length / hilos;
+            int hasta = (h + 1) * instantes.length / hilos;
+            escritores[h] = new Thread(() -> {
+                HistogramaTemporal.Parte parte = histograma.parte();
+                for (int i = desde; i < hasta; i += 1000) {
+                    parte.registra(instantes, i, Math.min(hasta, i + 1000));
+                }
+                listos.countDown();
+            });
+            escritores[h].start();
+        }
+        AtomicBoolean ordenado = new AtomicBoolean(true);
+        long anterior = 0;
+        while (listos.getCount() > 0) {
+            long total = histograma.instantanea().getTotal();
+            if (total < anterior) {
+                ordenado.set(false);
+            }
+            anterior = total;
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+        assertTrue(ordenado.get());
+        assertEquals(instantes.length, histograma.instantanea().getTotal());
+
+        HistogramaTemporal paralelo = new HistogramaTemporal(HistogramaTemporal.Resolucion.MINUTO);
+        paralelo.registra(LongStream.of(instantes).parallel());
+        HistogramaTemporal.Instantanea esperada = histograma.instantanea();
+        HistogramaTemporal.Instantanea obtenida = paralelo.instantanea();
+        assertEquals(esperada.getCubetas(), obtenida.getCubetas());
+        for (int i = 0; i < esperada.getCubetas(); i++) {
+            assertEquals(esperada.cantidad(i), obtenida.cantidad(i));
+        }
+    }
+
+    /**
+     * Combinar instantáneas suma por cubeta; las inválidas se ignoran.
+     */
+    @Test
+    void combina() {
+        long[] instantes = instantes(10_000, 19);
+        HistogramaTemporal todo = new HistogramaTemporal(HistogramaTemporal.Resolucion.HORA);
+        HistogramaTemporal uno = new HistogramaTemporal(HistogramaTemporal.Resolucion.HORA);
+        HistogramaTemporal otro = new HistogramaTemporal(HistogramaTemporal.Resolucion.HORA);
+        Arrays.sort(instantes);
+        todo.registra(instantes, 0, instantes.length);
+        uno.registra(instantes, 0, 3_000);
+        otro.registra(instantes, 3_000, instantes.length);
+        otro.registra(ParseadorFechas.FECHA_INVALIDA);
+
+        HistogramaTemporal.Instantanea suma = uno.instantanea().combina(otro.instantanea());
+        assertEquals(todo.instantanea().porDia(), suma.porDia());
+        assertEquals(instantes.length, suma.getTotal());
+        assertEquals(0, new HistogramaTemporal(HistogramaTemporal.Resolucion.HORA).instantanea().getCubetas());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> suma.combina(new HistogramaTemporal(HistogramaTemporal.Resolucion.DIA).instantanea()));
+        assertThrows(IllegalArgumentException.class, () -> suma.agrupa(HistogramaTemporal.Resolucion.MINUTO));
+        assertThrows(IllegalArgumentException.class, () -> {
+            HistogramaTemporal.Parte parte = new HistogramaTemporal(HistogramaTemporal.Resolucion.MINUTO).parte();
+            parte.accept(0);
+            parte.accept((HistogramaTemporal.MAXIMO_CUBETAS + 1L) * 60_000L);
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceFechasTest {
+
+    /**
+     * Instantes al azar de 2021 con segundos enteros, para que haya
+     * repetidos, y algunos inválidos.
+     */
+    private static long[] instantes(int cantidad, long semilla) {
+        Random azar = new Random(semilla);
+        long desde = 1_609_459_200_000L; // 2021-01-01
+        long[] instantes = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            instantes[i] = i % 50 == 7
+                    ? ParseadorFechas.FECHA_INVALIDA
+                    : desde + azar.nextInt(365 * 24 * 3600 / 50) * 50_000L + azar.nextInt(3) * 250L;
+        }
+        return instantes;
+    }
+
+    /**
+     * Cotas, cantidades y rangos iguales a recorrer todo el arreglo.
+     */
+    @Test
+    void igualQueRecorrerTodo() {
+        long[] instantes = instantes(20_000, 47);
+        IndiceFechas indice = IndiceFechas.de(instantes);
+        long[] validos = Arrays.stream(instantes).filter(e -> e != ParseadorFechas.FECHA_INVALIDA).sorted().toArray();
+        assertEquals(validos.length, indice.tamanio());
+
+        Random azar = new Random(53);
+        for (int k = 0; k < 2_000; k++) {
+            long a = validos[azar.nextInt(validos.length)] + azar.nextInt(3) - 1;
+            long b = a + (long) azar.nextInt(40 * 24 * 3600) * 1000;
+            long dentro = Arrays.stream(validos).filter(e -> e >= a && e <= b).count();
+            assertEquals(dentro, indice.cantidadEntre(a, b));
+            assertArrayEquals(Arrays.stream(validos).filter(e -> e >= a && e <= b).toArray(), indice.entre(a, b).toArray());
+            assertEquals(Arrays.stream(validos).filter(e -> e < a).count(), indice.cotaInferior(a));
+            assertEquals(Arrays.stream(validos).filter(e -> e <= a).count(), indice.cotaSuperior(a));
+
+            int cercano = indice.masCercano(a);
+            long distancia = Arrays.stream(validos).map(e -> Math.abs(e - a)).min().getAsLong();
+            assertEquals(distancia, Math.abs(indice.valor(cercano) - a));
+        }
+        assertEquals(0, indice.cantidadEntre(Long.MAX_VALUE, Long.MIN_VALUE));
+        assertEquals(validos.length, indice.cantidadEntre(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(0, indice.masCercano(Long.MIN_VALUE));
+        assertEquals(validos.length - 1, indice.masCercano(Long.MAX_VALUE));
+    }
+
+    /**
+     * Los límites en literal incluyen todo el segundo de término, y las
+     * posiciones llevan a los registros originales.
+     */
+    @Test
+    void limitesEnLiteral() {
+        long[] instantes = instantes(10_000, 59);
+        IndiceFechas indice = IndiceFechas.de(instantes);
+        long desde = ParseadorFechas.parseaEs("01-03-2021 00:00:00");
+        long hasta = ParseadorFechas.parseaEs("31-03-2021 23:59:59") + 999;
+        assertEquals(indice.cantidadEntre(desde, hasta), indice.cantidadEntre("01-03-2021 00:00:00", "31-03-2021 23:59:59"));
+        indice.posicionesEntre("01-03-2021 00:00:00", "31-03-2021 23:59:59")
+                .forEach(p -> assertTrue(instantes[p] >= desde && instantes[p] <= hasta));
+        assertEquals(indice.cantidadEntre(desde, hasta),
+                indice.posicionesEntre("01-03-2021 00:00:00", "31-03-2021 23:59:59").count());
+
+        LongStream.Builder recorridos = LongStream.builder();
+        indice.recorre(desde, hasta, recorridos);
+        assertArrayEquals(indice.entre("01-03-2021 00:00:00", "31-03-2021 23:59:59").toArray(),
+                recorridos.build().toArray());
+
+        long ultimo = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+        IndiceFechas bordes = IndiceFechas.de(new long[]{ultimo + 999, ultimo + 1000, ultimo});
+        assertEquals(2, bordes.cantidadEntre("13-12-2021 23:59:59", "13-12-2021 23:59:59"));
+        assertEquals(2, bordes.posicion(bordes.cotaInferior(ultimo)));
+
+        assertThrows(IllegalArgumentException.class, () -> indice.cantidadEntre("31-02-2021 00:00:00", "01-03-2021 00:00:00"));
+        assertThrows(IllegalArgumentException.class, () -> indice.entre("2021-03-01 00:00:00", "31-03-2021 23:59:59"));
+    }
+
+    /**
+     * Un índice vacío o ya ordenado también responde bien.
+     */
+    @Test
+    void vacioYOrdenado() {
+        IndiceFechas vacio = IndiceFechas.de(new long[]{ParseadorFechas.FECHA_INVALIDA});
+        assertEquals(0, vacio.tamanio());
+        assertEquals(-1, vacio.masCercano(0));
+        assertEquals(0, vacio.cantidadEntre(Long.MIN_VALUE, Long.MAX_VALUE));
+
+        long[] ordenados = LongStream.range(0, 1_000).map(i -> i * 1000).toArray();
+        IndiceFechas indice = IndiceFechas.de(ordenados);
+        for (int i = 0; i < ordenados.length; i++) {
+            assertEquals(i, indice.posicion(i));
+        }
+        assertEquals(500, indice.masCercano(500_499));
+        assertEquals(500, indice.masCercano(500_500));
+        assertEquals(501, indice.masCercano(500_501));
+        assertThrows(IllegalArgumentException.class, () -> IndiceFechas.de(null));
+    }
+}
@@ -0,0 +1,70 @@
+package cl.lherrera.rc.fechas.principal;
+
+import cl.lherrera.rc.fechas.principal.MetricasFechas.Operacion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricasFechasTest {
+
+    @AfterEach
+    void restaura() {
+        MetricasFechas.setMuestreo(64);
+        MetricasFechas.reinicia();
+    }
+
+    /**
+     * Prueba que FechasUtilDos cuente llamadas, errores y latencias.
+     */
+    @Test
+    void cuentaLlamadasYErrores() {
+        MetricasFechas.setMuestreo(1);
+        MetricasFechas.reinicia();
+
+        FechasUtilDos.validaEstructuraFechaEs("13-12-2021 04:59:31");
+        FechasUtilDos.validaEstructuraFechaEs("13-12-2021 04:59:31");
+        assertThrows(RuntimeException.class, () -> FechasUtilDos.validaEstructuraFechaEs("13/12/2021 04:59:31"));
+        FechasUtilDos.parseaAFechaPalabras(new Date());
+
+        OperacionFechasMXBean validaEs = MetricasFechas.de(Operacion.VALIDA_ESTRUCTURA_ES);
+        assertEquals(3, validaEs.getLlamadas());
+        assertEquals(1, validaEs.getErrores());
+        assertEquals(2, validaEs.getMuestras());
+        assertEquals(1.0 / 3, validaEs.getTasaErrores(), 1e-9);
+        assertTrue(validaEs.getP99Micros() >= validaEs.getP50Micros());
+        assertEquals(1, MetricasFechas.de(Operacion.FECHA_EN_PALABRAS).getLlamadas());
+        assertEquals(0, MetricasFechas.de(Operacion.DIFERENCIA_DIAS).getLlamadas());
+    }
+
+    /**
+     * Prueba el redondeo del muestreo a potencia de dos.
+     */
+    @Test
+    void muestreo() {
+        MetricasFechas.setMuestreo(100);
+        assertEquals(128, MetricasFechas.getMuestreo());
+        MetricasFechas.setMuestreo(1);
+        assertEquals(1, MetricasFechas.getMuestreo());
+        assertThrows(IllegalArgumentException.class, () -> MetricasFechas.setMuestreo(0));
+    }
+
+    /**
+     * Prueba que las operaciones se lean por JMX.
+     */
+    @Test
+    void publicadasPorJmx() throws Exception {
+        MetricasFechas.reinicia();
+        FechasUtilDos.diferenciaFechasEnSegundos(new Date(0), new Date(5000));
+
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(1L, servidor.getAttribute(MetricasFechas.nombreJmx(Operacion.DIFERENCIA_SEGUNDOS), "Llamadas"));
+        assertEquals(0L, servidor.getAttribute(MetricasFechas.nombreJmx(Operacion.DIFERENCIA_SEGUNDOS), "Errores"));
+    }
+}
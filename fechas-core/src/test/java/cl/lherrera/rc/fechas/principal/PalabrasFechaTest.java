@@ -0,0 +1,70 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PalabrasFechaTest {
+
+    /**
+     * Compara con SimpleDateFormat en español y zona America/Santiago.
+     */
+    @Test
+    void enPalabrasIgualQueSimpleDateFormat() {
+        SimpleDateFormat formato = new SimpleDateFormat("EEEE d 'de' MMMM 'de' yyyy", new Locale("es", "CL"));
+        formato.setTimeZone(TimeZone.getTimeZone("America/Santiago"));
+
+        Random azar = new Random(19);
+        long desde = -2_208_988_800_000L; // 1900-01-01
+        long rango = 200L * 365 * 24 * 3600 * 1000;
+        for (int i = 0; i < 20_000; i++) {
+            long instante = desde + (long) (azar.nextDouble() * rango);
+            assertEquals(formato.format(new Date(instante)), PalabrasFecha.enPalabras(instante));
+        }
+    }
+
+    /**
+     * Prueba que la cache respete la capacidad, cuente aciertos y fallos y
+     * reemplace el día que ocupa la misma casilla.
+     */
+    @Test
+    void cacheAcotada() {
+        CachePalabrasFecha cache = new CachePalabrasFecha(100, dia -> "dia " + dia);
+        assertEquals(128, cache.getCapacidad());
+
+        String primero = cache.obtiene(18_000);
+        assertSame(primero, cache.obtiene(18_000));
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+
+        for (long dia = 0; dia < 1_000; dia++) {
+            cache.obtiene(dia);
+        }
+        assertTrue(cache.getTamanio() <= cache.getCapacidad());
+        assertEquals("dia 18128", cache.obtiene(18_128));
+
+        cache.limpia();
+        assertEquals(0, cache.getTamanio());
+        assertEquals(0, cache.getAciertos());
+    }
+
+    /**
+     * Un instante extremo no da la vuelta a un año negativo: se rechaza.
+     */
+    @Test
+    void rechazaInstantesFueraDeRango() {
+        assertEquals("viernes 31 de diciembre de 9999", PalabrasFecha.enPalabras(FormateadorFechas.MAXIMO));
+        assertThrows(IllegalArgumentException.class, () -> PalabrasFecha.enPalabras(Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> PalabrasFecha.enPalabras(Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> PalabrasFecha.enPalabras(FormateadorFechas.MAXIMO + 1));
+    }
+}
@@ -0,0 +1,141 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseadorFechasTest {
+
+    /**
+     * Compara el parseo contra SimpleDateFormat en zona America/Santiago,
+     * con fechas al azar y con las horas de los cambios de horario.
+     *
+     * @throws ParseException por el parse de referencia.
+     */
+    @Test
+    void parseaEsIgualQueSimpleDateFormat() throws ParseException {
+        SimpleDateFormat formato = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+        formato.setTimeZone(TimeZone.getTimeZone("America/Santiago"));
+
+        List<String> fechas = Arrays.asList(
+                "03-04-2021 23:30:00", // hora repetida, fin del horario de verano
+                "04-04-2021 00:30:00",
+                "05-09-2021 00:30:00", // hora que no existe, inicio del horario de verano
+                "05-09-2021 01:00:00",
+                "01-01-1900 00:00:00",
+                "29-02-2000 12:00:00");
+        for (String fecha : fechas) {
+            assertEquals(formato.parse(fecha).getTime(), ParseadorFechas.parseaEs(fecha), fecha);
+        }
+
+        Random azar = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            int anio = 1900 + azar.nextInt(200);
+            int mes = 1 + azar.nextInt(12);
+            int dia = 1 + azar.nextInt(CalendarioCivil.diasDelMes(anio, mes));
+            String fecha = String.format("%02d-%02d-%04d %02d:%02d:%02d",
+                    dia, mes, anio, azar.nextInt(24), azar.nextInt(60), azar.nextInt(60));
+            assertEquals(formato.parse(fecha).getTime(), ParseadorFechas.parseaEs(fecha), fecha);
+        }
+    }
+
+    /**
+     * Prueba literales con estructura o calendario inválido.
+     */
+    @Test
+    void parseaEsNok() {
+        List<String> fechas = Arrays.asList(
+                "31-02-2021 00:00:00",
+                "29-02-2021 00:00:00",
+                "31-04-2021 00:00:00",
+                "12-12-2020 24:59:31",
+                "13-12-2020 00:00:31 ",
+                "13-12-2020 00:00:60",
+                "13/12/2020 00:00:00",
+                "13-13-2020 00:00:31",
+                "1a-12-2020 00:00:31");
+        for (String fecha : fechas) {
+            assertEquals(ParseadorFechas.FECHA_INVALIDA, ParseadorFechas.parseaEs(fecha), fecha);
+        }
+        assertNull(ParseadorFechas.parseaEsAFecha(null));
+        assertEquals(ValidadorFechas.ERROR_DIA_DEL_MES,
+                ValidadorFechas.tipoError(ValidadorFechas.validaFechaEs("29-02-2021 00:00:00")));
+    }
+
+    /**
+     * El parseo desde byte[] y desde ByteBuffer directo entrega lo mismo que
+     * desde texto, y sobre bytes no crea objetos.
+     */
+    @Test
+    void parseaBytesSinCrearObjetos() {
+        int cantidad = 10_000;
+        byte[] registros = new byte[cantidad * 24];
+        String[] literales = new String[cantidad];
+        Random azar = new Random(53);
+        for (int i = 0; i < cantidad; i++) {
+            long instante = 1_600_000_000_000L + (long) (azar.nextDouble() * 1e11);
+            literales[i] = (i & 1) == 0 ? FormateadorFechas.formateaEs(instante) : FormateadorFechas.formateaEn(instante);
+            System.arraycopy(literales[i].getBytes(StandardCharsets.US_ASCII), 0, registros, i * 24 + 5, 19);
+        }
+        ByteBuffer directo = ByteBuffer.allocateDirect(registros.length);
+        directo.put(registros).flip();
+        for (int i = 0; i < cantidad; i++) {
+            assertEquals(ParseadorFechas.parseaEs(literales[i]), ParseadorFechas.parseaEs(registros, i * 24 + 5));
+            assertEquals(ParseadorFechas.parseaEn(literales[i]), ParseadorFechas.parseaEn(registros, i * 24 + 5));
+            assertEquals(ParseadorFechas.parseaEs(literales[i]), ParseadorFechas.parseaEs(directo, i * 24 + 5));
+        }
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, ParseadorFechas.parseaEs(registros, registros.length - 18));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, ParseadorFechas.parseaEs((byte[]) null, 0));
+
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().getId();
+        long suma = 0;
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        for (int vuelta = 0; vuelta < 20; vuelta++) {
+            for (int i = 0; i < cantidad; i++) {
+                int p = i * 24 + 5;
+                if (ValidadorFechas.esValida(ValidadorFechas.validaFechaEs(registros, p))) {
+                    suma += ParseadorFechas.parseaEs(registros, p);
+                }
+                suma += ParseadorFechas.parseaEn(directo, p);
+            }
+        }
+        long creados = hilos.getThreadAllocatedBytes(hilo) - antes;
+        assertTrue(suma != 0);
+        // holgura para lo que crea la propia medición, no por fecha.
+        assertTrue(creados < 16 * 1024, "bytes creados: " + creados);
+    }
+
+    /**
+     * Los métodos de FechasUtil y FechasUtilDos sobre bytes lanzan la misma
+     * excepción que los de texto.
+     */
+    @Test
+    void utilitariosSobreBytes() {
+        byte[] bytes = "xx13-12-2021 23:59:59".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 23:59:59"), FechasUtil.parseaBytesAEpochMilis(bytes, 2));
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 23:59:59"),
+                FechasUtil.parseaBytesAEpochMilis(ByteBuffer.wrap(bytes), 2));
+        FechasUtilDos.validaEstructuraFechaEs(bytes, 2);
+        FechasUtilDos.validaEstructuraFechaEs(ByteBuffer.wrap(bytes), 2);
+        assertThrows(RuntimeException.class, () -> FechasUtil.parseaBytesAEpochMilis(bytes, 0));
+        assertThrows(RuntimeException.class, () -> FechasUtilDos.validaEstructuraFechaEn(bytes, 2));
+        assertThrows(RuntimeException.class, () -> FechasUtilDos.validaEstructuraFechaEs(ByteBuffer.wrap(bytes), 3));
+    }
+}
@@ -0,0 +1,114 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseadorIncrementalTest {
+
+    /**
+     * Literales ordenados como en un log, con saltos de hasta dos minutos,
+     * a lo largo de tres años con sus cambios de horario, y de vez en cuando
+     * uno inválido con la misma fecha.
+     */
+    private static List<String> log(boolean espaniol, int cantidad, long semilla) {
+        Random azar = new Random(semilla);
+        List<String> lineas = new ArrayList<>();
+        long instante = 1_577_836_800_000L; // 2020-01-01
+        for (int i = 0; i < cantidad; i++) {
+            instante += azar.nextInt(120) * 1000L;
+            String literal = espaniol ? FormateadorFechas.formateaEs(instante) : FormateadorFechas.formateaEn(instante);
+            if (i % 97 == 5) {
+                literal = literal.substring(0, 11) + (i % 2 == 0 ? "24:00:00" : "1x:00:00");
+            } else if (i % 89 == 7) {
+                literal = literal.substring(0, 10) + "T" + literal.substring(11);
+            }
+            lineas.add(literal);
+        }
+        return lineas;
+    }
+
+    /**
+     * Sobre un log ordenado entrega lo mismo que el parseo completo, y casi
+     * todas las líneas reutilizan la fecha anterior.
+     */
+    @Test
+    void igualQueParseoCompleto() {
+        ParseadorIncremental es = ParseadorIncremental.es();
+        for (String literal : log(true, 200_000, 3)) {
+            assertEquals(ParseadorFechas.parseaEs(literal), es.parsea(literal), literal);
+        }
+        assertTrue(es.getReutilizadas() > 50 * es.getCompletas());
+
+        ParseadorIncremental en = ParseadorIncremental.en();
+        for (String literal : log(false, 200_000, 5)) {
+            assertEquals(ParseadorFechas.parseaEn(literal), en.parsea(literal), literal);
+        }
+        assertEquals(200_000, en.getReutilizadas() + en.getCompletas());
+    }
+
+    /**
+     * Cada segundo de los días de cambio de horario de 2021 en Santiago, y
+     * de los días vecinos, da lo mismo que el parseo completo.
+     */
+    @Test
+    void diasDeCambioDeHorario() {
+        ParseadorIncremental es = ParseadorIncremental.es();
+        for (String dia : new String[]{"03-04-2021", "04-04-2021", "05-04-2021",
+                "04-09-2021", "05-09-2021", "06-09-2021"}) {
+            for (int segundo = 0; segundo < 86_400; segundo++) {
+                String literal = String.format("%s %02d:%02d:%02d", dia, segundo / 3600, segundo / 60 % 60, segundo % 60);
+                assertEquals(ParseadorFechas.parseaEs(literal), es.parsea(literal), literal);
+            }
+        }
+        assertEquals(6, es.getCompletas());
+    }
+
+    /**
+     * Sobre bytes entrega lo mismo que sobre texto, también en otra zona.
+     */
+    @Test
+    void bytesIgualQueTexto() {
+        TablaZonaHoraria utc = ContextoFecha.de("UTC", "es-CL").getZona();
+        ParseadorIncremental texto = ParseadorIncremental.es(utc);
+        ParseadorIncremental arreglo = ParseadorIncremental.es(utc);
+        ParseadorIncremental buffer = ParseadorIncremental.es(utc);
+        for (String literal : log(true, 50_000, 7)) {
+            byte[] bytes = ("> " + literal).getBytes(StandardCharsets.US_ASCII);
+            long esperado = ParseadorFechas.parseaEs(literal, utc);
+            assertEquals(esperado, texto.parsea(literal));
+            assertEquals(esperado, arreglo.parsea(bytes, 2));
+            assertEquals(esperado, buffer.parsea(ByteBuffer.wrap(bytes), 2));
+        }
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, arreglo.parsea(new byte[10], 0));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, buffer.parsea((ByteBuffer) null, 0));
+    }
+
+    /**
+     * Después de un literal inválido o de reiniciar no se usa una fecha
+     * equivocada.
+     */
+    @Test
+    void noReutilizaFechasInvalidas() {
+        ParseadorIncremental es = ParseadorIncremental.es();
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, es.parsea("31-02-2021 10:00:00"));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, es.parsea("31-02-2021 10:00:01"));
+        assertEquals(2, es.getCompletas());
+
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 23:59:59"), es.parsea("13-12-2021 23:59:59"));
+        es.reinicia();
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 00:00:00"), es.parsea("13-12-2021 00:00:00"));
+        assertEquals(0, es.getReutilizadas());
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, es.parsea(null));
+
+        assertThrows(IllegalArgumentException.class, () -> ParseadorIncremental.en(null));
+    }
+}
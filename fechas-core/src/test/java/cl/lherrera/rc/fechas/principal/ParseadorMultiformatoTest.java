@@ -0,0 +1,89 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseadorMultiformatoTest {
+
+    /**
+     * Un lote con los dos formatos mezclados se parsea en una pasada, y
+     * cada literal queda con el formato que le corresponde.
+     */
+    @Test
+    void formatosMezclados() {
+        String[] literales = {"2021-12-13 23:59:59", "13-12-2021 23:59:59", "13/12/2021 23:59:59",
+                "2021-02-30 00:00:00", null, "13-12-2021"};
+        long[] epocas = new long[literales.length];
+        int[] formatos = new int[literales.length];
+        int validos = ParseadorMultiformato.ESTANDAR.parsea(literales, epocas, formatos);
+
+        long esperado = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+        assertEquals(2, validos);
+        assertArrayEquals(new int[]{0, 1, -1, 0, -1, -1}, formatos);
+        assertArrayEquals(new long[]{esperado, esperado, ParseadorFechas.FECHA_INVALIDA, ParseadorFechas.FECHA_INVALIDA,
+                ParseadorFechas.FECHA_INVALIDA, ParseadorFechas.FECHA_INVALIDA}, epocas);
+
+        BitSet validas = new BitSet();
+        validas.set(0, 10);
+        ParseadorMultiformato.ESTANDAR.parsea(literales, epocas, validas);
+        assertEquals("{0, 1, 6, 7, 8, 9}", validas.toString());
+    }
+
+    /**
+     * Agregar un formato entrega un parseador nuevo y no cambia el original.
+     */
+    @Test
+    void agregaFormatos() {
+        ParseadorMultiformato ampliado = ParseadorMultiformato.ESTANDAR
+                .con("dd/MM/yyyy HH:mm:ss")
+                .con("yyyyMMdd");
+        long esperado = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+        assertEquals(esperado, ampliado.parsea("13/12/2021 23:59:59"));
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 00:00:00"), ampliado.parsea("20211213"));
+        assertEquals(esperado, ampliado.parsea("2021-12-13 23:59:59"));
+        assertEquals(ParseadorFechas.FECHA_INVALIDA, ParseadorMultiformato.ESTANDAR.parsea("13/12/2021 23:59:59"));
+        assertEquals(4, ampliado.getFormatos().size());
+        assertEquals(2, ParseadorMultiformato.ESTANDAR.getFormatos().size());
+    }
+
+    /**
+     * No se aceptan dos formatos con el mismo largo y separadores, ya que no
+     * se podría elegir entre ellos sin probar.
+     */
+    @Test
+    void rechazaFormatosAmbiguos() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ParseadorMultiformato.ESTANDAR.con("yyyy-dd-MM HH:mm:ss"));
+        assertTrue(error.getMessage().contains("yyyy-MM-dd HH:mm:ss"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParseadorMultiformato(FormatoFecha.compila("dd MM yyyy"), FormatoFecha.compila("dd\tMM\tyyyy")));
+    }
+
+    /**
+     * Un formato con menos separadores no se queda con los literales de
+     * otro del mismo largo: el formato se elige también por los dígitos,
+     * así que el orden de registro no cambia el resultado.
+     */
+    @Test
+    void detectaPorDigitos() {
+        FormatoFecha conMilis = FormatoFecha.compila("yyyy-MM-dd HH:mmSSS");
+        ParseadorMultiformato primero = new ParseadorMultiformato(conMilis, FormatoFecha.EN);
+        ParseadorMultiformato despues = new ParseadorMultiformato(FormatoFecha.EN, conMilis);
+        long esperado = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+
+        assertEquals(esperado, primero.parsea("2021-12-13 23:59:59"));
+        assertEquals(esperado, despues.parsea("2021-12-13 23:59:59"));
+        assertEquals(1, primero.detecta("2021-12-13 23:59:59"));
+        assertEquals(0, primero.detecta("2021-12-13 23:59123"));
+        assertEquals(ParseadorFechas.parseaEs("13-12-2021 23:59:00") + 123, despues.parsea("2021-12-13 23:59123"));
+        assertEquals(-1, primero.detecta("2021-12-13 23:5x:59"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParseadorMultiformato(FormatoFecha.compila("yyyyMMdd'0'"), FormatoFecha.compila("yyyy'0'MMdd")));
+    }
+}
@@ -0,0 +1,296 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcesadorFechasTest {
+
+    /**
+     * Suscriptor que guarda todo; pide "inicial" al suscribirse y el resto
+     * a mano.
+     */
+    private static final class Recolector implements Flow.Subscriber<Long> {
+        final List<Long> recibidas = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<Void> fin = new CompletableFuture<>();
+        volatile Flow.Subscription suscripcion;
+        private final long inicial;
+
+        Recolector(long inicial) {
+            this.inicial = inicial;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription suscripcion) {
+            this.suscripcion = suscripcion;
+            if (inicial > 0) {
+                suscripcion.request(inicial);
+            }
+        }
+
+        @Override
+        public void onNext(Long epochMilis) {
+            recibidas.add(epochMilis);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            fin.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            fin.complete(null);
+        }
+    }
+
+    /**
+     * Publicador infinito de literales que cuenta cuántos le han pedido.
+     */
+    private static final class Fuente implements Flow.Publisher<String> {
+        final AtomicLong pedidos = new AtomicLong();
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super String> suscriptor) {
+            suscriptor.onSubscribe(new Flow.Subscription() {
+                private long enviados;
+
+                @Override
+                public void request(long n) {
+                    pedidos.addAndGet(n);
+                    for (long i = 0; i < n; i++) {
+                        suscriptor.onNext(FormateadorFechas.formateaEs(1_600_000_000_000L + enviados++ * 1000));
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+
+    private static List<String> literales(int cantidad) {
+        List<String> literales = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            literales.add(i % 10 == 3 ? "31-02-2021 00:00:00" : FormateadorFechas.formateaEs(1_600_000_000_000L + i * 61_000L));
+        }
+        return literales;
+    }
+
+    /**
+     * Publica las válidas en orden, manda las inválidas al canal lateral
+     * con su código y termina cuando termina la fuente, con un lote parcial.
+     */
+    @Test
+    void publicaValidasEnOrden() throws Exception {
+        List<String> literales = literales(10_000);
+        List<Integer> codigos = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+        try (SubmissionPublisher<String> fuente = new SubmissionPublisher<>(ejecutor, 64)) {
+            ProcesadorFechas procesador = new ProcesadorFechas(ejecutor, 300, (literal, codigo) -> codigos.add(codigo));
+            Recolector recolector = new Recolector(Long.MAX_VALUE);
+            fuente.subscribe(procesador);
+            procesador.subscribe(recolector);
+            literales.forEach(fuente::submit);
+            fuente.close();
+            recolector.fin.get(30, TimeUnit.SECONDS);
+
+            List<Long> esperadas = new ArrayList<>();
+            for (String literal : literales) {
+                long epochMilis = ParseadorFechas.parseaEs(literal);
+                if (epochMilis != ParseadorFechas.FECHA_INVALIDA) {
+                    esperadas.add(epochMilis);
+                }
+            }
+            assertEquals(esperadas, recolector.recibidas);
+            assertEquals(1_000, procesador.getInvalidas());
+            assertEquals(1_000, codigos.size());
+            assertTrue(codigos.stream().allMatch(c -> c == ValidadorFechas.ERROR_DIA_DEL_MES));
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Un suscriptor que no pide deja al procesador con un solo lote pedido,
+     * y al pedir sigue llegando.
+     */
+    @Test
+    void suscriptorLentoFrenaLaFuente() throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(3);
+        try {
+            Fuente fuente = new Fuente();
+            ProcesadorFechas procesador = new ProcesadorFechas(ejecutor, 100, null);
+            Recolector recolector = new Recolector(0);
+            procesador.subscribe(recolector);
+            fuente.subscribe(procesador);
+
+            Thread.sleep(300);
+            assertTrue(fuente.pedidos.get() <= 200, "pedidos " + fuente.pedidos.get());
+            assertEquals(0, recolector.recibidas.size());
+
+            recolector.suscripcion.request(1_000);
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (recolector.recibidas.size() < 1_000 && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(1_000, recolector.recibidas.size());
+            assertTrue(fuente.pedidos.get() <= 1_300, "pedidos " + fuente.pedidos.get());
+            procesador.close();
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Un error de la fuente llega después de las fechas pendientes, y los
+     * lotes corren en el ejecutor configurado.
+     */
+    @Test
+    void errorDespuesDeLoPendiente() throws Exception {
+        AtomicInteger tareas = new AtomicInteger();
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            ProcesadorFechas procesador = new ProcesadorFechas(tarea -> {
+                tareas.incrementAndGet();
+                pool.execute(tarea);
+            }, 50, null);
+            Recolector recolector = new Recolector(Long.MAX_VALUE);
+            procesador.subscribe(recolector);
+            AtomicLong pedidos = new AtomicLong();
+            procesador.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    pedidos.addAndGet(n);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            List<String> literales = literales(120);
+            for (int i = 0; i < literales.size(); i++) {
+                long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                while (pedidos.get() <= i && System.nanoTime() < limite) {
+                    Thread.sleep(1);
+                }
+                procesador.onNext(literales.get(i));
+            }
+            IllegalStateException error = new IllegalStateException("fuente caída");
+            procesador.onError(error);
+
+            Exception lanzada = assertThrows(Exception.class, () -> recolector.fin.get(30, TimeUnit.SECONDS));
+            assertSame(error, lanzada.getCause());
+            assertEquals(108, recolector.recibidas.size());
+            assertTrue(tareas.get() >= 3);
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ProcesadorFechas(null, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> new ProcesadorFechas(Runnable::run, 0, null));
+    }
+
+    /**
+     * El error de arriba no detiene al hilo que lo avisa aunque el
+     * suscriptor no pida, y le llega cuando recibe lo pendiente.
+     */
+    @Test
+    void errorNoEsperaAlSuscriptor() throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+        try {
+            ProcesadorFechas procesador = new ProcesadorFechas(ejecutor, 10, null);
+            Recolector recolector = new Recolector(0);
+            procesador.subscribe(recolector);
+            procesador.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            for (int i = 0; i < 5; i++) {
+                procesador.onNext(FormateadorFechas.formateaEs(1_600_000_000_000L + i * 1000L));
+            }
+            CompletableFuture<Void> aviso = CompletableFuture.runAsync(() -> procesador.onError(new IllegalStateException("fuente caída")));
+            aviso.get(2, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            assertTrue(!recolector.fin.isDone());
+
+            recolector.suscripcion.request(5);
+            assertThrows(Exception.class, () -> recolector.fin.get(30, TimeUnit.SECONDS));
+            assertEquals(5, recolector.recibidas.size());
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Con un ejecutor de un solo hilo y buffers pequeños no se traba, y no
+     * acepta null.
+     */
+    @Test
+    void unSoloHilo() throws Exception {
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        try (SubmissionPublisher<String> fuente = new SubmissionPublisher<>(ejecutor, 8)) {
+            ProcesadorFechas procesador = new ProcesadorFechas(ejecutor, 4, null);
+            Recolector recolector = new Recolector(Long.MAX_VALUE);
+            fuente.subscribe(procesador);
+            procesador.subscribe(recolector);
+            List<String> literales = literales(2_000);
+            literales.forEach(fuente::submit);
+            fuente.close();
+            recolector.fin.get(30, TimeUnit.SECONDS);
+            assertEquals(1_800, recolector.recibidas.size());
+            assertEquals(200, procesador.getInvalidas());
+            assertThrows(NullPointerException.class, () -> procesador.onNext(null));
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Con lotes de uno y varios hilos, la entrega al suscriptor compite con
+     * publica() en cada fecha; ninguna ronda se puede quedar detenida.
+     */
+    @Test
+    void lotesDeUnoConVariosHilos() throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> literales = literales(500);
+            for (int ronda = 0; ronda < 40; ronda++) {
+                try (SubmissionPublisher<String> fuente = new SubmissionPublisher<>(ejecutor, 16)) {
+                    ProcesadorFechas procesador = new ProcesadorFechas(ejecutor, 1, null);
+                    Recolector recolector = new Recolector(Long.MAX_VALUE);
+                    fuente.subscribe(procesador);
+                    procesador.subscribe(recolector);
+                    for (String literal : literales) {
+                        assertTrue(fuente.offer(literal, 20, TimeUnit.SECONDS, null) >= 0, "ronda " + ronda);
+                    }
+                    fuente.close();
+                    recolector.fin.get(20, TimeUnit.SECONDS);
+                    assertEquals(450, recolector.recibidas.size());
+                }
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelojSantiagoTest {
+
+    /**
+     * Reloj de prueba que avanza solamente cuando se le indica.
+     */
+    private static final class RelojManual extends Clock {
+        private volatile long milis;
+
+        RelojManual(long milis) {
+            this.milis = milis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(milis);
+        }
+    }
+
+    /**
+     * Prueba que en modo perezoso la instantánea se reutilice dentro del
+     * mismo segundo y se recalcule al cambiar.
+     */
+    @Test
+    void recalculaAlCambiarElSegundo() {
+        long inicio = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+        RelojManual manual = new RelojManual(inicio + 250);
+        RelojSantiago reloj = new RelojSantiago(manual, RelojSantiago.Resolucion.SEGUNDO);
+
+        RelojSantiago.Instantanea primera = reloj.instantanea();
+        assertEquals("13-12-2021 23:59:59", primera.getLiteral());
+        assertEquals(inicio, primera.getEpochMilis());
+        manual.milis = inicio + 999;
+        assertSame(primera, reloj.instantanea());
+
+        manual.milis = inicio + 1000;
+        RelojSantiago.Instantanea segunda = reloj.instantanea();
+        assertEquals("14-12-2021 00:00:00", segunda.getLiteral());
+        assertEquals(2021, segunda.getAnio());
+        assertEquals(12, segunda.getMes());
+        assertEquals(14, segunda.getDia());
+        assertEquals(0, segunda.getHora());
+    }
+
+    /**
+     * Prueba que los campos y el literal coincidan con FormateadorFechas,
+     * con resolución de milisegundos.
+     */
+    @Test
+    void camposIgualQueFormateador() {
+        long instante = ParseadorFechas.parseaEs("04-04-2021 00:30:00") + 123;
+        RelojSantiago reloj = new RelojSantiago(Clock.fixed(Instant.ofEpochMilli(instante), ZoneOffset.UTC),
+                RelojSantiago.Resolucion.MILISEGUNDO);
+        RelojSantiago.Instantanea instantanea = reloj.instantanea();
+        assertEquals(FormateadorFechas.formateaEs(instante), reloj.literal());
+        assertEquals(instante, reloj.epochMilis());
+        assertEquals(30, instantanea.getMinuto());
+        assertEquals(123, instantanea.getMilisegundo());
+    }
+
+    /**
+     * Prueba que el temporizador publique la hora del reloj y se detenga al
+     * cerrar.
+     */
+    @Test
+    void temporizadorPublicaLaHora() throws InterruptedException {
+        long inicio = ParseadorFechas.parseaEs("01-01-2022 10:00:00");
+        RelojManual manual = new RelojManual(inicio);
+        try (RelojSantiago reloj = RelojSantiago.conTemporizador(manual, RelojSantiago.Resolucion.MILISEGUNDO)) {
+            assertTrue(reloj.isConTemporizador());
+            assertEquals("01-01-2022 10:00:00", reloj.literal());
+
+            manual.milis = inicio + 5000;
+            long limite = System.currentTimeMillis() + 5000;
+            while (!"01-01-2022 10:00:05".equals(reloj.literal()) && System.currentTimeMillis() < limite) {
+                Thread.sleep(1);
+            }
+            assertEquals("01-01-2022 10:00:05", reloj.literal());
+        }
+    }
+
+    /**
+     * Prueba que el reloj del sistema entregue el formato local.
+     */
+    @Test
+    void relojDelSistema() {
+        assertTrue(RelojSantiago.SISTEMA.literal().matches("\\d{2}-\\d{2}-\\d{4} \\d{2}:\\d{2}:\\d{2}"));
+    }
+}
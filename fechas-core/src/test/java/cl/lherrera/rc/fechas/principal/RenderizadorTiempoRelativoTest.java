@@ -0,0 +1,59 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RenderizadorTiempoRelativoTest {
+
+    /**
+     * Reloj fijo en 13-12-2021 23:59:59 de Santiago.
+     */
+    private static final long AHORA = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+    private static final Clock RELOJ = Clock.fixed(Instant.ofEpochMilli(AHORA), ZoneOffset.UTC);
+
+    /**
+     * Prueba el literal completo, con singular y plural.
+     */
+    @Test
+    void renderizaCompleta() {
+        RenderizadorTiempoRelativo renderizador = new RenderizadorTiempoRelativo(
+                RELOJ, RenderizadorTiempoRelativo.Granularidad.COMPLETA, false);
+
+        long hace = AHORA - (366 * CalendarioCivil.MILIS_POR_DIA + CalendarioCivil.MILIS_POR_MINUTO + 16_000);
+        assertEquals("366 días, 0 horas, 1 minuto y 16 segundos", renderizador.renderiza(hace));
+        assertEquals("0 días, 0 horas, 0 minutos y 0 segundos", renderizador.renderiza(AHORA));
+        assertEquals("1 día, 1 hora, 0 minutos y 1 segundo",
+                renderizador.renderiza(AHORA - CalendarioCivil.MILIS_POR_DIA - CalendarioCivil.MILIS_POR_HORA - 1000));
+    }
+
+    /**
+     * Prueba la unidad mayor con prefijo, hacia el pasado y el futuro.
+     */
+    @Test
+    void renderizaUnidadMayor() {
+        RenderizadorTiempoRelativo renderizador = new RenderizadorTiempoRelativo(
+                RELOJ, RenderizadorTiempoRelativo.Granularidad.UNIDAD_MAYOR, true);
+
+        assertEquals("hace 3 días", renderizador.renderiza(AHORA - 3 * CalendarioCivil.MILIS_POR_DIA - 5000));
+        assertEquals("hace 1 hora", renderizador.renderiza(AHORA - CalendarioCivil.MILIS_POR_HORA));
+        assertEquals("dentro de 2 minutos", renderizador.renderiza(AHORA + 150_000));
+        assertEquals("hace 0 segundos", renderizador.renderiza(AHORA));
+    }
+
+    /**
+     * Prueba que el lote use un mismo "ahora" para todas las fechas.
+     */
+    @Test
+    void renderizaLote() {
+        RenderizadorTiempoRelativo renderizador = new RenderizadorTiempoRelativo(
+                RELOJ, RenderizadorTiempoRelativo.Granularidad.UNIDAD_MAYOR, false);
+        long[] epocas = {AHORA - 1000, AHORA - 2 * CalendarioCivil.MILIS_POR_HORA, AHORA - 45 * CalendarioCivil.MILIS_POR_MINUTO};
+        assertArrayEquals(new String[]{"1 segundo", "2 horas", "45 minutos"}, renderizador.renderiza(epocas));
+    }
+}
@@ -0,0 +1,61 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResumenFechasTest {
+
+    private static final long DIA = CalendarioCivil.MILIS_POR_DIA;
+
+    /**
+     * Días que llegan antes y después del rango agrandan el arreglo sin
+     * perder las cantidades ya contadas.
+     */
+    @Test
+    void creceEnAmbasDirecciones() {
+        ResumenFechas resumen = new ResumenFechas();
+        long base = ParseadorFechas.parseaEs("15-06-2021 12:00:00");
+        resumen.accept(base);
+        resumen.accept(base + 500 * DIA);
+        resumen.accept(base - 300 * DIA);
+        resumen.accept(base - 300 * DIA);
+        resumen.accept(ParseadorFechas.FECHA_INVALIDA);
+
+        assertEquals(4, resumen.getCantidad());
+        assertEquals(3, resumen.getDias());
+        assertEquals(2, resumen.cantidadEnDia(TablaZonaHoraria.SANTIAGO.diaEpocaLocal(base - 300 * DIA)));
+        assertEquals(OptionalLong.of(base - 300 * DIA), resumen.getMinimo());
+        assertEquals(OptionalLong.of(base + 500 * DIA), resumen.getMaximo());
+        assertEquals(Long.valueOf(1), resumen.porDia().get(LocalDate.of(2021, 6, 15)));
+    }
+
+    /**
+     * Combinar dos resúmenes da lo mismo que acumular todo en uno.
+     */
+    @Test
+    void combina() {
+        ResumenFechas todo = new ResumenFechas();
+        ResumenFechas uno = new ResumenFechas();
+        ResumenFechas otro = new ResumenFechas();
+        long base = ParseadorFechas.parseaEs("01-01-2022 00:30:00");
+        for (int i = 0; i < 1000; i++) {
+            long instante = base + i * 7_919_000L;
+            todo.accept(instante);
+            (i % 3 == 0 ? uno : otro).accept(instante);
+        }
+        uno.combina(otro).combina(new ResumenFechas());
+        assertEquals(todo.porDia(), uno.porDia());
+        assertEquals(todo.getCantidad(), uno.getCantidad());
+        assertEquals(todo.getMinimo(), uno.getMinimo());
+        assertEquals(todo.getMaximo(), uno.getMaximo());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> uno.combina(new ResumenFechas(ContextoFecha.de("UTC", "es-CL").getZona())));
+        assertThrows(IllegalArgumentException.class, () -> todo.accept(base + (ResumenFechas.MAXIMO_DIAS + 1L) * DIA));
+    }
+}
@@ -0,0 +1,132 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TablaZonaHorariaTest {
+
+    private static final TimeZone ZONA_HORARIA = TimeZone.getTimeZone("America/Santiago");
+
+    /**
+     * Compara el desfase de la tabla con TimeZone, dentro y fuera del rango
+     * precalculado.
+     */
+    @Test
+    void desfaseEnIgualQueTimeZone() {
+        TablaZonaHoraria tabla = TablaZonaHoraria.SANTIAGO;
+        assertTrue(tabla.getCantidadCambios() > 100);
+
+        Random azar = new Random(7);
+        long desde = -2_208_988_800_000L; // 1900-01-01
+        long rango = 250L * 365 * 24 * 3600 * 1000;
+        for (int i = 0; i < 100_000; i++) {
+            long instante = desde + (long) (azar.nextDouble() * rango);
+            assertEquals(ZONA_HORARIA.getOffset(instante), tabla.desfaseEn(instante), "instante " + instante);
+        }
+    }
+
+    /**
+     * Compara la conversión de reloj de pared a instante con
+     * GregorianCalendar, en horas al azar y en las horas repetidas y que no
+     * existen de los cambios de horario de 2021.
+     */
+    @Test
+    void instanteDeIgualQueGregorianCalendar() {
+        TablaZonaHoraria tabla = TablaZonaHoraria.SANTIAGO;
+        Calendar calendario = new GregorianCalendar(ZONA_HORARIA);
+
+        int[][] fechas = {
+                {2021, 4, 3, 23, 30, 0},
+                {2021, 4, 4, 0, 0, 0},
+                {2021, 9, 5, 0, 30, 0},
+                {2021, 9, 4, 23, 59, 59},
+                {2150, 9, 7, 0, 30, 0}};
+        for (int[] f : fechas) {
+            calendario.clear();
+            calendario.set(f[0], f[1] - 1, f[2], f[3], f[4], f[5]);
+            assertEquals(calendario.getTimeInMillis(), tabla.instanteDe(f[0], f[1], f[2], f[3], f[4], f[5]));
+        }
+
+        Random azar = new Random(9);
+        for (int i = 0; i < 50_000; i++) {
+            int anio = 1900 + azar.nextInt(250);
+            int mes = 1 + azar.nextInt(12);
+            int dia = 1 + azar.nextInt(CalendarioCivil.diasDelMes(anio, mes));
+            int hora = azar.nextInt(24);
+            int minuto = azar.nextInt(60);
+            calendario.clear();
+            calendario.set(anio, mes - 1, dia, hora, minuto, 0);
+            assertEquals(calendario.getTimeInMillis(), tabla.instanteDe(anio, mes, dia, hora, minuto, 0));
+        }
+    }
+
+    /**
+     * Prueba que las versiones masivas entreguen lo mismo que las de un
+     * valor, con valores ordenados y desordenados.
+     */
+    @Test
+    void conversionesMasivas() {
+        TablaZonaHoraria tabla = TablaZonaHoraria.SANTIAGO;
+        Random azar = new Random(21);
+        long[] epocas = new long[10_000];
+        long instante = 1_600_000_000_000L;
+        for (int i = 0; i < epocas.length; i++) {
+            instante += azar.nextInt(3_600_000);
+            epocas[i] = i % 100 == 0 ? instante - azar.nextInt(Integer.MAX_VALUE) * 1000L : instante;
+        }
+        long[] locales = new long[epocas.length];
+        int[] desfases = new int[epocas.length];
+        long[] esperadosLocales = new long[epocas.length];
+        int[] esperadosDesfases = new int[epocas.length];
+        for (int i = 0; i < epocas.length; i++) {
+            esperadosLocales[i] = tabla.aMilisLocales(epocas[i]);
+            esperadosDesfases[i] = tabla.desfaseEn(epocas[i]);
+        }
+        tabla.aMilisLocales(epocas, locales);
+        tabla.desfasesEn(epocas, desfases);
+        assertArrayEquals(esperadosLocales, locales);
+        assertArrayEquals(esperadosDesfases, desfases);
+
+        long[] deVuelta = new long[locales.length];
+        tabla.instantesDeMilisLocales(locales, deVuelta);
+        for (int i = 0; i < locales.length; i++) {
+            assertEquals(tabla.instanteDeMilisLocales(locales[i]), deVuelta[i]);
+        }
+    }
+
+    /**
+     * Un día sin cambio de horario tiene un solo desfase, el mismo que usa
+     * instanteDeMilisLocales; los días de cambio lo tienen variable.
+     */
+    @Test
+    void desfaseConstanteEnElDia() {
+        TablaZonaHoraria tabla = TablaZonaHoraria.SANTIAGO;
+        long dia = CalendarioCivil.MILIS_POR_DIA;
+        long desde = CalendarioCivil.diaEpoca(2020, 1, 1);
+        int variables = 0;
+        for (long d = desde; d < desde + 3 * 366; d++) {
+            long medianoche = d * dia;
+            int desfase = tabla.desfaseConstanteEntreLocales(medianoche, medianoche + dia);
+            if (desfase == TablaZonaHoraria.DESFASE_VARIABLE) {
+                variables++;
+                continue;
+            }
+            for (long local = medianoche; local < medianoche + dia; local += 1_800_000L) {
+                assertEquals(tabla.instanteDeMilisLocales(local), local - desfase);
+            }
+        }
+        assertEquals(6, variables);
+        assertEquals(TablaZonaHoraria.DESFASE_VARIABLE, tabla.desfaseConstanteEntreLocales(
+                CalendarioCivil.diaEpoca(2021, 4, 3) * dia, CalendarioCivil.diaEpoca(2021, 4, 4) * dia + 1));
+        assertEquals(TablaZonaHoraria.DESFASE_VARIABLE, tabla.desfaseConstanteEntreLocales(
+                CalendarioCivil.diaEpoca(2101, 1, 1) * dia, CalendarioCivil.diaEpoca(2101, 1, 2) * dia));
+    }
+}
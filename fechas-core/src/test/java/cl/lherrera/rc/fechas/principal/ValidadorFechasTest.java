@@ -0,0 +1,148 @@
+package cl.lherrera.rc.fechas.principal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidadorFechasTest {
+
+    /**
+     * Expresiones regulares originales de FechasUtilDos, se usan como
+     * referencia para comprobar que el validador acepta exactamente lo mismo.
+     */
+    private static final Pattern REFERENCIA_EN = Pattern.compile("^((19|2[0-9])[0-9]{2}-(0[1-9]|1[012])-(0[1-9]|[12][0-9]|3[01])(\\s)((([0-1])([0-9]))|(([2])([0-3]))):(([0-5])([0-9])):(([0-5])([0-9])))$");
+    private static final Pattern REFERENCIA_ES = Pattern.compile("^((0[1-9]|[12][0-9]|3[01])-(0[1-9]|1[012])-((19|2[0-9])[0-9]{2})(\\s)((([0-1])([0-9]))|(([2])([0-3]))):(([0-5])([0-9])):(([0-5])([0-9])))$");
+
+    /**
+     * Prueba fechas válidas en ambos formatos.
+     */
+    @Test
+    void validaEstructuraOK() {
+        List<String> fechasEs = Arrays.asList(
+                "12-12-2020 23:59:31",
+                "13-12-2020 00:00:31",
+                "31-12-2020 07:37:31",
+                "01-01-1900\t00:00:00");
+        for (String fecha : fechasEs) {
+            assertEquals(ValidadorFechas.VALIDA, ValidadorFechas.validaEstructuraEs(fecha), fecha);
+        }
+        assertEquals(ValidadorFechas.VALIDA, ValidadorFechas.validaEstructuraEn("2021-12-13 04:59:31"));
+    }
+
+    /**
+     * Prueba que el código de error indique qué falló y dónde.
+     */
+    @Test
+    void validaEstructuraCodigoError() {
+        int codigo = ValidadorFechas.validaEstructuraEn("2021-12-13 04:69:31");
+        assertEquals(ValidadorFechas.ERROR_MINUTO, ValidadorFechas.tipoError(codigo));
+        assertEquals(14, ValidadorFechas.posicionError(codigo));
+
+        codigo = ValidadorFechas.validaEstructuraEs("13/12/2020 00:00:00");
+        assertEquals(ValidadorFechas.ERROR_SEPARADOR, ValidadorFechas.tipoError(codigo));
+        assertEquals(2, ValidadorFechas.posicionError(codigo));
+
+        codigo = ValidadorFechas.validaEstructuraEs("13-13-2020 00:00:31");
+        assertEquals(ValidadorFechas.ERROR_MES, ValidadorFechas.tipoError(codigo));
+        assertEquals(3, ValidadorFechas.posicionError(codigo));
+
+        codigo = ValidadorFechas.validaEstructuraEs("13-12-2020 00:00:31 ");
+        assertEquals(ValidadorFechas.ERROR_LARGO, ValidadorFechas.tipoError(codigo));
+
+        codigo = ValidadorFechas.validaEstructuraEs("13-12-1899 00:00:31");
+        assertEquals(ValidadorFechas.ERROR_ANIO, ValidadorFechas.tipoError(codigo));
+        assertEquals(6, ValidadorFechas.posicionError(codigo));
+
+        assertEquals(ValidadorFechas.ERROR_NULA, ValidadorFechas.validaEstructuraEs(null));
+    }
+
+    /**
+     * Compara el validador contra las expresiones regulares originales con
+     * fechas generadas al azar a partir de fechas válidas, cambiando un
+     * carácter a la vez.
+     */
+    @Test
+    void validaEstructuraIgualQueExpresionRegular() {
+        Random azar = new Random(17);
+        char[] alfabeto = "0123456789-: /\t9".toCharArray();
+        String[] semillas = {"2021-12-13 04:59:31", "1999-02-29 23:00:00", "13-12-2021 04:59:31", "31-01-1900 19:09:59"};
+        int comparadas = 0;
+        for (String semilla : semillas) {
+            for (int i = 0; i < 20_000; i++) {
+                char[] fecha = semilla.toCharArray();
+                int cambios = 1 + azar.nextInt(2);
+                for (int c = 0; c < cambios; c++) {
+                    fecha[azar.nextInt(fecha.length)] = alfabeto[azar.nextInt(alfabeto.length)];
+                }
+                String literal = new String(fecha);
+                assertEquals(REFERENCIA_EN.matcher(literal).matches(),
+                        ValidadorFechas.esValida(ValidadorFechas.validaEstructuraEn(literal)), literal);
+                assertEquals(REFERENCIA_ES.matcher(literal).matches(),
+                        ValidadorFechas.esValida(ValidadorFechas.validaEstructuraEs(literal)), literal);
+                comparadas++;
+            }
+        }
+        assertTrue(comparadas > 0);
+    }
+
+    /**
+     * Las variantes sobre byte[], ByteBuffer en heap y ByteBuffer directo
+     * entregan el mismo código que la variante sobre texto, con la fecha en
+     * medio de otros bytes.
+     */
+    @Test
+    void bytesIgualQueTexto() {
+        Random azar = new Random(19);
+        char[] alfabeto = "0123456789-: /\t9".toCharArray();
+        String[] semillas = {"2021-12-13 04:59:31", "2021-02-29 23:00:00", "31-04-2021 04:59:31", "29-02-2024 19:09:59"};
+        byte[] marco = new byte[7 + ValidadorFechas.LARGO_FECHA + 5];
+        ByteBuffer directo = ByteBuffer.allocateDirect(marco.length);
+        for (String semilla : semillas) {
+            for (int i = 0; i < 10_000; i++) {
+                char[] fecha = semilla.toCharArray();
+                fecha[azar.nextInt(fecha.length)] = alfabeto[azar.nextInt(alfabeto.length)];
+                String literal = new String(fecha);
+                Arrays.fill(marco, (byte) '#');
+                System.arraycopy(literal.getBytes(StandardCharsets.US_ASCII), 0, marco, 7, fecha.length);
+                directo.clear();
+                directo.put(marco).flip();
+                ByteBuffer heap = ByteBuffer.wrap(marco);
+
+                int en = ValidadorFechas.validaEstructuraEn(literal);
+                assertEquals(en, ValidadorFechas.validaEstructuraEn(marco, 7), literal);
+                assertEquals(en, ValidadorFechas.validaEstructuraEn(heap, 7), literal);
+                assertEquals(en, ValidadorFechas.validaEstructuraEn(directo, 7), literal);
+                int es = ValidadorFechas.validaFechaEs(literal);
+                assertEquals(es, ValidadorFechas.validaFechaEs(marco, 7), literal);
+                assertEquals(es, ValidadorFechas.validaFechaEs(heap, 7), literal);
+                assertEquals(es, ValidadorFechas.validaFechaEs(directo, 7), literal);
+                assertEquals(ValidadorFechas.validaFechaEn(literal), ValidadorFechas.validaFechaEn(directo, 7), literal);
+                assertEquals(ValidadorFechas.validaEstructuraEs(literal),
+                        ValidadorFechas.validaEstructuraEs(marco, 7), literal);
+            }
+        }
+    }
+
+    /**
+     * Si quedan menos de 19 bytes desde la posición el error es de largo.
+     */
+    @Test
+    void bytesCortos() {
+        byte[] bytes = "13-12-2020 00:00:31".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(ValidadorFechas.VALIDA, ValidadorFechas.validaFechaEs(bytes, 0));
+        assertEquals(ValidadorFechas.ERROR_LARGO, ValidadorFechas.tipoError(ValidadorFechas.validaFechaEs(bytes, 1)));
+        assertEquals(18, ValidadorFechas.posicionError(ValidadorFechas.validaFechaEs(bytes, 1)));
+        assertEquals(ValidadorFechas.ERROR_LARGO,
+                ValidadorFechas.tipoError(ValidadorFechas.validaFechaEs(ByteBuffer.wrap(bytes, 0, 18), 0)));
+        assertEquals(ValidadorFechas.ERROR_LARGO, ValidadorFechas.tipoError(ValidadorFechas.validaFechaEs(bytes, -1)));
+        assertEquals(ValidadorFechas.ERROR_NULA, ValidadorFechas.validaEstructuraEn((byte[]) null, 0));
+    }
+}
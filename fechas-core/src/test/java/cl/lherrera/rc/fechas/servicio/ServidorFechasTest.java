@@ -0,0 +1,146 @@
+package cl.lherrera.rc.fechas.servicio;
+
+import cl.lherrera.rc.fechas.principal.FormateadorFechas;
+import cl.lherrera.rc.fechas.principal.PalabrasFecha;
+import cl.lherrera.rc.fechas.principal.ParseadorFechas;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServidorFechasTest {
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    /**
+     * Un valor por GET, en los dos formatos de fecha y con errores.
+     */
+    @Test
+    void operacionesDeUnValor() throws Exception {
+        try (ServidorFechas servidor = ServidorFechas.inicia(new InetSocketAddress("127.0.0.1", 0))) {
+            long epochMilis = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+            assertEquals("{\"fecha\":\"13-12-2021 23:59:59\",\"epochMilis\":" + epochMilis + "}",
+                    get(servidor, "parsea?fecha=13-12-2021%2023:59:59").body());
+            assertEquals("{\"fecha\":\"2021-12-13 23:59:59\",\"epochMilis\":" + epochMilis + "}",
+                    get(servidor, "parsea?fecha=2021-12-13+23:59:59").body());
+            assertEquals("{\"fecha\":\"2021-02-30 00:00:00\",\"valida\":false,"
+                            + "\"error\":\"el día no existe en el mes, posición 8\",\"posicion\":8}",
+                    get(servidor, "valida?fecha=2021-02-30+00:00:00").body());
+            assertEquals("{\"epochMilis\":" + epochMilis + ",\"es\":\"13-12-2021 23:59:59\",\"en\":\"2021-12-13 23:59:59\"}",
+                    get(servidor, "formatea?epochMilis=" + epochMilis).body());
+            assertTrue(get(servidor, "transcurrido?epochMilis=" + epochMilis).body().contains("días"));
+            HttpResponse<String> noNumero = get(servidor, "palabras?epochMilis=abc");
+            assertEquals(400, noNumero.statusCode());
+            assertEquals("{\"entrada\":\"abc\",\"error\":\"epochMilis debe ser un número entero\"}",
+                    noNumero.body());
+            HttpResponse<String> fueraDeRango = get(servidor, "formatea?epochMilis=" + Long.MAX_VALUE);
+            assertEquals(400, fueraDeRango.statusCode());
+            assertEquals("{\"entrada\":\"" + Long.MAX_VALUE + "\",\"error\":\"epochMilis debe caer entre los años 0 y 9999\"}",
+                    fueraDeRango.body());
+            assertEquals(400, get(servidor, "palabras?epochMilis=" + (FormateadorFechas.MINIMO - 1)).statusCode());
+            assertEquals(200, get(servidor, "transcurrido?epochMilis=" + (FormateadorFechas.MINIMO - 1)).statusCode());
+
+            assertEquals(400, get(servidor, "parsea?epochMilis=1").statusCode());
+            assertEquals(404, get(servidor, "desconocida").statusCode());
+            HttpResponse<String> borrado = cliente.send(HttpRequest.newBuilder(uri(servidor, "parsea")).DELETE().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, borrado.statusCode());
+        }
+    }
+
+    /**
+     * Un lote como arreglo JSON responde un arreglo, y uno por líneas
+     * responde una línea por valor en el mismo orden; un valor con error
+     * queda en su lugar.
+     */
+    @Test
+    void lotes() throws Exception {
+        try (ServidorFechas servidor = ServidorFechas.inicia(new InetSocketAddress("127.0.0.1", 0))) {
+            long uno = ParseadorFechas.parseaEs("13-12-2021 23:59:59");
+            long dos = ParseadorFechas.parseaEs("01-01-2000 00:00:00");
+
+            HttpResponse<String> json = post(servidor, "formatea", "[" + uno + ", \"" + dos + "\"]");
+            assertEquals(200, json.statusCode());
+            assertEquals("[{\"epochMilis\":" + uno + ",\"es\":\"" + FormateadorFechas.formateaEs(uno) + "\",\"en\":\""
+                    + FormateadorFechas.formateaEn(uno) + "\"},{\"epochMilis\":" + dos + ",\"es\":\""
+                    + FormateadorFechas.formateaEs(dos) + "\",\"en\":\"" + FormateadorFechas.formateaEn(dos) + "\"}]",
+                    json.body());
+
+            HttpResponse<String> lineas = post(servidor, "palabras", uno + "\r\n\n" + dos + "\n");
+            assertEquals("application/x-ndjson; charset=utf-8", lineas.headers().firstValue("Content-Type").orElse(""));
+            assertEquals(Arrays.asList(
+                    "{\"epochMilis\":" + uno + ",\"palabras\":\"" + PalabrasFecha.enPalabras(uno) + "\"}",
+                    "{\"epochMilis\":" + dos + ",\"palabras\":\"" + PalabrasFecha.enPalabras(dos) + "\"}"),
+                    Arrays.asList(lineas.body().split("\n")));
+
+            assertEquals("[{\"fecha\":\"x\\\"y\",\"epochMilis\":null},{\"fecha\":null,\"epochMilis\":null}]",
+                    post(servidor, "parsea", "[\"x\\\"y\", null]").body());
+            assertEquals(400, post(servidor, "parsea", "[\"13-12-2021 23:59:59\"").statusCode());
+
+            HttpResponse<String> conErrores = post(servidor, "palabras",
+                    uno + "\n" + Long.MAX_VALUE + "\nabc\n" + FormateadorFechas.MAXIMO + "\n");
+            assertEquals(200, conErrores.statusCode());
+            assertEquals(Arrays.asList(
+                    "{\"epochMilis\":" + uno + ",\"palabras\":\"" + PalabrasFecha.enPalabras(uno) + "\"}",
+                    "{\"entrada\":\"" + Long.MAX_VALUE + "\",\"error\":\"epochMilis debe caer entre los años 0 y 9999\"}",
+                    "{\"entrada\":\"abc\",\"error\":\"epochMilis debe ser un número entero\"}",
+                    "{\"epochMilis\":" + FormateadorFechas.MAXIMO + ",\"palabras\":\"viernes 31 de diciembre de 9999\"}"),
+                    Arrays.asList(conErrores.body().split("\n")));
+        }
+    }
+
+    /**
+     * El cliente de carga informa peticiones sin errores contra el servicio.
+     */
+    @Test
+    void clienteDeCarga() throws Exception {
+        try (ServidorFechas servidor = ServidorFechas.inicia(new InetSocketAddress("127.0.0.1", 0))) {
+            URI base = URI.create("http://127.0.0.1:" + servidor.getPuerto());
+            ClienteCargaFechas.Resultado uno = ClienteCargaFechas.ejecuta(base, "parsea", 2, Duration.ofMillis(300), 0);
+            ClienteCargaFechas.Resultado lote = ClienteCargaFechas.ejecuta(base, "valida", 2, Duration.ofMillis(300), 50);
+            assertTrue(uno.getPeticiones() > 0);
+            assertEquals(0, uno.getErrores());
+            assertTrue(lote.getPeticiones() > 0);
+            assertEquals(0, lote.getErrores());
+            assertTrue(uno.latenciaMicros(99) >= uno.latenciaMicros(50));
+        }
+    }
+
+    /**
+     * Lectura de los arreglos JSON de entrada.
+     */
+    @Test
+    void leeArreglosJson() {
+        assertEquals(Arrays.asList("a", "1639450799000", null, "\té"),
+                JsonFechas.leeArreglo(" [\"a\", 1639450799000 ,null,\"\\t\\u00e9\"] "));
+        assertEquals(0, JsonFechas.leeArreglo("[]").size());
+        assertThrows(IllegalArgumentException.class, () -> JsonFechas.leeArreglo("{}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonFechas.leeArreglo("[1,]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonFechas.leeArreglo("[1] 2"));
+        assertThrows(IllegalArgumentException.class, () -> JsonFechas.leeArreglo("[\"abc"));
+    }
+
+    private HttpResponse<String> get(ServidorFechas servidor, String ruta) throws IOException, InterruptedException {
+        return cliente.send(HttpRequest.newBuilder(uri(servidor, ruta)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(ServidorFechas servidor, String ruta, String cuerpo)
+            throws IOException, InterruptedException {
+        return cliente.send(HttpRequest.newBuilder(uri(servidor, ruta)).POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ServidorFechas servidor, String ruta) {
+        return URI.create("http://127.0.0.1:" + servidor.getPuerto() + ServidorFechas.RAIZ + ruta);
+    }
+}
@@ -0,0 +1,41 @@
+package cl.lherrera.rc.fechas;
+
+import cl.lherrera.rc.fechas.principal.ExtractorFechasArchivo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Modo archivo de la aplicación. Se activa con los argumentos:
+ *
+ * <pre>
+ *     --extraer=/ruta/al/archivo.log [--salida=/ruta/al/archivo.fechas]
+ * </pre>
+ *
+ * Si no se indica la salida, se escribe junto a la entrada con extensión
+ * ".fechas". Sin el argumento --extraer no hace nada.
+ */
+@Component
+public class ExtractorFechasRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractorFechasRunner.class);
+
+    @Override
+    public void run(ApplicationArguments argumentos) throws Exception {
+        if (!argumentos.containsOption("extraer")) {
+            return;
+        }
+        Path entrada = Paths.get(argumentos.getOptionValues("extraer").get(0));
+        Path salida = argumentos.containsOption("salida")
+                ? Paths.get(argumentos.getOptionValues("salida").get(0))
+                : Paths.get(entrada + ".fechas");
+
+        ExtractorFechasArchivo.Resumen resumen = ExtractorFechasArchivo.extrae(entrada, salida);
+        log.info("[run] - extracción de [{}] en [{}]: {}", entrada, salida, resumen);
+    }
+}
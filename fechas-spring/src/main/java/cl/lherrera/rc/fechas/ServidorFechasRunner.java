@@ -0,0 +1,51 @@
+package cl.lherrera.rc.fechas;
+
+import cl.lherrera.rc.fechas.servicio.ServidorFechas;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Modo servicio de la aplicación. Se activa con los argumentos:
+ *
+ * <pre>
+ *     --servidor[=8080] [--host=0.0.0.0]
+ * </pre>
+ *
+ * Sin --host escucha solamente en la interfaz local. Sin el argumento
+ * --servidor no hace nada. El servicio se detiene al cerrar la aplicación.
+ */
+@Component
+public class ServidorFechasRunner implements ApplicationRunner, DisposableBean {
+
+    private static final int PUERTO_POR_DEFECTO = 8080;
+
+    private volatile ServidorFechas servidor;
+
+    @Override
+    public void run(ApplicationArguments argumentos) throws Exception {
+        if (!argumentos.containsOption("servidor")) {
+            return;
+        }
+        List<String> puertos = argumentos.getOptionValues("servidor");
+        int puerto = puertos.isEmpty() || puertos.get(0).isEmpty()
+                ? PUERTO_POR_DEFECTO
+                : Integer.parseInt(puertos.get(0));
+        InetSocketAddress direccion = argumentos.containsOption("host")
+                ? new InetSocketAddress(argumentos.getOptionValues("host").get(0), puerto)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto);
+        servidor = ServidorFechas.inicia(direccion);
+    }
+
+    @Override
+    public void destroy() {
+        if (servidor != null) {
+            servidor.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package cl.lherrera.rc.fechas.autoconfigure;
+
+import cl.lherrera.rc.fechas.principal.CalendarioHabil;
+import cl.lherrera.rc.fechas.principal.ContextoFecha;
+import cl.lherrera.rc.fechas.principal.MetricasFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorMultiformato;
+import cl.lherrera.rc.fechas.principal.RelojSantiago;
+import cl.lherrera.rc.fechas.principal.RenderizadorTiempoRelativo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Clock;
+
+/**
+ * Beans de fechas-core configurados con {@link FechasProperties}. Cada bean
+ * se crea solamente si la aplicación no define uno propio del mismo tipo.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(FechasProperties.class)
+public class FechasAutoConfiguration {
+
+    public FechasAutoConfiguration(FechasProperties propiedades) {
+        Integer muestreo = propiedades.getMetricas().getMuestreo();
+        if (muestreo != null) {
+            MetricasFechas.setMuestreo(muestreo);
+        }
+    }
+
+    /**
+     * Con los valores por omisión es {@link RelojSantiago#SISTEMA}, el mismo
+     * que usan FechasUtil y FechasUtilDos.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public RelojSantiago relojSantiago(FechasProperties propiedades) {
+        FechasProperties.Reloj reloj = propiedades.getReloj();
+        if (reloj.isTemporizador()) {
+            return RelojSantiago.conTemporizador(Clock.systemUTC(), reloj.getResolucion());
+        }
+        if (reloj.getResolucion() == RelojSantiago.Resolucion.SEGUNDO) {
+            return RelojSantiago.SISTEMA;
+        }
+        return new RelojSantiago(Clock.systemUTC(), reloj.getResolucion());
+    }
+
+    /**
+     * El contexto de "fechas.zona" y "fechas.localidad"; con los valores por
+     * omisión es {@link ContextoFecha#SANTIAGO}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ContextoFecha contextoFecha(FechasProperties propiedades) {
+        return ContextoFecha.de(propiedades.getZona(), propiedades.getLocalidad());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RenderizadorTiempoRelativo renderizadorTiempoRelativo(FechasProperties propiedades) {
+        FechasProperties.TiempoTranscurrido tiempo = propiedades.getTiempoTranscurrido();
+        return new RenderizadorTiempoRelativo(Clock.systemUTC(), tiempo.getGranularidad(), tiempo.isConPrefijo());
+    }
+
+    /**
+     * Los formatos estándar más los de "fechas.formatos".
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ParseadorMultiformato parseadorMultiformato(FechasProperties propiedades) {
+        ParseadorMultiformato parseador = ParseadorMultiformato.ESTANDAR;
+        for (String patron : propiedades.getFormatos()) {
+            parseador = parseador.con(patron);
+        }
+        return parseador;
+    }
+
+    /**
+     * El calendario de "fechas.feriados", o el de Chile incluido en
+     * fechas-core.
+     *
+     * @throws IOException si no se puede leer el archivo de feriados.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CalendarioHabil calendarioHabil(FechasProperties propiedades) throws IOException {
+        return propiedades.getFeriados() == null
+                ? CalendarioHabil.chile()
+                : CalendarioHabil.carga(propiedades.getFeriados());
+    }
+}
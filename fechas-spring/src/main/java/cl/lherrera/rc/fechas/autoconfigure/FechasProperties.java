@@ -0,0 +1,173 @@
+package cl.lherrera.rc.fechas.autoconfigure;
+
+import cl.lherrera.rc.fechas.principal.RelojSantiago;
+import cl.lherrera.rc.fechas.principal.RenderizadorTiempoRelativo;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades "fechas.*" de {@link FechasAutoConfiguration}, por ejemplo en
+ * application.properties:
+ *
+ * <pre>
+ *     fechas.reloj.resolucion=MILISEGUNDO
+ *     fechas.reloj.temporizador=true
+ *     fechas.tiempo-transcurrido.granularidad=UNIDAD_MAYOR
+ *     fechas.formatos=dd/MM/yyyy HH:mm:ss,yyyyMMdd
+ *     fechas.feriados=/etc/fechas/feriados.txt
+ *     fechas.metricas.muestreo=16
+ *     fechas.zona=America/Bogota
+ *     fechas.localidad=es-CO
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "fechas")
+public class FechasProperties {
+
+    private final Reloj reloj = new Reloj();
+
+    private final TiempoTranscurrido tiempoTranscurrido = new TiempoTranscurrido();
+
+    private final Metricas metricas = new Metricas();
+
+    /**
+     * Patrones que se agregan a los formatos estándar del parseador, como
+     * "dd/MM/yyyy HH:mm:ss".
+     */
+    private List<String> formatos = new ArrayList<>();
+
+    /**
+     * Archivo de feriados; si no se indica se usan los de Chile incluidos
+     * en fechas-core.
+     */
+    private Path feriados;
+
+    /**
+     * Zona horaria del {@link cl.lherrera.rc.fechas.principal.ContextoFecha}.
+     */
+    private String zona = "America/Santiago";
+
+    /**
+     * Localidad del contexto, como etiqueta de idioma.
+     */
+    private String localidad = "es-CL";
+
+    public Reloj getReloj() {
+        return reloj;
+    }
+
+    public TiempoTranscurrido getTiempoTranscurrido() {
+        return tiempoTranscurrido;
+    }
+
+    public Metricas getMetricas() {
+        return metricas;
+    }
+
+    public List<String> getFormatos() {
+        return formatos;
+    }
+
+    public void setFormatos(List<String> formatos) {
+        this.formatos = formatos;
+    }
+
+    public Path getFeriados() {
+        return feriados;
+    }
+
+    public void setFeriados(Path feriados) {
+        this.feriados = feriados;
+    }
+
+    public String getZona() {
+        return zona;
+    }
+
+    public void setZona(String zona) {
+        this.zona = zona;
+    }
+
+    public String getLocalidad() {
+        return localidad;
+    }
+
+    public void setLocalidad(String localidad) {
+        this.localidad = localidad;
+    }
+
+    public static class Reloj {
+
+        /**
+         * Cada cuánto cambia la hora entregada por el reloj.
+         */
+        private RelojSantiago.Resolucion resolucion = RelojSantiago.Resolucion.SEGUNDO;
+
+        /**
+         * Si es true, un hilo recalcula la hora al comenzar cada tick en vez
+         * de hacerlo en la primera lectura.
+         */
+        private boolean temporizador;
+
+        public RelojSantiago.Resolucion getResolucion() {
+            return resolucion;
+        }
+
+        public void setResolucion(RelojSantiago.Resolucion resolucion) {
+            this.resolucion = resolucion;
+        }
+
+        public boolean isTemporizador() {
+            return temporizador;
+        }
+
+        public void setTemporizador(boolean temporizador) {
+            this.temporizador = temporizador;
+        }
+    }
+
+    public static class TiempoTranscurrido {
+
+        private RenderizadorTiempoRelativo.Granularidad granularidad = RenderizadorTiempoRelativo.Granularidad.COMPLETA;
+
+        /**
+         * Si es true, antepone "hace" o "dentro de" según el sentido.
+         */
+        private boolean conPrefijo;
+
+        public RenderizadorTiempoRelativo.Granularidad getGranularidad() {
+            return granularidad;
+        }
+
+        public void setGranularidad(RenderizadorTiempoRelativo.Granularidad granularidad) {
+            this.granularidad = granularidad;
+        }
+
+        public boolean isConPrefijo() {
+            return conPrefijo;
+        }
+
+        public void setConPrefijo(boolean conPrefijo) {
+            this.conPrefijo = conPrefijo;
+        }
+    }
+
+    public static class Metricas {
+
+        /**
+         * Mide la latencia de una de cada N llamadas, potencia de dos. Si no
+         * se indica queda el valor de la propiedad de sistema o 64.
+         */
+        private Integer muestreo;
+
+        public Integer getMuestreo() {
+            return muestreo;
+        }
+
+        public void setMuestreo(Integer muestreo) {
+            this.muestreo = muestreo;
+        }
+    }
+}
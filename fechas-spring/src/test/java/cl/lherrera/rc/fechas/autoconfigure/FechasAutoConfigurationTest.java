@@ -0,0 +1,88 @@
+package cl.lherrera.rc.fechas.autoconfigure;
+
+import cl.lherrera.rc.fechas.principal.CalendarioHabil;
+import cl.lherrera.rc.fechas.principal.ContextoFecha;
+import cl.lherrera.rc.fechas.principal.MetricasFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorFechas;
+import cl.lherrera.rc.fechas.principal.ParseadorMultiformato;
+import cl.lherrera.rc.fechas.principal.RelojSantiago;
+import cl.lherrera.rc.fechas.principal.RenderizadorTiempoRelativo;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FechasAutoConfigurationTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(FechasAutoConfiguration.class));
+
+    /**
+     * Sin propiedades se entregan los mismos objetos que usa FechasUtil.
+     */
+    @Test
+    void valoresPorOmision() {
+        contexto.run(beans -> {
+            assertSame(RelojSantiago.SISTEMA, beans.getBean(RelojSantiago.class));
+            assertSame(ParseadorMultiformato.ESTANDAR, beans.getBean(ParseadorMultiformato.class));
+            assertSame(CalendarioHabil.chile(), beans.getBean(CalendarioHabil.class));
+            assertSame(ContextoFecha.SANTIAGO, beans.getBean(ContextoFecha.class));
+            assertEquals(RenderizadorTiempoRelativo.Granularidad.COMPLETA,
+                    beans.getBean(RenderizadorTiempoRelativo.class).getGranularidad());
+        });
+    }
+
+    /**
+     * Las propiedades "fechas.*" configuran cada bean.
+     */
+    @Test
+    void conPropiedades() throws Exception {
+        Path feriados = Files.createTempFile("feriados", ".txt");
+        int muestreo = MetricasFechas.getMuestreo();
+        try {
+            Files.write(feriados, "2030-01-01\n".getBytes(StandardCharsets.UTF_8));
+            contexto.withPropertyValues(
+                    "fechas.reloj.resolucion=MILISEGUNDO",
+                    "fechas.reloj.temporizador=true",
+                    "fechas.tiempo-transcurrido.granularidad=UNIDAD_MAYOR",
+                    "fechas.tiempo-transcurrido.con-prefijo=true",
+                    "fechas.formatos=dd/MM/yyyy HH:mm:ss,yyyyMMdd",
+                    "fechas.feriados=" + feriados,
+                    "fechas.metricas.muestreo=4",
+                    "fechas.zona=America/Bogota",
+                    "fechas.localidad=es-CO"
+            ).run(beans -> {
+                assertTrue(beans.getBean(RelojSantiago.class).isConTemporizador());
+                RenderizadorTiempoRelativo renderizador = beans.getBean(RenderizadorTiempoRelativo.class);
+                assertEquals(RenderizadorTiempoRelativo.Granularidad.UNIDAD_MAYOR, renderizador.getGranularidad());
+                assertTrue(renderizador.isConPrefijo());
+                assertEquals(ParseadorFechas.parseaEs("13-12-2021 23:59:59"),
+                        beans.getBean(ParseadorMultiformato.class).parsea("13/12/2021 23:59:59"));
+                assertEquals(2030, beans.getBean(CalendarioHabil.class).getAnioDesde());
+                assertEquals(4, MetricasFechas.getMuestreo());
+                assertEquals("America/Bogota", beans.getBean(ContextoFecha.class).getZonaId().getId());
+            });
+        } finally {
+            MetricasFechas.setMuestreo(muestreo);
+            Files.delete(feriados);
+        }
+    }
+
+    /**
+     * Un bean propio de la aplicación reemplaza al de la autoconfiguración.
+     */
+    @Test
+    void respetaBeansPropios() {
+        RelojSantiago propio = new RelojSantiago(Clock.systemUTC(), RelojSantiago.Resolucion.MILISEGUNDO);
+        contexto.withBean(RelojSantiago.class, () -> propio)
+                .run(beans -> assertSame(propio, beans.getBean(RelojSantiago.class)));
+    }
+}